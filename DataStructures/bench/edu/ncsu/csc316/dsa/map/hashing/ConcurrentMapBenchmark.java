@@ -0,0 +1,290 @@
+package edu.ncsu.csc316.dsa.map.hashing;
+
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import edu.ncsu.csc316.dsa.map.Map;
+
+/**
+ * ConcurrentMapBenchmark measures the throughput of ConcurrentHashMap against
+ * a SeparateChainingHashMap behind one global lock, which is how maps were
+ * shared between threads before ConcurrentHashMap existed.
+ *
+ * For each map and thread count, every thread runs a random mix of gets, puts,
+ * and removes over a shared key range for a fixed time, after a warmup of the
+ * same length on a separate map, and the benchmark prints one row with:
+ *
+ *    ops/s       - operations completed per second by all threads together
+ *    ops/s/thr   - operations per second per thread
+ *    speedup     - ops/s relative to the synchronized map at the same threads
+ *
+ * Puts and removes are split evenly, so the map stays near half the key
+ * range. Each map starts at its default capacity, so the first seconds of
+ * every run include resizing. Each run ends by checking the map against the
+ * key range, so a broken map fails the benchmark rather than speeding it up.
+ *
+ * Usage:
+ *
+ *    java edu.ncsu.csc316.dsa.map.hashing.ConcurrentMapBenchmark
+ *         [--threads=1,2,4,8,16,32] [--maps=concurrent,synchronized]
+ *         [--reads=90] [--keys=100000] [--seconds=2]
+ *
+ * @author Ethan Treece
+ *
+ */
+public class ConcurrentMapBenchmark {
+
+    /** The default thread counts */
+    private static final int[] DEFAULT_THREADS = { 1, 2, 4, 8, 16, 32 };
+
+    /** The percentage of operations that are gets */
+    private int readPercent;
+
+    /** The number of distinct keys */
+    private int keys;
+
+    /** The length of each warmup and measured run */
+    private long runNanos;
+
+    /**
+     * Constructs a ConcurrentMapBenchmark
+     *
+     * @param readPercent the percentage of operations that are gets
+     * @param keys        the number of distinct keys
+     * @param runNanos    the length of each warmup and measured run
+     */
+    public ConcurrentMapBenchmark(int readPercent, int keys, long runNanos) {
+        this.readPercent = readPercent;
+        this.keys = keys;
+        this.runNanos = runNanos;
+    }
+
+    /**
+     * Runs the benchmark
+     *
+     * @param args the command line options described in the class comment
+     * @throws InterruptedException if interrupted while waiting for the threads
+     */
+    public static void main(String[] args) throws InterruptedException {
+        int[] threads = DEFAULT_THREADS;
+        String[] maps = { "concurrent", "synchronized" };
+        int reads = 90;
+        int keys = 100000;
+        double seconds = 2;
+        for (String arg : args) {
+            String value = arg.substring(arg.indexOf('=') + 1);
+            if (arg.startsWith("--threads=")) {
+                String[] parts = value.split(",");
+                threads = new int[parts.length];
+                for (int i = 0; i < parts.length; i++) {
+                    threads[i] = Integer.parseInt(parts[i].trim());
+                }
+            } else if (arg.startsWith("--maps=")) {
+                maps = value.toLowerCase(Locale.ROOT).split(",");
+            } else if (arg.startsWith("--reads=")) {
+                reads = Integer.parseInt(value);
+            } else if (arg.startsWith("--keys=")) {
+                keys = Integer.parseInt(value);
+            } else if (arg.startsWith("--seconds=")) {
+                seconds = Double.parseDouble(value);
+            } else {
+                throw new IllegalArgumentException("Unknown option: " + arg);
+            }
+        }
+        for (String map : maps) {
+            if (!map.equals("concurrent") && !map.equals("synchronized")) {
+                throw new IllegalArgumentException("Unknown map: " + map);
+            }
+        }
+        new ConcurrentMapBenchmark(reads, keys, (long) (seconds * 1e9)).run(maps, threads);
+    }
+
+    /**
+     * Runs every map at every thread count, printing one row per combination
+     *
+     * @param maps    the names of the maps to measure
+     * @param threads the thread counts
+     * @throws InterruptedException if interrupted while waiting for the threads
+     */
+    public void run(String[] maps, int[] threads) throws InterruptedException {
+        System.out.printf("reads=%d%% keys=%d%n", readPercent, keys);
+        System.out.printf("%-13s %8s %14s %14s %8s%n", "map", "threads", "ops/s", "ops/s/thr", "speedup");
+        for (int count : threads) {
+            double baseline = 0;
+            double[] results = new double[maps.length];
+            for (int m = 0; m < maps.length; m++) {
+                measure(create(maps[m]), count);
+                results[m] = measure(create(maps[m]), count);
+                if (maps[m].equals("synchronized")) {
+                    baseline = results[m];
+                }
+            }
+            for (int m = 0; m < maps.length; m++) {
+                String speedup = baseline == 0 ? "n/a" : String.format(Locale.ROOT, "%.2fx", results[m] / baseline);
+                System.out.printf(Locale.ROOT, "%-13s %8d %14.0f %14.0f %8s%n", maps[m], count, results[m],
+                        results[m] / count, speedup);
+            }
+        }
+    }
+
+    /**
+     * Creates an empty map of the named kind
+     *
+     * @param name the name of the map
+     * @return the map
+     */
+    private static Map<Integer, Integer> create(String name) {
+        if (name.equals("concurrent")) {
+            return new ConcurrentHashMap<Integer, Integer>();
+        }
+        return new SynchronizedMap<Integer, Integer>(new SeparateChainingHashMap<Integer, Integer>());
+    }
+
+    /**
+     * Runs the operation mix on the map from the given number of threads
+     *
+     * @param map     the map
+     * @param threads the number of threads
+     * @return the operations per second of all threads together
+     * @throws InterruptedException if interrupted while waiting for the threads
+     */
+    private double measure(final Map<Integer, Integer> map, int threads) throws InterruptedException {
+        final CountDownLatch start = new CountDownLatch(1);
+        final AtomicBoolean stop = new AtomicBoolean();
+        final LongAdder operations = new LongAdder();
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            final long seed = 316L + t;
+            workers[t] = new Thread() {
+                @Override
+                public void run() {
+                    Random random = new Random(seed);
+                    long done = 0;
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    while (!stop.get()) {
+                        // Check the stop flag every 256 operations
+                        for (int i = 0; i < 256; i++) {
+                            int key = random.nextInt(keys);
+                            int op = random.nextInt(100);
+                            if (op < readPercent) {
+                                Integer value = map.get(key);
+                                if (value != null && value != key) {
+                                    throw new IllegalStateException("Wrong value for key " + key);
+                                }
+                            } else if ((op & 1) == 0) {
+                                map.put(key, key);
+                            } else {
+                                map.remove(key);
+                            }
+                        }
+                        done += 256;
+                    }
+                    operations.add(done);
+                }
+            };
+            workers[t].start();
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        Thread.sleep(runNanos / 1000000, (int) (runNanos % 1000000));
+        stop.set(true);
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        long elapsed = System.nanoTime() - begin;
+        check(map);
+        return operations.sum() * 1e9 / elapsed;
+    }
+
+    /**
+     * Checks that every entry of the map maps a key in range to itself, and
+     * that the map's size matches its entries
+     *
+     * @param map the map
+     */
+    private void check(Map<Integer, Integer> map) {
+        int count = 0;
+        for (Map.Entry<Integer, Integer> entry : map.entrySet()) {
+            int key = entry.getKey();
+            if (key < 0 || key >= keys || entry.getValue() != key) {
+                throw new IllegalStateException("Unexpected entry " + key + "=" + entry.getValue());
+            }
+            count++;
+        }
+        if (count != map.size()) {
+            throw new IllegalStateException("Size " + map.size() + " but " + count + " entries");
+        }
+    }
+
+    /**
+     * SynchronizedMap makes a map safe to share by holding one lock around
+     * every operation
+     *
+     * @author Ethan Treece
+     *
+     * @param <K> the type of keys
+     * @param <V> the type of values
+     */
+    private static class SynchronizedMap<K, V> implements Map<K, V> {
+
+        /** The map being guarded */
+        private final Map<K, V> map;
+
+        /**
+         * Constructs a SynchronizedMap
+         *
+         * @param map the map to guard
+         */
+        SynchronizedMap(Map<K, V> map) {
+            this.map = map;
+        }
+
+        @Override
+        public synchronized Iterator<K> iterator() {
+            return map.iterator();
+        }
+
+        @Override
+        public synchronized Iterable<Entry<K, V>> entrySet() {
+            return map.entrySet();
+        }
+
+        @Override
+        public synchronized V get(K key) {
+            return map.get(key);
+        }
+
+        @Override
+        public synchronized boolean isEmpty() {
+            return map.isEmpty();
+        }
+
+        @Override
+        public synchronized V put(K key, V value) {
+            return map.put(key, value);
+        }
+
+        @Override
+        public synchronized V remove(K key) {
+            return map.remove(key);
+        }
+
+        @Override
+        public synchronized int size() {
+            return map.size();
+        }
+
+        @Override
+        public synchronized Iterable<V> values() {
+            return map.values();
+        }
+    }
+}
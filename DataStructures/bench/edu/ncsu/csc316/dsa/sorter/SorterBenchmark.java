@@ -0,0 +1,520 @@
+package edu.ncsu.csc316.dsa.sorter;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.Random;
+
+import edu.ncsu.csc316.dsa.data.Student;
+import edu.ncsu.csc316.dsa.data.StudentIDComparator;
+
+/**
+ * SorterBenchmark measures every Sorter on generated Student rosters so that
+ * the sorter used by StudentManager can be chosen from data rather than guess
+ * work. Rosters are sorted by id, which every sorter supports.
+ *
+ * For each sorter, distribution, and size the benchmark runs a number of
+ * warmup iterations and then a number of measured iterations, each on a fresh
+ * copy of the same roster, and prints one row with:
+ *
+ *    ms/op       - the median time of one sort
+ *    ops/s       - sorts per second at the median time
+ *    Melem/s     - millions of elements sorted per second
+ *    B/op        - bytes allocated by the sorting thread during one sort
+ *    cmp/elem    - comparator calls per element (comparison sorters only)
+ *
+ * Allocation is read from the HotSpot per-thread allocation counter, so bytes
+ * allocated by fork/join workers in parallel sorts are not included, and the
+ * column shows n/a on JVMs without the counter.
+ *
+ * Once a single sort takes longer than the time budget, or overflows the
+ * stack, larger sizes are skipped for that sorter and distribution, which
+ * keeps the quadratic sorters and the degenerate quicksort pivots from
+ * stalling the run.
+ *
+ * Usage (run with a large heap for 10M rosters, e.g. -Xmx8g):
+ *
+ *    java edu.ncsu.csc316.dsa.sorter.SorterBenchmark [--sizes=1000,10000,...]
+ *         [--sorters=merge,quick-first,...] [--distributions=random,...]
+ *         [--warmup=3] [--iterations=5] [--budget=5]
+ *
+ * @author Ethan Treece
+ *
+ */
+public class SorterBenchmark {
+
+    /** The default roster sizes */
+    private static final int[] DEFAULT_SIZES = { 1000, 10000, 100000, 1000000, 10000000 };
+
+    /** The number of distinct ids in the many-duplicates distribution */
+    private static final int DUPLICATE_KEYS = 100;
+
+    /** The length of each ascending tooth in the sawtooth distribution */
+    private static final int SAWTOOTH_PERIOD = 1000;
+
+    /** The number of distinct first and last names in generated rosters */
+    private static final int NAMES = 500;
+
+    /** Seed for the roster generator, so every run sorts the same data */
+    private static final long SEED = 316L;
+
+    /** The distributions of ids in generated rosters */
+    public enum Distribution {
+        /** A random permutation of 1..n */
+        RANDOM,
+        /** 1..n in ascending order */
+        ASCENDING,
+        /** n..1 in descending order */
+        DESCENDING,
+        /** Random ids drawn from a small set of values */
+        DUPLICATES,
+        /** Repeated ascending runs of SAWTOOTH_PERIOD ids */
+        SAWTOOTH
+    }
+
+    /** The number of unmeasured iterations before measuring */
+    private int warmup;
+
+    /** The number of measured iterations */
+    private int iterations;
+
+    /** Sorts slower than this skip the remaining sizes */
+    private long budgetNanos;
+
+    /** The per-thread allocation counter, or null if it is not supported */
+    private com.sun.management.ThreadMXBean allocationCounter;
+
+    /**
+     * Constructs a SorterBenchmark
+     *
+     * @param warmup      the number of unmeasured iterations
+     * @param iterations  the number of measured iterations
+     * @param budgetNanos the longest single sort before larger sizes are
+     *                    skipped
+     */
+    public SorterBenchmark(int warmup, int iterations, long budgetNanos) {
+        this.warmup = warmup;
+        this.iterations = iterations;
+        this.budgetNanos = budgetNanos;
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean
+                && ((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemorySupported()) {
+            allocationCounter = (com.sun.management.ThreadMXBean) bean;
+            allocationCounter.setThreadAllocatedMemoryEnabled(true);
+        }
+    }
+
+    /**
+     * Runs the benchmark
+     *
+     * @param args the command line options described in the class comment
+     */
+    public static void main(String[] args) {
+        int[] sizes = DEFAULT_SIZES;
+        String[] sorters = null;
+        Distribution[] distributions = Distribution.values();
+        int warmup = 3;
+        int iterations = 5;
+        double budgetSeconds = 5;
+        for (String arg : args) {
+            String value = arg.substring(arg.indexOf('=') + 1);
+            if (arg.startsWith("--sizes=")) {
+                String[] parts = value.split(",");
+                sizes = new int[parts.length];
+                for (int i = 0; i < parts.length; i++) {
+                    sizes[i] = Integer.parseInt(parts[i].trim());
+                }
+            } else if (arg.startsWith("--sorters=")) {
+                sorters = value.toLowerCase(Locale.ROOT).split(",");
+            } else if (arg.startsWith("--distributions=")) {
+                String[] parts = value.split(",");
+                distributions = new Distribution[parts.length];
+                for (int i = 0; i < parts.length; i++) {
+                    distributions[i] = Distribution.valueOf(parts[i].trim().toUpperCase(Locale.ROOT));
+                }
+            } else if (arg.startsWith("--warmup=")) {
+                warmup = Integer.parseInt(value);
+            } else if (arg.startsWith("--iterations=")) {
+                iterations = Integer.parseInt(value);
+            } else if (arg.startsWith("--budget=")) {
+                budgetSeconds = Double.parseDouble(value);
+            } else {
+                throw new IllegalArgumentException("Unknown option: " + arg);
+            }
+        }
+        new SorterBenchmark(warmup, Math.max(1, iterations), (long) (budgetSeconds * 1e9)).run(
+                candidates(sorters), distributions, sizes);
+    }
+
+    /**
+     * Runs every candidate on every distribution and size, printing one row
+     * per combination
+     *
+     * @param candidates    the sorters to measure
+     * @param distributions the distributions of ids
+     * @param sizes         the roster sizes, in increasing order
+     */
+    public void run(Candidate[] candidates, Distribution[] distributions, int[] sizes) {
+        System.out.printf("%-16s %-11s %10s %12s %12s %10s %14s %10s%n", "sorter", "distribution", "n", "ms/op",
+                "ops/s", "Melem/s", "B/op", "cmp/elem");
+        for (Distribution distribution : distributions) {
+            for (int size : sizes) {
+                Student[] roster = generate(distribution, size);
+                for (Candidate candidate : candidates) {
+                    if (candidate.overBudget[distribution.ordinal()]) {
+                        continue;
+                    }
+                    String label = distribution.name().toLowerCase(Locale.ROOT);
+                    try {
+                        Result result = measure(candidate, roster);
+                        System.out.println(result.format(candidate.name, distribution, size));
+                        if (result.medianNanos > budgetNanos) {
+                            candidate.overBudget[distribution.ordinal()] = true;
+                            System.out.printf("%-16s %-11s skipping larger sizes (over budget)%n", candidate.name,
+                                    label);
+                        }
+                    } catch (StackOverflowError e) {
+                        // Recursive sorters with a poor pivot recurse once per element
+                        candidate.overBudget[distribution.ordinal()] = true;
+                        System.out.printf("%-16s %-11s %10d failed with a stack overflow; skipping larger sizes%n",
+                                candidate.name, label, size);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Measures one candidate on one roster
+     *
+     * @param candidate the sorter to measure
+     * @param roster    the roster to sort; it is copied before every sort
+     * @return the measurements
+     */
+    private Result measure(Candidate candidate, Student[] roster) {
+        CountingComparator comparator = new CountingComparator();
+        Sorter<Student> sorter = candidate.create(comparator);
+        long[] times = new long[iterations];
+        long bytes = 0;
+        long comparisons = 0;
+        for (int i = -warmup; i < iterations; i++) {
+            Student[] copy = Arrays.copyOf(roster, roster.length);
+            comparator.count = 0;
+            long allocatedBefore = allocatedBytes();
+            long start = System.nanoTime();
+            sorter.sort(copy);
+            long elapsed = System.nanoTime() - start;
+            long allocated = allocatedBytes() - allocatedBefore;
+            checkSorted(candidate, copy);
+            if (i >= 0) {
+                times[i] = elapsed;
+                bytes += allocated;
+                comparisons += comparator.count;
+            }
+            if (elapsed > budgetNanos && i < 0) {
+                // Too slow to warm up; report the single run
+                times = new long[] { elapsed };
+                bytes = allocated;
+                comparisons = comparator.count;
+                return new Result(times, allocationCounter == null ? -1 : bytes, comparisons, 1,
+                        candidate.comparisonBased, roster.length);
+            }
+        }
+        return new Result(times, allocationCounter == null ? -1 : bytes, comparisons, iterations,
+                candidate.comparisonBased, roster.length);
+    }
+
+    /**
+     * Returns the number of bytes allocated so far by the current thread, or
+     * zero if the counter is not supported
+     *
+     * @return the number of bytes allocated by the current thread
+     */
+    private long allocatedBytes() {
+        if (allocationCounter == null) {
+            return 0;
+        }
+        return allocationCounter.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * Checks that the roster is sorted by id, so that a broken sorter cannot
+     * report a good time
+     *
+     * @param candidate the sorter that sorted the roster
+     * @param roster    the sorted roster
+     * @throws IllegalStateException if the roster is not sorted
+     */
+    private static void checkSorted(Candidate candidate, Student[] roster) {
+        for (int i = 1; i < roster.length; i++) {
+            if (roster[i - 1].getId() > roster[i].getId()) {
+                throw new IllegalStateException(candidate.name + " did not sort the roster at index " + i);
+            }
+        }
+    }
+
+    /**
+     * Generates a roster whose ids follow the given distribution. Names and
+     * unity ids are drawn from a small shared pool, as in real rosters.
+     *
+     * @param distribution the distribution of ids
+     * @param n            the number of Students
+     * @return the generated roster
+     */
+    public static Student[] generate(Distribution distribution, int n) {
+        Random random = new Random(SEED);
+        int[] ids = new int[n];
+        for (int i = 0; i < n; i++) {
+            switch (distribution) {
+            case RANDOM:
+            case ASCENDING:
+                ids[i] = i + 1;
+                break;
+            case DESCENDING:
+                ids[i] = n - i;
+                break;
+            case DUPLICATES:
+                ids[i] = random.nextInt(DUPLICATE_KEYS) + 1;
+                break;
+            default:
+                ids[i] = i % SAWTOOTH_PERIOD + 1;
+                break;
+            }
+        }
+        if (distribution == Distribution.RANDOM) {
+            for (int i = n - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                int temp = ids[i];
+                ids[i] = ids[j];
+                ids[j] = temp;
+            }
+        }
+        String[] names = new String[NAMES];
+        for (int i = 0; i < NAMES; i++) {
+            names[i] = "name" + i;
+        }
+        Student[] roster = new Student[n];
+        for (int i = 0; i < n; i++) {
+            String first = names[random.nextInt(NAMES)];
+            String last = names[random.nextInt(NAMES)];
+            roster[i] = new Student(first, last, ids[i], random.nextInt(150), random.nextInt(401) / 100.0,
+                    first + last);
+        }
+        return roster;
+    }
+
+    /**
+     * Returns the candidates whose names are listed, or every candidate if the
+     * list is null
+     *
+     * @param names the names of the sorters to measure, or null for all
+     * @return the candidates to measure
+     * @throws IllegalArgumentException if a name does not match a candidate
+     */
+    private static Candidate[] candidates(String[] names) {
+        Candidate[] all = {
+            new Candidate("bubble", true) {
+                @Override
+                Sorter<Student> create(Comparator<Student> comparator) {
+                    return new BubbleSorter<Student>(comparator);
+                }
+            },
+            new Candidate("insertion", true) {
+                @Override
+                Sorter<Student> create(Comparator<Student> comparator) {
+                    return new InsertionSorter<Student>(comparator);
+                }
+            },
+            new Candidate("selection", true) {
+                @Override
+                Sorter<Student> create(Comparator<Student> comparator) {
+                    return new SelectionSorter<Student>(comparator);
+                }
+            },
+            new Candidate("merge", true) {
+                @Override
+                Sorter<Student> create(Comparator<Student> comparator) {
+                    return new MergeSorter<Student>(comparator);
+                }
+            },
+            new Candidate("tim", true) {
+                @Override
+                Sorter<Student> create(Comparator<Student> comparator) {
+                    return new TimSorter<Student>(comparator);
+                }
+            },
+            new Candidate("quick-first", true) {
+                @Override
+                Sorter<Student> create(Comparator<Student> comparator) {
+                    return new QuickSorter<Student>(comparator, QuickSorter.FIRST_ELEMENT_SELECTOR);
+                }
+            },
+            new Candidate("quick-last", true) {
+                @Override
+                Sorter<Student> create(Comparator<Student> comparator) {
+                    return new QuickSorter<Student>(comparator, QuickSorter.LAST_ELEMENT_SELECTOR);
+                }
+            },
+            new Candidate("quick-middle", true) {
+                @Override
+                Sorter<Student> create(Comparator<Student> comparator) {
+                    return new QuickSorter<Student>(comparator, QuickSorter.MIDDLE_ELEMENT_SELECTOR);
+                }
+            },
+            new Candidate("quick-random", true) {
+                @Override
+                Sorter<Student> create(Comparator<Student> comparator) {
+                    return new QuickSorter<Student>(comparator, QuickSorter.RANDOM_ELEMENT_SELECTOR);
+                }
+            },
+            new Candidate("quick-intro", true) {
+                @Override
+                Sorter<Student> create(Comparator<Student> comparator) {
+                    return new QuickSorter<Student>(comparator, true);
+                }
+            },
+            new Candidate("counting", false) {
+                @Override
+                Sorter<Student> create(Comparator<Student> comparator) {
+                    return new CountingSorter<Student>();
+                }
+            },
+            new Candidate("radix", false) {
+                @Override
+                Sorter<Student> create(Comparator<Student> comparator) {
+                    return new RadixSorter<Student>();
+                }
+            }
+        };
+        if (names == null) {
+            return all;
+        }
+        Candidate[] selected = new Candidate[names.length];
+        for (int i = 0; i < names.length; i++) {
+            for (Candidate candidate : all) {
+                if (candidate.name.equals(names[i].trim())) {
+                    selected[i] = candidate;
+                }
+            }
+            if (selected[i] == null) {
+                throw new IllegalArgumentException("Unknown sorter: " + names[i]);
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * Candidate creates one configuration of a Sorter for measurement
+     *
+     * @author Ethan Treece
+     *
+     */
+    public abstract static class Candidate {
+
+        /** The name printed for this sorter */
+        private String name;
+
+        /** Whether the sorter calls the comparator */
+        private boolean comparisonBased;
+
+        /** Whether each distribution has exceeded the time budget */
+        private boolean[] overBudget;
+
+        /**
+         * Constructs a Candidate
+         *
+         * @param name            the name printed for this sorter
+         * @param comparisonBased whether the sorter calls the comparator
+         */
+        Candidate(String name, boolean comparisonBased) {
+            this.name = name;
+            this.comparisonBased = comparisonBased;
+            this.overBudget = new boolean[Distribution.values().length];
+        }
+
+        /**
+         * Creates the sorter
+         *
+         * @param comparator the id comparator to sort with
+         * @return the sorter
+         */
+        abstract Sorter<Student> create(Comparator<Student> comparator);
+    }
+
+    /**
+     * CountingComparator orders Students by id and counts its calls
+     *
+     * @author Ethan Treece
+     *
+     */
+    private static class CountingComparator implements Comparator<Student> {
+
+        /** Orders Students by id */
+        private StudentIDComparator ids = new StudentIDComparator();
+
+        /** The number of calls since the count was last reset */
+        private long count;
+
+        @Override
+        public int compare(Student one, Student two) {
+            count++;
+            return ids.compare(one, two);
+        }
+    }
+
+    /**
+     * Result holds the measurements of one candidate on one roster
+     *
+     * @author Ethan Treece
+     *
+     */
+    private static class Result {
+
+        /** The median time of one sort */
+        private long medianNanos;
+
+        /** Bytes allocated per sort, or -1 if unknown */
+        private double bytesPerSort;
+
+        /** Comparator calls per element, or -1 if not comparison based */
+        private double comparisonsPerElement;
+
+        /**
+         * Constructs a Result
+         *
+         * @param times           the time of each measured sort
+         * @param bytes           the bytes allocated by all measured sorts, or -1
+         * @param comparisons     the comparator calls of all measured sorts
+         * @param iterations      the number of measured sorts
+         * @param comparisonBased whether the sorter calls the comparator
+         * @param n               the number of elements sorted
+         */
+        Result(long[] times, long bytes, long comparisons, int iterations, boolean comparisonBased, int n) {
+            long[] sorted = Arrays.copyOf(times, times.length);
+            Arrays.sort(sorted);
+            this.medianNanos = sorted[sorted.length / 2];
+            this.bytesPerSort = bytes < 0 ? -1 : (double) bytes / iterations;
+            this.comparisonsPerElement = comparisonBased ? (double) comparisons / iterations / Math.max(1, n) : -1;
+        }
+
+        /**
+         * Returns the measurements as one row of the report
+         *
+         * @param name         the name of the sorter
+         * @param distribution the distribution of ids
+         * @param n            the number of elements sorted
+         * @return the formatted row
+         */
+        String format(String name, Distribution distribution, int n) {
+            double millis = medianNanos / 1e6;
+            double seconds = Math.max(medianNanos, 1) / 1e9;
+            return String.format(Locale.ROOT, "%-16s %-11s %10d %12.3f %12.1f %10.2f %14s %10s", name,
+                    distribution.name().toLowerCase(Locale.ROOT), n, millis, 1 / seconds, n / seconds / 1e6,
+                    bytesPerSort < 0 ? "n/a" : String.format(Locale.ROOT, "%.0f", bytesPerSort),
+                    comparisonsPerElement < 0 ? "-"
+                            : String.format(Locale.ROOT, "%.2f", comparisonsPerElement));
+        }
+    }
+}
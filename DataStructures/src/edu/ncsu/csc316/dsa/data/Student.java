@@ -31,6 +31,9 @@ public class Student implements Comparable<Student>, Identifiable {
 	/** Students' unity id */
 	private String unityID;
 	
+	/** Cached sort key, or 0 if it must be computed */
+	private long sortKey;
+	
 	/**
 	 * Constructs the Student
 	 * @param first first name
@@ -48,6 +51,14 @@ public class Student implements Comparable<Student>, Identifiable {
 		setGpa(gpa);
 		setUnityID(unityID);
 	}
+
+	/**
+	 * Constructs a Student with no fields set, for subclasses that store the
+	 * Students' fields elsewhere and override every getter and setter
+	 */
+	protected Student() {
+		// Fields are provided by the subclass
+	}
 	
 	
 
@@ -69,6 +80,7 @@ public class Student implements Comparable<Student>, Identifiable {
 	 */
 	public void setFirst(String first) {
 		this.first = first;
+		this.sortKey = 0;
 	}
 
 
@@ -93,6 +105,7 @@ public class Student implements Comparable<Student>, Identifiable {
 	 */
 	public void setLast(String last) {
 		this.last = last;
+		this.sortKey = 0;
 	}
 
 
@@ -189,6 +202,27 @@ public class Student implements Comparable<Student>, Identifiable {
 	 */
 	public void setUnityID(String unityID) {
 		this.unityID = unityID;
+		this.sortKey = 0;
+	}
+
+
+
+
+
+	/**
+	 * Gets the students' sort key, which orders Students the same way as
+	 * compareTo whenever two keys differ. The key is computed on first use and
+	 * cached until the name or unity id changes.
+	 * @return students' sort key
+	 * @see StudentSortKey
+	 */
+	public long getSortKey() {
+		long key = sortKey;
+		if (key == 0) {
+			key = StudentSortKey.of(this);
+			sortKey = key;
+		}
+		return key;
 	}
 
 
@@ -197,20 +231,29 @@ public class Student implements Comparable<Student>, Identifiable {
 
 	@Override
 	public int compareTo(Student o) {
-		if (last.equals(o.getLast()) && first.equals(o.getFirst())) {
-			return unityID.compareTo(o.getUnityID());
-		} else if (last.equals(o.getLast())) {
-			return first.compareTo(o.getFirst());
-		} else {
-			return last.compareTo(o.getLast());
+		// Most pairs differ within the packed prefix, so only ties need the Strings
+		long key = getSortKey();
+		long otherKey = o.getSortKey();
+		if (key != otherKey) {
+			return key < otherKey ? -1 : 1;
+		}
+		int c = getLast().compareTo(o.getLast());
+		if (c != 0) {
+			return c;
+		}
+		c = getFirst().compareTo(o.getFirst());
+		if (c != 0) {
+			return c;
 		}
+		return getUnityID().compareTo(o.getUnityID());
 	}
 
 
 
 	@Override
 	public int hashCode() {
-		return Objects.hash(creditHours, first, gpa, id, last, unityID);
+		// Hashes the same fields as equals, without boxing
+		return 31 * (31 * Objects.hashCode(getFirst()) + Objects.hashCode(getLast())) + getId();
 	}
 
 
@@ -218,14 +261,15 @@ public class Student implements Comparable<Student>, Identifiable {
 	@Override
 	public boolean equals(Object obj) {
 		Student s = (Student) obj;
-		return first.equals(s.getFirst()) && last.equals(s.getLast()) && id == s.getId();
+		return getFirst().equals(s.getFirst()) && getLast().equals(s.getLast()) && getId() == s.getId();
 	}
 
 
 
 	@Override
 	public String toString() {
-		return first + " " + last + "," + id + "," + creditHours + "," + gpa + "," + unityID;
+		return getFirst() + " " + getLast() + "," + getId() + "," + getCreditHours() + "," + getGpa() + ","
+				+ getUnityID();
 	}
 	
 	
@@ -0,0 +1,89 @@
+package edu.ncsu.csc316.dsa.data;
+
+import java.util.function.ToLongFunction;
+
+/**
+ * StudentSortKey packs a prefix of a Student's last name, first name, and
+ * unity id into a long that orders the same way as
+ * {@link Student#compareTo(Student)}. Two Students whose keys differ are
+ * ordered by their keys alone; only Students with equal keys need their
+ * Strings compared.
+ *
+ * The last name, first name, and unity id are concatenated with a terminator
+ * after each, and the first seven characters of the result are packed into 9
+ * bits each. A terminator packs as 0 and any other character c packs as c + 1,
+ * so a shorter name orders before a longer name that begins with it. A
+ * character too large for 9 bits packs as the largest value and ends the key,
+ * so that two such characters tie rather than being misordered.
+ *
+ * @author Ethan Treece
+ *
+ */
+public final class StudentSortKey {
+
+    /** Extracts the cached sort key of a Student */
+    public static final ToLongFunction<Student> SORT_KEY = new ToLongFunction<Student>() {
+        @Override
+        public long applyAsLong(Student s) {
+            return s.getSortKey();
+        }
+    };
+
+    /** The number of bits per packed character */
+    private static final int BITS = 9;
+
+    /** The number of characters packed into a key */
+    private static final int SLOTS = 7;
+
+    /** The packed value of characters too large to pack exactly */
+    private static final int SATURATED = (1 << BITS) - 1;
+
+    /**
+     * StudentSortKey only has static methods
+     */
+    private StudentSortKey() {
+        // Not instantiable
+    }
+
+    /**
+     * Returns the sort key of the given names and unity id. A null String is
+     * packed as if it were empty.
+     *
+     * @param last    the last name
+     * @param first   the first name
+     * @param unityID the unity id
+     * @return the sort key
+     */
+    public static long pack(String last, String first, String unityID) {
+        long key = 0;
+        int used = 0;
+        for (int part = 0; part < 3 && used < SLOTS; part++) {
+            String s = part == 0 ? last : part == 1 ? first : unityID;
+            int length = s == null ? 0 : s.length();
+            for (int i = 0; i < length && used < SLOTS; i++) {
+                int c = s.charAt(i) + 1;
+                if (c >= SATURATED) {
+                    return (key << BITS | SATURATED) << (BITS * (SLOTS - used - 1));
+                }
+                key = key << BITS | c;
+                used++;
+            }
+            if (used < SLOTS) {
+                // The terminator
+                key <<= BITS;
+                used++;
+            }
+        }
+        return key << (BITS * (SLOTS - used));
+    }
+
+    /**
+     * Returns the sort key of the Student
+     *
+     * @param s the Student
+     * @return the sort key
+     */
+    public static long of(Student s) {
+        return pack(s.getLast(), s.getFirst(), s.getUnityID());
+    }
+}
@@ -0,0 +1,647 @@
+package edu.ncsu.csc316.dsa.data;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.function.Predicate;
+
+import edu.ncsu.csc316.dsa.map.Map;
+import edu.ncsu.csc316.dsa.map.hashing.LinearProbingHashMap;
+import edu.ncsu.csc316.dsa.sorter.MergeSorter;
+import edu.ncsu.csc316.dsa.sorter.PrimitiveKeySorter;
+
+/**
+ * A StudentTable stores a roster column by column: each attribute of every
+ * Student is kept in its own primitive array, and names and unity ids are
+ * stored as indexes into a shared dictionary of distinct Strings. Scans,
+ * aggregates, and key sorts read only the columns they need instead of
+ * following a reference to every Student.
+ *
+ * Rows can be viewed as Students through flyweight views returned by
+ * {@link #get(int)}. A view reads and writes the row it refers to, so a view
+ * reflects later changes to that row, and after the table is sorted a view
+ * refers to whichever Student then occupies its row.
+ *
+ * @author Ethan Treece
+ *
+ */
+public class StudentTable {
+
+    /** The default number of rows the table can hold before growing */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /** Student ids */
+    private int[] ids;
+
+    /** Credit hours */
+    private int[] creditHours;
+
+    /** GPAs */
+    private double[] gpas;
+
+    /** Dictionary indexes of first names */
+    private int[] firsts;
+
+    /** Dictionary indexes of last names */
+    private int[] lasts;
+
+    /** Dictionary indexes of unity ids */
+    private int[] unityIDs;
+
+    /** The number of rows */
+    private int size;
+
+    /** Distinct names and unity ids */
+    private String[] dictionary;
+
+    /** The number of Strings in the dictionary */
+    private int dictionarySize;
+
+    /** Whether the dictionary array may be referenced by another table */
+    private boolean dictionaryShared;
+
+    /** The dictionary index of each String, built when first needed */
+    private Map<String, Integer> indexes;
+
+    /**
+     * Constructs an empty StudentTable
+     */
+    public StudentTable() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty StudentTable with room for the given number of rows
+     *
+     * @param capacity the number of rows the table can hold before growing
+     */
+    public StudentTable(int capacity) {
+        int c = Math.max(1, capacity);
+        ids = new int[c];
+        creditHours = new int[c];
+        gpas = new double[c];
+        firsts = new int[c];
+        lasts = new int[c];
+        unityIDs = new int[c];
+        dictionary = new String[c];
+    }
+
+    /**
+     * Constructs a StudentTable holding a copy of each Student in the roster
+     *
+     * @param roster the Students to copy into the table
+     */
+    public StudentTable(Student[] roster) {
+        this(roster.length);
+        for (Student s : roster) {
+            add(s);
+        }
+    }
+
+    /**
+     * Constructs a StudentTable directly from its columns, which are used
+     * without being copied; the dictionary is copied only if a String is later
+     * added to it. Every column must have the same length, and every
+     * name and unity id index must be a valid index into the dictionary.
+     *
+     * @param ids         student ids
+     * @param creditHours credit hours
+     * @param gpas        GPAs
+     * @param firsts      dictionary indexes of first names
+     * @param lasts       dictionary indexes of last names
+     * @param unityIDs    dictionary indexes of unity ids
+     * @param dictionary  distinct names and unity ids
+     * @throws IllegalArgumentException if the columns have different lengths
+     */
+    public StudentTable(int[] ids, int[] creditHours, double[] gpas, int[] firsts, int[] lasts, int[] unityIDs,
+            String[] dictionary) {
+        int n = ids.length;
+        if (creditHours.length != n || gpas.length != n || firsts.length != n || lasts.length != n
+                || unityIDs.length != n) {
+            throw new IllegalArgumentException("Columns must have the same length.");
+        }
+        this.ids = ids;
+        this.creditHours = creditHours;
+        this.gpas = gpas;
+        this.firsts = firsts;
+        this.lasts = lasts;
+        this.unityIDs = unityIDs;
+        this.dictionary = dictionary;
+        size = n;
+        dictionarySize = dictionary.length;
+        dictionaryShared = true;
+    }
+
+    /**
+     * Returns the number of rows in the table
+     *
+     * @return the number of rows
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Appends a copy of the Student to the table
+     *
+     * @param s the Student to add
+     */
+    public void add(Student s) {
+        if (size == ids.length) {
+            grow();
+        }
+        ids[size] = s.getId();
+        creditHours[size] = s.getCreditHours();
+        gpas[size] = s.getGpa();
+        firsts[size] = indexOf(s.getFirst());
+        lasts[size] = indexOf(s.getLast());
+        unityIDs[size] = indexOf(s.getUnityID());
+        size++;
+    }
+
+    /**
+     * Returns a flyweight Student view of the row
+     *
+     * @param row the index of the row
+     * @return a view of the row
+     * @throws IndexOutOfBoundsException if the row does not exist
+     */
+    public Student get(int row) {
+        checkRow(row);
+        return new StudentView(row);
+    }
+
+    /**
+     * Returns a flyweight Student view of every row, in row order
+     *
+     * @return views of every row
+     */
+    public Student[] views() {
+        Student[] views = new Student[size];
+        for (int i = 0; i < size; i++) {
+            views[i] = new StudentView(i);
+        }
+        return views;
+    }
+
+    /**
+     * Returns an independent Student copy of every row, in row order
+     *
+     * @return copies of every row
+     */
+    public Student[] toArray() {
+        Student[] copies = new Student[size];
+        for (int i = 0; i < size; i++) {
+            copies[i] = new Student(dictionary[firsts[i]], dictionary[lasts[i]], ids[i], creditHours[i], gpas[i],
+                    dictionary[unityIDs[i]]);
+        }
+        return copies;
+    }
+
+    /**
+     * Returns the student id in the row
+     *
+     * @param row the index of the row
+     * @return the student id
+     */
+    public int getId(int row) {
+        checkRow(row);
+        return ids[row];
+    }
+
+    /**
+     * Returns the credit hours in the row
+     *
+     * @param row the index of the row
+     * @return the credit hours
+     */
+    public int getCreditHours(int row) {
+        checkRow(row);
+        return creditHours[row];
+    }
+
+    /**
+     * Returns the GPA in the row
+     *
+     * @param row the index of the row
+     * @return the GPA
+     */
+    public double getGpa(int row) {
+        checkRow(row);
+        return gpas[row];
+    }
+
+    /**
+     * Returns the first name in the row
+     *
+     * @param row the index of the row
+     * @return the first name
+     */
+    public String getFirst(int row) {
+        checkRow(row);
+        return dictionary[firsts[row]];
+    }
+
+    /**
+     * Returns the last name in the row
+     *
+     * @param row the index of the row
+     * @return the last name
+     */
+    public String getLast(int row) {
+        checkRow(row);
+        return dictionary[lasts[row]];
+    }
+
+    /**
+     * Returns the unity id in the row
+     *
+     * @param row the index of the row
+     * @return the unity id
+     */
+    public String getUnityID(int row) {
+        checkRow(row);
+        return dictionary[unityIDs[row]];
+    }
+
+    /**
+     * Sorts the rows by ascending student id. The sort is stable.
+     */
+    public void sortById() {
+        int[] keys = Arrays.copyOf(ids, size);
+        permute(PrimitiveKeySorter.sort(keys));
+    }
+
+    /**
+     * Sorts the rows by descending GPA, the order used by
+     * {@link StudentGPAComparator}. The sort is stable.
+     */
+    public void sortByGpa() {
+        double[] keys = new double[size];
+        for (int i = 0; i < size; i++) {
+            // Adding 0.0 turns -0.0 into 0.0 so that both zeros tie
+            keys[i] = -(gpas[i] + 0.0);
+        }
+        permute(PrimitiveKeySorter.sort(keys));
+    }
+
+    /**
+     * Sorts the rows by ascending credit hours. The sort is stable.
+     */
+    public void sortByCreditHours() {
+        int[] keys = Arrays.copyOf(creditHours, size);
+        permute(PrimitiveKeySorter.sort(keys));
+    }
+
+    /**
+     * Sorts the rows using the comparator, or the Students' natural ordering if
+     * the comparator is null. The sort is stable.
+     *
+     * @param comparator the comparator used to order the rows, or null
+     */
+    public void sort(Comparator<Student> comparator) {
+        Student[] views = views();
+        new MergeSorter<Student>(comparator).sort(views);
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = ((StudentView) views[i]).row;
+        }
+        permute(order);
+    }
+
+    /**
+     * Returns a new table holding the rows whose GPA is in [min, max]
+     *
+     * @param min the smallest GPA to keep
+     * @param max the largest GPA to keep
+     * @return a table of the matching rows, in row order
+     */
+    public StudentTable filterByGpa(double min, double max) {
+        int[] rows = new int[size];
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            double gpa = gpas[i];
+            if (gpa >= min && gpa <= max) {
+                rows[count++] = i;
+            }
+        }
+        return select(rows, count);
+    }
+
+    /**
+     * Returns a new table holding the rows whose credit hours are in [min, max]
+     *
+     * @param min the fewest credit hours to keep
+     * @param max the most credit hours to keep
+     * @return a table of the matching rows, in row order
+     */
+    public StudentTable filterByCreditHours(int min, int max) {
+        int[] rows = new int[size];
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            int hours = creditHours[i];
+            if (hours >= min && hours <= max) {
+                rows[count++] = i;
+            }
+        }
+        return select(rows, count);
+    }
+
+    /**
+     * Returns a new table holding the rows that match the predicate. The
+     * predicate is given a single reused view that is moved from row to row,
+     * so it must not keep a reference to the view.
+     *
+     * @param predicate the test each row must pass
+     * @return a table of the matching rows, in row order
+     */
+    public StudentTable filter(Predicate<? super Student> predicate) {
+        int[] rows = new int[size];
+        int count = 0;
+        StudentView cursor = new StudentView(0);
+        for (int i = 0; i < size; i++) {
+            cursor.row = i;
+            if (predicate.test(cursor)) {
+                rows[count++] = i;
+            }
+        }
+        return select(rows, count);
+    }
+
+    /**
+     * Returns the smallest GPA in the table
+     *
+     * @return the smallest GPA, or NaN if the table is empty
+     */
+    public double minGpa() {
+        if (size == 0) {
+            return Double.NaN;
+        }
+        double min = gpas[0];
+        for (int i = 1; i < size; i++) {
+            min = Math.min(min, gpas[i]);
+        }
+        return min;
+    }
+
+    /**
+     * Returns the largest GPA in the table
+     *
+     * @return the largest GPA, or NaN if the table is empty
+     */
+    public double maxGpa() {
+        if (size == 0) {
+            return Double.NaN;
+        }
+        double max = gpas[0];
+        for (int i = 1; i < size; i++) {
+            max = Math.max(max, gpas[i]);
+        }
+        return max;
+    }
+
+    /**
+     * Returns the mean GPA in the table
+     *
+     * @return the mean GPA, or NaN if the table is empty
+     */
+    public double averageGpa() {
+        if (size == 0) {
+            return Double.NaN;
+        }
+        double sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += gpas[i];
+        }
+        return sum / size;
+    }
+
+    /**
+     * Returns the number of rows with each number of credit hours. Index h of
+     * the result holds the number of rows with h credit hours; rows with
+     * negative credit hours are not counted.
+     *
+     * @return the credit hour histogram, with one entry for each number of
+     *         credit hours from 0 to the largest in the table
+     */
+    public int[] creditHourHistogram() {
+        int max = -1;
+        for (int i = 0; i < size; i++) {
+            max = Math.max(max, creditHours[i]);
+        }
+        int[] histogram = new int[max + 1];
+        for (int i = 0; i < size; i++) {
+            int hours = creditHours[i];
+            if (hours >= 0) {
+                histogram[hours]++;
+            }
+        }
+        return histogram;
+    }
+
+    /**
+     * Rearranges the rows so that row i holds what was row order[i]
+     *
+     * @param order the previous index of each row
+     */
+    private void permute(int[] order) {
+        ids = permute(ids, order);
+        creditHours = permute(creditHours, order);
+        firsts = permute(firsts, order);
+        lasts = permute(lasts, order);
+        unityIDs = permute(unityIDs, order);
+        double[] column = new double[gpas.length];
+        for (int i = 0; i < size; i++) {
+            column[i] = gpas[order[i]];
+        }
+        gpas = column;
+    }
+
+    /**
+     * Returns a copy of the column rearranged so that row i holds what was row
+     * order[i]
+     *
+     * @param column the column to rearrange
+     * @param order  the previous index of each row
+     * @return the rearranged column
+     */
+    private int[] permute(int[] column, int[] order) {
+        int[] result = new int[column.length];
+        for (int i = 0; i < size; i++) {
+            result[i] = column[order[i]];
+        }
+        return result;
+    }
+
+    /**
+     * Returns a new table holding the given rows. The new table shares this
+     * table's dictionary until either table adds a String to it.
+     *
+     * @param rows  the indexes of the rows to copy
+     * @param count the number of rows to copy
+     * @return a table of the rows
+     */
+    private StudentTable select(int[] rows, int count) {
+        int[] idColumn = new int[count];
+        int[] hoursColumn = new int[count];
+        double[] gpaColumn = new double[count];
+        int[] firstColumn = new int[count];
+        int[] lastColumn = new int[count];
+        int[] unityColumn = new int[count];
+        for (int i = 0; i < count; i++) {
+            int row = rows[i];
+            idColumn[i] = ids[row];
+            hoursColumn[i] = creditHours[row];
+            gpaColumn[i] = gpas[row];
+            firstColumn[i] = firsts[row];
+            lastColumn[i] = lasts[row];
+            unityColumn[i] = unityIDs[row];
+        }
+        StudentTable table = new StudentTable(idColumn, hoursColumn, gpaColumn, firstColumn, lastColumn, unityColumn, dictionary);
+        table.dictionarySize = dictionarySize;
+        dictionaryShared = true;
+        return table;
+    }
+
+    /**
+     * Returns the dictionary index of the String, adding it to the dictionary
+     * the first time it is seen
+     *
+     * @param s the String to look up
+     * @return the dictionary index of the String
+     */
+    private int indexOf(String s) {
+        if (indexes == null) {
+            indexes = new LinearProbingHashMap<String, Integer>();
+            for (int i = 0; i < dictionarySize; i++) {
+                if (indexes.get(dictionary[i]) == null) {
+                    indexes.put(dictionary[i], i);
+                }
+            }
+        }
+        Integer index = indexes.get(s);
+        if (index == null) {
+            // A shared dictionary is copied before it is changed
+            if (dictionaryShared || dictionarySize == dictionary.length) {
+                dictionary = Arrays.copyOf(dictionary, dictionarySize * 2 + 1);
+                dictionaryShared = false;
+            }
+            index = dictionarySize;
+            dictionary[dictionarySize++] = s;
+            indexes.put(s, index);
+        }
+        return index;
+    }
+
+    /**
+     * Doubles the number of rows the table can hold
+     */
+    private void grow() {
+        int capacity = ids.length * 2 + 1;
+        ids = Arrays.copyOf(ids, capacity);
+        creditHours = Arrays.copyOf(creditHours, capacity);
+        gpas = Arrays.copyOf(gpas, capacity);
+        firsts = Arrays.copyOf(firsts, capacity);
+        lasts = Arrays.copyOf(lasts, capacity);
+        unityIDs = Arrays.copyOf(unityIDs, capacity);
+    }
+
+    /**
+     * Checks that the row exists
+     *
+     * @param row the index of the row
+     * @throws IndexOutOfBoundsException if the row does not exist
+     */
+    private void checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Invalid row: " + row);
+        }
+    }
+
+    /**
+     * StudentView is a flyweight Student that reads and writes one row of the
+     * table instead of holding its own fields
+     *
+     * @author Ethan Treece
+     *
+     */
+    private class StudentView extends Student {
+
+        /** The index of the row */
+        private int row;
+
+        /**
+         * Constructs a view of the row
+         *
+         * @param row the index of the row
+         */
+        StudentView(int row) {
+            this.row = row;
+        }
+
+        @Override
+        public String getFirst() {
+            return dictionary[firsts[row]];
+        }
+
+        @Override
+        public void setFirst(String first) {
+            firsts[row] = indexOf(first);
+        }
+
+        @Override
+        public String getLast() {
+            return dictionary[lasts[row]];
+        }
+
+        @Override
+        public void setLast(String last) {
+            lasts[row] = indexOf(last);
+        }
+
+        @Override
+        public int getId() {
+            return ids[row];
+        }
+
+        @Override
+        public void setId(int id) {
+            ids[row] = id;
+        }
+
+        @Override
+        public int getCreditHours() {
+            return creditHours[row];
+        }
+
+        @Override
+        public void setCreditHours(int creditHours) {
+            StudentTable.this.creditHours[row] = creditHours;
+        }
+
+        @Override
+        public double getGpa() {
+            return gpas[row];
+        }
+
+        @Override
+        public void setGpa(double gpa) {
+            gpas[row] = gpa;
+        }
+
+        @Override
+        public String getUnityID() {
+            return dictionary[unityIDs[row]];
+        }
+
+        @Override
+        public void setUnityID(String unityID) {
+            unityIDs[row] = indexOf(unityID);
+        }
+
+        @Override
+        public long getSortKey() {
+            // Not cached, since sorting the table changes what the row holds
+            return StudentSortKey.of(this);
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package edu.ncsu.csc316.dsa.graph;
 
 import edu.ncsu.csc316.dsa.Position;
+import edu.ncsu.csc316.dsa.list.ArrayBasedList;
+import edu.ncsu.csc316.dsa.list.List;
 import edu.ncsu.csc316.dsa.list.positional.PositionalLinkedList;
 import edu.ncsu.csc316.dsa.list.positional.PositionalList;
 import edu.ncsu.csc316.dsa.map.Map;
@@ -116,15 +118,32 @@ public class AdjacencyMapGraph<V, E> extends AbstractGraph<V, E> {
     @Override
     public void removeVertex(Vertex<V> vertex) {
         AMVertex v = validate(vertex);
-        for (Edge<E> e : v.getOutgoing().values()) {
+        // Removing an edge changes the maps, so collect each map's edges before
+        // removing them. The incoming edges are collected after the outgoing
+        // edges are gone, since an undirected vertex has one map for both.
+        for (Edge<E> e : edgesOf(v.getOutgoing())) {
             removeEdge(e);
         }
-        for (Edge<E> e : v.getIncoming().values()) {
+        for (Edge<E> e : edgesOf(v.getIncoming())) {
             removeEdge(e);
         }
         vertexList.remove(v.getPosition());
     }
 
+    /**
+     * Returns a copy of the edges in a vertex's map of edges
+     * 
+     * @param edges the map of edges
+     * @return a list of the edges
+     */
+    private List<Edge<E>> edgesOf(Map<Vertex<V>, Edge<E>> edges) {
+        List<Edge<E>> list = new ArrayBasedList<Edge<E>>();
+        for (Edge<E> e : edges.values()) {
+            list.addLast(e);
+        }
+        return list;
+    }
+
     @Override
     public void removeEdge(Edge<E> edge) {
         GraphEdge e = validate(edge);
@@ -50,7 +50,7 @@ public class MinimumSpanningTreeUtil {
         // Use a disjoint set to help with cycle detection
         DisjointSetForest<Vertex<V>> d = new UpTreeDisjointSetForest<>();
 
-        Map<Vertex<V>, Position<Vertex<V>>> pqEntries = new LinearProbingHashMap<>();
+        Map<Vertex<V>, Position<Vertex<V>>> pqEntries = LinearProbingHashMap.withExpectedSize(g.numVertices());
         
         // insert the edges into the priority queue, partially ordered to edge weight
         for (Edge<E> e : g.edges()) {
@@ -89,10 +89,11 @@ public class MinimumSpanningTreeUtil {
      */
     public static <V, E extends Weighted> PositionalList<Edge<E>> primJarnik(Graph<V, E> g) {
         AdaptablePriorityQueue<Integer, Vertex<V>> q = new HeapAdaptablePriorityQueue<>();
-        Map<Vertex<V>, Integer> weights = new LinearProbingHashMap<>();
-        Set<Vertex<V>> known = new HashSet<>();
-        Map<Vertex<V>, Entry<Integer, Vertex<V>>> pqEntries = new LinearProbingHashMap<>();
-        Map<Vertex<V>, Edge<E>> connectingEdges = new LinearProbingHashMap<>();
+        int n = g.numVertices();
+        Map<Vertex<V>, Integer> weights = LinearProbingHashMap.withExpectedSize(n);
+        Set<Vertex<V>> known = new HashSet<>(n);
+        Map<Vertex<V>, Entry<Integer, Vertex<V>>> pqEntries = LinearProbingHashMap.withExpectedSize(n);
+        Map<Vertex<V>, Edge<E>> connectingEdges = LinearProbingHashMap.withExpectedSize(n);
         
         PositionalList<Edge<E>> tree = new PositionalLinkedList<>();
         
@@ -36,12 +36,16 @@ public class ShortestPathUtil {
      *         graph
      */ 
     public static <V, E extends Weighted> Map<Vertex<V>, Integer> dijkstra(Graph<V, E> graph, Vertex<V> start) {
+        // Every map gets an entry per vertex, so size each hash table once up
+        // front rather than rehashing at every doubling
+        int n = graph.numVertices();
+
         // Use a map to track the shorted path cost to each vertex
-        Map<Vertex<V>, Integer> m = new LinearProbingHashMap<Vertex<V>, Integer>();
+        Map<Vertex<V>, Integer> m = LinearProbingHashMap.withExpectedSize(n);
 
-        Map<Vertex<V>, Integer> weights = new LinearProbingHashMap<>();
-        Map<Vertex<V>, Boolean> found = new LinearProbingHashMap<>();
-        Map<Vertex<V>, Entry<Integer, Vertex<V>>> pqEntries = new LinearProbingHashMap<>();
+        Map<Vertex<V>, Integer> weights = LinearProbingHashMap.withExpectedSize(n);
+        Map<Vertex<V>, Boolean> found = LinearProbingHashMap.withExpectedSize(n);
+        Map<Vertex<V>, Entry<Integer, Vertex<V>>> pqEntries = LinearProbingHashMap.withExpectedSize(n);
         
         // Use an adaptable priority queue to order vertices by weight
         HeapAdaptablePriorityQueue<Integer, Vertex<V>> q = new HeapAdaptablePriorityQueue<Integer, Vertex<V>>();
@@ -92,7 +96,7 @@ public class ShortestPathUtil {
      */ 
     public static <V, E extends Weighted> Map<Vertex<V>, Edge<E>> shortestPathTree(Graph<V, E> graph, Vertex<V> start, Map<Vertex<V>, Integer> costs) {
         // Create a map to store edges in the shortest path tree
-        Map<Vertex<V>, Edge<E>> m = new LinearProbingHashMap<Vertex<V>, Edge<E>>();
+        Map<Vertex<V>, Edge<E>> m = LinearProbingHashMap.withExpectedSize(costs.size());
         
         for (Vertex<V> v : costs) {
             if (v != start) {
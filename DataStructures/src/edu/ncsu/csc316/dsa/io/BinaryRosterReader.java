@@ -0,0 +1,324 @@
+package edu.ncsu.csc316.dsa.io;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+import edu.ncsu.csc316.dsa.data.Identifiable;
+import edu.ncsu.csc316.dsa.data.Student;
+import edu.ncsu.csc316.dsa.data.StudentTable;
+
+/**
+ * BinaryRosterReader loads rosters saved by {@link BinaryRosterWriter}. Each
+ * column is memory-mapped and copied into a primitive array with a single bulk
+ * get, so no per-field parsing is needed. The ids can be loaded on their own
+ * for workloads, such as sorting by id, that need no other attribute.
+ *
+ * @author Ethan Treece
+ *
+ */
+public class BinaryRosterReader {
+
+    /** The index of the student id column */
+    static final int ID_COLUMN = 0;
+
+    /** The index of the credit hours column */
+    static final int CREDIT_HOURS_COLUMN = 1;
+
+    /** The index of the GPA column */
+    static final int GPA_COLUMN = 2;
+
+    /** The index of the first name column */
+    static final int FIRST_COLUMN = 3;
+
+    /** The index of the last name column */
+    static final int LAST_COLUMN = 4;
+
+    /** The index of the unity id column */
+    static final int UNITY_ID_COLUMN = 5;
+
+    /** The number of bytes per value in each column */
+    private static final int[] WIDTHS = { 4, 4, 8, 4, 4, 4 };
+
+    /**
+     * Returns the roster saved in the binary roster file as an array of
+     * Student objects. Students that share a name or unity id share a single
+     * String instance.
+     *
+     * @param filePath - the path to the binary roster file
+     * @return an array of Student objects, in the order they were written
+     * @throws IllegalArgumentException if the file does not exist or is not a
+     *                                  valid binary roster file
+     */
+    public static Student[] readRoster(String filePath) {
+        return readTable(filePath).toArray();
+    }
+
+    /**
+     * Returns the roster saved in the binary roster file as a StudentTable. The
+     * loaded columns and dictionary are used by the table without being copied
+     * or turned into Student objects.
+     *
+     * @param filePath - the path to the binary roster file
+     * @return a table of the Students, in the order they were written
+     * @throws IllegalArgumentException if the file does not exist or is not a
+     *                                  valid binary roster file
+     */
+    public static StudentTable readTable(String filePath) {
+        try (FileChannel channel = open(filePath)) {
+            int[] header = readHeader(channel, filePath);
+            int n = header[0];
+            int[] ids = readIntColumn(channel, n, ID_COLUMN);
+            int[] creditHours = readIntColumn(channel, n, CREDIT_HOURS_COLUMN);
+            double[] gpas = readDoubleColumn(channel, n);
+            int[] first = readIntColumn(channel, n, FIRST_COLUMN);
+            int[] last = readIntColumn(channel, n, LAST_COLUMN);
+            int[] unity = readIntColumn(channel, n, UNITY_ID_COLUMN);
+            String[] dictionary = readDictionary(channel, n, header[1], filePath);
+            checkIndexes(first, dictionary.length, filePath);
+            checkIndexes(last, dictionary.length, filePath);
+            checkIndexes(unity, dictionary.length, filePath);
+            return new StudentTable(ids, creditHours, gpas, first, last, unity, dictionary);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Returns only the student ids saved in the binary roster file. None of the
+     * other columns or the dictionary are read.
+     *
+     * @param filePath - the path to the binary roster file
+     * @return the student ids, in the order they were written
+     * @throws IllegalArgumentException if the file does not exist or is not a
+     *                                  valid binary roster file
+     */
+    public static int[] readIds(String filePath) {
+        try (FileChannel channel = open(filePath)) {
+            return readIntColumn(channel, readHeader(channel, filePath)[0], ID_COLUMN);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Returns only the student ids saved in the binary roster file, wrapped as
+     * lightweight Identifiable objects that can be sorted by id-based sorters
+     * such as RadixSorter and CountingSorter
+     *
+     * @param filePath - the path to the binary roster file
+     * @return the student ids, in the order they were written
+     * @throws IllegalArgumentException if the file does not exist or is not a
+     *                                  valid binary roster file
+     */
+    public static Identifiable[] readIdentifiers(String filePath) {
+        int[] ids = readIds(filePath);
+        Identifiable[] identifiers = new Identifiable[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            identifiers[i] = new StudentId(ids[i]);
+        }
+        return identifiers;
+    }
+
+    /**
+     * Returns true if the file begins with the binary roster header
+     *
+     * @param filePath - the path to the file
+     * @return true if the file is a binary roster file
+     * @throws IllegalArgumentException if the file does not exist
+     */
+    public static boolean isBinaryRoster(String filePath) {
+        try (FileChannel channel = open(filePath)) {
+            ByteBuffer buffer = ByteBuffer.allocate(4);
+            return channel.read(buffer, 0) == 4 && buffer.getInt(0) == BinaryRosterWriter.MAGIC;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Opens the file for reading
+     *
+     * @param filePath the path to the file
+     * @return the open file
+     * @throws IOException if the file cannot be opened
+     */
+    private static FileChannel open(String filePath) throws IOException {
+        try {
+            return FileChannel.open(Paths.get(filePath), StandardOpenOption.READ);
+        } catch (NoSuchFileException e) {
+            throw new IllegalArgumentException("File not found: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Reads and validates the header
+     *
+     * @param channel  the open file
+     * @param filePath the path to the file, for error messages
+     * @return the number of Students and the number of dictionary entries
+     * @throws IOException if the file cannot be read
+     */
+    private static int[] readHeader(FileChannel channel, String filePath) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(BinaryRosterWriter.HEADER_SIZE);
+        if (channel.read(header, 0) < BinaryRosterWriter.HEADER_SIZE
+                || header.getInt(0) != BinaryRosterWriter.MAGIC) {
+            throw new IllegalArgumentException("Not a binary roster file: " + filePath);
+        }
+        int version = header.getInt(4);
+        if (version != BinaryRosterWriter.VERSION) {
+            throw new IllegalArgumentException("Unsupported binary roster version: " + version);
+        }
+        int n = header.getInt(8);
+        int dictionarySize = header.getInt(12);
+        if (n < 0 || dictionarySize < 0 || channel.size() < columnOffset(n, WIDTHS.length)) {
+            throw new IllegalArgumentException("Corrupt binary roster file: " + filePath);
+        }
+        return new int[] { n, dictionarySize };
+    }
+
+    /**
+     * Returns the file offset of the given column, or of the dictionary when
+     * column is the number of columns
+     *
+     * @param n      the number of Students
+     * @param column the index of the column
+     * @return the file offset of the column
+     */
+    private static long columnOffset(int n, int column) {
+        long offset = BinaryRosterWriter.HEADER_SIZE;
+        for (int i = 0; i < column; i++) {
+            offset += (long) WIDTHS[i] * n;
+        }
+        return offset;
+    }
+
+    /**
+     * Maps the column and copies it into an int array
+     *
+     * @param channel the open file
+     * @param n       the number of Students
+     * @param column  the index of the column
+     * @return the values in the column
+     * @throws IOException if the column cannot be mapped
+     */
+    static int[] readIntColumn(FileChannel channel, int n, int column) throws IOException {
+        int[] values = new int[n];
+        long offset = columnOffset(n, column);
+        // A mapping holds at most Integer.MAX_VALUE bytes
+        int perMapping = Integer.MAX_VALUE / 4;
+        for (int start = 0; start < n; start += perMapping) {
+            int count = Math.min(perMapping, n - start);
+            channel.map(FileChannel.MapMode.READ_ONLY, offset + 4L * start, 4L * count).asIntBuffer().get(values,
+                    start, count);
+        }
+        return values;
+    }
+
+    /**
+     * Checks that every index in the column is a valid dictionary index
+     *
+     * @param column         the dictionary indexes
+     * @param dictionarySize the number of dictionary entries
+     * @param filePath       the path to the file, for error messages
+     */
+    private static void checkIndexes(int[] column, int dictionarySize, String filePath) {
+        for (int index : column) {
+            if (index < 0 || index >= dictionarySize) {
+                throw new IllegalArgumentException("Corrupt binary roster file: " + filePath);
+            }
+        }
+    }
+
+    /**
+     * Maps the GPA column and copies it into a double array
+     *
+     * @param channel the open file
+     * @param n       the number of Students
+     * @return the values in the column
+     * @throws IOException if the column cannot be mapped
+     */
+    static double[] readDoubleColumn(FileChannel channel, int n) throws IOException {
+        double[] values = new double[n];
+        long offset = columnOffset(n, GPA_COLUMN);
+        int perMapping = Integer.MAX_VALUE / 8;
+        for (int start = 0; start < n; start += perMapping) {
+            int count = Math.min(perMapping, n - start);
+            channel.map(FileChannel.MapMode.READ_ONLY, offset + 8L * start, 8L * count).asDoubleBuffer()
+                    .get(values, start, count);
+        }
+        return values;
+    }
+
+    /**
+     * Maps the dictionary and decodes each of its Strings
+     *
+     * @param channel  the open file
+     * @param n        the number of Students
+     * @param size     the number of dictionary entries
+     * @param filePath the path to the file, for error messages
+     * @return the dictionary
+     * @throws IOException if the dictionary cannot be mapped
+     */
+    static String[] readDictionary(FileChannel channel, int n, int size, String filePath) throws IOException {
+        long offset = columnOffset(n, WIDTHS.length);
+        long length = channel.size() - offset;
+        if (length > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Dictionary is too large to map in " + filePath);
+        }
+        ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+        String[] dictionary = new String[size];
+        byte[] bytes = new byte[64];
+        for (int i = 0; i < size; i++) {
+            if (buffer.remaining() < 4) {
+                throw new IllegalArgumentException("Corrupt binary roster file: " + filePath);
+            }
+            int count = buffer.getInt();
+            if (count < 0 || count > buffer.remaining()) {
+                throw new IllegalArgumentException("Corrupt binary roster file: " + filePath);
+            }
+            if (bytes.length < count) {
+                bytes = new byte[Math.max(count, bytes.length * 2)];
+            }
+            buffer.get(bytes, 0, count);
+            dictionary[i] = new String(bytes, 0, count, StandardCharsets.UTF_8);
+        }
+        return dictionary;
+    }
+
+    /**
+     * StudentId is a lightweight Identifiable that holds only a student id
+     *
+     * @author Ethan Treece
+     *
+     */
+    private static class StudentId implements Identifiable {
+
+        /** The student id */
+        private int id;
+
+        /**
+         * Constructs a StudentId
+         *
+         * @param id the student id
+         */
+        StudentId(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public int getId() {
+            return id;
+        }
+
+        @Override
+        public String toString() {
+            return Integer.toString(id);
+        }
+    }
+}
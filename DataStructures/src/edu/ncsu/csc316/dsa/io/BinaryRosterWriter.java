@@ -0,0 +1,141 @@
+package edu.ncsu.csc316.dsa.io;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+import edu.ncsu.csc316.dsa.data.Student;
+import edu.ncsu.csc316.dsa.list.ArrayBasedList;
+import edu.ncsu.csc316.dsa.list.List;
+import edu.ncsu.csc316.dsa.map.Map;
+import edu.ncsu.csc316.dsa.map.hashing.LinearProbingHashMap;
+
+/**
+ * BinaryRosterWriter saves a roster of Students in a compact, versioned,
+ * column-oriented binary format that {@link BinaryRosterReader} can load
+ * without parsing any text.
+ *
+ * All values are big-endian. The file begins with a 16-byte header:
+ *
+ *    MAGIC (int), VERSION (int), STUDENT_COUNT (int), DICTIONARY_SIZE (int)
+ *
+ * followed by one column per attribute, each holding STUDENT_COUNT values:
+ *
+ *    STUDENT_ID (int), CREDIT_HOURS (int), GPA (double),
+ *    FIRST_NAME (int), LAST_NAME (int), UNITY_ID (int)
+ *
+ * The name and unity id columns hold indexes into a dictionary of distinct
+ * Strings that ends the file. Each dictionary entry is its UTF-8 length (int)
+ * followed by its UTF-8 bytes. Because the columns have fixed widths, each
+ * starts at a fixed offset and can be loaded on its own.
+ *
+ * @author Ethan Treece
+ *
+ */
+public class BinaryRosterWriter {
+
+    /** Identifies a binary roster file */
+    public static final int MAGIC = 0x524F5354;
+
+    /** The current version of the format */
+    public static final int VERSION = 1;
+
+    /** The number of bytes in the header */
+    static final int HEADER_SIZE = 16;
+
+    /** Buffer size for the output file */
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * Writes the roster to the given file in the binary roster format
+     *
+     * @param roster   - the Students to write
+     * @param filePath - the path to the output file
+     * @throws UncheckedIOException if the file cannot be written
+     */
+    public static void writeRoster(Student[] roster, String filePath) {
+        int n = roster.length;
+        Map<String, Integer> indexes = new LinearProbingHashMap<String, Integer>();
+        List<String> dictionary = new ArrayBasedList<String>();
+        int[] first = new int[n];
+        int[] last = new int[n];
+        int[] unity = new int[n];
+        for (int i = 0; i < n; i++) {
+            first[i] = indexOf(roster[i].getFirst(), indexes, dictionary);
+            last[i] = indexOf(roster[i].getLast(), indexes, dictionary);
+            unity[i] = indexOf(roster[i].getUnityID(), indexes, dictionary);
+        }
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(filePath), BUFFER_SIZE))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(n);
+            out.writeInt(dictionary.size());
+            for (int i = 0; i < n; i++) {
+                out.writeInt(roster[i].getId());
+            }
+            for (int i = 0; i < n; i++) {
+                out.writeInt(roster[i].getCreditHours());
+            }
+            for (int i = 0; i < n; i++) {
+                out.writeDouble(roster[i].getGpa());
+            }
+            writeColumn(out, first);
+            writeColumn(out, last);
+            writeColumn(out, unity);
+            for (String s : dictionary) {
+                byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Converts an input CSV file into a binary roster file
+     *
+     * @param csvPath    - the path to the input CSV file
+     * @param binaryPath - the path to the output binary roster file
+     * @throws IllegalArgumentException if the CSV file does not exist
+     */
+    public static void convert(String csvPath, String binaryPath) {
+        writeRoster(StudentReader.readInputAsArrayMapped(csvPath), binaryPath);
+    }
+
+    /**
+     * Returns the dictionary index of the String, adding it to the dictionary
+     * the first time it is seen
+     *
+     * @param s          the String to look up
+     * @param indexes    the index of each String already in the dictionary
+     * @param dictionary the distinct Strings in order of first appearance
+     * @return the dictionary index of the String
+     */
+    private static int indexOf(String s, Map<String, Integer> indexes, List<String> dictionary) {
+        Integer index = indexes.get(s);
+        if (index == null) {
+            index = dictionary.size();
+            indexes.put(s, index);
+            dictionary.addLast(s);
+        }
+        return index;
+    }
+
+    /**
+     * Writes a column of int values
+     *
+     * @param out    the output stream
+     * @param column the values to write
+     * @throws IOException if the values cannot be written
+     */
+    private static void writeColumn(DataOutputStream out, int[] column) throws IOException {
+        for (int value : column) {
+            out.writeInt(value);
+        }
+    }
+}
@@ -0,0 +1,602 @@
+package edu.ncsu.csc316.dsa.io;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Comparator;
+
+import edu.ncsu.csc316.dsa.data.Student;
+import edu.ncsu.csc316.dsa.list.ArrayBasedList;
+import edu.ncsu.csc316.dsa.list.List;
+import edu.ncsu.csc316.dsa.priority_queue.HeapPriorityQueue;
+import edu.ncsu.csc316.dsa.priority_queue.PriorityQueue.Entry;
+import edu.ncsu.csc316.dsa.sorter.Sorter;
+
+/**
+ * ExternalStudentSorter sorts student CSV files that are too large to fit in
+ * memory. The input is read in runs that fit within a memory budget; each run
+ * is sorted with the provided {@link Sorter} and spilled to a temporary file in
+ * a compact binary encoding. The runs are then merged, at most fanIn at a
+ * time, using a {@link HeapPriorityQueue}, and the final merge writes the
+ * sorted CSV file.
+ *
+ * Input and output CSV files use the same format as {@link StudentReader}:
+ *
+ *    FIRST_NAME,LAST_NAME,UNITY_ID,STUDENT_ID,GPA,CREDIT_HOURS
+ *
+ * The memory budget is compared against an estimate of the heap space used by
+ * each Student, so the actual footprint may differ somewhat.
+ *
+ * @author Ethan Treece
+ *
+ */
+public class ExternalStudentSorter {
+
+    /** The default memory budget for a single run, in bytes */
+    public static final long DEFAULT_MEMORY_BUDGET = 64L * 1024 * 1024;
+
+    /** The default maximum number of runs merged at once */
+    public static final int DEFAULT_FAN_IN = 16;
+
+    /** Estimated heap bytes for a Student object and its array slot */
+    private static final int STUDENT_OVERHEAD = 56;
+
+    /** Estimated heap bytes for a String object and its backing array header */
+    private static final int STRING_OVERHEAD = 40;
+
+    /** Buffer size for run and output files */
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /** The sorter used to sort each run */
+    private Sorter<Student> sorter;
+
+    /** The comparator used to merge runs */
+    private Comparator<Student> comparator;
+
+    /** The memory budget for a single run, in bytes */
+    private long memoryBudget;
+
+    /** The maximum number of runs merged at once */
+    private int fanIn;
+
+    /** Statistics describing the most recent sort */
+    private Statistics lastStatistics;
+
+    /**
+     * Constructs an ExternalStudentSorter that uses the default memory budget and
+     * fan-in
+     *
+     * @param sorter     the sorter used to sort each run
+     * @param comparator the ordering produced by the sorter, or null for the
+     *                   natural ordering of students
+     */
+    public ExternalStudentSorter(Sorter<Student> sorter, Comparator<Student> comparator) {
+        this(sorter, comparator, DEFAULT_MEMORY_BUDGET, DEFAULT_FAN_IN);
+    }
+
+    /**
+     * Constructs an ExternalStudentSorter
+     *
+     * @param sorter       the sorter used to sort each run
+     * @param comparator   the ordering produced by the sorter, or null for the
+     *                     natural ordering of students
+     * @param memoryBudget the memory budget for a single run, in bytes
+     * @param fanIn        the maximum number of runs merged at once
+     * @throws IllegalArgumentException if memoryBudget is not positive or fanIn is
+     *                                  less than 2
+     */
+    public ExternalStudentSorter(Sorter<Student> sorter, Comparator<Student> comparator, long memoryBudget,
+            int fanIn) {
+        if (memoryBudget <= 0) {
+            throw new IllegalArgumentException("Memory budget must be positive.");
+        }
+        if (fanIn < 2) {
+            throw new IllegalArgumentException("Fan-in must be at least 2.");
+        }
+        this.sorter = sorter;
+        this.comparator = comparator;
+        this.memoryBudget = memoryBudget;
+        this.fanIn = fanIn;
+    }
+
+    /**
+     * Sorts the students in the input CSV file and writes them to the output CSV
+     * file
+     *
+     * @param inputPath  the path to the input CSV file
+     * @param outputPath the path to the output CSV file
+     * @throws IllegalArgumentException if the input file does not exist
+     * @throws UncheckedIOException     if reading or writing a file fails
+     */
+    public void sort(String inputPath, String outputPath) {
+        Statistics stats = new Statistics();
+        List<File> runs = new ArrayBasedList<File>();
+        try {
+            long start = System.nanoTime();
+            String header = createRuns(inputPath, outputPath, runs, stats);
+            stats.runNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            if (header != null) {
+                while (runs.size() > fanIn) {
+                    runs = mergePass(runs, stats);
+                }
+                try (Writer out = openCsv(outputPath, header)) {
+                    merge(runs, new CsvSink(out));
+                }
+                stats.mergePasses++;
+            }
+            stats.mergeNanos = System.nanoTime() - start;
+        } catch (FileNotFoundException e) {
+            throw new IllegalArgumentException("File not found: " + e.getMessage());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            for (File run : runs) {
+                run.delete();
+            }
+        }
+        lastStatistics = stats;
+    }
+
+    /**
+     * Returns statistics describing the most recent call to sort, or null if
+     * nothing has been sorted yet
+     *
+     * @return statistics describing the most recent sort
+     */
+    public Statistics getLastStatistics() {
+        return lastStatistics;
+    }
+
+    /**
+     * Reads the input in runs that fit the memory budget, sorts each run, and
+     * spills it to a temporary file. If the whole input fits in a single run, it
+     * is written directly to the output file instead.
+     *
+     * @param inputPath  the path to the input CSV file
+     * @param outputPath the path to the output CSV file
+     * @param runs       the list that receives the run files
+     * @param stats      the statistics to update
+     * @return the header line if runs were spilled, or null if the output has
+     *         already been written
+     * @throws IOException if reading or writing a file fails
+     */
+    private String createRuns(String inputPath, String outputPath, List<File> runs, Statistics stats)
+            throws IOException {
+        try (BufferedReader in = new BufferedReader(
+                new InputStreamReader(new FileInputStream(inputPath), StandardCharsets.UTF_8), BUFFER_SIZE)) {
+            String header = in.readLine();
+            Student[] run = new Student[1024];
+            int count = 0;
+            long bytes = 0;
+            String line = in.readLine();
+            while (line != null) {
+                if (!line.isEmpty()) {
+                    Student s = StudentReader.processLine(line);
+                    if (count == run.length) {
+                        run = Arrays.copyOf(run, run.length * 2);
+                    }
+                    run[count++] = s;
+                    bytes += estimateSize(s);
+                    stats.records++;
+                }
+                line = in.readLine();
+                if (bytes >= memoryBudget || (line == null && !runs.isEmpty() && count > 0)) {
+                    runs.addLast(spill(Arrays.copyOf(run, count), stats));
+                    Arrays.fill(run, 0, count, null);
+                    count = 0;
+                    bytes = 0;
+                }
+            }
+            if (runs.isEmpty()) {
+                Student[] all = Arrays.copyOf(run, count);
+                sorter.sort(all);
+                stats.runs = 1;
+                try (Writer out = openCsv(outputPath, header == null ? "" : header)) {
+                    CsvSink sink = new CsvSink(out);
+                    for (Student s : all) {
+                        sink.write(s);
+                    }
+                }
+                return null;
+            }
+            return header;
+        }
+    }
+
+    /**
+     * Sorts a run and writes it to a temporary file
+     *
+     * @param run   the students in the run
+     * @param stats the statistics to update
+     * @return the temporary file holding the sorted run
+     * @throws IOException if writing the file fails
+     */
+    private File spill(Student[] run, Statistics stats) throws IOException {
+        sorter.sort(run);
+        File file = File.createTempFile("students", ".run");
+        file.deleteOnExit();
+        try (RunSink sink = new RunSink(file, run.length)) {
+            for (Student s : run) {
+                sink.write(s);
+            }
+        }
+        stats.runs++;
+        stats.bytesSpilled += file.length();
+        return file;
+    }
+
+    /**
+     * Merges the runs in groups of at most fanIn, producing fewer, longer runs
+     *
+     * @param runs  the runs to merge
+     * @param stats the statistics to update
+     * @return the merged runs
+     * @throws IOException if reading or writing a file fails
+     */
+    private List<File> mergePass(List<File> runs, Statistics stats) throws IOException {
+        List<File> merged = new ArrayBasedList<File>();
+        for (int i = 0; i < runs.size(); i += fanIn) {
+            List<File> group = new ArrayBasedList<File>();
+            int records = 0;
+            for (int j = i; j < Math.min(runs.size(), i + fanIn); j++) {
+                group.addLast(runs.get(j));
+                records += RunSource.count(runs.get(j));
+            }
+            File file = File.createTempFile("students", ".run");
+            file.deleteOnExit();
+            merged.addLast(file);
+            try (RunSink sink = new RunSink(file, records)) {
+                merge(group, sink);
+            }
+            stats.bytesSpilled += file.length();
+            for (File run : group) {
+                run.delete();
+            }
+        }
+        stats.mergePasses++;
+        return merged;
+    }
+
+    /**
+     * Merges the sorted runs into the sink using a priority queue that holds the
+     * next student from each run
+     *
+     * @param runs the sorted runs to merge
+     * @param sink where the merged students are written
+     * @throws IOException if reading or writing a file fails
+     */
+    private void merge(List<File> runs, StudentSink sink) throws IOException {
+        RunSource[] sources = new RunSource[runs.size()];
+        try {
+            HeapPriorityQueue<Student, Integer> heap = new HeapPriorityQueue<Student, Integer>(comparator);
+            for (int i = 0; i < sources.length; i++) {
+                sources[i] = new RunSource(runs.get(i));
+                if (sources[i].hasNext()) {
+                    heap.insert(sources[i].next(), i);
+                }
+            }
+            while (!heap.isEmpty()) {
+                Entry<Student, Integer> min = heap.deleteMin();
+                sink.write(min.getKey());
+                RunSource source = sources[min.getValue()];
+                if (source.hasNext()) {
+                    heap.insert(source.next(), min.getValue());
+                }
+            }
+        } finally {
+            for (RunSource source : sources) {
+                if (source != null) {
+                    source.close();
+                }
+            }
+        }
+    }
+
+    /**
+     * Opens the output CSV file and writes the header line
+     *
+     * @param outputPath the path to the output CSV file
+     * @param header     the header line
+     * @return a writer positioned after the header
+     * @throws IOException if the file cannot be opened
+     */
+    private Writer openCsv(String outputPath, String header) throws IOException {
+        Writer out = new BufferedWriter(
+                new OutputStreamWriter(new FileOutputStream(outputPath), StandardCharsets.UTF_8), BUFFER_SIZE);
+        out.write(header);
+        out.write('\n');
+        return out;
+    }
+
+    /**
+     * Returns an estimate of the heap bytes used by a student
+     *
+     * @param s the student
+     * @return the estimated size in bytes
+     */
+    private static long estimateSize(Student s) {
+        return STUDENT_OVERHEAD + 3 * STRING_OVERHEAD
+                + 2L * (s.getFirst().length() + s.getLast().length() + s.getUnityID().length());
+    }
+
+    /**
+     * A StudentSink receives students in sorted order
+     *
+     * @author Ethan Treece
+     *
+     */
+    private interface StudentSink {
+
+        /**
+         * Writes a student
+         *
+         * @param s the student to write
+         * @throws IOException if writing fails
+         */
+        void write(Student s) throws IOException;
+    }
+
+    /**
+     * CsvSink writes students as lines of a CSV file
+     *
+     * @author Ethan Treece
+     *
+     */
+    private static class CsvSink implements StudentSink {
+
+        /** The output file */
+        private Writer out;
+
+        /**
+         * Constructs a CsvSink
+         *
+         * @param out the output file
+         */
+        CsvSink(Writer out) {
+            this.out = out;
+        }
+
+        @Override
+        public void write(Student s) throws IOException {
+            out.write(s.getFirst());
+            out.write(',');
+            out.write(s.getLast());
+            out.write(',');
+            out.write(s.getUnityID());
+            out.write(',');
+            out.write(Integer.toString(s.getId()));
+            out.write(',');
+            out.write(Double.toString(s.getGpa()));
+            out.write(',');
+            out.write(Integer.toString(s.getCreditHours()));
+            out.write('\n');
+        }
+    }
+
+    /**
+     * RunSink writes students to a run file. A run file starts with the number of
+     * students it holds, followed by each student's first name, last name, and
+     * unity id (modified UTF-8), id and credit hours (int), and GPA (double).
+     *
+     * @author Ethan Treece
+     *
+     */
+    private static class RunSink implements StudentSink, AutoCloseable {
+
+        /** The run file */
+        private DataOutputStream out;
+
+        /**
+         * Opens a run file for writing
+         *
+         * @param file  the run file
+         * @param count the number of students that will be written
+         * @throws IOException if the file cannot be opened
+         */
+        RunSink(File file, int count) throws IOException {
+            out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), BUFFER_SIZE));
+            out.writeInt(count);
+        }
+
+        @Override
+        public void write(Student s) throws IOException {
+            out.writeUTF(s.getFirst());
+            out.writeUTF(s.getLast());
+            out.writeUTF(s.getUnityID());
+            out.writeInt(s.getId());
+            out.writeInt(s.getCreditHours());
+            out.writeDouble(s.getGpa());
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+
+    /**
+     * RunSource reads the students in a run file in order
+     *
+     * @author Ethan Treece
+     *
+     */
+    private static class RunSource implements AutoCloseable {
+
+        /** The run file */
+        private DataInputStream in;
+
+        /** The number of students not yet read */
+        private int remaining;
+
+        /**
+         * Opens a run file for reading
+         *
+         * @param file the run file
+         * @throws IOException if the file cannot be opened
+         */
+        RunSource(File file) throws IOException {
+            in = new DataInputStream(new BufferedInputStream(new FileInputStream(file), BUFFER_SIZE));
+            remaining = in.readInt();
+        }
+
+        /**
+         * Returns the number of students in a run file
+         *
+         * @param file the run file
+         * @return the number of students in the file
+         * @throws IOException if the file cannot be read
+         */
+        static int count(File file) throws IOException {
+            try (DataInputStream in = new DataInputStream(new FileInputStream(file))) {
+                return in.readInt();
+            }
+        }
+
+        /**
+         * Returns true if the run has more students
+         *
+         * @return true if the run has more students
+         */
+        boolean hasNext() {
+            return remaining > 0;
+        }
+
+        /**
+         * Reads the next student in the run
+         *
+         * @return the next student
+         * @throws IOException if the file cannot be read
+         */
+        Student next() throws IOException {
+            remaining--;
+            String first = in.readUTF();
+            String last = in.readUTF();
+            String unityID = in.readUTF();
+            int id = in.readInt();
+            int creditHours = in.readInt();
+            double gpa = in.readDouble();
+            return new Student(first, last, id, creditHours, gpa, unityID);
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+
+    /**
+     * Statistics describes the phases of an external sort
+     *
+     * @author Ethan Treece
+     *
+     */
+    public static class Statistics {
+
+        /** The number of students sorted */
+        private long records;
+
+        /** The number of sorted runs created from the input */
+        private int runs;
+
+        /** The number of merge passes, including the final merge */
+        private int mergePasses;
+
+        /** The number of bytes written to run files */
+        private long bytesSpilled;
+
+        /** Time spent reading, sorting, and spilling runs */
+        private long runNanos;
+
+        /** Time spent merging runs */
+        private long mergeNanos;
+
+        /**
+         * Returns the number of students sorted
+         *
+         * @return the number of students sorted
+         */
+        public long getRecords() {
+            return records;
+        }
+
+        /**
+         * Returns the number of sorted runs created from the input
+         *
+         * @return the number of runs
+         */
+        public int getRuns() {
+            return runs;
+        }
+
+        /**
+         * Returns the number of merge passes, including the final merge
+         *
+         * @return the number of merge passes
+         */
+        public int getMergePasses() {
+            return mergePasses;
+        }
+
+        /**
+         * Returns the number of bytes written to run files
+         *
+         * @return the number of bytes spilled
+         */
+        public long getBytesSpilled() {
+            return bytesSpilled;
+        }
+
+        /**
+         * Returns the time spent reading, sorting, and spilling runs
+         *
+         * @return the run phase time in nanoseconds
+         */
+        public long getRunNanos() {
+            return runNanos;
+        }
+
+        /**
+         * Returns the time spent merging runs
+         *
+         * @return the merge phase time in nanoseconds
+         */
+        public long getMergeNanos() {
+            return mergeNanos;
+        }
+
+        /**
+         * Returns the number of students merged per second, counting every
+         * merge pass
+         *
+         * @return the merge throughput in records per second
+         */
+        public double getMergeThroughput() {
+            if (mergeNanos == 0) {
+                return 0;
+            }
+            return records * (double) mergePasses / (mergeNanos / 1e9);
+        }
+
+        @Override
+        public String toString() {
+            return "records=" + records + ",runs=" + runs + ",mergePasses=" + mergePasses + ",bytesSpilled="
+                    + bytesSpilled + ",mergeThroughput=" + (long) getMergeThroughput();
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package edu.ncsu.csc316.dsa.io;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import edu.ncsu.csc316.dsa.data.Student;
+
+/**
+ * MappedStudentReader streams the Students in an input CSV file by memory
+ * mapping the file with {@link FileChannel#map} and parsing each line directly
+ * from the mapped bytes. The header line and blank lines are skipped.
+ *
+ * Files larger than a single mapping are read through a sliding window that is
+ * remapped at the start of the first line that does not fit in the current
+ * window.
+ *
+ * Input CSV files should be in the following format:
+ *
+ *    FIRST_NAME,LAST_NAME,UNITY_ID,STUDENT_ID,GPA,CREDIT_HOURS
+ *
+ * @author Ethan Treece
+ *
+ */
+public class MappedStudentReader implements Iterator<Student>, AutoCloseable {
+
+    /** The largest number of bytes mapped at once */
+    static final int MAX_WINDOW_SIZE = Integer.MAX_VALUE;
+
+    /** The open file */
+    private FileChannel channel;
+
+    /** The file offset just past the last byte to read */
+    private long endOffset;
+
+    /** The number of bytes mapped at once */
+    private int windowSize;
+
+    /** The file offset of the current window */
+    private long windowStart;
+
+    /** The current window */
+    private MappedByteBuffer window;
+
+    /** The index in the window of the next unread byte */
+    private int position;
+
+    /** The index in the window of the start of the next line, or -1 */
+    private int lineStart;
+
+    /** The index in the window just past the end of the next line */
+    private int lineEnd;
+
+    /** Parses lines into Students */
+    private StudentRecordParser parser;
+
+    /**
+     * Opens the input CSV file and skips its header line
+     *
+     * @param filePath - the path to the input CSV file
+     * @throws IllegalArgumentException if the file does not exist
+     */
+    public MappedStudentReader(String filePath) {
+        this(filePath, MAX_WINDOW_SIZE);
+    }
+
+    /**
+     * Opens the input CSV file using windows of the given size and skips its
+     * header line
+     *
+     * @param filePath   - the path to the input CSV file
+     * @param windowSize - the largest number of bytes mapped at once
+     * @throws IllegalArgumentException if the file does not exist
+     */
+    MappedStudentReader(String filePath, int windowSize) {
+        try {
+            channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ);
+            endOffset = channel.size();
+            this.windowSize = windowSize;
+            mapWindow(0);
+        } catch (NoSuchFileException e) {
+            throw new IllegalArgumentException("File not found: " + e.getMessage());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        parser = new StudentRecordParser();
+        lineStart = -1;
+        // SKIP HEADER LINE
+        if (findLine()) {
+            position = lineEnd + 1;
+            lineStart = -1;
+        }
+    }
+
+    /**
+     * Constructs a reader for the lines in the byte range [start, end) of an
+     * already open file. The range must begin at the start of a line and is not
+     * expected to contain the header line. Closing the reader closes the
+     * channel, so readers that share a channel should not be closed.
+     *
+     * @param channel    - the open file
+     * @param start      - the file offset of the first byte to read
+     * @param end        - the file offset just past the last byte to read
+     * @param windowSize - the largest number of bytes mapped at once
+     * @throws UncheckedIOException if the range cannot be mapped
+     */
+    MappedStudentReader(FileChannel channel, long start, long end, int windowSize) {
+        this.channel = channel;
+        this.endOffset = end;
+        this.windowSize = windowSize;
+        try {
+            mapWindow(start);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        parser = new StudentRecordParser();
+        lineStart = -1;
+    }
+
+    /**
+     * Returns the number of Students in the input CSV file by counting its lines,
+     * excluding the header line
+     *
+     * @param filePath - the path to the input CSV file
+     * @return the number of lines after the header line
+     * @throws IllegalArgumentException if the file does not exist
+     */
+    public static int countRecords(String filePath) {
+        try (FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+            long size = channel.size();
+            long lines = 0;
+            byte last = '\n';
+            for (long start = 0; start < size; start += MAX_WINDOW_SIZE) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, start,
+                        Math.min(MAX_WINDOW_SIZE, size - start));
+                int limit = buffer.limit();
+                for (int i = 0; i < limit; i++) {
+                    if (buffer.get(i) == '\n') {
+                        lines++;
+                    }
+                }
+                last = buffer.get(limit - 1);
+            }
+            if (last != '\n') {
+                lines++;
+            }
+            return (int) Math.max(0, lines - 1);
+        } catch (NoSuchFileException e) {
+            throw new IllegalArgumentException("File not found: " + e.getMessage());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (lineStart >= 0) {
+            return true;
+        }
+        // Skip blank lines
+        while (findLine()) {
+            if (lineEnd > lineStart && !(lineEnd - lineStart == 1 && window.get(lineStart) == '\r')) {
+                return true;
+            }
+            position = lineEnd + 1;
+            lineStart = -1;
+        }
+        return false;
+    }
+
+    @Override
+    public Student next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Student s = parser.parse(window, lineStart, lineEnd);
+        position = lineEnd + 1;
+        lineStart = -1;
+        return s;
+    }
+
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Locates the line that starts at the current position, remapping the window
+     * if the line does not fit in it
+     *
+     * @return true if there is a line at the current position
+     */
+    private boolean findLine() {
+        while (true) {
+            int limit = window.limit();
+            if (position >= limit && windowStart + limit >= endOffset) {
+                return false;
+            }
+            int i = position;
+            while (i < limit && window.get(i) != '\n') {
+                i++;
+            }
+            if (i < limit || windowStart + limit >= endOffset) {
+                lineStart = position;
+                lineEnd = i;
+                return true;
+            }
+            if (position == 0) {
+                throw new IllegalStateException("Line is longer than the mapping window at offset " + windowStart);
+            }
+            try {
+                mapWindow(windowStart + position);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Maps the window that starts at the given file offset
+     *
+     * @param start the file offset of the window
+     * @throws IOException if the file cannot be mapped
+     */
+    private void mapWindow(long start) throws IOException {
+        windowStart = start;
+        window = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(windowSize, endOffset - start));
+        position = 0;
+    }
+}
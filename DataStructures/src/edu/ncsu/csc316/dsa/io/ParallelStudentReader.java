@@ -0,0 +1,387 @@
+package edu.ncsu.csc316.dsa.io;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import edu.ncsu.csc316.dsa.data.Student;
+
+/**
+ * ParallelStudentReader loads an input CSV file into an array of Students
+ * using several threads. The file is split into byte ranges of roughly
+ * chunkSize bytes whose boundaries are moved forward to the next line break,
+ * and each range is memory-mapped and parsed by a worker of a
+ * {@link ForkJoinPool}. The per-chunk arrays are concatenated in file order,
+ * so the result is identical to {@link StudentReader#readInputAsArray}.
+ *
+ * Input CSV files should be in the following format:
+ *
+ *    FIRST_NAME,LAST_NAME,UNITY_ID,STUDENT_ID,GPA,CREDIT_HOURS
+ *
+ * @author Ethan Treece
+ *
+ */
+public class ParallelStudentReader {
+
+    /** The default number of bytes in each chunk */
+    public static final int DEFAULT_CHUNK_SIZE = 1 << 22;
+
+    /** The number of bytes read at a time when searching for a line break */
+    private static final int SCAN_SIZE = 256;
+
+    /** The number of worker threads */
+    private int workers;
+
+    /** The target number of bytes in each chunk */
+    private int chunkSize;
+
+    /** Statistics describing the most recent read */
+    private Statistics lastStatistics;
+
+    /**
+     * Constructs a ParallelStudentReader that uses one worker per available
+     * processor and the default chunk size
+     */
+    public ParallelStudentReader() {
+        this(Runtime.getRuntime().availableProcessors(), DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Constructs a ParallelStudentReader with the given number of workers and
+     * chunk size
+     *
+     * @param workers   the number of worker threads
+     * @param chunkSize the target number of bytes in each chunk
+     * @throws IllegalArgumentException if workers or chunkSize is not positive
+     */
+    public ParallelStudentReader(int workers, int chunkSize) {
+        if (workers < 1) {
+            throw new IllegalArgumentException("Worker count must be positive.");
+        }
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be positive.");
+        }
+        this.workers = workers;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Returns the input CSV file as an array of Student objects
+     *
+     * @param filePath - the path to the input CSV file
+     * @return an array of Student objects, in file order
+     * @throws IllegalArgumentException if the file does not exist
+     */
+    public Student[] readInputAsArray(String filePath) {
+        Statistics stats = new Statistics();
+        stats.workers = workers;
+        try (FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+            long start = System.nanoTime();
+            long[] bounds = split(channel);
+            stats.chunks = bounds.length - 1;
+            stats.splitNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            Student[][] parts = parse(channel, bounds);
+            stats.parseNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            Student[] list = concatenate(parts);
+            stats.concatNanos = System.nanoTime() - start;
+            stats.records = list.length;
+            lastStatistics = stats;
+            return list;
+        } catch (NoSuchFileException e) {
+            throw new IllegalArgumentException("File not found: " + e.getMessage());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Returns statistics describing the most recent read, or null if nothing
+     * has been read
+     *
+     * @return the statistics for the most recent read
+     */
+    public Statistics getLastStatistics() {
+        return lastStatistics;
+    }
+
+    /**
+     * Splits the file after its header line into chunks that start at the
+     * beginning of a line
+     *
+     * @param channel the open file
+     * @return the file offsets of the chunk boundaries, starting with the first
+     *         byte after the header and ending with the file size
+     * @throws IOException if the file cannot be read
+     */
+    private long[] split(FileChannel channel) throws IOException {
+        long size = channel.size();
+        long first = nextLine(channel, 0, size);
+        long[] bounds = new long[(int) Math.min(Integer.MAX_VALUE - 8, (size - first) / chunkSize + 2)];
+        bounds[0] = first;
+        int count = 1;
+        long previous = first;
+        while (previous < size) {
+            // Chunks are mapped whole, so each must fit in a single mapping
+            long target = Math.min(previous + chunkSize, size);
+            long boundary = target == size ? size : nextLine(channel, target - 1, size);
+            if (boundary - previous > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Chunk is too large to map at offset " + previous);
+            }
+            bounds[count++] = boundary;
+            previous = boundary;
+        }
+        return Arrays.copyOf(bounds, count);
+    }
+
+    /**
+     * Returns the file offset just past the first line break at or after the
+     * given offset, or the file size if there is none
+     *
+     * @param channel the open file
+     * @param from    the offset to start searching from
+     * @param size    the size of the file
+     * @return the offset of the start of the next line
+     * @throws IOException if the file cannot be read
+     */
+    private static long nextLine(FileChannel channel, long from, long size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(SCAN_SIZE);
+        long offset = from;
+        while (offset < size) {
+            buffer.clear();
+            int read = channel.read(buffer, offset);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return offset + i + 1;
+                }
+            }
+            offset += read;
+        }
+        return size;
+    }
+
+    /**
+     * Parses every chunk on a pool of worker threads
+     *
+     * @param channel the open file
+     * @param bounds  the file offsets of the chunk boundaries
+     * @return the Students in each chunk, in file order
+     */
+    private Student[][] parse(FileChannel channel, long[] bounds) {
+        Student[][] parts = new Student[bounds.length - 1][];
+        if (workers == 1 || parts.length == 1) {
+            for (int i = 0; i < parts.length; i++) {
+                parts[i] = parseChunk(channel, bounds[i], bounds[i + 1]);
+            }
+            return parts;
+        }
+        RecursiveAction[] tasks = new RecursiveAction[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            tasks[i] = new ChunkTask(channel, bounds[i], bounds[i + 1], parts, i);
+        }
+        ForkJoinPool pool = new ForkJoinPool(workers);
+        try {
+            pool.invoke(new RecursiveAction() {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected void compute() {
+                    invokeAll(tasks);
+                }
+            });
+        } finally {
+            pool.shutdown();
+        }
+        return parts;
+    }
+
+    /**
+     * Parses the Students in the byte range [start, end) of the file
+     *
+     * @param channel the open file
+     * @param start   the file offset of the start of the chunk
+     * @param end     the file offset just past the end of the chunk
+     * @return the Students in the chunk, in file order
+     */
+    private static Student[] parseChunk(FileChannel channel, long start, long end) {
+        // Records are rarely shorter than 32 bytes
+        Student[] list = new Student[(int) Math.max(1, (end - start) / 32)];
+        int index = 0;
+        MappedStudentReader reader = new MappedStudentReader(channel, start, end, (int) (end - start));
+        while (reader.hasNext()) {
+            if (index >= list.length) {
+                list = Arrays.copyOf(list, list.length * 2 + 1);
+            }
+            list[index] = reader.next();
+            index++;
+        }
+        return index == list.length ? list : Arrays.copyOf(list, index);
+    }
+
+    /**
+     * Concatenates the per-chunk arrays in order
+     *
+     * @param parts the Students in each chunk
+     * @return a single array of every Student
+     */
+    private static Student[] concatenate(Student[][] parts) {
+        int total = 0;
+        for (Student[] part : parts) {
+            total += part.length;
+        }
+        if (parts.length == 1) {
+            return parts[0];
+        }
+        Student[] list = new Student[total];
+        int offset = 0;
+        for (Student[] part : parts) {
+            System.arraycopy(part, 0, list, offset, part.length);
+            offset += part.length;
+        }
+        return list;
+    }
+
+    /**
+     * ChunkTask parses a single chunk of the file into its slot of the
+     * per-chunk results
+     *
+     * @author Ethan Treece
+     *
+     */
+    private static class ChunkTask extends RecursiveAction {
+
+        /** Serial version UID */
+        private static final long serialVersionUID = 1L;
+
+        /** The open file */
+        private transient FileChannel channel;
+
+        /** The file offset of the start of the chunk */
+        private long start;
+
+        /** The file offset just past the end of the chunk */
+        private long end;
+
+        /** The per-chunk results */
+        private Student[][] parts;
+
+        /** The index of this chunk */
+        private int index;
+
+        /**
+         * Constructs a ChunkTask for the byte range [start, end)
+         *
+         * @param channel the open file
+         * @param start   the file offset of the start of the chunk
+         * @param end     the file offset just past the end of the chunk
+         * @param parts   the per-chunk results
+         * @param index   the index of this chunk
+         */
+        ChunkTask(FileChannel channel, long start, long end, Student[][] parts, int index) {
+            this.channel = channel;
+            this.start = start;
+            this.end = end;
+            this.parts = parts;
+            this.index = index;
+        }
+
+        @Override
+        protected void compute() {
+            parts[index] = parseChunk(channel, start, end);
+        }
+    }
+
+    /**
+     * Statistics describes the phases of a parallel read
+     *
+     * @author Ethan Treece
+     *
+     */
+    public static class Statistics {
+
+        /** The number of students read */
+        private int records;
+
+        /** The number of chunks the file was split into */
+        private int chunks;
+
+        /** The number of worker threads */
+        private int workers;
+
+        /** Time spent finding chunk boundaries */
+        private long splitNanos;
+
+        /** Time spent parsing chunks */
+        private long parseNanos;
+
+        /** Time spent concatenating the per-chunk arrays */
+        private long concatNanos;
+
+        /**
+         * Returns the number of students read
+         *
+         * @return the number of students read
+         */
+        public int getRecords() {
+            return records;
+        }
+
+        /**
+         * Returns the number of chunks the file was split into
+         *
+         * @return the number of chunks
+         */
+        public int getChunks() {
+            return chunks;
+        }
+
+        /**
+         * Returns the number of worker threads
+         *
+         * @return the number of workers
+         */
+        public int getWorkers() {
+            return workers;
+        }
+
+        /**
+         * Returns the time spent finding chunk boundaries
+         *
+         * @return the split phase time in nanoseconds
+         */
+        public long getSplitNanos() {
+            return splitNanos;
+        }
+
+        /**
+         * Returns the time spent parsing chunks
+         *
+         * @return the parse phase time in nanoseconds
+         */
+        public long getParseNanos() {
+            return parseNanos;
+        }
+
+        /**
+         * Returns the time spent concatenating the per-chunk arrays
+         *
+         * @return the concatenation phase time in nanoseconds
+         */
+        public long getConcatNanos() {
+            return concatNanos;
+        }
+    }
+}
@@ -48,12 +48,69 @@ public class StudentReader {
 		return list;
 	}
 
+	/**
+	 * Returns an iterator over the Students in the input CSV file. The file is
+	 * memory-mapped and each Student is parsed directly from the file's bytes
+	 * as it is requested. The caller should close the iterator when finished.
+	 * @param filePath - the path to the input CSV file
+	 * @return an iterator over the Students in the file
+	 */
+	public static MappedStudentReader streamInput(String filePath)
+	{
+		return new MappedStudentReader(filePath);
+	}
+
+	/**
+	 * Returns the input CSV file as an array of Student objects. The file is
+	 * memory-mapped, its lines are counted to size the array, and each Student
+	 * is parsed directly from the file's bytes.
+	 * @param filePath - the path to the input CSV file
+	 * @return an array of Student objects
+	 */
+	public static Student[] readInputAsArrayMapped(String filePath)
+	{
+		Student[] list = new Student[MappedStudentReader.countRecords(filePath)];
+		int index = 0;
+		try(MappedStudentReader reader = new MappedStudentReader(filePath))
+		{
+			while(reader.hasNext())
+			{
+				if(index >= list.length)
+				{
+					list = Arrays.copyOf(list, list.length * 2 + 1);
+				}
+				list[index] = reader.next();
+				index++;
+			}
+		}
+		if(index < list.length)
+		{
+			list = Arrays.copyOf(list, index);
+		}
+		return list;
+	}
+
+	/**
+	 * Returns the input CSV file as an array of Student objects, splitting the
+	 * file into chunks that are parsed in parallel. The Students are returned
+	 * in file order.
+	 * @param filePath - the path to the input CSV file
+	 * @param workers - the number of worker threads
+	 * @param chunkSize - the target number of bytes in each chunk
+	 * @return an array of Student objects
+	 * @see ParallelStudentReader
+	 */
+	public static Student[] readInputAsArrayParallel(String filePath, int workers, int chunkSize)
+	{
+		return new ParallelStudentReader(workers, chunkSize).readInputAsArray(filePath);
+	}
+
 	/**
 	 * Processes a single line from the input file to construct a Student.
 	 * @param line - the input line from the input file
 	 * @return a Student representation of the input line
 	 */
-	private static Student processLine(String line) {
+	static Student processLine(String line) {
 		String[] c = line.split(",");
 		String firstName = c[0];
 		String lastName = c[1];
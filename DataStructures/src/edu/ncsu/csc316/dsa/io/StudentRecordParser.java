@@ -0,0 +1,228 @@
+package edu.ncsu.csc316.dsa.io;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import edu.ncsu.csc316.dsa.data.Student;
+
+/**
+ * StudentRecordParser constructs Students directly from the bytes of a CSV
+ * line without splitting the line into intermediate Strings. Numeric fields
+ * are parsed from the bytes, falling back to {@link Integer#parseInt} and
+ * {@link Double#parseDouble} for any form the fast path does not handle.
+ *
+ * First and last names repeat often in large rosters, so they are interned in
+ * a small direct-mapped cache: a repeated name reuses the String created the
+ * first time it was seen instead of allocating a new one.
+ *
+ * A parser is not thread-safe; each thread should use its own parser.
+ *
+ * @author Ethan Treece
+ *
+ */
+class StudentRecordParser {
+
+    /** The number of slots in the name cache; must be a power of two */
+    private static final int CACHE_SIZE = 4096;
+
+    /** Powers of ten that are exactly representable as doubles */
+    private static final double[] POWERS_OF_TEN = { 1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+        1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22 };
+
+    /** The largest mantissa that is exactly representable as a double */
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+
+    /** Cached names, indexed by the hash of their bytes */
+    private String[] cache;
+
+    /** Scratch space for the bytes of a field */
+    private byte[] scratch;
+
+    /**
+     * Constructs a StudentRecordParser with an empty name cache
+     */
+    StudentRecordParser() {
+        cache = new String[CACHE_SIZE];
+        scratch = new byte[64];
+    }
+
+    /**
+     * Parses the line in [start, end) of the buffer. The end must not include the
+     * line terminator, although a trailing carriage return is ignored.
+     *
+     * @param buffer the buffer holding the line
+     * @param start  the index of the first byte of the line
+     * @param end    the index just past the last byte of the line
+     * @return a Student representation of the line
+     * @throws IllegalArgumentException if the line does not have six fields
+     */
+    Student parse(ByteBuffer buffer, int start, int end) {
+        if (end > start && buffer.get(end - 1) == '\r') {
+            end--;
+        }
+        int[] bounds = new int[7];
+        bounds[0] = start;
+        int field = 1;
+        for (int i = start; i < end && field < 6; i++) {
+            if (buffer.get(i) == ',') {
+                bounds[field++] = i + 1;
+            }
+        }
+        if (field < 6) {
+            throw new IllegalArgumentException("Invalid student record: " + decode(buffer, start, end));
+        }
+        bounds[6] = end + 1;
+        String firstName = intern(buffer, bounds[0], bounds[1] - 1);
+        String lastName = intern(buffer, bounds[1], bounds[2] - 1);
+        String unityID = decode(buffer, bounds[2], bounds[3] - 1);
+        int studentID = parseInt(buffer, bounds[3], bounds[4] - 1);
+        double gpa = parseDouble(buffer, bounds[4], bounds[5] - 1);
+        int creditHours = parseInt(buffer, bounds[5], lastFieldEnd(buffer, bounds[5], end));
+        return new Student(firstName, lastName, studentID, creditHours, gpa, unityID);
+    }
+
+    /**
+     * Returns the end of the last field, which stops at any extra comma
+     *
+     * @param buffer the buffer holding the line
+     * @param start  the index of the first byte of the field
+     * @param end    the index just past the last byte of the line
+     * @return the index just past the last byte of the field
+     */
+    private static int lastFieldEnd(ByteBuffer buffer, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (buffer.get(i) == ',') {
+                return i;
+            }
+        }
+        return end;
+    }
+
+    /**
+     * Returns the String for the bytes in [start, end), reusing a cached String
+     * with the same contents when one exists
+     *
+     * @param buffer the buffer holding the bytes
+     * @param start  the index of the first byte
+     * @param end    the index just past the last byte
+     * @return the String for the bytes
+     */
+    private String intern(ByteBuffer buffer, int start, int end) {
+        int length = end - start;
+        int hash = 0;
+        boolean ascii = true;
+        for (int i = start; i < end; i++) {
+            byte b = buffer.get(i);
+            hash = 31 * hash + b;
+            ascii &= b >= 0;
+        }
+        if (!ascii) {
+            return decode(buffer, start, end);
+        }
+        int slot = (hash ^ (hash >>> 16)) & (CACHE_SIZE - 1);
+        String cached = cache[slot];
+        if (cached != null && cached.length() == length) {
+            boolean same = true;
+            for (int i = 0; i < length && same; i++) {
+                same = cached.charAt(i) == buffer.get(start + i);
+            }
+            if (same) {
+                return cached;
+            }
+        }
+        String s = decode(buffer, start, end);
+        cache[slot] = s;
+        return s;
+    }
+
+    /**
+     * Decodes the UTF-8 bytes in [start, end) into a String
+     *
+     * @param buffer the buffer holding the bytes
+     * @param start  the index of the first byte
+     * @param end    the index just past the last byte
+     * @return the decoded String
+     */
+    private String decode(ByteBuffer buffer, int start, int end) {
+        int length = end - start;
+        if (scratch.length < length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+        for (int i = 0; i < length; i++) {
+            scratch[i] = buffer.get(start + i);
+        }
+        return new String(scratch, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Parses the decimal integer in [start, end)
+     *
+     * @param buffer the buffer holding the bytes
+     * @param start  the index of the first byte
+     * @param end    the index just past the last byte
+     * @return the parsed integer
+     * @throws NumberFormatException if the bytes are not an integer
+     */
+    private int parseInt(ByteBuffer buffer, int start, int end) {
+        int i = start;
+        boolean negative = i < end && buffer.get(i) == '-';
+        if (negative) {
+            i++;
+        }
+        // Nine digits always fit in an int
+        if (i == end || end - i > 9) {
+            return Integer.parseInt(decode(buffer, start, end));
+        }
+        int value = 0;
+        for (; i < end; i++) {
+            int digit = buffer.get(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return Integer.parseInt(decode(buffer, start, end));
+            }
+            value = value * 10 + digit;
+        }
+        return negative ? -value : value;
+    }
+
+    /**
+     * Parses the decimal number in [start, end). Plain decimals whose digits fit
+     * exactly in a double are computed as mantissa / 10^fractionDigits, which
+     * rounds the same way as {@link Double#parseDouble}; any other form is
+     * passed to {@link Double#parseDouble}.
+     *
+     * @param buffer the buffer holding the bytes
+     * @param start  the index of the first byte
+     * @param end    the index just past the last byte
+     * @return the parsed number
+     * @throws NumberFormatException if the bytes are not a number
+     */
+    private double parseDouble(ByteBuffer buffer, int start, int end) {
+        int i = start;
+        boolean negative = i < end && buffer.get(i) == '-';
+        if (negative) {
+            i++;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int fractionDigits = -1;
+        for (; i < end; i++) {
+            byte b = buffer.get(i);
+            if (b == '.' && fractionDigits < 0) {
+                fractionDigits = 0;
+            } else if (b >= '0' && b <= '9' && mantissa < MAX_EXACT_MANTISSA / 10) {
+                mantissa = mantissa * 10 + (b - '0');
+                digits++;
+                if (fractionDigits >= 0) {
+                    fractionDigits++;
+                }
+            } else {
+                return Double.parseDouble(decode(buffer, start, end));
+            }
+        }
+        if (digits == 0 || fractionDigits >= POWERS_OF_TEN.length) {
+            return Double.parseDouble(decode(buffer, start, end));
+        }
+        double value = mantissa / POWERS_OF_TEN[Math.max(fractionDigits, 0)];
+        return negative ? -value : value;
+    }
+}
@@ -1,13 +1,41 @@
 package edu.ncsu.csc316.dsa.manager;
 
+import java.util.Arrays;
+import java.util.Comparator;
+
 import edu.ncsu.csc316.dsa.data.Student;
+import edu.ncsu.csc316.dsa.data.StudentGPAComparator;
+import edu.ncsu.csc316.dsa.data.StudentIDComparator;
+import edu.ncsu.csc316.dsa.data.StudentTable;
+import edu.ncsu.csc316.dsa.io.BinaryRosterReader;
 import edu.ncsu.csc316.dsa.io.StudentReader;
+import edu.ncsu.csc316.dsa.list.ArrayBasedList;
+import edu.ncsu.csc316.dsa.list.List;
+import edu.ncsu.csc316.dsa.map.Map;
+import edu.ncsu.csc316.dsa.map.Map.Entry;
+import edu.ncsu.csc316.dsa.map.hashing.LinearProbingHashMap;
+import edu.ncsu.csc316.dsa.map.search_tree.RedBlackTreeMap;
+import edu.ncsu.csc316.dsa.sorter.AbstractComparisonSorter;
 import edu.ncsu.csc316.dsa.sorter.InsertionSorter;
+import edu.ncsu.csc316.dsa.sorter.MergeSorter;
 import edu.ncsu.csc316.dsa.sorter.Sorter;
 
 /**
  * StudentManager manages Student information. StudentManager
- * can sort a Student roster.
+ * can sort a Student roster, add, remove, and update Students, and answer
+ * queries by unity id, id, and GPA.
+ *
+ * In incremental mode, the roster is kept as a sorted run followed by the
+ * Students added since the last sort. Sorting then sorts only the added
+ * Students and merges each into the run by binary search, so a sort after k
+ * changes makes O(k log n) comparisons instead of re-sorting all n Students.
+ * Incremental sorting requires a comparison-based sorter; with other sorters
+ * the whole roster is re-sorted whenever it has changed.
+ *
+ * Queries scan the whole roster unless an index has been created for the
+ * queried attribute with {@link #createIndex(Index)}, in which case the
+ * index is used automatically. Indexes hold the attribute values the
+ * Students had when they were indexed.
  * @author Dr. King
  *
  */
@@ -18,22 +46,112 @@ public class StudentManager {
 	 */
 	private Student[] roster;
 	
+	/**
+	 * The number of Students in the roster; the rest of the roster array is
+	 * spare capacity for added Students
+	 */
+	private int size;
+	
+	/**
+	 * The exact-length sorted roster last returned by sort(), or null if the
+	 * roster has changed since
+	 */
+	private Student[] sorted;
+	
+	/**
+	 * The number of Students at the front of the roster known to be in sorted
+	 * order; the rest were added since the last sort
+	 */
+	private int sortedCount;
+	
+	/**
+	 * Whether sort() sorts only the Students changed since the last sort
+	 */
+	private boolean incremental;
+	
 	/**
 	 * The sorting algorithm to use when sorting
 	 */
 	private Sorter<Student> sorter;
 	
 	/**
-	 * Initializes a StudentManager
-	 * @param pathToFile - the path to the input student CSV file
+	 * Hash index from unity id to Students, or null if not created
+	 */
+	private LinearProbingHashMap<String, List<Student>> unityIDIndex;
+	
+	/**
+	 * Ordered index from id to Students, or null if not created
+	 */
+	private RedBlackTreeMap<Integer, List<Student>> idIndex;
+	
+	/**
+	 * Ordered index from GPA, highest first, to Students, or null if not created
+	 */
+	private RedBlackTreeMap<Double, List<Student>> gpaIndex;
+	
+	/**
+	 * Statistics for each created index, by Index ordinal
+	 */
+	private IndexStatistics[] indexStatistics = new IndexStatistics[Index.values().length];
+	
+	/**
+	 * The attributes that can be indexed
+	 */
+	public enum Index {
+		/** Hash index on unity id, used by point queries on unity id */
+		UNITY_ID,
+		/** Ordered index on id, used by point and range queries on id */
+		ID,
+		/** Ordered index on GPA, used by GPA range and top-k queries */
+		GPA
+	}
+	
+	/** Estimated bytes for a tree node and its sentinel child */
+	private static final int TREE_NODE_BYTES = 2 * 40;
+	
+	/** Estimated bytes for a map entry with a boxed key */
+	private static final int ENTRY_BYTES = 24 + 16;
+	
+	/** Estimated bytes for a list of Students, excluding its slots */
+	private static final int LIST_BYTES = 24 + 16;
+	
+	/** Estimated bytes for a reference */
+	private static final int REFERENCE_BYTES = 8;
+	
+	/**
+	 * Initializes a StudentManager. The input file may be a student CSV file or
+	 * a binary roster file saved by BinaryRosterWriter.
+	 * @param pathToFile - the path to the input student CSV or binary roster file
 	 * @param sorter - a reference to the sorting algorithm to use when sorting
 	 */
 	public StudentManager(String pathToFile, Sorter<Student> sorter)
 	{
-		roster = StudentReader.readInputAsArray(pathToFile);
+		if(BinaryRosterReader.isBinaryRoster(pathToFile))
+		{
+			roster = BinaryRosterReader.readRoster(pathToFile);
+		}
+		else
+		{
+			roster = StudentReader.readInputAsArray(pathToFile);
+		}
+		size = roster.length;
 		this.sorter = sorter;
 	}
 	
+	/**
+	 * Initializes a StudentManager backed by a StudentTable. The roster holds
+	 * flyweight views of the table's rows, so sorting rearranges the views
+	 * without changing the table.
+	 * @param table - the table of Students to manage
+	 * @param sorter - a reference to the sorting algorithm to use when sorting
+	 */
+	public StudentManager(StudentTable table, Sorter<Student> sorter)
+	{
+		roster = table.views();
+		size = roster.length;
+		this.sorter = sorter;
+	}
+
 	/**
 	 * Constructs a StudentManager
 	 * @param pathToFile - the path to the input student CSV file
@@ -44,14 +162,765 @@ public class StudentManager {
 	}
 		
     /**
-     * Returns a sorted array of Students
+     * Returns a sorted array of Students. In incremental mode, only the
+     * Students added or updated since the last sort are sorted, and the
+     * returned array must not be modified. Students with equal keys in an
+     * index are kept in roster order; an incremental sort reorders only the
+     * keys of the Students it merged.
      *
      * @return the sorted array of Students
      */
 	public Student[] sort()
 	{
-		sorter.sort(roster);
-		return roster;
+		int pending = size - sortedCount;
+		if(!incremental || pending > 0)
+		{
+			sorted = null;
+			if(incremental && sorter instanceof AbstractComparisonSorter && pending <= sortedCount)
+			{
+				mergePending();
+			}
+			else if(roster.length == size)
+			{
+				sorter.sort(roster);
+				orderIndexes();
+			}
+			else
+			{
+				// Sorters sort whole arrays, so sort an exact-length copy and
+				// keep the roster's spare capacity for later additions
+				sorted = Arrays.copyOf(roster, size);
+				sorter.sort(sorted);
+				System.arraycopy(sorted, 0, roster, 0, size);
+				orderIndexes();
+			}
+			sortedCount = size;
+		}
+		if(sorted == null)
+		{
+			sorted = roster.length == size ? roster : Arrays.copyOf(roster, size);
+		}
+		return sorted;
+	}
+	
+	/**
+	 * Sets whether sort() sorts only the Students changed since the last sort.
+	 * Students in an incremental roster should be changed only through
+	 * update(), since changing a Student directly can leave the sorted run out
+	 * of order.
+	 * @param incremental - true to sort incrementally
+	 */
+	public void setIncremental(boolean incremental)
+	{
+		this.incremental = incremental;
+	}
+	
+	/**
+	 * Returns whether sort() sorts only the Students changed since the last sort
+	 * @return true if sorting is incremental
+	 */
+	public boolean isIncremental()
+	{
+		return incremental;
+	}
+	
+	/**
+	 * Returns the number of Students in the roster
+	 * @return the number of Students
+	 */
+	public int size()
+	{
+		return size;
+	}
+	
+	/**
+	 * Adds the Student to the roster and to every index
+	 * @param student - the Student to add
+	 */
+	public void add(Student student)
+	{
+		if(size == roster.length)
+		{
+			roster = Arrays.copyOf(roster, size * 2 + 1);
+		}
+		roster[size++] = student;
+		sorted = null;
+		if(unityIDIndex != null)
+		{
+			addToIndex(unityIDIndex, student.getUnityID(), student);
+		}
+		if(idIndex != null)
+		{
+			addToIndex(idIndex, student.getId(), student);
+		}
+		if(gpaIndex != null)
+		{
+			addToIndex(gpaIndex, gpaKey(student.getGpa()), student);
+		}
+	}
+	
+	/**
+	 * Removes a Student equal to the given Student from the roster and from
+	 * every index. The remaining Students stay in order.
+	 * @param student - the Student to remove
+	 * @return true if a Student was removed
+	 */
+	public boolean remove(Student student)
+	{
+		int i = indexOf(student);
+		if(i < 0)
+		{
+			return false;
+		}
+		Student removed = roster[i];
+		System.arraycopy(roster, i + 1, roster, i, size - i - 1);
+		roster[--size] = null;
+		sorted = null;
+		if(i < sortedCount)
+		{
+			sortedCount--;
+		}
+		if(unityIDIndex != null)
+		{
+			removeFromIndex(unityIDIndex, removed.getUnityID(), removed);
+		}
+		if(idIndex != null)
+		{
+			removeFromIndex(idIndex, removed.getId(), removed);
+		}
+		if(gpaIndex != null)
+		{
+			removeFromIndex(gpaIndex, gpaKey(removed.getGpa()), removed);
+		}
+		return true;
+	}
+	
+	/**
+	 * Replaces a Student equal to the given Student with the replacement
+	 * @param student - the Student to replace
+	 * @param replacement - the Student that takes its place
+	 * @return true if a Student was replaced
+	 */
+	public boolean update(Student student, Student replacement)
+	{
+		if(!remove(student))
+		{
+			return false;
+		}
+		add(replacement);
+		return true;
+	}
+	
+	/**
+	 * Builds an index on the given attribute, replacing any existing index on
+	 * that attribute
+	 * @param index - the attribute to index
+	 */
+	public void createIndex(Index index)
+	{
+		long start = System.nanoTime();
+		int keys = buildIndex(index);
+		long buildNanos = System.nanoTime() - start;
+		long bytes;
+		if(index == Index.UNITY_ID)
+		{
+			long slots = unityIDIndex.diagnostics().getCapacity();
+			bytes = slots * REFERENCE_BYTES + (long) keys * (ENTRY_BYTES + LIST_BYTES);
+		}
+		else
+		{
+			bytes = (long) keys * (TREE_NODE_BYTES + ENTRY_BYTES + LIST_BYTES);
+		}
+		bytes += (long) size * REFERENCE_BYTES;
+		indexStatistics[index.ordinal()] = new IndexStatistics(index, keys, size, bytes, buildNanos);
+	}
+	
+	/**
+	 * Builds the index on the given attribute from the roster, so that the
+	 * Students under each key are in roster order
+	 * @param index - the attribute to index
+	 * @return the number of distinct keys in the index
+	 */
+	private int buildIndex(Index index)
+	{
+		if(index == Index.UNITY_ID)
+		{
+			unityIDIndex = LinearProbingHashMap.withExpectedSize(size);
+			for(int i = 0; i < size; i++)
+			{
+				addToIndex(unityIDIndex, roster[i].getUnityID(), roster[i]);
+			}
+			return unityIDIndex.size();
+		}
+		if(index == Index.ID)
+		{
+			idIndex = new RedBlackTreeMap<Integer, List<Student>>();
+			for(int i = 0; i < size; i++)
+			{
+				addToIndex(idIndex, roster[i].getId(), roster[i]);
+			}
+			return idIndex.size();
+		}
+		gpaIndex = new RedBlackTreeMap<Double, List<Student>>(new HighestFirst());
+		for(int i = 0; i < size; i++)
+		{
+			addToIndex(gpaIndex, gpaKey(roster[i].getGpa()), roster[i]);
+		}
+		return gpaIndex.size();
+	}
+	
+	/**
+	 * Removes the index on the given attribute, if there is one
+	 * @param index - the attribute whose index is removed
+	 */
+	public void dropIndex(Index index)
+	{
+		if(index == Index.UNITY_ID)
+		{
+			unityIDIndex = null;
+		}
+		else if(index == Index.ID)
+		{
+			idIndex = null;
+		}
+		else
+		{
+			gpaIndex = null;
+		}
+		indexStatistics[index.ordinal()] = null;
+	}
+	
+	/**
+	 * Returns whether there is an index on the given attribute
+	 * @param index - the attribute
+	 * @return true if the attribute is indexed
+	 */
+	public boolean hasIndex(Index index)
+	{
+		return indexStatistics[index.ordinal()] != null;
+	}
+	
+	/**
+	 * Returns the statistics for the index on the given attribute
+	 * @param index - the attribute
+	 * @return the statistics for the index, or null if there is no index
+	 */
+	public IndexStatistics getIndexStatistics(Index index)
+	{
+		return indexStatistics[index.ordinal()];
+	}
+	
+	/**
+	 * Returns the Students with the given unity id
+	 * @param unityID - the unity id to find
+	 * @return the matching Students, in roster order
+	 */
+	public Student[] findByUnityID(String unityID)
+	{
+		if(unityIDIndex != null)
+		{
+			return toArray(unityIDIndex.get(unityID));
+		}
+		List<Student> matches = new ArrayBasedList<Student>();
+		for(int i = 0; i < size; i++)
+		{
+			Student s = roster[i];
+			if(s.getUnityID().equals(unityID))
+			{
+				matches.addLast(s);
+			}
+		}
+		return toArray(matches);
+	}
+	
+	/**
+	 * Returns the Students with the given id
+	 * @param id - the id to find
+	 * @return the matching Students, in roster order
+	 */
+	public Student[] findById(int id)
+	{
+		return findByIdRange(id, id);
+	}
+	
+	/**
+	 * Returns the Students whose ids are in [low, high]
+	 * @param low - the smallest id to include
+	 * @param high - the largest id to include
+	 * @return the matching Students by ascending id; Students with the same id
+	 *         are in roster order
+	 */
+	public Student[] findByIdRange(int low, int high)
+	{
+		if(idIndex != null)
+		{
+			return entriesToArray(idIndex.entryRange(low, high));
+		}
+		List<Student> matches = new ArrayBasedList<Student>();
+		for(int i = 0; i < size; i++)
+		{
+			Student s = roster[i];
+			if(s.getId() >= low && s.getId() <= high)
+			{
+				matches.addLast(s);
+			}
+		}
+		return sorted(matches, new StudentIDComparator());
+	}
+	
+	/**
+	 * Returns the Students whose GPAs are in [low, high]
+	 * @param low - the smallest GPA to include
+	 * @param high - the largest GPA to include
+	 * @return the matching Students by descending GPA; Students with the same
+	 *         GPA are in roster order
+	 */
+	public Student[] findByGpaRange(double low, double high)
+	{
+		if(gpaIndex != null)
+		{
+			// The index orders the highest GPA first
+			return entriesToArray(gpaIndex.entryRange(gpaKey(high), gpaKey(low)));
+		}
+		List<Student> matches = new ArrayBasedList<Student>();
+		for(int i = 0; i < size; i++)
+		{
+			Student s = roster[i];
+			if(s.getGpa() >= low && s.getGpa() <= high)
+			{
+				matches.addLast(s);
+			}
+		}
+		return sorted(matches, new StudentGPAComparator());
+	}
+	
+	/**
+	 * Returns the k Students with the highest GPAs
+	 * @param k - the number of Students to return
+	 * @return at most k Students by descending GPA; Students with the same GPA
+	 *         are in roster order
+	 */
+	public Student[] topByGpa(int k)
+	{
+		if(k <= 0)
+		{
+			return new Student[0];
+		}
+		Student[] top;
+		if(gpaIndex != null)
+		{
+			// Each entry holds at least one Student, so k entries are enough
+			top = entriesToArray(gpaIndex.firstEntries(k));
+		}
+		else
+		{
+			top = sorted(Arrays.copyOf(roster, size), new StudentGPAComparator());
+		}
+		return top.length <= k ? top : Arrays.copyOf(top, k);
+	}
+	
+	/**
+	 * Sorts the Students added since the last sort and merges them into the
+	 * sorted run. Working from the largest added Student down, each is placed
+	 * after the run's equal Students by binary search, and the run's larger
+	 * Students are shifted up in a single block.
+	 */
+	@SuppressWarnings("unchecked")
+	private void mergePending()
+	{
+		AbstractComparisonSorter<Student> order = (AbstractComparisonSorter<Student>) sorter;
+		Student[] pending = Arrays.copyOfRange(roster, sortedCount, size);
+		sorter.sort(pending);
+		int high = sortedCount;
+		for(int j = pending.length - 1; j >= 0; j--)
+		{
+			Student s = pending[j];
+			int low = 0;
+			int end = high;
+			// Find the first Student in the run that belongs after s
+			while(low < end)
+			{
+				int mid = (low + end) >>> 1;
+				if(order.compare(roster[mid], s) <= 0)
+				{
+					low = mid + 1;
+				}
+				else
+				{
+					end = mid;
+				}
+			}
+			System.arraycopy(roster, low, roster, low + j + 1, high - low);
+			roster[low + j] = s;
+			high = low;
+		}
+		// Only the keys of the merged Students can hold Students out of order
+		Comparator<Student> ties = new RosterOrder();
+		for(Student s : pending)
+		{
+			if(unityIDIndex != null)
+			{
+				orderTies(unityIDIndex.get(s.getUnityID()), ties);
+			}
+			if(idIndex != null)
+			{
+				orderTies(idIndex.get(s.getId()), ties);
+			}
+			if(gpaIndex != null)
+			{
+				orderTies(gpaIndex.get(gpaKey(s.getGpa())), ties);
+			}
+		}
+	}
+	
+	/**
+	 * Puts the Students under every key of every index back in roster order
+	 * after the whole roster has been sorted
+	 */
+	private void orderIndexes()
+	{
+		Comparator<Student> ties = new RosterOrder();
+		if(unityIDIndex != null)
+		{
+			for(List<Student> students : unityIDIndex.values())
+			{
+				orderTies(students, ties);
+			}
+		}
+		if(idIndex != null)
+		{
+			for(List<Student> students : idIndex.values())
+			{
+				orderTies(students, ties);
+			}
+		}
+		if(gpaIndex != null)
+		{
+			for(List<Student> students : gpaIndex.values())
+			{
+				orderTies(students, ties);
+			}
+		}
+	}
+	
+	/**
+	 * Returns the roster index of a Student equal to the given Student. The
+	 * sorted run is binary searched first when a comparison-based sorter is
+	 * used; otherwise, or if that search fails, the roster is scanned.
+	 * @param student - the Student to find
+	 * @return the index of an equal Student, or -1 if there is none
+	 */
+	@SuppressWarnings("unchecked")
+	private int indexOf(Student student)
+	{
+		if(sorter instanceof AbstractComparisonSorter && sortedCount > 0)
+		{
+			AbstractComparisonSorter<Student> order = (AbstractComparisonSorter<Student>) sorter;
+			int low = 0;
+			int high = sortedCount;
+			while(low < high)
+			{
+				int mid = (low + high) >>> 1;
+				if(order.compare(roster[mid], student) < 0)
+				{
+					low = mid + 1;
+				}
+				else
+				{
+					high = mid;
+				}
+			}
+			for(int i = low; i < sortedCount && order.compare(roster[i], student) == 0; i++)
+			{
+				if(roster[i].equals(student))
+				{
+					return i;
+				}
+			}
+		}
+		for(int i = 0; i < size; i++)
+		{
+			if(roster[i].equals(student))
+			{
+				return i;
+			}
+		}
+		return -1;
+	}
+	
+	/**
+	 * Removes the Student from the list of Students stored under the key,
+	 * removing the key once its list is empty
+	 * @param index - the index to remove from
+	 * @param key - the key of the Student
+	 * @param s - the Student to remove
+	 * @param <K> - the type of key
+	 */
+	private static <K> void removeFromIndex(Map<K, List<Student>> index, K key, Student s)
+	{
+		List<Student> students = index.get(key);
+		if(students == null)
+		{
+			return;
+		}
+		for(int i = 0; i < students.size(); i++)
+		{
+			if(students.get(i) == s)
+			{
+				students.remove(i);
+				break;
+			}
+		}
+		if(students.isEmpty())
+		{
+			index.remove(key);
+		}
+	}
+	
+	/**
+	 * Adds the Student to the list of Students stored under the key
+	 * @param index - the index to add to
+	 * @param key - the key of the Student
+	 * @param s - the Student to add
+	 * @param <K> - the type of key
+	 */
+	private static <K> void addToIndex(Map<K, List<Student>> index, K key, Student s)
+	{
+		List<Student> students = index.get(key);
+		if(students == null)
+		{
+			students = new ArrayBasedList<Student>(1);
+			index.put(key, students);
+		}
+		students.addLast(s);
+	}
+	
+	/**
+	 * Reorders the Students stored under one index key to match the roster.
+	 * The list is already in roster order except for Students added since the
+	 * last sort, which are at its end, so a stable sort restores the order and
+	 * a list that is still in order is left alone.
+	 * @param students - the Students under the key, or null for none
+	 * @param order - the order of the sorted roster
+	 */
+	private static void orderTies(List<Student> students, Comparator<Student> order)
+	{
+		if(students == null)
+		{
+			return;
+		}
+		int i = 1;
+		while(i < students.size() && order.compare(students.get(i - 1), students.get(i)) <= 0)
+		{
+			i++;
+		}
+		if(i >= students.size())
+		{
+			return;
+		}
+		Student[] array = toArray(students);
+		new MergeSorter<Student>(order).sort(array);
+		for(i = 0; i < array.length; i++)
+		{
+			students.set(i, array[i]);
+		}
+	}
+	
+	/**
+	 * Returns the GPA index key for the GPA. Adding 0.0 turns -0.0 into 0.0
+	 * so that both zeros share a key.
+	 * @param gpa - the GPA
+	 * @return the index key
+	 */
+	private static Double gpaKey(double gpa)
+	{
+		return gpa + 0.0;
+	}
+	
+	/**
+	 * Returns the Students in the list as an array
+	 * @param students - the Students, or null for none
+	 * @return an array of the Students
+	 */
+	private static Student[] toArray(List<Student> students)
+	{
+		if(students == null)
+		{
+			return new Student[0];
+		}
+		Student[] array = new Student[students.size()];
+		int i = 0;
+		for(Student s : students)
+		{
+			array[i++] = s;
+		}
+		return array;
+	}
+	
+	/**
+	 * Returns every Student stored in the index entries, in entry order
+	 * @param entries - the index entries
+	 * @return an array of the Students
+	 */
+	private static Student[] entriesToArray(Iterable<? extends Entry<?, List<Student>>> entries)
+	{
+		List<Student> students = new ArrayBasedList<Student>();
+		for(Entry<?, List<Student>> e : entries)
+		{
+			for(Student s : e.getValue())
+			{
+				students.addLast(s);
+			}
+		}
+		return toArray(students);
+	}
+	
+	/**
+	 * Returns the Students sorted with a stable sort
+	 * @param students - the Students to sort
+	 * @param comparator - the order to sort by
+	 * @return a new sorted array of the Students
+	 */
+	private static Student[] sorted(List<Student> students, Comparator<Student> comparator)
+	{
+		return sorted(toArray(students), comparator);
+	}
+	
+	/**
+	 * Returns a sorted copy of the Students, using a stable sort
+	 * @param students - the Students to sort
+	 * @param comparator - the order to sort by
+	 * @return a new sorted array of the Students
+	 */
+	private static Student[] sorted(Student[] students, Comparator<Student> comparator)
+	{
+		Student[] copy = Arrays.copyOf(students, students.length);
+		new MergeSorter<Student>(comparator).sort(copy);
+		return copy;
+	}
+	
+	/**
+	 * Orders GPA index keys from highest to lowest
+	 * @author Ethan Treece
+	 *
+	 */
+	private static class HighestFirst implements Comparator<Double>
+	{
+		@Override
+		public int compare(Double one, Double two)
+		{
+			return Double.compare(two, one);
+		}
+	}
+	
+	/**
+	 * Orders Students the way the sorter orders the roster. Sorters that do
+	 * not compare Students, such as RadixSorter and CountingSorter, order the
+	 * roster by id.
+	 * @author Ethan Treece
+	 *
+	 */
+	private class RosterOrder implements Comparator<Student>
+	{
+		/** Orders Students by id when the sorter does not compare them */
+		private Comparator<Student> byId = new StudentIDComparator();
+		
+		@SuppressWarnings("unchecked")
+		@Override
+		public int compare(Student one, Student two)
+		{
+			if(sorter instanceof AbstractComparisonSorter)
+			{
+				return ((AbstractComparisonSorter<Student>) sorter).compare(one, two);
+			}
+			return byId.compare(one, two);
+		}
+	}
+	
+	/**
+	 * IndexStatistics describes how an index was built and its size
+	 * @author Ethan Treece
+	 *
+	 */
+	public static class IndexStatistics
+	{
+		/** The indexed attribute */
+		private Index index;
+		
+		/** The number of distinct keys in the index */
+		private int keys;
+		
+		/** The number of Students in the index */
+		private int students;
+		
+		/** The estimated memory used by the index, in bytes */
+		private long estimatedBytes;
+		
+		/** The time spent building the index */
+		private long buildNanos;
+		
+		/**
+		 * Constructs IndexStatistics
+		 * @param index - the indexed attribute
+		 * @param keys - the number of distinct keys
+		 * @param students - the number of Students
+		 * @param estimatedBytes - the estimated memory used, in bytes
+		 * @param buildNanos - the build time in nanoseconds
+		 */
+		private IndexStatistics(Index index, int keys, int students, long estimatedBytes, long buildNanos)
+		{
+			this.index = index;
+			this.keys = keys;
+			this.students = students;
+			this.estimatedBytes = estimatedBytes;
+			this.buildNanos = buildNanos;
+		}
+		
+		/**
+		 * Returns the indexed attribute
+		 * @return the indexed attribute
+		 */
+		public Index getIndex()
+		{
+			return index;
+		}
+		
+		/**
+		 * Returns the number of distinct keys in the index
+		 * @return the number of keys
+		 */
+		public int getKeys()
+		{
+			return keys;
+		}
+		
+		/**
+		 * Returns the number of Students in the index
+		 * @return the number of Students
+		 */
+		public int getStudents()
+		{
+			return students;
+		}
+		
+		/**
+		 * Returns an estimate of the memory used by the index, based on typical
+		 * object sizes rather than a measurement
+		 * @return the estimated memory used, in bytes
+		 */
+		public long getEstimatedBytes()
+		{
+			return estimatedBytes;
+		}
+		
+		/**
+		 * Returns the time spent building the index
+		 * @return the build time in nanoseconds
+		 */
+		public long getBuildNanos()
+		{
+			return buildNanos;
+		}
 	}
 
 }
@@ -0,0 +1,53 @@
+package edu.ncsu.csc316.dsa.map;
+
+/**
+ * An EntryCursor walks the entries of a map in place, without creating an
+ * entry object or copying the entries for the walk. The cursor starts before
+ * the first entry; each call to {@link #advance} moves it to the next entry,
+ * whose key and value are then read with {@link #key} and {@link #value}.
+ *
+ * A cursor is fail-fast: if the map gains or loses entries while the cursor
+ * is in use, other than through the cursor, the next call to advance throws a
+ * {@link java.util.ConcurrentModificationException}. A cursor can be reused
+ * for another walk with {@link #reset}.
+ *
+ * @author Ethan Treece
+ *
+ * @param <K> the type of keys stored in the map
+ * @param <V> the type of values that are associated with keys in the map
+ */
+public interface EntryCursor<K, V> {
+
+    /**
+     * Moves the cursor to the next entry of the map
+     *
+     * @return true if the cursor is at an entry, or false if every entry has
+     *         been visited
+     * @throws java.util.ConcurrentModificationException if the map gained or
+     *                                                   lost entries since the
+     *                                                   walk started
+     */
+    boolean advance();
+
+    /**
+     * Returns the key of the entry the cursor is at
+     *
+     * @return the key of the current entry
+     * @throws IllegalStateException if the cursor is not at an entry
+     */
+    K key();
+
+    /**
+     * Returns the value of the entry the cursor is at
+     *
+     * @return the value of the current entry
+     * @throws IllegalStateException if the cursor is not at an entry
+     */
+    V value();
+
+    /**
+     * Moves the cursor back before the first entry of the map, so that it can
+     * walk the entries again as the map is now
+     */
+    void reset();
+}
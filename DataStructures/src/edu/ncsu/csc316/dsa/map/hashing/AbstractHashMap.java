@@ -1,10 +1,16 @@
 package edu.ncsu.csc316.dsa.map.hashing;
 
-import java.util.Random;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.BiConsumer;
 
 import edu.ncsu.csc316.dsa.list.ArrayBasedList;
 import edu.ncsu.csc316.dsa.list.List;
 import edu.ncsu.csc316.dsa.map.AbstractMap;
+import edu.ncsu.csc316.dsa.map.EntryCursor;
+import edu.ncsu.csc316.dsa.map.Map;
 
 /**
  * A skeletal implementation of the hash table data structure for the Map
@@ -30,24 +36,43 @@ public abstract class AbstractHashMap<K, V> extends AbstractMap<K, V> {
     // reduce the chance of having large clusters, we will resize
     // when the load factor reaches 0.5
     //////////////////////////////////////////////////////////////////
+    /**
+     * A default prime number to use in hash function calculations
+     * 
+     * @deprecated the prime belongs to the multiply-and-divide strategy; use
+     *             {@link MADHashStrategy#DEFAULT_PRIME}
+     */
+    @Deprecated
+    protected static final int DEFAULT_PRIME = MADHashStrategy.DEFAULT_PRIME;
+
     /**
      * The maximum load factor to allow before resizing the hash table
      */
     private static final double MAX_LOAD_FACTOR = 0.5;
 
     /**
-     * A default prime number to use in hash function calculations
+     * The number of buckets of the old hash table array to migrate per put or
+     * remove during an incremental resize. The table is resized again only
+     * after at least capacity / 2 more puts, and migrating more than two buckets
+     * per put empties the old table of capacity buckets before then.
      */
-    protected static final int DEFAULT_PRIME = 109345121;
+    private static final int MIGRATION_STEP = 4;
+
+    // The strategy that maps hash codes to buckets and chooses capacities
+    private HashStrategy strategy;
 
-    // Alpha and Beta values for MAD compression
-    // This implementation uses a variation of the MAD method
-    // where h(k) = ( (alpha * f(k) + beta) % prime) % capacity
-    private long alpha;
-    private long beta;
+    // True if the hash table array is resized incrementally
+    private boolean incremental;
 
-    // The prime number to use for compression strategy
-    private int prime;
+    // The old hash table being drained during an incremental resize, or null
+    private AbstractHashMap<K, V> previous;
+
+    // The index of the next bucket of the old hash table to migrate
+    private int migrated;
+
+    // Counts the changes that add, remove, or move entries, so that cursors
+    // and iterators can detect changes made while they are in use
+    private int modCount;
 
     /**
      * Initializes the abstract hash map state with values to use when calculating
@@ -61,47 +86,211 @@ public abstract class AbstractHashMap<K, V> extends AbstractMap<K, V> {
      *                  sequence of random numbers when testing
      */
     public AbstractHashMap(int capacity, boolean isTesting) {
-        if (isTesting) {
-            alpha = 1;
-            beta = 1;
-            prime = 7;
-        } else {
-            Random rand = new Random();
-            alpha = rand.nextInt(DEFAULT_PRIME - 1) + 1;
-            beta = rand.nextInt(DEFAULT_PRIME);
-            prime = DEFAULT_PRIME;
+        this(capacity, new MADHashStrategy(isTesting));
+    }
+
+    /**
+     * Initializes the abstract hash map state to calculate hash functions with
+     * the given strategy
+     * 
+     * @param capacity the initial capacity of the hash table array, which the
+     *                 strategy may round up
+     * @param strategy the strategy that maps hash codes to buckets
+     * @throws IllegalArgumentException if strategy is null
+     */
+    public AbstractHashMap(int capacity, HashStrategy strategy) {
+        if (strategy == null) {
+            throw new IllegalArgumentException("Hash strategy must not be null.");
         }
-        createTable(capacity);
+        this.strategy = strategy;
+        createTable(strategy.capacity(capacity));
+    }
+
+    /**
+     * Initializes the abstract hash map state with the same hash strategy as the
+     * given hash map, without creating a hash table array. Used to detach the
+     * old hash table array during an incremental resize.
+     * 
+     * @param source the hash map whose hash strategy to share
+     */
+    protected AbstractHashMap(AbstractHashMap<K, V> source) {
+        strategy = source.strategy;
+    }
+
+    /**
+     * Returns the strategy that maps hash codes to buckets
+     * 
+     * @return the hash strategy
+     */
+    public HashStrategy getHashStrategy() {
+        return strategy;
     }
 
     /**
-     * Returns the hash function for a given key using multiply-and-divide
-     * compression
+     * Sets whether the hash table array is resized incrementally. A normal
+     * resize rehashes every entry within the put that triggers it. An
+     * incremental resize keeps the old hash table array beside the new one and
+     * migrates a few of its buckets on each later put or remove, so that no
+     * single operation takes time proportional to the size of the map. Turning
+     * incremental resizing off completes a resize in progress.
+     * 
+     * @param incremental true to resize incrementally
+     */
+    public void setIncrementalResize(boolean incremental) {
+        this.incremental = incremental;
+        if (!incremental) {
+            finishResize();
+        }
+    }
+
+    /**
+     * Returns true if the hash table array is resized incrementally
+     * 
+     * @return true if the hash table array is resized incrementally
+     */
+    public boolean isIncrementalResize() {
+        return incremental;
+    }
+
+    /**
+     * Returns true if an incremental resize is in progress
+     * 
+     * @return true if entries remain in the old hash table array
+     */
+    public boolean isResizing() {
+        return previous != null;
+    }
+
+    /**
+     * Returns the hash function for a given key using the hash strategy
      * 
      * @param key the key for which to calculate the hash function
      * @return the compressed hash function for the provided key
      */
     private int compress(K key) {
-        return (int) ((Math.abs(key.hashCode() * alpha + beta) % prime) % capacity());
+        return strategy.index(key.hashCode(), capacity());
     }
 
     @Override
     public V put(K key, V value) {
-        V ret = bucketPut(compress(key), key, value);
+        int before = size();
+        V ret;
+        if (previous == null) {
+            ret = bucketPut(compress(key), key, value);
+        } else {
+            // Each key is in only one of the tables, so move it to the new one
+            V old = previous.remove(key);
+            ret = bucketPut(compress(key), key, value);
+            if (old != null) {
+                ret = old;
+            }
+            migrate();
+        }
+        if (size() != before) {
+            modCount++;
+        }
         if ((double) size() / capacity() > MAX_LOAD_FACTOR) {
-            resize(2 * capacity() + 1);
+            if (incremental) {
+                startResize(strategy.grow(capacity()));
+            } else {
+                resize(strategy.grow(capacity()));
+            }
         }
         return ret;
     }
 
     @Override
     public V get(K key) {
-        return bucketGet(compress(key), key);
+        V ret = bucketGet(compress(key), key);
+        if (ret == null && previous != null) {
+            ret = previous.get(key);
+        }
+        return ret;
     }
 
     @Override
     public V remove(K key) {
-        return bucketRemove(compress(key), key);
+        V ret = bucketRemove(compress(key), key);
+        if (previous != null) {
+            V old = previous.remove(key);
+            if (ret == null) {
+                ret = old;
+            }
+            migrate();
+        }
+        if (ret != null) {
+            modCount++;
+        }
+        return ret;
+    }
+
+    /**
+     * Returns the number of entries still in the old hash table array during an
+     * incremental resize
+     * 
+     * @return the number of entries left to migrate, or 0 if no incremental
+     *         resize is in progress
+     */
+    protected int drainingSize() {
+        return previous == null ? 0 : previous.size();
+    }
+
+    /**
+     * Starts an incremental resize by detaching the current hash table array and
+     * creating a new, larger one. A resize still in progress is completed first.
+     * 
+     * @param newCapacity the capacity of the new, larger hash table array
+     */
+    private void startResize(int newCapacity) {
+        finishResize();
+        previous = detachTable();
+        migrated = 0;
+        createTable(newCapacity);
+        modCount++;
+    }
+
+    /**
+     * Moves the entries of the next few buckets of the old hash table array into
+     * the current one, and drops the old hash table array once it is empty
+     */
+    private void migrate() {
+        int moved = 0;
+        for (int n = 0; n < MIGRATION_STEP && previous != null; n++) {
+            if (migrated == previous.capacity() || previous.isEmpty()) {
+                previous = null;
+                break;
+            }
+            moved += previous.moveBucket(migrated, this);
+            migrated++;
+        }
+        if (previous != null && previous.isEmpty()) {
+            previous = null;
+        }
+        if (moved > 0) {
+            modCount++;
+        }
+    }
+
+    /**
+     * Adds an entry moved out of the old hash table array during an
+     * incremental resize. The new hash table array is large enough for every
+     * entry, so the load factor is not checked.
+     * 
+     * @param key   the key of the entry
+     * @param value the value of the entry
+     */
+    protected void putMoved(K key, V value) {
+        bucketPut(compress(key), key, value);
+    }
+
+    /**
+     * Migrates every entry left in the old hash table array, completing an
+     * incremental resize in progress
+     */
+    protected void finishResize() {
+        while (previous != null) {
+            migrate();
+        }
     }
 
     /**
@@ -115,11 +304,226 @@ public abstract class AbstractHashMap<K, V> extends AbstractMap<K, V> {
             list.addLast(entry);
         }
         createTable(newCapacity);
+        modCount++;
+        // The new table is large enough for every entry, so skip the load
+        // factor check that put would make for each one
         for (Entry<K, V> entry : list) {
-            put(entry.getKey(), entry.getValue());
+            bucketPut(compress(entry.getKey()), entry.getKey(), entry.getValue());
         }
     }
 
+    /**
+     * Grows the hash table array, if needed, so that it can hold the given
+     * number of entries without resizing again. Sizing the table once before
+     * adding many entries avoids the rehash of every entry at each of the
+     * resizes that repeated puts would trigger. A resize in progress is
+     * completed first.
+     * 
+     * @param expectedSize the number of entries the map is expected to hold
+     * @throws IllegalArgumentException if expectedSize is negative
+     */
+    public void ensureCapacity(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Expected size must not be negative.");
+        }
+        finishResize();
+        int newCapacity = grownCapacity(capacity(), expectedSize, strategy);
+        if (newCapacity != capacity()) {
+            resize(newCapacity);
+        }
+    }
+
+    /**
+     * Returns the capacity of a hash table array that uses the given strategy
+     * and can hold the expected number of entries without resizing. It is the
+     * capacity a map with the default capacity would grow to.
+     * 
+     * @param expectedSize the number of entries the map is expected to hold
+     * @param strategy     the strategy that maps hash codes to buckets
+     * @return the capacity to create the hash table array with
+     * @throws IllegalArgumentException if expectedSize is negative or too large
+     *                                  for any capacity of the strategy
+     */
+    protected static int capacityFor(int expectedSize, HashStrategy strategy) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Expected size must not be negative.");
+        }
+        return grownCapacity(strategy.capacity(DEFAULT_CAPACITY), expectedSize, strategy);
+    }
+
+    /**
+     * Returns the capacity that a hash table array grows to from the given
+     * capacity before it can hold the expected number of entries
+     * 
+     * @param capacity     the capacity to grow from
+     * @param expectedSize the number of entries the map is expected to hold
+     * @param strategy     the strategy that grows the capacity
+     * @return the grown capacity, or the given capacity if it is large enough
+     * @throws IllegalArgumentException if the capacity stops growing before it
+     *                                  is large enough
+     */
+    private static int grownCapacity(int capacity, int expectedSize, HashStrategy strategy) {
+        while (expectedSize > capacity * MAX_LOAD_FACTOR) {
+            int next = strategy.grow(capacity);
+            if (next <= capacity) {
+                throw new IllegalArgumentException("Expected size is too large.");
+            }
+            capacity = next;
+        }
+        return capacity;
+    }
+
+    /**
+     * Adds or updates an entry for every entry of the given map. The hash table
+     * array is sized once for the combined entries, and the entries are then
+     * added without checking the load factor after each one.
+     * 
+     * @param other the map whose entries to add
+     */
+    public void putAll(Map<K, V> other) {
+        putAll(other.entrySet(), other.size());
+    }
+
+    /**
+     * Adds or updates an entry for every given entry. The entries are counted
+     * first, so the iterable is traversed twice; the hash table array is then
+     * sized once and the entries are added without checking the load factor
+     * after each one.
+     * 
+     * @param entries the entries to add
+     */
+    public void putAll(Iterable<Entry<K, V>> entries) {
+        int count = 0;
+        for (Iterator<Entry<K, V>> it = entries.iterator(); it.hasNext(); it.next()) {
+            count++;
+        }
+        putAll(entries, count);
+    }
+
+    /**
+     * Sizes the hash table array for the current and given number of new
+     * entries, then adds the entries directly to their buckets
+     * 
+     * @param entries the entries to add
+     * @param count   the number of entries
+     */
+    private void putAll(Iterable<Entry<K, V>> entries, int count) {
+        ensureCapacity(size() + count);
+        for (Entry<K, V> entry : entries) {
+            bucketPut(compress(entry.getKey()), entry.getKey(), entry.getValue());
+        }
+        modCount++;
+    }
+
+    /**
+     * Returns a cursor that walks the entries of this map in place, in the
+     * order of the hash table array. Unlike {@link #entrySet}, the walk does
+     * not copy the entries. A resize in progress is completed first.
+     * 
+     * @return a cursor before the first entry of this map
+     */
+    public abstract EntryCursor<K, V> cursor();
+
+    /**
+     * Performs the given action on the key and value of every entry of this
+     * map, walking the hash table array in place
+     * 
+     * @param action the action to perform on each key and value
+     * @throws ConcurrentModificationException if the action adds or removes
+     *                                         entries of this map
+     */
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        EntryCursor<K, V> cursor = cursor();
+        while (cursor.advance()) {
+            action.accept(cursor.key(), cursor.value());
+        }
+    }
+
+    @Override
+    public Iterator<K> iterator() {
+        return new CursorKeyIterator();
+    }
+
+    @Override
+    public Iterable<V> values() {
+        return new CursorValueIterable();
+    }
+
+    /**
+     * Returns statistics on how well the hash strategy spreads the keys of this
+     * map. A resize in progress is completed first.
+     * 
+     * The probe length of a key is the number of entries examined to find it
+     * when scanning its home bucket and then the following buckets in order,
+     * which is its exact cost in a linear probing table and in a small separate
+     * chaining bucket. A cluster is a run of consecutive occupied buckets,
+     * wrapping around the end of the table. Buckets whose entry was deleted
+     * count as occupied, since probes still walk past them.
+     * 
+     * @return the hash diagnostics of this map
+     */
+    public HashDiagnostics diagnostics() {
+        finishResize();
+        int capacity = capacity();
+        int[] homeCounts = new int[capacity];
+        int[] probes = new int[8];
+        int maxProbe = 0;
+        int maxCluster = 0;
+        int leadingRun = -1;
+        int run = 0;
+        for (int i = 0; i < capacity; i++) {
+            int position = 0;
+            for (Entry<K, V> entry : bucketEntries(i)) {
+                int home = compress(entry.getKey());
+                homeCounts[home]++;
+                int probe = (i - home + capacity) % capacity + position + 1;
+                if (probe >= probes.length) {
+                    probes = Arrays.copyOf(probes, Math.max(probe + 1, probes.length * 2));
+                }
+                probes[probe]++;
+                maxProbe = Math.max(maxProbe, probe);
+                position++;
+            }
+            if (position > 0 || isDeletedBucket(i)) {
+                run++;
+            } else {
+                if (leadingRun < 0) {
+                    leadingRun = run;
+                }
+                maxCluster = Math.max(maxCluster, run);
+                run = 0;
+            }
+        }
+        if (leadingRun < 0) {
+            // Every bucket is occupied
+            maxCluster = capacity;
+        } else {
+            // The last run continues into the first one
+            maxCluster = Math.max(maxCluster, run + leadingRun);
+        }
+        int largestBucket = 0;
+        for (int count : homeCounts) {
+            largestBucket = Math.max(largestBucket, count);
+        }
+        int[] bucketSizes = new int[largestBucket + 1];
+        for (int count : homeCounts) {
+            bucketSizes[count]++;
+        }
+        return new HashDiagnostics(capacity, size(), Arrays.copyOf(probes, maxProbe + 1), maxCluster, bucketSizes);
+    }
+
+    /**
+     * Returns true if the bucket at the given index holds a marker for a
+     * deleted entry that probes must still walk past. Only open addressing
+     * tables leave such markers, so by default no bucket does.
+     * 
+     * @param index the index of the bucket
+     * @return true if the bucket holds a deleted entry marker
+     */
+    protected boolean isDeletedBucket(int index) {
+        return false;
+    }
+
     /**
      * Returns the current capacity of the current hash table array
      * 
@@ -166,4 +570,223 @@ public abstract class AbstractHashMap<K, V> extends AbstractMap<K, V> {
      *         table
      */
     protected abstract V bucketRemove(int hash, K key);
-}
\ No newline at end of file
+
+    /**
+     * Returns the entries in the bucket at the given index of the hash table
+     * array
+     * 
+     * @param index the index of the bucket
+     * @return the entries in the bucket
+     */
+    protected abstract Iterable<Entry<K, V>> bucketEntries(int index);
+
+    /**
+     * Moves the entries of the bucket at the given index into the given map and
+     * removes them from this map, without copying the bucket first. Used on
+     * the detached old hash table array during an incremental resize.
+     * 
+     * @param index  the index of the bucket
+     * @param target the map to move the entries into
+     * @return the number of entries moved
+     */
+    protected abstract int moveBucket(int index, AbstractHashMap<K, V> target);
+
+    /**
+     * Returns a new hash map of the same type that takes over the current hash
+     * table array and its entries, and uses the same hash function values. The
+     * caller replaces this map's hash table array afterwards.
+     * 
+     * @return a hash map holding the current hash table array
+     */
+    protected abstract AbstractHashMap<K, V> detachTable();
+
+    /**
+     * HashCursor is the skeleton of a cursor over the hash table array. It
+     * completes any resize in progress before a walk starts and checks for
+     * changes to the map on each advance; subclasses implement the walk over
+     * their buckets.
+     * 
+     * @author Ethan Treece
+     *
+     */
+    protected abstract class HashCursor implements EntryCursor<K, V> {
+
+        /** The modification count of the map when the walk started */
+        private int expectedModCount;
+
+        /** True if the cursor is at an entry */
+        private boolean positioned;
+
+        /**
+         * Constructs a HashCursor before the first entry of the map
+         */
+        protected HashCursor() {
+            reset();
+        }
+
+        @Override
+        public boolean advance() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException("The map was modified during iteration.");
+            }
+            positioned = step();
+            return positioned;
+        }
+
+        @Override
+        public K key() {
+            checkPositioned();
+            return currentKey();
+        }
+
+        @Override
+        public V value() {
+            checkPositioned();
+            return currentValue();
+        }
+
+        @Override
+        public void reset() {
+            finishResize();
+            expectedModCount = modCount;
+            positioned = false;
+            restart();
+        }
+
+        /**
+         * Throws an exception if the cursor is not at an entry
+         */
+        private void checkPositioned() {
+            if (!positioned) {
+                throw new IllegalStateException("The cursor is not at an entry.");
+            }
+        }
+
+        /**
+         * Moves to the next entry of the hash table array
+         * 
+         * @return true if there is another entry, or false if the walk is done
+         */
+        protected abstract boolean step();
+
+        /**
+         * Returns the key of the current entry
+         * 
+         * @return the key of the current entry
+         */
+        protected abstract K currentKey();
+
+        /**
+         * Returns the value of the current entry
+         * 
+         * @return the value of the current entry
+         */
+        protected abstract V currentValue();
+
+        /**
+         * Moves back before the first bucket of the hash table array
+         */
+        protected abstract void restart();
+    }
+
+    /**
+     * CursorIterator adapts a cursor to the {@link Iterator} interface, looking
+     * one entry ahead to answer hasNext
+     * 
+     * @author Ethan Treece
+     *
+     * @param <T> the type of elements returned by the iterator
+     */
+    private abstract class CursorIterator<T> implements Iterator<T> {
+
+        /** The cursor over the map's entries */
+        private EntryCursor<K, V> cursor;
+
+        /** True if the cursor has been advanced past the last returned entry */
+        private boolean checked;
+
+        /** True if the cursor is at an entry not yet returned */
+        private boolean hasNext;
+
+        /**
+         * Constructs a CursorIterator before the first entry of the map
+         */
+        CursorIterator() {
+            cursor = cursor();
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (!checked) {
+                hasNext = cursor.advance();
+                checked = true;
+            }
+            return hasNext;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            checked = false;
+            return element(cursor);
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("The remove operation is not supported yet.");
+        }
+
+        /**
+         * Returns the element of the entry the cursor is at
+         * 
+         * @param cursor the cursor at the entry
+         * @return the element for the entry
+         */
+        protected abstract T element(EntryCursor<K, V> cursor);
+    }
+
+    /**
+     * CursorKeyIterator iterates over the keys of the map in place
+     * 
+     * @author Ethan Treece
+     *
+     */
+    private class CursorKeyIterator extends CursorIterator<K> {
+
+        @Override
+        protected K element(EntryCursor<K, V> cursor) {
+            return cursor.key();
+        }
+    }
+
+    /**
+     * CursorValueIterator iterates over the values of the map in place
+     * 
+     * @author Ethan Treece
+     *
+     */
+    private class CursorValueIterator extends CursorIterator<V> {
+
+        @Override
+        protected V element(EntryCursor<K, V> cursor) {
+            return cursor.value();
+        }
+    }
+
+    /**
+     * CursorValueIterable creates a new CursorValueIterator for each traversal
+     * of the map's values
+     * 
+     * @author Ethan Treece
+     *
+     */
+    private class CursorValueIterable implements Iterable<V> {
+
+        @Override
+        public Iterator<V> iterator() {
+            return new CursorValueIterator();
+        }
+    }
+}
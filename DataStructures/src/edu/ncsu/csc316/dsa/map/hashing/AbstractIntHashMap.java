@@ -0,0 +1,334 @@
+package edu.ncsu.csc316.dsa.map.hashing;
+
+/**
+ * A skeletal implementation of an open-addressing hash table whose keys are
+ * primitive ints. Keys are stored unboxed in an int array and subclasses keep
+ * their values in a parallel array of the matching index, so no entry, key, or
+ * value objects are allocated per mapping.
+ *
+ * Collisions are resolved by linear probing over a power-of-two capacity, and
+ * removals shift the rest of the cluster back rather than leaving deleted
+ * markers. A key of 0 marks an empty bucket, so the key 0 itself is kept in
+ * one extra slot past the end of the table. The table doubles when the load
+ * factor would exceed 0.75.
+ *
+ * This class manages the keys; subclasses implement the hooks that allocate,
+ * copy, move, and clear the value in a slot.
+ *
+ * @author Ethan Treece
+ *
+ */
+public abstract class AbstractIntHashMap {
+
+    /** The default initial capacity of the hash table arrays */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /** The largest capacity of the hash table arrays */
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    /** The maximum load factor to allow before doubling the hash table */
+    private static final double MAX_LOAD_FACTOR = 0.75;
+
+    /** The key in each bucket, or 0 if empty, followed by the slot for key 0 */
+    private int[] keys;
+
+    /** The capacity minus one, used to select buckets */
+    private int mask;
+
+    /** The number of entries at which the table doubles */
+    private int threshold;
+
+    /** True if the key 0 is in the map */
+    private boolean hasZeroKey;
+
+    /** The number of entries */
+    private int size;
+
+    /**
+     * Initializes a hash table large enough to hold the expected number of
+     * entries without growing
+     *
+     * @param expectedSize the number of entries the map is expected to hold
+     * @throws IllegalArgumentException if expectedSize is negative
+     */
+    protected AbstractIntHashMap(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Expected size must not be negative.");
+        }
+        int capacity = DEFAULT_CAPACITY;
+        while (capacity < MAX_CAPACITY && capacity * MAX_LOAD_FACTOR < expectedSize) {
+            capacity <<= 1;
+        }
+        createTable(capacity);
+        createValues(capacity + 1);
+        size = 0;
+    }
+
+    /**
+     * Creates an empty key array with the given capacity
+     *
+     * @param capacity the capacity, a power of two
+     */
+    private void createTable(int capacity) {
+        keys = new int[capacity + 1];
+        mask = capacity - 1;
+        threshold = capacity == MAX_CAPACITY ? capacity - 1 : (int) (capacity * MAX_LOAD_FACTOR);
+    }
+
+    /**
+     * Returns the home bucket of a non-zero key. The key is scrambled so that
+     * its high bits affect the bucket.
+     *
+     * @param key the key
+     * @return the index of the key's home bucket
+     */
+    private int home(int key) {
+        int h = key * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    /**
+     * Returns the index of the slot holding the key, or -1 if the key is not in
+     * the map
+     *
+     * @param key the key to find
+     * @return the index of the key's slot, or -1
+     */
+    protected int indexOf(int key) {
+        if (key == 0) {
+            return hasZeroKey ? mask + 1 : -1;
+        }
+        int index = home(key);
+        int k;
+        while ((k = keys[index]) != 0) {
+            if (k == key) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the index of the slot holding the key if it is in the map.
+     * Otherwise the key is added, growing the table if needed, and the bitwise
+     * complement of the index of its new slot is returned; the subclass must
+     * then store the value in that slot.
+     *
+     * @param key the key to find or add
+     * @return the index of the key's slot if it was already in the map, or the
+     *         complement of the index of its new slot
+     */
+    protected int insert(int key) {
+        if (key == 0) {
+            if (hasZeroKey) {
+                return mask + 1;
+            }
+            hasZeroKey = true;
+            size++;
+            return ~(mask + 1);
+        }
+        int index = home(key);
+        int k;
+        while ((k = keys[index]) != 0) {
+            if (k == key) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        if (size >= threshold) {
+            if (mask + 1 == MAX_CAPACITY) {
+                throw new IllegalStateException("Hash map is full.");
+            }
+            grow();
+            index = freeSlot(key);
+        }
+        keys[index] = key;
+        size++;
+        return ~index;
+    }
+
+    /**
+     * Returns the first empty bucket in the probe sequence of a key that is not
+     * in the map
+     *
+     * @param key the non-zero key
+     * @return the index of the empty bucket
+     */
+    private int freeSlot(int key) {
+        int index = home(key);
+        while (keys[index] != 0) {
+            index = (index + 1) & mask;
+        }
+        return index;
+    }
+
+    /**
+     * Doubles the capacity and reinserts every entry
+     */
+    private void grow() {
+        int[] oldKeys = keys;
+        int oldCapacity = mask + 1;
+        createTable(oldCapacity * 2);
+        Object oldValues = swapValues(mask + 2);
+        for (int i = 0; i < oldCapacity; i++) {
+            if (oldKeys[i] != 0) {
+                int index = freeSlot(oldKeys[i]);
+                keys[index] = oldKeys[i];
+                copyValue(oldValues, i, index);
+            }
+        }
+        copyValue(oldValues, oldCapacity, mask + 1);
+    }
+
+    /**
+     * Removes the entry in the given slot, shifting the rest of its cluster
+     * back so that no deleted marker is left behind
+     *
+     * @param index the index of an occupied slot
+     */
+    protected void removeAt(int index) {
+        size--;
+        if (index == mask + 1) {
+            hasZeroKey = false;
+            clearValue(index);
+            return;
+        }
+        int next = (index + 1) & mask;
+        int k;
+        while ((k = keys[next]) != 0) {
+            // An entry may fill the gap unless its home bucket lies cyclically
+            // after the gap and at or before its current bucket
+            int h = home(k);
+            if (((next - h) & mask) >= ((next - index) & mask)) {
+                keys[index] = k;
+                moveValue(next, index);
+                index = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[index] = 0;
+        clearValue(index);
+    }
+
+    /**
+     * Returns the index of the first occupied slot at or after the given index,
+     * or -1 if there is none. Iterating from 0 visits every entry.
+     *
+     * @param from the index at which to start looking
+     * @return the index of the next occupied slot, or -1
+     */
+    protected int nextIndex(int from) {
+        for (int i = from; i <= mask; i++) {
+            if (keys[i] != 0) {
+                return i;
+            }
+        }
+        if (from <= mask + 1 && hasZeroKey) {
+            return mask + 1;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the key in an occupied slot
+     *
+     * @param index the index of the slot
+     * @return the key in the slot
+     */
+    protected int keyAt(int index) {
+        return keys[index];
+    }
+
+    /**
+     * Returns true if the key is in the map
+     *
+     * @param key the key
+     * @return true if the key is in the map
+     */
+    public boolean containsKey(int key) {
+        return indexOf(key) >= 0;
+    }
+
+    /**
+     * Returns the keys in the map, in no particular order
+     *
+     * @return an array of the keys
+     */
+    public int[] keys() {
+        int[] result = new int[size];
+        int count = 0;
+        for (int i = nextIndex(0); i >= 0; i = nextIndex(i + 1)) {
+            result[count++] = keys[i];
+        }
+        return result;
+    }
+
+    /**
+     * Returns the number of entries in the map
+     *
+     * @return the number of entries
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns true if the map has no entries
+     *
+     * @return true if the map is empty
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the current capacity of the hash table, not counting the slot for
+     * the key 0
+     *
+     * @return the capacity of the hash table
+     */
+    int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Allocates the value array with the given length
+     *
+     * @param length the length of the value array
+     */
+    protected abstract void createValues(int length);
+
+    /**
+     * Replaces the value array with a new, empty array of the given length
+     *
+     * @param length the length of the new value array
+     * @return the old value array
+     */
+    protected abstract Object swapValues(int length);
+
+    /**
+     * Copies a value from the old value array returned by swapValues into the
+     * current value array
+     *
+     * @param oldValues the old value array
+     * @param from      the index in the old value array
+     * @param to        the index in the current value array
+     */
+    protected abstract void copyValue(Object oldValues, int from, int to);
+
+    /**
+     * Moves a value to another slot of the current value array
+     *
+     * @param from the index of the value to move
+     * @param to   the index of the slot to move it into
+     */
+    protected abstract void moveValue(int from, int to);
+
+    /**
+     * Clears the value in a slot of the current value array
+     *
+     * @param index the index of the slot
+     */
+    protected abstract void clearValue(int index);
+}
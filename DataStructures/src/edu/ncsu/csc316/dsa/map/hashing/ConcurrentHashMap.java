@@ -0,0 +1,626 @@
+package edu.ncsu.csc316.dsa.map.hashing;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import edu.ncsu.csc316.dsa.map.AbstractMap;
+
+/**
+ * The ConcurrentHashMap is a thread-safe hash map that uses separate chaining
+ * for collision resolution. Any number of threads may call {@link #put},
+ * {@link #get}, and {@link #remove} at once without external locking.
+ *
+ * Reads take no locks. Buckets are read from an atomic array and the nodes of
+ * each chain have volatile values and links, so a get sees every put or remove
+ * that completed before it started. Writes lock one of a fixed set of lock
+ * stripes chosen by the low bits of the key's hash, so writes to keys in
+ * different stripes run in parallel. The capacity is a power of two no smaller
+ * than the number of stripes, so a key keeps its stripe as the table grows.
+ *
+ * The table doubles when the number of entries exceeds 0.75 of the capacity.
+ * The resize is shared: the old table is split into ranges of buckets that any
+ * writer may claim and transfer, so writers that arrive during a resize help
+ * finish it rather than wait for it. A transferred bucket is replaced with a
+ * forwarding node that sends reads and writes on to the new table, so the map
+ * stays fully usable throughout.
+ *
+ * {@link #entrySet()}, {@link #values()}, and {@link #iterator()} are weakly
+ * consistent: they never throw ConcurrentModificationException, return each
+ * entry at most once, and reflect every change made before the iteration
+ * started, and may or may not reflect changes made during it. Entries returned
+ * are snapshots, so setting their value does not change the map.
+ *
+ * Keys must not be null. {@link #size()} is exact when no writes are in
+ * progress.
+ *
+ * @author Ethan Treece
+ *
+ * @param <K> the type of keys stored in the hash map
+ * @param <V> the type of values associated with keys in the hash map
+ */
+public class ConcurrentHashMap<K, V> extends AbstractMap<K, V> {
+
+    /** The default initial capacity of the hash table */
+    private static final int DEFAULT_CAPACITY = 64;
+
+    /** The default number of lock stripes */
+    private static final int DEFAULT_CONCURRENCY_LEVEL = 32;
+
+    /** The largest capacity of the hash table */
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    /** The maximum load factor to allow before doubling the hash table */
+    private static final double MAX_LOAD_FACTOR = 0.75;
+
+    /** The number of buckets a thread claims at a time during a resize */
+    private static final int TRANSFER_STRIDE = 16;
+
+    /** The hash of forwarding nodes; the hashes of keys are never negative */
+    private static final int MOVED = -1;
+
+    /** The hash table */
+    private volatile AtomicReferenceArray<Node<K, V>> table;
+
+    /** The resize in progress, or null */
+    private volatile Resize<K, V> resize;
+
+    /** True while a resize is being started or is in progress */
+    private final AtomicBoolean resizing;
+
+    /** The number of entries at which the table doubles */
+    private volatile int threshold;
+
+    /** The number of entries */
+    private final LongAdder count;
+
+    /** The lock stripes that guard writes */
+    private final ReentrantLock[] locks;
+
+    /** The number of lock stripes minus one, used to select a stripe */
+    private final int lockMask;
+
+    /**
+     * Constructs a new concurrent hash map with the default initial capacity
+     * and number of lock stripes
+     */
+    public ConcurrentHashMap() {
+        this(DEFAULT_CAPACITY, DEFAULT_CONCURRENCY_LEVEL);
+    }
+
+    /**
+     * Constructs a new concurrent hash map with the given initial capacity and
+     * the default number of lock stripes
+     *
+     * @param capacity the initial capacity of the hash table
+     * @throws IllegalArgumentException if capacity is negative
+     */
+    public ConcurrentHashMap(int capacity) {
+        this(capacity, DEFAULT_CONCURRENCY_LEVEL);
+    }
+
+    /**
+     * Constructs a new concurrent hash map with the given initial capacity and
+     * enough lock stripes for the given number of concurrent writers
+     *
+     * @param capacity         the initial capacity of the hash table
+     * @param concurrencyLevel the expected number of threads writing at once
+     * @throws IllegalArgumentException if capacity is negative or
+     *                                  concurrencyLevel is not positive
+     */
+    public ConcurrentHashMap(int capacity, int concurrencyLevel) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity must not be negative.");
+        }
+        if (concurrencyLevel <= 0) {
+            throw new IllegalArgumentException("Concurrency level must be positive.");
+        }
+        int stripes = 1;
+        while (stripes < concurrencyLevel && stripes < (1 << 16)) {
+            stripes <<= 1;
+        }
+        locks = new ReentrantLock[stripes];
+        for (int i = 0; i < stripes; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        lockMask = stripes - 1;
+        int n = stripes;
+        while (n < capacity && n < MAX_CAPACITY) {
+            n <<= 1;
+        }
+        table = new AtomicReferenceArray<Node<K, V>>(n);
+        threshold = threshold(n);
+        resizing = new AtomicBoolean();
+        count = new LongAdder();
+    }
+
+    /**
+     * Returns the number of entries at which a table of the given capacity
+     * doubles
+     *
+     * @param capacity the capacity of the table
+     * @return the resize threshold
+     */
+    private static int threshold(int capacity) {
+        return capacity == MAX_CAPACITY ? Integer.MAX_VALUE : (int) (capacity * MAX_LOAD_FACTOR);
+    }
+
+    /**
+     * Returns the hash of the key. The high bits of the key's hash code are
+     * folded into the low bits, which select the bucket and the lock stripe,
+     * and the sign bit is cleared so that it never equals {@link #MOVED}.
+     *
+     * @param key the key
+     * @return the hash of the key
+     */
+    private static int hash(Object key) {
+        int h = key.hashCode();
+        return (h ^ (h >>> 16)) & 0x7fffffff;
+    }
+
+    @Override
+    public V get(K key) {
+        int h = hash(key);
+        AtomicReferenceArray<Node<K, V>> tab = table;
+        while (true) {
+            Node<K, V> e = tab.get(h & (tab.length() - 1));
+            if (e != null && e.hash == MOVED) {
+                tab = ((ForwardingNode<K, V>) e).resize.nextTable;
+                continue;
+            }
+            for (; e != null; e = e.next) {
+                if (e.hash == h && e.key.equals(key)) {
+                    return e.value;
+                }
+            }
+            return null;
+        }
+    }
+
+    @Override
+    public V put(K key, V value) {
+        int h = hash(key);
+        AtomicReferenceArray<Node<K, V>> tab = table;
+        while (true) {
+            int index = h & (tab.length() - 1);
+            Node<K, V> head = tab.get(index);
+            if (head != null && head.hash == MOVED) {
+                tab = helpTransfer((ForwardingNode<K, V>) head);
+                continue;
+            }
+            ReentrantLock lock = locks[h & lockMask];
+            lock.lock();
+            try {
+                // The bucket may have been transferred while waiting for the lock
+                head = tab.get(index);
+                if (head != null && head.hash == MOVED) {
+                    continue;
+                }
+                for (Node<K, V> e = head; e != null; e = e.next) {
+                    if (e.hash == h && e.key.equals(key)) {
+                        V old = e.value;
+                        e.value = value;
+                        return old;
+                    }
+                }
+                tab.set(index, new Node<K, V>(h, key, value, head));
+            } finally {
+                lock.unlock();
+            }
+            break;
+        }
+        count.increment();
+        if (count.sum() > threshold) {
+            tryResize();
+        }
+        return null;
+    }
+
+    @Override
+    public V remove(K key) {
+        int h = hash(key);
+        AtomicReferenceArray<Node<K, V>> tab = table;
+        while (true) {
+            int index = h & (tab.length() - 1);
+            Node<K, V> head = tab.get(index);
+            if (head == null) {
+                return null;
+            }
+            if (head.hash == MOVED) {
+                tab = helpTransfer((ForwardingNode<K, V>) head);
+                continue;
+            }
+            ReentrantLock lock = locks[h & lockMask];
+            lock.lock();
+            try {
+                head = tab.get(index);
+                if (head != null && head.hash == MOVED) {
+                    continue;
+                }
+                Node<K, V> previous = null;
+                for (Node<K, V> e = head; e != null; e = e.next) {
+                    if (e.hash == h && e.key.equals(key)) {
+                        // Readers already at e still follow its link onward
+                        if (previous == null) {
+                            tab.set(index, e.next);
+                        } else {
+                            previous.next = e.next;
+                        }
+                        count.decrement();
+                        return e.value;
+                    }
+                    previous = e;
+                }
+                return null;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Starts a resize if the map is over its threshold and no resize is in
+     * progress, or helps with the resize in progress
+     */
+    private void tryResize() {
+        while (true) {
+            Resize<K, V> current = resize;
+            if (current != null) {
+                transfer(current);
+                return;
+            }
+            AtomicReferenceArray<Node<K, V>> tab = table;
+            if (count.sum() <= threshold || tab.length() == MAX_CAPACITY) {
+                return;
+            }
+            if (!resizing.compareAndSet(false, true)) {
+                // Another thread is starting a resize
+                return;
+            }
+            if (table != tab) {
+                resizing.set(false);
+                continue;
+            }
+            current = new Resize<K, V>(tab);
+            resize = current;
+            if (!transfer(current)) {
+                return;
+            }
+            // This thread finished the resize; check whether the map has
+            // already outgrown the new table
+        }
+    }
+
+    /**
+     * Helps the resize that moved a bucket, then returns the table the bucket
+     * was moved to
+     *
+     * @param forward the forwarding node found in the bucket
+     * @return the new table
+     */
+    private AtomicReferenceArray<Node<K, V>> helpTransfer(ForwardingNode<K, V> forward) {
+        transfer(forward.resize);
+        return forward.resize.nextTable;
+    }
+
+    /**
+     * Claims and transfers ranges of buckets of a resize until none are left
+     * to claim. The thread that transfers the last range installs the new
+     * table.
+     *
+     * @param r the resize
+     * @return true if this thread completed the resize
+     */
+    private boolean transfer(Resize<K, V> r) {
+        int n = r.table.length();
+        while (true) {
+            int high = r.transferIndex.get();
+            if (high <= 0) {
+                return false;
+            }
+            int low = Math.max(0, high - TRANSFER_STRIDE);
+            if (!r.transferIndex.compareAndSet(high, low)) {
+                continue;
+            }
+            for (int i = low; i < high; i++) {
+                transferBucket(r, i);
+            }
+            if (r.transferred.addAndGet(high - low) == n) {
+                table = r.nextTable;
+                threshold = threshold(r.nextTable.length());
+                resize = null;
+                resizing.set(false);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Splits one bucket of the old table between its two buckets in the new
+     * table, then forwards it. The chain is copied rather than relinked so that
+     * readers still walking the old chain see it unchanged.
+     *
+     * @param r     the resize
+     * @param index the index of the bucket in the old table
+     */
+    private void transferBucket(Resize<K, V> r, int index) {
+        int n = r.table.length();
+        // Every key in the bucket maps to the same stripe as the bucket itself
+        ReentrantLock lock = locks[index & lockMask];
+        lock.lock();
+        try {
+            Node<K, V> low = null;
+            Node<K, V> high = null;
+            for (Node<K, V> e = r.table.get(index); e != null; e = e.next) {
+                if ((e.hash & n) == 0) {
+                    low = new Node<K, V>(e.hash, e.key, e.value, low);
+                } else {
+                    high = new Node<K, V>(e.hash, e.key, e.value, high);
+                }
+            }
+            r.nextTable.set(index, low);
+            r.nextTable.set(index + n, high);
+            r.table.set(index, r.forward);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        long sum = count.sum();
+        return sum < 0 ? 0 : (int) Math.min(sum, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public Iterable<Entry<K, V>> entrySet() {
+        return new EntrySet();
+    }
+
+    /**
+     * Returns the current capacity of the hash table
+     *
+     * @return the capacity of the hash table
+     */
+    int capacity() {
+        return table.length();
+    }
+
+    /**
+     * Returns the number of lock stripes
+     *
+     * @return the number of lock stripes
+     */
+    int stripes() {
+        return locks.length;
+    }
+
+    /**
+     * A node in a bucket's chain. The key and hash never change; the value and
+     * link are volatile so that lock-free readers see writes made under a lock.
+     *
+     * @author Ethan Treece
+     *
+     * @param <K> the type of the key
+     * @param <V> the type of the value
+     */
+    private static class Node<K, V> {
+
+        /** The hash of the key */
+        private final int hash;
+
+        /** The key */
+        private final K key;
+
+        /** The value */
+        private volatile V value;
+
+        /** The next node in the chain */
+        private volatile Node<K, V> next;
+
+        /**
+         * Constructs a Node
+         *
+         * @param hash  the hash of the key
+         * @param key   the key
+         * @param value the value
+         * @param next  the next node in the chain
+         */
+        Node(int hash, K key, V value, Node<K, V> next) {
+            this.hash = hash;
+            this.key = key;
+            this.value = value;
+            this.next = next;
+        }
+    }
+
+    /**
+     * The node left in a bucket of the old table once it has been transferred
+     *
+     * @author Ethan Treece
+     *
+     * @param <K> the type of keys
+     * @param <V> the type of values
+     */
+    private static class ForwardingNode<K, V> extends Node<K, V> {
+
+        /** The resize that transferred the bucket */
+        private final Resize<K, V> resize;
+
+        /**
+         * Constructs a ForwardingNode
+         *
+         * @param resize the resize that transfers the bucket
+         */
+        ForwardingNode(Resize<K, V> resize) {
+            super(MOVED, null, null, null);
+            this.resize = resize;
+        }
+    }
+
+    /**
+     * The shared state of one resize. Keeping it per resize means a thread that
+     * is slow to finish helping one resize can never claim buckets of the next.
+     *
+     * @author Ethan Treece
+     *
+     * @param <K> the type of keys
+     * @param <V> the type of values
+     */
+    private static class Resize<K, V> {
+
+        /** The table being resized */
+        private final AtomicReferenceArray<Node<K, V>> table;
+
+        /** The table twice as large that entries are moving to */
+        private final AtomicReferenceArray<Node<K, V>> nextTable;
+
+        /** The node placed in each transferred bucket */
+        private final ForwardingNode<K, V> forward;
+
+        /** The buckets below this index are still unclaimed */
+        private final AtomicInteger transferIndex;
+
+        /** The number of buckets transferred */
+        private final AtomicInteger transferred;
+
+        /**
+         * Constructs the Resize of the given table
+         *
+         * @param table the table to resize
+         */
+        Resize(AtomicReferenceArray<Node<K, V>> table) {
+            this.table = table;
+            nextTable = new AtomicReferenceArray<Node<K, V>>(table.length() * 2);
+            forward = new ForwardingNode<K, V>(this);
+            transferIndex = new AtomicInteger(table.length());
+            transferred = new AtomicInteger();
+        }
+    }
+
+    /**
+     * EntrySet is a weakly consistent view of the entries of the map
+     *
+     * @author Ethan Treece
+     *
+     */
+    private class EntrySet implements Iterable<Entry<K, V>> {
+
+        @Override
+        public Iterator<Entry<K, V>> iterator() {
+            return new EntryIterator();
+        }
+    }
+
+    /**
+     * EntryIterator walks the buckets of the table as it was when the iterator
+     * was created. A bucket that has since been transferred is walked in the
+     * new table instead, as its two halves.
+     *
+     * @author Ethan Treece
+     *
+     */
+    private class EntryIterator implements Iterator<Entry<K, V>> {
+
+        /** The table being walked */
+        private AtomicReferenceArray<Node<K, V>> tab;
+
+        /** The index of the next bucket of tab to walk */
+        private int index;
+
+        /** Buckets of newer tables still to walk, as a stack */
+        private AtomicReferenceArray<Node<K, V>>[] pendingTables;
+
+        /** The indexes of the pending buckets */
+        private int[] pendingIndexes;
+
+        /** The number of pending buckets */
+        private int pending;
+
+        /** The next node to return, or null if there are none left */
+        private Node<K, V> next;
+
+        /**
+         * Constructs the EntryIterator
+         */
+        @SuppressWarnings("unchecked")
+        EntryIterator() {
+            tab = table;
+            index = 0;
+            pendingTables = (AtomicReferenceArray<Node<K, V>>[]) new AtomicReferenceArray<?>[4];
+            pendingIndexes = new int[4];
+            pending = 0;
+            advance();
+        }
+
+        /**
+         * Moves to the first node of the next non-empty bucket
+         */
+        private void advance() {
+            while (next == null) {
+                AtomicReferenceArray<Node<K, V>> t;
+                int i;
+                if (pending > 0) {
+                    pending--;
+                    t = pendingTables[pending];
+                    i = pendingIndexes[pending];
+                } else if (index < tab.length()) {
+                    t = tab;
+                    i = index++;
+                } else {
+                    return;
+                }
+                Node<K, V> e = t.get(i);
+                if (e != null && e.hash == MOVED) {
+                    AtomicReferenceArray<Node<K, V>> nextTable = ((ForwardingNode<K, V>) e).resize.nextTable;
+                    push(nextTable, i + t.length());
+                    push(nextTable, i);
+                } else {
+                    next = e;
+                }
+            }
+        }
+
+        /**
+         * Adds a bucket to the pending stack
+         *
+         * @param t the table of the bucket
+         * @param i the index of the bucket
+         */
+        private void push(AtomicReferenceArray<Node<K, V>> t, int i) {
+            if (pending == pendingTables.length) {
+                pendingTables = Arrays.copyOf(pendingTables, pending * 2);
+                pendingIndexes = Arrays.copyOf(pendingIndexes, pending * 2);
+            }
+            pendingTables[pending] = t;
+            pendingIndexes[pending] = i;
+            pending++;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Entry<K, V> next() {
+            Node<K, V> e = next;
+            if (e == null) {
+                throw new NoSuchElementException();
+            }
+            next = e.next;
+            advance();
+            return new MapEntry<K, V>(e.key, e.value);
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("The remove operation is not supported yet.");
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package edu.ncsu.csc316.dsa.map.hashing;
+
+/**
+ * FibonacciHashStrategy multiplies the hash code by 2^32 divided by the golden
+ * ratio and keeps the top bits of the product as the index. The multiplication
+ * mixes every bit of the hash code into the top bits, so keys that differ only
+ * in their high bits, or that form an arithmetic sequence, still spread out.
+ *
+ * It takes one multiplication and one shift per operation. The capacity is
+ * always a power of two, and tables grow by doubling.
+ *
+ * @author Ethan Treece
+ *
+ */
+public class FibonacciHashStrategy implements HashStrategy {
+
+    /** 2^32 divided by the golden ratio, rounded to odd */
+    private static final int GOLDEN = 0x9E3779B9;
+
+    /** The largest capacity of the hash table array */
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    @Override
+    public int capacity(int requested) {
+        int capacity = 2;
+        while (capacity < requested && capacity < MAX_CAPACITY) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    @Override
+    public int grow(int capacity) {
+        if (capacity >= MAX_CAPACITY) {
+            throw new IllegalStateException("Hash table is at its maximum capacity.");
+        }
+        return capacity << 1;
+    }
+
+    @Override
+    public int index(int hashCode, int capacity) {
+        // capacity is 2^k, so the shift keeps the top k bits
+        return (hashCode * GOLDEN) >>> (Integer.numberOfLeadingZeros(capacity) + 1);
+    }
+}
@@ -0,0 +1,139 @@
+package edu.ncsu.csc316.dsa.map.hashing;
+
+import java.util.Arrays;
+
+/**
+ * HashDiagnostics reports how evenly a hash map's strategy spread its keys, as
+ * returned by {@link AbstractHashMap#diagnostics()}. Comparing the diagnostics
+ * of maps built from the same keys with different strategies shows which is
+ * the cheapest strategy that still keeps probes short.
+ *
+ * @author Ethan Treece
+ *
+ */
+public class HashDiagnostics {
+
+    /** The capacity of the hash table array */
+    private int capacity;
+
+    /** The number of entries */
+    private int size;
+
+    /** The number of keys with each probe length */
+    private int[] probeHistogram;
+
+    /** The length of the longest run of occupied buckets */
+    private int maxClusterLength;
+
+    /** The number of buckets that are home to each number of keys */
+    private int[] bucketSizeHistogram;
+
+    /**
+     * Constructs the HashDiagnostics
+     *
+     * @param capacity            the capacity of the hash table array
+     * @param size                the number of entries
+     * @param probeHistogram      the number of keys with each probe length
+     * @param maxClusterLength    the length of the longest run of occupied
+     *                            buckets, counting deleted entry markers
+     * @param bucketSizeHistogram the number of buckets that are home to each
+     *                            number of keys
+     */
+    public HashDiagnostics(int capacity, int size, int[] probeHistogram, int maxClusterLength,
+            int[] bucketSizeHistogram) {
+        this.capacity = capacity;
+        this.size = size;
+        this.probeHistogram = Arrays.copyOf(probeHistogram, probeHistogram.length);
+        this.maxClusterLength = maxClusterLength;
+        this.bucketSizeHistogram = Arrays.copyOf(bucketSizeHistogram, bucketSizeHistogram.length);
+    }
+
+    /**
+     * Returns the capacity of the hash table array
+     *
+     * @return the capacity
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns the number of entries
+     *
+     * @return the number of entries
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the number of entries per bucket
+     *
+     * @return the load factor
+     */
+    public double getLoadFactor() {
+        return (double) size / capacity;
+    }
+
+    /**
+     * Returns the probe length histogram, where element k is the number of keys
+     * found after examining k entries. Element 0 is always 0.
+     *
+     * @return the probe length histogram
+     */
+    public int[] getProbeHistogram() {
+        return Arrays.copyOf(probeHistogram, probeHistogram.length);
+    }
+
+    /**
+     * Returns the longest probe length of any key
+     *
+     * @return the longest probe length, or 0 if the map is empty
+     */
+    public int getMaxProbeLength() {
+        return probeHistogram.length - 1;
+    }
+
+    /**
+     * Returns the mean probe length of the keys
+     *
+     * @return the mean probe length, or 0 if the map is empty
+     */
+    public double getAverageProbeLength() {
+        long total = 0;
+        long keys = 0;
+        for (int k = 0; k < probeHistogram.length; k++) {
+            total += (long) k * probeHistogram[k];
+            keys += probeHistogram[k];
+        }
+        return keys == 0 ? 0 : (double) total / keys;
+    }
+
+    /**
+     * Returns the length of the longest run of consecutive occupied buckets.
+     * Buckets holding a deleted entry marker count as occupied.
+     *
+     * @return the longest cluster length
+     */
+    public int getMaxClusterLength() {
+        return maxClusterLength;
+    }
+
+    /**
+     * Returns the bucket size histogram, where element k is the number of
+     * buckets that are the home bucket of exactly k keys
+     *
+     * @return the bucket size histogram
+     */
+    public int[] getBucketSizeHistogram() {
+        return Arrays.copyOf(bucketSizeHistogram, bucketSizeHistogram.length);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("HashDiagnostics[capacity=%d, size=%d, loadFactor=%.3f, averageProbe=%.3f, "
+                + "maxProbe=%d, maxCluster=%d, probes=%s, bucketSizes=%s]", capacity, size, getLoadFactor(),
+                getAverageProbeLength(), getMaxProbeLength(), maxClusterLength, Arrays.toString(probeHistogram),
+                Arrays.toString(bucketSizeHistogram));
+    }
+}
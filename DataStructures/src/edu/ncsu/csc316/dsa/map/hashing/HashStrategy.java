@@ -0,0 +1,41 @@
+package edu.ncsu.csc316.dsa.map.hashing;
+
+/**
+ * A HashStrategy turns a key's hash code into the index of a bucket in a hash
+ * table array, and decides the capacities the array may have. The strategy
+ * owns the capacity because some strategies only work on tables whose
+ * capacity is a power of two.
+ *
+ * @author Ethan Treece
+ *
+ */
+public interface HashStrategy {
+
+    /**
+     * Returns the capacity to use for a new hash table array that should have
+     * at least the requested capacity
+     *
+     * @param requested the smallest capacity wanted
+     * @return a capacity this strategy supports, no smaller than requested
+     */
+    int capacity(int requested);
+
+    /**
+     * Returns the capacity to grow to when a hash table array of the given
+     * capacity becomes too full
+     *
+     * @param capacity the current capacity
+     * @return a larger capacity this strategy supports
+     */
+    int grow(int capacity);
+
+    /**
+     * Returns the index of the bucket for a hash code
+     *
+     * @param hashCode the hash code of the key
+     * @param capacity the capacity of the hash table array, as returned by
+     *                 {@link #capacity(int)} or {@link #grow(int)}
+     * @return the index of the bucket, from 0 to capacity - 1
+     */
+    int index(int hashCode, int capacity);
+}
@@ -0,0 +1,184 @@
+package edu.ncsu.csc316.dsa.map.hashing;
+
+/**
+ * IntIntMap is a hash map from primitive int keys to primitive int values.
+ * Keys and values are stored unboxed in parallel int arrays, so putting or
+ * getting a mapping never allocates, and each entry costs about 11 bytes at
+ * the maximum load factor rather than the key, value, and entry objects of a
+ * LinearProbingHashMap of Integers.
+ *
+ * Since a value cannot be null, lookups of a missing key return the map's
+ * no-entry value, 0 unless another is given; use {@link #containsKey(int)} or
+ * {@link #getOrDefault(int, int)} to tell a missing key from a stored value
+ * equal to it.
+ *
+ * @author Ethan Treece
+ *
+ */
+public class IntIntMap extends AbstractIntHashMap {
+
+    /** The value in each slot */
+    private int[] values;
+
+    /** The value returned for a key that is not in the map */
+    private int noEntryValue;
+
+    /**
+     * Constructs an empty map with the default initial capacity and a no-entry
+     * value of 0
+     */
+    public IntIntMap() {
+        this(0);
+    }
+
+    /**
+     * Constructs an empty map large enough to hold the expected number of
+     * entries without growing, with a no-entry value of 0
+     *
+     * @param expectedSize the number of entries the map is expected to hold
+     * @throws IllegalArgumentException if expectedSize is negative
+     */
+    public IntIntMap(int expectedSize) {
+        this(expectedSize, 0);
+    }
+
+    /**
+     * Constructs an empty map large enough to hold the expected number of
+     * entries without growing
+     *
+     * @param expectedSize the number of entries the map is expected to hold
+     * @param noEntryValue the value returned for a key that is not in the map
+     * @throws IllegalArgumentException if expectedSize is negative
+     */
+    public IntIntMap(int expectedSize, int noEntryValue) {
+        super(expectedSize);
+        this.noEntryValue = noEntryValue;
+    }
+
+    /**
+     * Returns the value returned for a key that is not in the map
+     *
+     * @return the no-entry value
+     */
+    public int getNoEntryValue() {
+        return noEntryValue;
+    }
+
+    /**
+     * Returns the value associated with the key
+     *
+     * @param key the key
+     * @return the value associated with the key, or the no-entry value if the
+     *         key is not in the map
+     */
+    public int get(int key) {
+        return getOrDefault(key, noEntryValue);
+    }
+
+    /**
+     * Returns the value associated with the key, or the given default
+     *
+     * @param key          the key
+     * @param defaultValue the value to return if the key is not in the map
+     * @return the value associated with the key, or defaultValue
+     */
+    public int getOrDefault(int key, int defaultValue) {
+        int index = indexOf(key);
+        return index < 0 ? defaultValue : values[index];
+    }
+
+    /**
+     * Associates the value with the key
+     *
+     * @param key   the key
+     * @param value the value
+     * @return the value previously associated with the key, or the no-entry
+     *         value if the key was not in the map
+     */
+    public int put(int key, int value) {
+        int index = insert(key);
+        if (index < 0) {
+            values[~index] = value;
+            return noEntryValue;
+        }
+        int old = values[index];
+        values[index] = value;
+        return old;
+    }
+
+    /**
+     * Adds the amount to the value associated with the key, treating a missing
+     * key as having the no-entry value
+     *
+     * @param key    the key
+     * @param amount the amount to add
+     * @return the new value associated with the key
+     */
+    public int addTo(int key, int amount) {
+        int index = insert(key);
+        if (index < 0) {
+            index = ~index;
+            values[index] = noEntryValue;
+        }
+        values[index] += amount;
+        return values[index];
+    }
+
+    /**
+     * Removes the key and its value
+     *
+     * @param key the key
+     * @return the value that was associated with the key, or the no-entry
+     *         value if the key was not in the map
+     */
+    public int remove(int key) {
+        int index = indexOf(key);
+        if (index < 0) {
+            return noEntryValue;
+        }
+        int old = values[index];
+        removeAt(index);
+        return old;
+    }
+
+    /**
+     * Returns the values in the map, in the same order as {@link #keys()}
+     *
+     * @return an array of the values
+     */
+    public int[] values() {
+        int[] result = new int[size()];
+        int count = 0;
+        for (int i = nextIndex(0); i >= 0; i = nextIndex(i + 1)) {
+            result[count++] = values[i];
+        }
+        return result;
+    }
+
+    @Override
+    protected void createValues(int length) {
+        values = new int[length];
+    }
+
+    @Override
+    protected Object swapValues(int length) {
+        int[] old = values;
+        values = new int[length];
+        return old;
+    }
+
+    @Override
+    protected void copyValue(Object oldValues, int from, int to) {
+        values[to] = ((int[]) oldValues)[from];
+    }
+
+    @Override
+    protected void moveValue(int from, int to) {
+        values[to] = values[from];
+    }
+
+    @Override
+    protected void clearValue(int index) {
+        values[index] = 0;
+    }
+}
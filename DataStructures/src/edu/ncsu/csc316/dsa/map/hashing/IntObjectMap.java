@@ -0,0 +1,132 @@
+package edu.ncsu.csc316.dsa.map.hashing;
+
+import edu.ncsu.csc316.dsa.list.ArrayBasedList;
+import edu.ncsu.csc316.dsa.list.List;
+
+/**
+ * IntObjectMap is a hash map from primitive int keys to object values. Keys
+ * are stored unboxed in an int array with the values in a parallel array, so
+ * no key or entry objects are allocated per mapping.
+ *
+ * Values may be null, so {@link #get(int)} returning null does not mean the
+ * key is missing; use {@link #containsKey(int)} to tell the difference.
+ *
+ * @author Ethan Treece
+ *
+ * @param <V> the type of values associated with keys in the map
+ */
+public class IntObjectMap<V> extends AbstractIntHashMap {
+
+    /** The value in each slot */
+    private Object[] values;
+
+    /**
+     * Constructs an empty map with the default initial capacity
+     */
+    public IntObjectMap() {
+        this(0);
+    }
+
+    /**
+     * Constructs an empty map large enough to hold the expected number of
+     * entries without growing
+     *
+     * @param expectedSize the number of entries the map is expected to hold
+     * @throws IllegalArgumentException if expectedSize is negative
+     */
+    public IntObjectMap(int expectedSize) {
+        super(expectedSize);
+    }
+
+    /**
+     * Returns the value associated with the key
+     *
+     * @param key the key
+     * @return the value associated with the key, or null if the key is not in
+     *         the map
+     */
+    @SuppressWarnings("unchecked")
+    public V get(int key) {
+        int index = indexOf(key);
+        return index < 0 ? null : (V) values[index];
+    }
+
+    /**
+     * Associates the value with the key
+     *
+     * @param key   the key
+     * @param value the value
+     * @return the value previously associated with the key, or null if the key
+     *         was not in the map
+     */
+    @SuppressWarnings("unchecked")
+    public V put(int key, V value) {
+        int index = insert(key);
+        if (index < 0) {
+            values[~index] = value;
+            return null;
+        }
+        V old = (V) values[index];
+        values[index] = value;
+        return old;
+    }
+
+    /**
+     * Removes the key and its value
+     *
+     * @param key the key
+     * @return the value that was associated with the key, or null if the key
+     *         was not in the map
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(int key) {
+        int index = indexOf(key);
+        if (index < 0) {
+            return null;
+        }
+        V old = (V) values[index];
+        removeAt(index);
+        return old;
+    }
+
+    /**
+     * Returns the values in the map, in the same order as {@link #keys()}
+     *
+     * @return a list of the values
+     */
+    @SuppressWarnings("unchecked")
+    public List<V> values() {
+        List<V> result = new ArrayBasedList<V>(Math.max(1, size()));
+        for (int i = nextIndex(0); i >= 0; i = nextIndex(i + 1)) {
+            result.addLast((V) values[i]);
+        }
+        return result;
+    }
+
+    @Override
+    protected void createValues(int length) {
+        values = new Object[length];
+    }
+
+    @Override
+    protected Object swapValues(int length) {
+        Object[] old = values;
+        values = new Object[length];
+        return old;
+    }
+
+    @Override
+    protected void copyValue(Object oldValues, int from, int to) {
+        values[to] = ((Object[]) oldValues)[from];
+    }
+
+    @Override
+    protected void moveValue(int from, int to) {
+        values[to] = values[from];
+    }
+
+    @Override
+    protected void clearValue(int index) {
+        values[index] = null;
+    }
+}
@@ -1,12 +1,14 @@
 package edu.ncsu.csc316.dsa.map.hashing;
 
+import edu.ncsu.csc316.dsa.map.EntryCursor;
 
 /**
  * The LinearProbingHashMap is implemented as a hash table that uses linear
  * probing for collision resolution.
  * 
  * The hash map uses a multiply-and-divide compression strategy for calculating
- * hash functions. The hash map ensures expected O(1) performance of
+ * hash functions, unless constructed with another {@link HashStrategy}. The
+ * hash map ensures expected O(1) performance of
  * {@link Map#put}, {@link Map#get}, and {@link Map#remove}.
  * 
  * The hash table resizes if the load factor exceeds 0.5.
@@ -74,8 +76,52 @@ public class LinearProbingHashMap<K, V> extends AbstractHashMap<K, V> {
         size = 0;
     }
 
+    /**
+     * Constructs a new linear probing hash map that maps hash codes to buckets with the
+     * given strategy. The created hash table is initialized to have at least the
+     * provided capacity.
+     * 
+     * @param capacity the initial capacity of the hash table, which the strategy
+     *                 may round up
+     * @param strategy the strategy that maps hash codes to buckets
+     * @throws IllegalArgumentException if strategy is null
+     */
+    public LinearProbingHashMap(int capacity, HashStrategy strategy) {
+        super(capacity, strategy);
+        size = 0;
+    }
+
+    /**
+     * Returns a new linear probing hash map whose hash table is large enough to
+     * hold the expected number of entries without resizing
+     * 
+     * @param <K>          the type of keys
+     * @param <V>          the type of values
+     * @param expectedSize the number of entries the map is expected to hold
+     * @return the empty map
+     * @throws IllegalArgumentException if expectedSize is negative or too large
+     *                                  for any hash table
+     */
+    public static <K, V> LinearProbingHashMap<K, V> withExpectedSize(int expectedSize) {
+        HashStrategy strategy = new MADHashStrategy(false);
+        return new LinearProbingHashMap<K, V>(capacityFor(expectedSize, strategy), strategy);
+    }
+
+    /**
+     * Constructs a linear probing hash map that takes over the hash table and
+     * entries of the given map
+     * 
+     * @param source the map whose hash table to take over
+     */
+    private LinearProbingHashMap(LinearProbingHashMap<K, V> source) {
+        super(source);
+        table = source.table;
+        size = source.size;
+    }
+
     @Override
     public Iterable<Entry<K, V>> entrySet() {
+        finishResize();
         EntryCollection collection = new EntryCollection();
         for (int i = 0; i < capacity(); i++) {
             if (table[i] != null && !table[i].isDeleted) {
@@ -164,9 +210,47 @@ public class LinearProbingHashMap<K, V> extends AbstractHashMap<K, V> {
         return answer;
     }
 
+    @Override
+    protected Iterable<Entry<K, V>> bucketEntries(int index) {
+        EntryCollection collection = new EntryCollection();
+        if (!isAvailable(index)) {
+            collection.add(table[index]);
+        }
+        return collection;
+    }
+
+    @Override
+    protected int moveBucket(int index, AbstractHashMap<K, V> target) {
+        if (isAvailable(index)) {
+            return 0;
+        }
+        // Mark the entry deleted rather than clearing the bucket, so that the
+        // keys after it in its cluster can still be found
+        TableEntry<K, V> entry = table[index];
+        entry.setDeleted(true);
+        size--;
+        target.putMoved(entry.getKey(), entry.getValue());
+        return 1;
+    }
+
+    @Override
+    protected boolean isDeletedBucket(int index) {
+        return table[index] != null && table[index].isDeleted();
+    }
+
+    @Override
+    protected AbstractHashMap<K, V> detachTable() {
+        return new LinearProbingHashMap<K, V>(this);
+    }
+
+    @Override
+    public EntryCursor<K, V> cursor() {
+        return new TableCursor();
+    }
+
     @Override
     public int size() {
-        return size;
+        return size + drainingSize();
     }
 
     @Override
@@ -174,6 +258,44 @@ public class LinearProbingHashMap<K, V> extends AbstractHashMap<K, V> {
         return table.length;
     }
 
+    /**
+     * TableCursor walks the buckets of the hash table in order, skipping empty
+     * and deleted buckets
+     * 
+     * @author Ethan Treece
+     *
+     */
+    private class TableCursor extends HashCursor {
+
+        /** The index of the current bucket */
+        private int index;
+
+        @Override
+        protected boolean step() {
+            while (++index < table.length) {
+                if (!isAvailable(index)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        protected K currentKey() {
+            return table[index].getKey();
+        }
+
+        @Override
+        protected V currentValue() {
+            return table[index].getValue();
+        }
+
+        @Override
+        protected void restart() {
+            index = -1;
+        }
+    }
+
     /**
      * Stores the new element and a field to indicate whether the element
      * at the bucket has been deleted.
@@ -0,0 +1,72 @@
+package edu.ncsu.csc316.dsa.map.hashing;
+
+import java.util.Random;
+
+/**
+ * MADHashStrategy uses a variation of multiply-add-and-divide compression,
+ * where h(k) = ((alpha * f(k) + beta) % prime) % capacity for a random alpha
+ * and beta. It works with any capacity, and tables grow to 2 * capacity + 1.
+ *
+ * MAD is the default strategy of the hash maps. It takes two divisions per
+ * operation, which makes it the slowest of the strategies.
+ *
+ * @author Dr. King
+ * @author Ethan Treece
+ *
+ */
+public class MADHashStrategy implements HashStrategy {
+
+    /**
+     * A default prime number to use in hash function calculations
+     */
+    public static final int DEFAULT_PRIME = 109345121;
+
+    // Alpha and Beta values for MAD compression
+    private long alpha;
+    private long beta;
+
+    // The prime number to use for compression strategy
+    private int prime;
+
+    /**
+     * Constructs a MADHashStrategy with random alpha and beta values
+     */
+    public MADHashStrategy() {
+        this(false);
+    }
+
+    /**
+     * Constructs a MADHashStrategy. In TESTING MODE only, alpha=1, beta=1, and
+     * prime=7 to help ensure a repeatable sequence of hash functions.
+     *
+     * @param isTesting if true, uses predictable values for deterministic and
+     *                  repeatable testing
+     */
+    public MADHashStrategy(boolean isTesting) {
+        if (isTesting) {
+            alpha = 1;
+            beta = 1;
+            prime = 7;
+        } else {
+            Random rand = new Random();
+            alpha = rand.nextInt(DEFAULT_PRIME - 1) + 1;
+            beta = rand.nextInt(DEFAULT_PRIME);
+            prime = DEFAULT_PRIME;
+        }
+    }
+
+    @Override
+    public int capacity(int requested) {
+        return Math.max(1, requested);
+    }
+
+    @Override
+    public int grow(int capacity) {
+        return 2 * capacity + 1;
+    }
+
+    @Override
+    public int index(int hashCode, int capacity) {
+        return (int) ((Math.abs(hashCode * alpha + beta) % prime) % capacity);
+    }
+}
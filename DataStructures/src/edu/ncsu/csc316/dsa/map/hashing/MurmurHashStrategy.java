@@ -0,0 +1,70 @@
+package edu.ncsu.csc316.dsa.map.hashing;
+
+import java.util.Random;
+
+/**
+ * MurmurHashStrategy mixes the hash code with a seed through the 32-bit
+ * finalizer of MurmurHash3 and keeps the low bits as the index. Every bit of
+ * the hash code affects every bit of the result, so it also spreads keys whose
+ * hash codes are poorly distributed in ways the other strategies are not
+ * robust to, and a random seed keeps the layout of the table from being
+ * predictable.
+ *
+ * It takes two multiplications and three shifts per operation. The capacity is
+ * always a power of two, and tables grow by doubling.
+ *
+ * @author Ethan Treece
+ *
+ */
+public class MurmurHashStrategy implements HashStrategy {
+
+    /** The largest capacity of the hash table array */
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    /** The seed mixed into every hash code */
+    private int seed;
+
+    /**
+     * Constructs a MurmurHashStrategy with a random seed
+     */
+    public MurmurHashStrategy() {
+        this(new Random().nextInt());
+    }
+
+    /**
+     * Constructs a MurmurHashStrategy with the given seed
+     *
+     * @param seed the seed mixed into every hash code
+     */
+    public MurmurHashStrategy(int seed) {
+        this.seed = seed;
+    }
+
+    @Override
+    public int capacity(int requested) {
+        int capacity = 1;
+        while (capacity < requested && capacity < MAX_CAPACITY) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    @Override
+    public int grow(int capacity) {
+        if (capacity >= MAX_CAPACITY) {
+            throw new IllegalStateException("Hash table is at its maximum capacity.");
+        }
+        return capacity << 1;
+    }
+
+    @Override
+    public int index(int hashCode, int capacity) {
+        int h = hashCode ^ seed;
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h & (capacity - 1);
+    }
+}
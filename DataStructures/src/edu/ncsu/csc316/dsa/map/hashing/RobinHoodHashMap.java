@@ -0,0 +1,297 @@
+package edu.ncsu.csc316.dsa.map.hashing;
+
+import edu.ncsu.csc316.dsa.map.AbstractMap;
+
+/**
+ * The RobinHoodHashMap is implemented as an open-addressing hash table that
+ * uses Robin Hood linear probing for collision resolution.
+ *
+ * Each entry's probe distance is how far it sits from the bucket its hash
+ * selects. While inserting, an entry that has probed farther than the entry
+ * in its way takes that bucket and the displaced entry continues probing, so
+ * probe distances stay short and even. A lookup can stop as soon as it
+ * reaches an entry closer to home than the key would be. Removal shifts the
+ * following entries of the cluster back by one bucket instead of leaving a
+ * deleted marker, so the table never fills up with tombstones under churn.
+ *
+ * The capacity is always a power of two, so buckets are selected with a mask
+ * rather than a modulo. Hashes, keys, and values are kept in parallel arrays
+ * with no entry objects, and each bucket's hash is stored so that probing
+ * compares ints and only calls equals on a full hash match. Growing the table
+ * reinserts the entries directly into the new arrays.
+ *
+ * The hash table doubles when the load factor would exceed 0.8. Keys must not
+ * be null. The hash map ensures expected O(1) performance of
+ * {@link #put}, {@link #get}, and {@link #remove}.
+ *
+ * @author Ethan Treece
+ *
+ * @param <K> the type of keys stored in the hash map
+ * @param <V> the type of values associated with keys in the hash map
+ */
+public class RobinHoodHashMap<K, V> extends AbstractMap<K, V> {
+
+    /** The default initial capacity of the hash table arrays */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /** The largest capacity of the hash table arrays */
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    /** The maximum load factor to allow before doubling the hash table */
+    private static final double MAX_LOAD_FACTOR = 0.8;
+
+    /** The hash of the key in each bucket, or 0 if the bucket is empty */
+    private int[] hashes;
+
+    /** The key in each bucket */
+    private Object[] keys;
+
+    /** The value in each bucket */
+    private Object[] values;
+
+    /** The capacity minus one, used to select buckets */
+    private int mask;
+
+    /** The number of entries at which the table doubles */
+    private int threshold;
+
+    /** The number of entries */
+    private int size;
+
+    /**
+     * Constructs a new Robin Hood hash map with the default initial capacity
+     */
+    public RobinHoodHashMap() {
+        this(0);
+    }
+
+    /**
+     * Constructs a new Robin Hood hash map large enough to hold the expected
+     * number of entries without growing
+     *
+     * @param expectedSize the number of entries the map is expected to hold
+     * @throws IllegalArgumentException if expectedSize is negative
+     */
+    public RobinHoodHashMap(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Expected size must not be negative.");
+        }
+        int capacity = DEFAULT_CAPACITY;
+        while (capacity < MAX_CAPACITY && capacity * MAX_LOAD_FACTOR < expectedSize) {
+            capacity <<= 1;
+        }
+        createTable(capacity);
+        size = 0;
+    }
+
+    /**
+     * Creates empty hash table arrays with the given capacity
+     *
+     * @param capacity the capacity, a power of two
+     */
+    private void createTable(int capacity) {
+        hashes = new int[capacity];
+        keys = new Object[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        threshold = capacity == MAX_CAPACITY ? capacity - 1 : (int) (capacity * MAX_LOAD_FACTOR);
+    }
+
+    /**
+     * Returns the hash of the key. The key's hash code is scrambled so that
+     * its high bits affect the bucket, and 0 is reserved for empty buckets.
+     *
+     * @param key the key
+     * @return the hash of the key, which is never 0
+     */
+    private static int hash(Object key) {
+        int h = key.hashCode() * 0x9E3779B9;
+        h ^= h >>> 16;
+        return h == 0 ? 1 : h;
+    }
+
+    /**
+     * Returns the probe distance of the entry in the bucket
+     *
+     * @param index the index of the bucket, which must not be empty
+     * @return how many buckets the entry is past its home bucket
+     */
+    private int distance(int index) {
+        return (index - hashes[index]) & mask;
+    }
+
+    /**
+     * Returns the index of the bucket holding the key, or -1 if the key is not
+     * in the map
+     *
+     * @param key the key to find
+     * @return the index of the key's bucket, or -1
+     */
+    private int find(Object key) {
+        int h = hash(key);
+        int index = h & mask;
+        for (int dist = 0;; dist++) {
+            int slotHash = hashes[index];
+            if (slotHash == 0 || distance(index) < dist) {
+                return -1;
+            }
+            if (slotHash == h && keys[index].equals(key)) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public V get(K key) {
+        int index = find(key);
+        return index < 0 ? null : (V) values[index];
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public V put(K key, V value) {
+        int h = hash(key);
+        int index = h & mask;
+        for (int dist = 0;; dist++) {
+            int slotHash = hashes[index];
+            if (slotHash == 0) {
+                break;
+            }
+            if (slotHash == h && keys[index].equals(key)) {
+                V old = (V) values[index];
+                values[index] = value;
+                return old;
+            }
+            if (distance(index) < dist) {
+                // The key would have been found before an entry closer to home
+                break;
+            }
+            index = (index + 1) & mask;
+        }
+        if (size >= threshold) {
+            if (hashes.length == MAX_CAPACITY) {
+                throw new IllegalStateException("Hash map is full.");
+            }
+            grow();
+        }
+        insert(h, key, value);
+        size++;
+        return null;
+    }
+
+    /**
+     * Inserts an entry whose key is not in the map, displacing entries that are
+     * closer to home than the entry being placed
+     *
+     * @param h     the hash of the key
+     * @param key   the key
+     * @param value the value
+     */
+    private void insert(int h, Object key, Object value) {
+        int index = h & mask;
+        int dist = 0;
+        while (hashes[index] != 0) {
+            int slotDist = distance(index);
+            if (slotDist < dist) {
+                int th = hashes[index];
+                Object tk = keys[index];
+                Object tv = values[index];
+                hashes[index] = h;
+                keys[index] = key;
+                values[index] = value;
+                h = th;
+                key = tk;
+                value = tv;
+                dist = slotDist;
+            }
+            index = (index + 1) & mask;
+            dist++;
+        }
+        hashes[index] = h;
+        keys[index] = key;
+        values[index] = value;
+    }
+
+    /**
+     * Doubles the capacity and reinserts every entry
+     */
+    private void grow() {
+        int[] oldHashes = hashes;
+        Object[] oldKeys = keys;
+        Object[] oldValues = values;
+        createTable(oldHashes.length * 2);
+        for (int i = 0; i < oldHashes.length; i++) {
+            if (oldHashes[i] != 0) {
+                insert(oldHashes[i], oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public V remove(K key) {
+        int index = find(key);
+        if (index < 0) {
+            return null;
+        }
+        V old = (V) values[index];
+        // Shift the rest of the cluster back until an empty bucket or an entry
+        // already in its home bucket
+        int next = (index + 1) & mask;
+        while (hashes[next] != 0 && distance(next) != 0) {
+            hashes[index] = hashes[next];
+            keys[index] = keys[next];
+            values[index] = values[next];
+            index = next;
+            next = (next + 1) & mask;
+        }
+        hashes[index] = 0;
+        keys[index] = null;
+        values[index] = null;
+        size--;
+        return old;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Iterable<Entry<K, V>> entrySet() {
+        EntryCollection collection = new EntryCollection();
+        for (int i = 0; i < hashes.length; i++) {
+            if (hashes[i] != 0) {
+                collection.add(new MapEntry<K, V>((K) keys[i], (V) values[i]));
+            }
+        }
+        return collection;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the current capacity of the hash table arrays
+     *
+     * @return the capacity of the hash table
+     */
+    int capacity() {
+        return hashes.length;
+    }
+
+    /**
+     * Returns the largest probe distance of any entry
+     *
+     * @return the largest probe distance
+     */
+    int maxProbeDistance() {
+        int max = 0;
+        for (int i = 0; i < hashes.length; i++) {
+            if (hashes[i] != 0) {
+                max = Math.max(max, distance(i));
+            }
+        }
+        return max;
+    }
+}
@@ -1,5 +1,8 @@
 package edu.ncsu.csc316.dsa.map.hashing;
 
+import java.util.Iterator;
+
+import edu.ncsu.csc316.dsa.map.EntryCursor;
 import edu.ncsu.csc316.dsa.map.Map;
 import edu.ncsu.csc316.dsa.map.search_tree.AVLTreeMap;
 
@@ -8,12 +11,20 @@ import edu.ncsu.csc316.dsa.map.search_tree.AVLTreeMap;
  * chaining for collision resolution.
  * 
  * The hash map uses a multiply-and-divide compression strategy for calculating
- * hash functions. The hash map ensures expected O(1) performance of
+ * hash functions, unless constructed with another {@link HashStrategy}. The
+ * hash map ensures expected O(1) performance of
  * {@see Map#put}, {@see Map#get}, and {@see Map#remove}.
  * 
- * The secondary map that appears within each bucket (with separate chaining)
+ * A bucket holds its first entries inline in a small array of keys and values,
+ * which costs one array per bucket rather than a tree of nodes per entry. Once
+ * a bucket collects more than 8 entries it is upgraded to a secondary map that
  * supports worst-case O(logn) runtime for {@see Map#put}, {@see Map#get}, and
- * {@link Map#remove} within each bucket.
+ * {@link Map#remove} within each bucket, and it goes back to an array when it
+ * shrinks to 6.
+ * 
+ * The entries returned by {@link #entrySet()} are read-only copies, since a
+ * small bucket's array is replaced whenever an entry is added to or removed
+ * from the bucket.
  * 
  * The SeparateChainingHashMap class is based on the implementation developed
  * for use with the textbook:
@@ -29,7 +40,22 @@ import edu.ncsu.csc316.dsa.map.search_tree.AVLTreeMap;
  */
 public class SeparateChainingHashMap<K extends Comparable<K>, V> extends AbstractHashMap<K, V> {
 
-    private Map<K, V>[] table;
+    /**
+     * The largest number of entries a bucket holds in a small array before it is
+     * upgraded to a tree
+     */
+    private static final int TREEIFY_THRESHOLD = 8;
+
+    /**
+     * A tree bucket that shrinks to this many entries goes back to a small array.
+     * It is below TREEIFY_THRESHOLD so that a bucket at the boundary does not
+     * convert back and forth on every put and remove.
+     */
+    private static final int UNTREEIFY_THRESHOLD = 6;
+
+    // Each bucket is null, an Object[] of keys and values alternating in key
+    // order, or an AVLTreeMap
+    private Object[] table;
     private int size;
 
     /**
@@ -78,15 +104,48 @@ public class SeparateChainingHashMap<K extends Comparable<K>, V> extends Abstrac
         size = 0;
     }
 
+    /**
+     * Constructs a new separate chaining hash map that maps hash codes to buckets with the
+     * given strategy. The created hash table is initialized to have at least the
+     * provided capacity.
+     * 
+     * @param capacity the initial capacity of the hash table, which the strategy
+     *                 may round up
+     * @param strategy the strategy that maps hash codes to buckets
+     * @throws IllegalArgumentException if strategy is null
+     */
+    public SeparateChainingHashMap(int capacity, HashStrategy strategy) {
+        super(capacity, strategy);
+        size = 0;
+    }
+
+    /**
+     * Constructs a separate chaining hash map that takes over the hash table and
+     * entries of the given map
+     * 
+     * @param source the map whose hash table to take over
+     */
+    private SeparateChainingHashMap(SeparateChainingHashMap<K, V> source) {
+        super(source);
+        table = source.table;
+        size = source.size;
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * The entries are a snapshot of the map; they are read-only copies that
+     * do not change when the map does.
+     */
     @Override
     public Iterable<Entry<K, V>> entrySet() {
+        finishResize();
         EntryCollection collection = new EntryCollection();
         for (int i = 0; i < table.length; i++) {
             if (table[i] != null) {
-                // Each bucket contains a map, so include
-                // all entries in the entrySet for the map
-                // at the current bucket
-                for (Entry<K, V> entry : table[i].entrySet()) {
+                // Each bucket contains either a small array or a map, so include
+                // all entries in the entrySet for the bucket
+                for (Entry<K, V> entry : bucketEntries(i)) {
                     collection.add(entry);
                 }
             }
@@ -94,64 +153,302 @@ public class SeparateChainingHashMap<K extends Comparable<K>, V> extends Abstrac
         return collection;
     }
 
-    @SuppressWarnings("unchecked")
     @Override
     public void createTable(int capacity) {
-        // You can choose to use any EFFICIENT secondary map.
-        // UnorderedLinkedMap, SearchTableMap, and BinarySearchTreeMap are NOT the most
-        // efficient maps we have discussed this semester since UnorderedLinkedMap has
-        // O(n) put, get, and remove; SearchTableMap has O(n) put and remove; and
-        // BinarySearchTreeMap has O(n) put, get, and remove. Therefore, use a
-        // SkipListMap with expected O(logn) runtime, or a balanced binary search tree
-        // for guaranteed O(logn) worst-case runtime.
-        table = new AVLTreeMap[capacity];
+        // Buckets start as small arrays and become AVLTreeMaps once they
+        // collect more than TREEIFY_THRESHOLD entries. A balanced binary search
+        // tree keeps worst-case O(logn) runtime within a bucket, while the
+        // small arrays avoid the cost of a tree for the one or two entries
+        // most buckets hold.
+        table = new Object[capacity];
         size = 0;
     }
 
+    @SuppressWarnings("unchecked")
     @Override
     public V bucketGet(int hash, K key) {
         // Get the bucket at the specified index in the hash table
-        Map<K, V> bucket = table[hash];
-        // If there is no map in the bucket, then the entry does not exist
+        Object bucket = table[hash];
+        // If there is nothing in the bucket, then the entry does not exist
         if (bucket == null) {
             return null;
         }
+        if (bucket instanceof Object[]) {
+            Object[] pairs = (Object[]) bucket;
+            int i = indexOf(pairs, key);
+            return i < 0 ? null : (V) pairs[i + 1];
+        }
         // Otherwise, delegate to the existing map's get method to return the value
-        return bucket.get(key);
+        return ((Map<K, V>) bucket).get(key);
     }
 
+    @SuppressWarnings("unchecked")
     @Override
     public V bucketPut(int hash, K key, V value) {
-        Map<K, V> bucket = table[hash];
+        Object bucket = table[hash];
         if (bucket == null) {
-            table[hash] = new AVLTreeMap<K, V>();
-            bucket = table[hash];
+            table[hash] = new Object[] { key, value };
+            size++;
+            return null;
         }
-        int old = bucket.size();
-        V answer = bucket.put(key, value);
-        size += (bucket.size() - old);
+        if (bucket instanceof Object[]) {
+            Object[] pairs = (Object[]) bucket;
+            // Keep the pairs in key order, as the tree would
+            int i = 0;
+            while (i < pairs.length) {
+                int c = key.compareTo((K) pairs[i]);
+                if (c == 0) {
+                    V answer = (V) pairs[i + 1];
+                    pairs[i + 1] = value;
+                    return answer;
+                }
+                if (c < 0) {
+                    break;
+                }
+                i += 2;
+            }
+            if (pairs.length / 2 == TREEIFY_THRESHOLD) {
+                Map<K, V> tree = new AVLTreeMap<K, V>();
+                for (int j = 0; j < pairs.length; j += 2) {
+                    tree.put((K) pairs[j], (V) pairs[j + 1]);
+                }
+                tree.put(key, value);
+                table[hash] = tree;
+            } else {
+                Object[] grown = new Object[pairs.length + 2];
+                System.arraycopy(pairs, 0, grown, 0, i);
+                grown[i] = key;
+                grown[i + 1] = value;
+                System.arraycopy(pairs, i, grown, i + 2, pairs.length - i);
+                table[hash] = grown;
+            }
+            size++;
+            return null;
+        }
+        Map<K, V> tree = (Map<K, V>) bucket;
+        int old = tree.size();
+        V answer = tree.put(key, value);
+        size += (tree.size() - old);
         return answer;
     }
 
+    @SuppressWarnings("unchecked")
     @Override
     public V bucketRemove(int hash, K key) {
-        Map<K, V> bucket = table[hash];
+        Object bucket = table[hash];
         if (bucket == null) {
             return null;
         }
-        int old = bucket.size();
-        V answer = bucket.remove(key);
-        size -= (old - bucket.size());
+        if (bucket instanceof Object[]) {
+            Object[] pairs = (Object[]) bucket;
+            int i = indexOf(pairs, key);
+            if (i < 0) {
+                return null;
+            }
+            V answer = (V) pairs[i + 1];
+            if (pairs.length == 2) {
+                table[hash] = null;
+            } else {
+                Object[] shrunk = new Object[pairs.length - 2];
+                System.arraycopy(pairs, 0, shrunk, 0, i);
+                System.arraycopy(pairs, i + 2, shrunk, i, pairs.length - i - 2);
+                table[hash] = shrunk;
+            }
+            size--;
+            return answer;
+        }
+        Map<K, V> tree = (Map<K, V>) bucket;
+        int old = tree.size();
+        V answer = tree.remove(key);
+        size -= (old - tree.size());
+        if (tree.size() <= UNTREEIFY_THRESHOLD) {
+            // The tree's entries come out in key order
+            Object[] pairs = new Object[tree.size() * 2];
+            int i = 0;
+            for (Entry<K, V> entry : tree.entrySet()) {
+                pairs[i++] = entry.getKey();
+                pairs[i++] = entry.getValue();
+            }
+            table[hash] = pairs;
+        }
         return answer;
     }
 
+    /**
+     * Returns the index of the key in a small bucket's array of key and value
+     * pairs
+     *
+     * @param pairs the keys and values of the bucket, alternating
+     * @param key   the key to find
+     * @return the index of the key in the array, or -1 if it is not there
+     */
+    @SuppressWarnings("unchecked")
+    private int indexOf(Object[] pairs, K key) {
+        for (int i = 0; i < pairs.length; i += 2) {
+            if (key.compareTo((K) pairs[i]) == 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * The entries are copies, whether the bucket is a small array or a tree,
+     * so setting the value of an entry does not change the map.
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    protected Iterable<Entry<K, V>> bucketEntries(int index) {
+        Object bucket = table[index];
+        EntryCollection collection = new EntryCollection();
+        if (bucket instanceof Object[]) {
+            Object[] pairs = (Object[]) bucket;
+            for (int i = 0; i < pairs.length; i += 2) {
+                collection.add(new MapEntry<K, V>((K) pairs[i], (V) pairs[i + 1]));
+            }
+        } else if (bucket != null) {
+            for (Entry<K, V> entry : ((Map<K, V>) bucket).entrySet()) {
+                collection.add(new MapEntry<K, V>(entry.getKey(), entry.getValue()));
+            }
+        }
+        return collection;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    protected int moveBucket(int index, AbstractHashMap<K, V> target) {
+        Object bucket = table[index];
+        if (bucket == null) {
+            return 0;
+        }
+        int moved;
+        if (bucket instanceof Object[]) {
+            Object[] pairs = (Object[]) bucket;
+            for (int i = 0; i < pairs.length; i += 2) {
+                target.putMoved((K) pairs[i], (V) pairs[i + 1]);
+            }
+            moved = pairs.length / 2;
+        } else {
+            Map<K, V> tree = (Map<K, V>) bucket;
+            for (Entry<K, V> entry : tree.entrySet()) {
+                target.putMoved(entry.getKey(), entry.getValue());
+            }
+            moved = tree.size();
+        }
+        table[index] = null;
+        size -= moved;
+        return moved;
+    }
+
+    @Override
+    protected AbstractHashMap<K, V> detachTable() {
+        return new SeparateChainingHashMap<K, V>(this);
+    }
+
+    @Override
+    public EntryCursor<K, V> cursor() {
+        return new TableCursor();
+    }
+
+    /**
+     * Returns true if the bucket at the given index has been upgraded to a
+     * tree
+     *
+     * @param index the index of the bucket
+     * @return true if the bucket is a tree
+     */
+    boolean isTreeBucket(int index) {
+        return table[index] instanceof Map;
+    }
+
     @Override
     public int size() {
-        return size;
+        return size + drainingSize();
     }
 
     @Override
     protected int capacity() {
         return table.length;
     }
-}
\ No newline at end of file
+
+    /**
+     * TableCursor walks the buckets of the hash table in order. The pairs of a
+     * small bucket are read in place; a tree bucket is walked with its own
+     * entry iterator, since trees hold only buckets of many colliding keys.
+     * 
+     * @author Ethan Treece
+     *
+     */
+    private class TableCursor extends HashCursor {
+
+        /** The index of the current bucket */
+        private int index;
+
+        /** The keys and values of the current small bucket, or null */
+        private Object[] pairs;
+
+        /** The index of the current key in pairs */
+        private int position;
+
+        /** The entries of the current tree bucket, or null */
+        private Iterator<Entry<K, V>> tree;
+
+        /** The current entry of the tree bucket */
+        private Entry<K, V> current;
+
+        @SuppressWarnings("unchecked")
+        @Override
+        protected boolean step() {
+            if (pairs != null) {
+                position += 2;
+                if (position < pairs.length) {
+                    return true;
+                }
+                pairs = null;
+            } else if (tree != null) {
+                if (tree.hasNext()) {
+                    current = tree.next();
+                    return true;
+                }
+                tree = null;
+            }
+            // Buckets are never empty: removing a small bucket's last pair
+            // leaves null, and a tree becomes an array long before it empties
+            while (++index < table.length) {
+                Object bucket = table[index];
+                if (bucket instanceof Object[]) {
+                    pairs = (Object[]) bucket;
+                    position = 0;
+                    return true;
+                } else if (bucket != null) {
+                    tree = ((Map<K, V>) bucket).entrySet().iterator();
+                    current = tree.next();
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        protected K currentKey() {
+            return pairs != null ? (K) pairs[position] : current.getKey();
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        protected V currentValue() {
+            return pairs != null ? (V) pairs[position + 1] : current.getValue();
+        }
+
+        @Override
+        protected void restart() {
+            index = -1;
+            pairs = null;
+            tree = null;
+            current = null;
+        }
+    }
+}
@@ -211,6 +211,68 @@ public class BinarySearchTreeMap<K extends Comparable<K>, V> extends AbstractOrd
         return collection;
     }
 
+    /**
+     * Returns the entries whose keys are in the range [low, high], in key order.
+     * A null bound leaves that end of the range open. Only the subtrees that can
+     * hold keys in the range are visited, so the range is found in O(h + k)
+     * time for a tree of height h and k matching entries.
+     * 
+     * @param low  the smallest key to include, or null for no lower bound
+     * @param high the largest key to include, or null for no upper bound
+     * @return the entries with keys in the range, in key order
+     */
+    public Iterable<Entry<K, V>> entryRange(K low, K high) {
+        EntryCollection collection = new EntryCollection();
+        rangeHelper(root(), low, high, Integer.MAX_VALUE, collection);
+        return collection;
+    }
+
+    /**
+     * Returns the first count entries in key order, or every entry if the map
+     * holds fewer than count entries
+     * 
+     * @param count the largest number of entries to return
+     * @return the entries with the smallest keys, in key order
+     */
+    public Iterable<Entry<K, V>> firstEntries(int count) {
+        EntryCollection collection = new EntryCollection();
+        rangeHelper(root(), null, null, Math.max(0, count), collection);
+        return collection;
+    }
+
+    /**
+     * Performs an in-order traversal of the subtree rooted at p that skips
+     * subtrees outside of [low, high] and stops once remaining entries have been
+     * collected
+     * 
+     * @param p          the position that represents the root of the subtree
+     * @param low        the smallest key to include, or null for no lower bound
+     * @param high       the largest key to include, or null for no upper bound
+     * @param remaining  the number of entries still to collect
+     * @param collection the collection the entries are added to
+     * @return the number of entries still to collect after the subtree
+     */
+    private int rangeHelper(Position<Entry<K, V>> p, K low, K high, int remaining, EntryCollection collection) {
+        if (remaining == 0 || isLeaf(p)) {
+            return remaining;
+        }
+        K key = p.getElement().getKey();
+        boolean aboveLow = low == null || compare(key, low) >= 0;
+        boolean belowHigh = high == null || compare(key, high) <= 0;
+        int left = remaining;
+        if (aboveLow) {
+            left = rangeHelper(left(p), low, high, left, collection);
+        }
+        if (left > 0 && aboveLow && belowHigh) {
+            collection.add(p.getElement());
+            left--;
+        }
+        if (belowHigh) {
+            left = rangeHelper(right(p), low, high, left, collection);
+        }
+        return left;
+    }
+
     @Override
     public String toString() {
         return tree.toString();
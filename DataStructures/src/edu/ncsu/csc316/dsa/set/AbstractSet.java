@@ -1,5 +1,8 @@
 package edu.ncsu.csc316.dsa.set;
 
+import edu.ncsu.csc316.dsa.list.ArrayBasedList;
+import edu.ncsu.csc316.dsa.list.List;
+
 /**
  * A skeletal implementation of the Set abstract data type. This class provides
  * implementation for common methods that can be implemented the same no matter
@@ -21,15 +24,33 @@ public abstract class AbstractSet<E> implements Set<E> {
 
     @Override
     public void retainAll(Set<E> other) {
+        // Collect the elements first, since iterators may not allow the set
+        // to change while they are in use
+        List<E> removed = new ArrayBasedList<E>();
         for(E element : this) {
             if(!other.contains(element)) {
-                remove(element);
+                removed.addLast(element);
             }
         }
+        for(E element : removed) {
+            remove(element);
+        }
     }
 
     @Override
     public void removeAll(Set<E> other) {
+        if(other == this) {
+            // Removing from a set while iterating over it is not allowed, so
+            // collect every element before removing them all
+            List<E> removed = new ArrayBasedList<E>();
+            for(E element : this) {
+                removed.addLast(element);
+            }
+            for(E element : removed) {
+                remove(element);
+            }
+            return;
+        }
         for(E element : other) {
             remove(element);
         }
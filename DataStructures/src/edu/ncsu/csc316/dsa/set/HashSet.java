@@ -1,9 +1,9 @@
 package edu.ncsu.csc316.dsa.set;
 
 import java.util.Iterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
-import edu.ncsu.csc316.dsa.map.Map;
-import edu.ncsu.csc316.dsa.map.Map.Entry;
 import edu.ncsu.csc316.dsa.map.hashing.LinearProbingHashMap;
 
 /**
@@ -16,6 +16,11 @@ import edu.ncsu.csc316.dsa.map.hashing.LinearProbingHashMap;
  * {@link Set#retainAll}; and O(1) worst-case runtime for {@link Set#size} and
  * {@link Set#isEmpty}.
  * 
+ * A set that will hold many elements can be sized up front, either with the
+ * expected size constructor or by {@link #addAll}, so that the hash table is
+ * resized once rather than at every doubling. An array of elements with many
+ * duplicates can also be deduplicated in parallel before it is added.
+ * 
  * The HashSet class is based on the implementation developed for use with the
  * textbook:
  *
@@ -33,8 +38,14 @@ public class HashSet<E> extends AbstractSet<E> {
     // This also gives you an option if you need a set to manage elements
     // that are *NOT* Comparable (versus a TreeSet)
     
+    /**
+     * The number of elements below which a parallel add of an array
+     * deduplicates sequentially
+     */
+    private static final int PARALLEL_THRESHOLD = 8192;
+
     /** Map */
-    private Map<E, E> map;
+    private LinearProbingHashMap<E, E> map;
 
     /**
      * Constructs a new HashSet
@@ -56,6 +67,17 @@ public class HashSet<E> extends AbstractSet<E> {
         map = new LinearProbingHashMap<E, E>(isTesting);
     }
 
+    /**
+     * Constructs a new HashSet whose hash table is large enough to hold the
+     * expected number of elements without resizing
+     * 
+     * @param expectedSize the number of elements the set is expected to hold
+     * @throws IllegalArgumentException if expectedSize is negative
+     */
+    public HashSet(int expectedSize) {
+        map = LinearProbingHashMap.withExpectedSize(expectedSize);
+    }
+
     @Override
     public Iterator<E> iterator() {
         return map.iterator();
@@ -66,36 +88,150 @@ public class HashSet<E> extends AbstractSet<E> {
         map.put(value, value);
     }
 
+    /**
+     * Adds every element of the given set. The hash table is sized once for
+     * all of the elements before any are added.
+     * 
+     * @param other the set whose elements to add
+     */
     @Override
-    public boolean contains(E value) {
-        boolean c = false;
-        Iterator<E> it = map.values().iterator();
-        while (it.hasNext()) {
-            if (it.next() == value) {
-                c = true;
-                break;
+    public void addAll(Set<E> other) {
+        map.ensureCapacity(size() + other.size());
+        super.addAll(other);
+    }
+
+    /**
+     * Adds every element of the given array. The hash table is sized once
+     * before any are added.
+     * 
+     * Sequentially, the table is sized for every element of the array, which
+     * is more than needed if the array holds duplicates. In parallel, the
+     * elements are first split into shards by hash code, each shard is
+     * deduplicated on the common {@link ForkJoinPool}, and the table is sized
+     * for exactly the distinct elements. Arrays smaller than 8192 elements are
+     * always added sequentially.
+     * 
+     * @param elements the elements to add
+     * @param parallel true to deduplicate the elements in parallel
+     */
+    public void addAll(E[] elements, boolean parallel) {
+        if (!parallel || elements.length < PARALLEL_THRESHOLD) {
+            map.ensureCapacity(size() + elements.length);
+            for (E element : elements) {
+                map.put(element, element);
             }
+            return;
+        }
+        int shards = Integer.highestOneBit(ForkJoinPool.commonPool().getParallelism()) * 4;
+        // Group the elements by shard with a counting pass and a scatter pass
+        int[] shardOf = new int[elements.length];
+        int[] start = new int[shards + 1];
+        for (int i = 0; i < elements.length; i++) {
+            int h = elements[i].hashCode();
+            shardOf[i] = (h ^ (h >>> 16)) & (shards - 1);
+            start[shardOf[i] + 1]++;
         }
-        return c;
+        for (int s = 0; s < shards; s++) {
+            start[s + 1] += start[s];
+        }
+        Object[] grouped = new Object[elements.length];
+        int[] next = new int[shards];
+        System.arraycopy(start, 0, next, 0, shards);
+        for (int i = 0; i < elements.length; i++) {
+            grouped[next[shardOf[i]]++] = elements[i];
+        }
+        // Equal elements land in the same shard, so the shards are deduplicated
+        // independently and together hold each distinct element once
+        @SuppressWarnings("unchecked")
+        LinearProbingHashMap<E, E>[] distinct = (LinearProbingHashMap<E, E>[]) new LinearProbingHashMap<?, ?>[shards];
+        ForkJoinPool.commonPool().invoke(new DedupeTask(grouped, start, distinct, 0, shards));
+        int count = 0;
+        for (LinearProbingHashMap<E, E> shard : distinct) {
+            count += shard.size();
+        }
+        map.ensureCapacity(size() + count);
+        for (LinearProbingHashMap<E, E> shard : distinct) {
+            map.putAll(shard);
+        }
+    }
+
+    @Override
+    public boolean contains(E value) {
+        return map.get(value) != null;
     }
 
     @Override
     public E remove(E value) {
-        Iterator<Entry<E, E>> it = map.entrySet().iterator();
-        E temp = null;
-        while (it.hasNext()) {
-            Entry<E, E> e = it.next();
-            if (e.getValue() == value) {
-                temp = e.getValue();
-                map.remove(e.getKey());
-                break;
-            }
-        }
-        return temp;
+        return map.remove(value);
     }
 
     @Override
     public int size() {
         return map.size();
     }
-}
\ No newline at end of file
+
+    /**
+     * DedupeTask collects the distinct elements of a range of shards as a
+     * fork/join task. Ranges of more than one shard are split between two
+     * child tasks.
+     *
+     * @author Ethan Treece
+     *
+     */
+    private class DedupeTask extends RecursiveAction {
+
+        /** Serial version UID */
+        private static final long serialVersionUID = 1L;
+
+        /** The elements, grouped by shard */
+        private Object[] grouped;
+
+        /** The index in grouped at which each shard starts */
+        private int[] start;
+
+        /** Receives the distinct elements of each shard */
+        private LinearProbingHashMap<E, E>[] distinct;
+
+        /** First shard of the range (inclusive) */
+        private int low;
+
+        /** Last shard of the range (exclusive) */
+        private int high;
+
+        /**
+         * Constructs a DedupeTask for the shards [low, high)
+         *
+         * @param grouped  the elements, grouped by shard
+         * @param start    the index in grouped at which each shard starts,
+         *                 followed by the number of elements
+         * @param distinct receives the distinct elements of each shard
+         * @param low      the first shard of the range (inclusive)
+         * @param high     the last shard of the range (exclusive)
+         */
+        DedupeTask(Object[] grouped, int[] start, LinearProbingHashMap<E, E>[] distinct, int low, int high) {
+            this.grouped = grouped;
+            this.start = start;
+            this.distinct = distinct;
+            this.low = low;
+            this.high = high;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        protected void compute() {
+            if (high - low > 1) {
+                int mid = (low + high) >>> 1;
+                invokeAll(new DedupeTask(grouped, start, distinct, low, mid),
+                        new DedupeTask(grouped, start, distinct, mid, high));
+                return;
+            }
+            LinearProbingHashMap<E, E> shard = new LinearProbingHashMap<E, E>();
+            shard.ensureCapacity(start[low + 1] - start[low]);
+            for (int i = start[low]; i < start[low + 1]; i++) {
+                E element = (E) grouped[i];
+                shard.put(element, element);
+            }
+            distinct[low] = shard;
+        }
+    }
+}
@@ -5,6 +5,10 @@ import java.util.Comparator;
 /**
  * AbstractComparisonSorter implements a wrapper method compare(), to
  * compare two elements using the provided comparator type.
+ *
+ * A {@link SortMetrics} may be attached to collect comparisons, moves,
+ * recursion depth, and phase timings. Subclasses report through the protected
+ * hooks, which do nothing when no metrics are attached.
  * @author Ethan Treece
  *
  * @param <E> the generic type of data to sort
@@ -13,6 +17,9 @@ public abstract class AbstractComparisonSorter<E extends Comparable<E>> implemen
 
 	/** Comparator */
 	private Comparator<E> comparator;
+
+	/** Metrics collected while sorting, or null if metrics are disabled */
+	private SortMetrics metrics;
     
 	/**
 	 * Constructor for AbstractComparisonSorter with the comparator parameter
@@ -71,6 +78,70 @@ public abstract class AbstractComparisonSorter<E extends Comparable<E>> implemen
      * @return less than zero if first should be before second,
      */
     public int compare(E data1, E data2) {
+        if (metrics != null) {
+            metrics.compared();
+        }
         return comparator.compare(data1,  data2);
     }
+
+    /**
+     * Attaches metrics that collect what this sorter does during each sort, or
+     * disables metrics if the parameter is null
+     * 
+     * @param metrics the metrics to update, or null to disable metrics
+     */
+    public void setMetrics(SortMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Returns the attached metrics, or null if metrics are disabled
+     * 
+     * @return the attached metrics
+     */
+    public SortMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Records element moves if metrics are enabled
+     * 
+     * @param count the number of elements moved
+     */
+    protected void moved(long count) {
+        if (metrics != null) {
+            metrics.moved(count);
+        }
+    }
+
+    /**
+     * Records the level of recursion reached if metrics are enabled
+     * 
+     * @param depth the level of recursion, where the first call is level 1
+     */
+    protected void reachedDepth(int depth) {
+        if (metrics != null) {
+            metrics.reachedDepth(depth);
+        }
+    }
+
+    /**
+     * Starts timing the named phase if metrics are enabled
+     * 
+     * @param name the name of the phase
+     */
+    protected void startPhase(String name) {
+        if (metrics != null) {
+            metrics.startPhase(name);
+        }
+    }
+
+    /**
+     * Ends the phase in progress if metrics are enabled
+     */
+    protected void endPhase() {
+        if (metrics != null) {
+            metrics.endPhase();
+        }
+    }
 }
@@ -28,17 +28,23 @@ public class BubbleSorter<E extends Comparable<E>> extends AbstractComparisonSor
 
     @Override
     public void sort(E[] e) {
-        boolean r = true;
-        while (r) {
-            r = false;
-            for (int i = 1; i < e.length; i++) {
-                if (super.compare(e[i], e[i - 1]) < 0) {
-                    E x = e[i - 1];
-                    e[i - 1] = e[i];
-                    e[i] = x;
-                    r = true;
+        startPhase("sort");
+        try {
+            boolean r = true;
+            while (r) {
+                r = false;
+                for (int i = 1; i < e.length; i++) {
+                    if (super.compare(e[i], e[i - 1]) < 0) {
+                        E x = e[i - 1];
+                        e[i - 1] = e[i];
+                        e[i] = x;
+                        moved(2);
+                        r = true;
+                    }
                 }
             }
+        } finally {
+            endPhase();
         }
     }
 
@@ -1,9 +1,34 @@
 package edu.ncsu.csc316.dsa.sorter;
 
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
 import edu.ncsu.csc316.dsa.data.Identifiable;
 
 /**
- * CountingSorter uses the counting sort algorithm to sort data
+ * CountingSorter uses the counting sort algorithm to sort data. Before
+ * counting, the sorter compares the range of ids with the number of elements
+ * and picks one of three strategies:
+ *
+ * (a) DENSE: when the range is at most a small multiple of the number of
+ * elements, a count array covering the whole range is used. For large inputs,
+ * the counting phase runs in parallel.
+ *
+ * (b) SPARSE: when the range is large but a sample of the ids shows many
+ * repeated keys, the counts are kept in a compact hash table with one slot per
+ * distinct id.
+ *
+ * (c) RADIX: when the range is large and the ids are mostly distinct, the sort
+ * is delegated to {@link RadixSorter}.
+ *
+ * The choice made by the most recent sort is reported by
+ * {@link #getLastStatistics()}. Every strategy is stable.
+ *
+ * When {@link SortMetrics} are attached, the time spent reading keys,
+ * counting, and placing elements is recorded, along with every element move.
+ * A RADIX sort reports to the same metrics.
+ *
  * @author Dr. King
  * @author Ethan Treece
  *
@@ -11,36 +36,560 @@ import edu.ncsu.csc316.dsa.data.Identifiable;
  */
 public class CountingSorter<E extends Identifiable> implements Sorter<E> {
 
+    /**
+     * The default number of elements at or above which the dense counting phase
+     * runs in parallel
+     */
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 1 << 17;
+
+    /** A range up to DENSE_FACTOR * n + DENSE_SLACK uses a dense count array */
+    private static final int DENSE_FACTOR = 4;
+
+    /** A range up to DENSE_FACTOR * n + DENSE_SLACK uses a dense count array */
+    private static final int DENSE_SLACK = 1024;
+
+    /** The number of ids sampled to estimate how many ids are distinct */
+    private static final int SAMPLE_SIZE = 1024;
+
+    /** The smallest chunk of the input counted by a single worker */
+    private static final int MIN_CHUNK_SIZE = 1 << 14;
+
+    /** Inputs with at least this many elements are counted in parallel */
+    private int parallelThreshold;
+
+    /** Statistics describing the most recent sort */
+    private Statistics lastStatistics;
+
+    /** Metrics collected while sorting, or null if metrics are disabled */
+    private SortMetrics metrics;
+
+    /**
+     * Constructs a CountingSorter that uses the default parallel threshold
+     */
+    public CountingSorter() {
+        this(DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * Constructs a CountingSorter that counts inputs with at least
+     * parallelThreshold elements in parallel
+     *
+     * @param parallelThreshold the smallest input size to count in parallel
+     */
+    public CountingSorter(int parallelThreshold) {
+        this.parallelThreshold = parallelThreshold;
+    }
+
     @Override
     public void sort(E[] e) {
-        // Find the min and the max elements in the input data
-        int min = e[0].getId();
-        int max = e[0].getId();
-        for (int i = 0; i < e.length; i++) {
-            min = Math.min(e[i].getId(), min);
-            max = Math.max(e[i].getId(), max);
-        }
-        
+        int n = e.length;
+        if (n == 0) {
+            lastStatistics = new Statistics(Strategy.DENSE, 0, 0, 0, false);
+            return;
+        }
+        // Read each id once
+        startPhase("keys");
+        int[] keys = new int[n];
+        int min;
+        int max;
+        try {
+            min = e[0].getId();
+            max = e[0].getId();
+            for (int i = 0; i < n; i++) {
+                int key = e[i].getId();
+                keys[i] = key;
+                min = Math.min(key, min);
+                max = Math.max(key, max);
+            }
+        } finally {
+            endPhase(0);
+        }
+
         // Calculate the range of the elements
-        int k = max - min + 1;
-        int[] b = new int[k];
-        for (int i = 0; i < e.length; i++) {
-            b[e[i].getId() - min] = b[e[i].getId() - min] + 1;
+        long range = (long) max - min + 1;
+        if (range <= (long) DENSE_FACTOR * n + DENSE_SLACK) {
+            boolean parallel = denseSort(e, keys, min, (int) range);
+            lastStatistics = new Statistics(Strategy.DENSE, n, min, max, parallel);
+        } else if (isMostlyDistinct(keys)) {
+            RadixSorter<E> radix = new RadixSorter<E>();
+            radix.setMetrics(metrics);
+            radix.sort(e);
+            lastStatistics = new Statistics(Strategy.RADIX, n, min, max, false);
+        } else {
+            sparseSort(e, keys);
+            lastStatistics = new Statistics(Strategy.SPARSE, n, min, max, false);
         }
-        for (int i = 1; i < k; i++) {
+    }
+
+    /**
+     * Returns statistics describing the most recent call to sort, or null if
+     * nothing has been sorted yet
+     *
+     * @return statistics describing the most recent sort
+     */
+    public Statistics getLastStatistics() {
+        return lastStatistics;
+    }
+
+    /**
+     * Attaches metrics that collect what this sorter does during each sort, or
+     * disables metrics if the parameter is null
+     *
+     * @param metrics the metrics to update, or null to disable metrics
+     */
+    public void setMetrics(SortMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Returns the attached metrics, or null if metrics are disabled
+     *
+     * @return the attached metrics
+     */
+    public SortMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Starts timing the named phase if metrics are enabled
+     *
+     * @param name the name of the phase
+     */
+    private void startPhase(String name) {
+        if (metrics != null) {
+            metrics.startPhase(name);
+        }
+    }
+
+    /**
+     * Ends the phase in progress and records element moves if metrics are
+     * enabled
+     *
+     * @param moves the number of elements moved during the phase
+     */
+    private void endPhase(long moves) {
+        if (metrics != null) {
+            metrics.moved(moves);
+            metrics.endPhase();
+        }
+    }
+
+    /**
+     * Sorts using a count array that covers every id in the range
+     *
+     * @param e     the elements to sort
+     * @param keys  the id of each element
+     * @param min   the smallest id
+     * @param range the number of ids from the smallest to the largest
+     * @return true if the counting phase ran in parallel
+     */
+    private boolean denseSort(E[] e, int[] keys, int min, int range) {
+        int n = e.length;
+        startPhase("count");
+        int[] b;
+        boolean parallel = false;
+        // Every chunk needs its own count array, so limit the number of chunks
+        // to keep the extra memory proportional to n
+        int chunks = 1;
+        if (n >= parallelThreshold) {
+            chunks = Math.min(ForkJoinPool.getCommonPoolParallelism(), n / MIN_CHUNK_SIZE);
+            chunks = Math.min(chunks, (int) Math.max(1, 2L * n / range));
+        }
+        if (chunks > 1) {
+            b = parallelCount(keys, min, range, chunks);
+            parallel = true;
+        } else {
+            b = new int[range];
+            for (int i = 0; i < n; i++) {
+                b[keys[i] - min]++;
+            }
+        }
+        for (int i = 1; i < range; i++) {
             b[i] = b[i - 1] + b[i];
         }
-        
+        endPhase(0);
+
+        startPhase("place");
+        @SuppressWarnings("unchecked")
+        E[] f = (E[])(new Identifiable[n]);
+        for (int i = n - 1; i >= 0; i--) {
+            f[--b[keys[i] - min]] = e[i];
+        }
+        System.arraycopy(f, 0, e, 0, n);
+        endPhase(2L * n);
+        return parallel;
+    }
+
+    /**
+     * Counts the occurrences of each id by splitting the keys into chunks that
+     * are counted in parallel, then summing the per-chunk counts
+     *
+     * @param keys   the id of each element
+     * @param min    the smallest id
+     * @param range  the number of ids from the smallest to the largest
+     * @param chunks the number of chunks
+     * @return the number of occurrences of each id, indexed by id - min
+     */
+    private int[] parallelCount(int[] keys, int min, int range, int chunks) {
+        int n = keys.length;
+        int chunkSize = (n + chunks - 1) / chunks;
+        CountTask[] tasks = new CountTask[chunks];
+        for (int c = 0; c < chunks; c++) {
+            int from = Math.min(n, c * chunkSize);
+            tasks[c] = new CountTask(keys, from, Math.min(n, from + chunkSize), min, range);
+        }
+        ForkJoinPool.commonPool().invoke(new RecursiveAction() {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected void compute() {
+                invokeAll(tasks);
+            }
+        });
+        int[] b = tasks[0].count;
+        for (int c = 1; c < chunks; c++) {
+            int[] count = tasks[c].count;
+            for (int i = 0; i < range; i++) {
+                b[i] += count[i];
+            }
+        }
+        return b;
+    }
+
+    /**
+     * Returns true if a sample of the keys suggests that at least half of the keys
+     * are distinct
+     *
+     * @param keys the id of each element
+     * @return true if the keys appear to be mostly distinct
+     */
+    private boolean isMostlyDistinct(int[] keys) {
+        int s = Math.min(keys.length, SAMPLE_SIZE);
+        int[] sample = new int[s];
+        for (int i = 0; i < s; i++) {
+            sample[i] = keys[(int) ((long) i * keys.length / s)];
+        }
+        Arrays.sort(sample);
+        int distinct = 1;
+        for (int i = 1; i < s; i++) {
+            if (sample[i] != sample[i - 1]) {
+                distinct++;
+            }
+        }
+        return distinct * 2 > s;
+    }
+
+    /**
+     * Sorts using a hash table that holds a count for each distinct id
+     *
+     * @param e    the elements to sort
+     * @param keys the id of each element
+     */
+    private void sparseSort(E[] e, int[] keys) {
+        int n = e.length;
+        startPhase("count");
+        CountTable table = new CountTable();
+        for (int i = 0; i < n; i++) {
+            table.increment(keys[i]);
+        }
+        // Replace each count with the first index for that id
+        int[] distinct = table.keys();
+        Arrays.sort(distinct);
+        int next = 0;
+        for (int key : distinct) {
+            int slot = table.find(key);
+            int count = table.counts[slot];
+            table.counts[slot] = next;
+            next += count;
+        }
+        endPhase(0);
+
+        startPhase("place");
         @SuppressWarnings("unchecked")
-        E[] f = (E[])(new Identifiable[e.length]);
-        for (int i = e.length - 1; i >= 0; i--) {
-            f[b[e[i].getId() - min] - 1] = e[i];
-            b[e[i].getId() - min] = b[e[i].getId() - min] - 1;
+        E[] f = (E[])(new Identifiable[n]);
+        for (int i = 0; i < n; i++) {
+            f[table.counts[table.find(keys[i])]++] = e[i];
         }
-        
-        for (int i = 0; i < e.length; i++) {
-            e[i] = f[i];
+        System.arraycopy(f, 0, e, 0, n);
+        endPhase(2L * n);
+    }
+
+    /**
+     * The strategies CountingSorter may choose between
+     *
+     * @author Ethan Treece
+     *
+     */
+    public enum Strategy {
+        /** A count array covering the whole range of ids */
+        DENSE,
+        /** A hash table with one count per distinct id */
+        SPARSE,
+        /** Delegation to {@link RadixSorter} */
+        RADIX
+    }
+
+    /**
+     * Statistics describes the input to a sort and the strategy chosen for it
+     *
+     * @author Ethan Treece
+     *
+     */
+    public static class Statistics {
+
+        /** The strategy used */
+        private Strategy strategy;
+
+        /** The number of elements sorted */
+        private int size;
+
+        /** The smallest id */
+        private int minKey;
+
+        /** The largest id */
+        private int maxKey;
+
+        /** Whether the counting phase ran in parallel */
+        private boolean parallel;
+
+        /**
+         * Constructs the Statistics
+         *
+         * @param strategy the strategy used
+         * @param size     the number of elements sorted
+         * @param minKey   the smallest id
+         * @param maxKey   the largest id
+         * @param parallel whether the counting phase ran in parallel
+         */
+        public Statistics(Strategy strategy, int size, int minKey, int maxKey, boolean parallel) {
+            this.strategy = strategy;
+            this.size = size;
+            this.minKey = minKey;
+            this.maxKey = maxKey;
+            this.parallel = parallel;
+        }
+
+        /**
+         * Returns the strategy used
+         *
+         * @return the strategy used
+         */
+        public Strategy getStrategy() {
+            return strategy;
+        }
+
+        /**
+         * Returns the number of elements sorted
+         *
+         * @return the number of elements sorted
+         */
+        public int getSize() {
+            return size;
+        }
+
+        /**
+         * Returns the smallest id
+         *
+         * @return the smallest id
+         */
+        public int getMinKey() {
+            return minKey;
+        }
+
+        /**
+         * Returns the largest id
+         *
+         * @return the largest id
+         */
+        public int getMaxKey() {
+            return maxKey;
+        }
+
+        /**
+         * Returns the number of ids from the smallest to the largest
+         *
+         * @return the range of the ids
+         */
+        public long getKeyRange() {
+            return size == 0 ? 0 : (long) maxKey - minKey + 1;
+        }
+
+        /**
+         * Returns the number of elements per id in the range
+         *
+         * @return the key density
+         */
+        public double getDensity() {
+            return size == 0 ? 0 : (double) size / getKeyRange();
+        }
+
+        /**
+         * Returns whether the counting phase ran in parallel
+         *
+         * @return true if the counting phase ran in parallel
+         */
+        public boolean isParallel() {
+            return parallel;
+        }
+
+        @Override
+        public String toString() {
+            return strategy + ",size=" + size + ",range=" + getKeyRange() + ",parallel=" + parallel;
         }
     }
-    
+
+    /**
+     * CountTask counts the occurrences of each id in one chunk of the keys
+     *
+     * @author Ethan Treece
+     *
+     */
+    private static class CountTask extends RecursiveAction {
+
+        /** Serial version UID */
+        private static final long serialVersionUID = 1L;
+
+        /** The id of each element */
+        private int[] keys;
+
+        /** First index of the chunk (inclusive) */
+        private int from;
+
+        /** Last index of the chunk (exclusive) */
+        private int to;
+
+        /** The smallest id */
+        private int min;
+
+        /** The counts for this chunk, indexed by id - min */
+        private int[] count;
+
+        /**
+         * Constructs a CountTask for the chunk [from, to)
+         *
+         * @param keys  the id of each element
+         * @param from  the first index of the chunk (inclusive)
+         * @param to    the last index of the chunk (exclusive)
+         * @param min   the smallest id
+         * @param range the number of ids from the smallest to the largest
+         */
+        CountTask(int[] keys, int from, int to, int min, int range) {
+            this.keys = keys;
+            this.from = from;
+            this.to = to;
+            this.min = min;
+            this.count = new int[range];
+        }
+
+        @Override
+        protected void compute() {
+            for (int i = from; i < to; i++) {
+                count[keys[i] - min]++;
+            }
+        }
+    }
+
+    /**
+     * CountTable is an open-addressing hash table from an id to a count. The
+     * capacity is always a power of two, and the table doubles when it becomes
+     * half full.
+     *
+     * @author Ethan Treece
+     *
+     */
+    private static class CountTable {
+
+        /** The id stored in each slot */
+        private int[] keys;
+
+        /** The count stored in each slot */
+        private int[] counts;
+
+        /** Whether each slot is in use */
+        private boolean[] used;
+
+        /** The number of slots in use */
+        private int size;
+
+        /**
+         * Constructs an empty CountTable
+         */
+        CountTable() {
+            keys = new int[64];
+            counts = new int[64];
+            used = new boolean[64];
+        }
+
+        /**
+         * Returns the slot that holds the given id, or the empty slot where it
+         * belongs
+         *
+         * @param key the id to find
+         * @return the slot for the id
+         */
+        int find(int key) {
+            int mask = keys.length - 1;
+            int h = key * 0x9E3779B9;
+            int slot = (h ^ (h >>> 16)) & mask;
+            while (used[slot] && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        /**
+         * Adds one to the count for the given id
+         *
+         * @param key the id to count
+         */
+        void increment(int key) {
+            int slot = find(key);
+            if (!used[slot]) {
+                used[slot] = true;
+                keys[slot] = key;
+                size++;
+            }
+            counts[slot]++;
+            if (size * 2 > keys.length) {
+                grow();
+            }
+        }
+
+        /**
+         * Returns the ids stored in the table
+         *
+         * @return the distinct ids
+         */
+        int[] keys() {
+            int[] result = new int[size];
+            int j = 0;
+            for (int i = 0; i < keys.length; i++) {
+                if (used[i]) {
+                    result[j++] = keys[i];
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Doubles the capacity of the table
+         */
+        private void grow() {
+            int[] oldKeys = keys;
+            int[] oldCounts = counts;
+            boolean[] oldUsed = used;
+            keys = new int[oldKeys.length * 2];
+            counts = new int[oldKeys.length * 2];
+            used = new boolean[oldKeys.length * 2];
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldUsed[i]) {
+                    int slot = find(oldKeys[i]);
+                    used[slot] = true;
+                    keys[slot] = oldKeys[i];
+                    counts[slot] = oldCounts[i];
+                }
+            }
+        }
+    }
+
 }
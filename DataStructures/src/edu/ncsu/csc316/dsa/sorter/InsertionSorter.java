@@ -30,14 +30,20 @@ public class InsertionSorter<E extends Comparable<E>> extends AbstractComparison
 
     @Override
     public void sort(E[] e) {
-        for (int i = 1; i <= e.length - 1; i++) {
-            E x = e[i];
-            int j = i - 1;
-            while (j >= 0 && super.compare(e[j], x) > 0) {
-                e[j + 1] = e[j];
-                j = j - 1;
+        startPhase("sort");
+        try {
+            for (int i = 1; i <= e.length - 1; i++) {
+                E x = e[i];
+                int j = i - 1;
+                while (j >= 0 && super.compare(e[j], x) > 0) {
+                    e[j + 1] = e[j];
+                    j = j - 1;
+                }
+                e[j + 1] = x;
+                moved(i - j);
             }
-            e[j + 1] = x;
+        } finally {
+            endPhase();
         }
     }
 
@@ -0,0 +1,75 @@
+package edu.ncsu.csc316.dsa.sorter;
+
+import java.util.Comparator;
+import java.util.function.ToLongFunction;
+
+/**
+ * KeyedComparator orders elements by a long key extracted from each element,
+ * and compares the elements themselves only when their keys are equal. With a
+ * key that is cached in the element, such as
+ * {@link edu.ncsu.csc316.dsa.data.StudentSortKey#SORT_KEY}, most comparisons
+ * become a single comparison of two longs.
+ *
+ * The key must be consistent with the tie-breaking order: whenever the keys
+ * of two elements differ, the tie-breaking order must agree with the keys.
+ *
+ * @author Ethan Treece
+ *
+ * @param <E> the type of elements to compare
+ */
+public class KeyedComparator<E> implements Comparator<E> {
+
+    /** Extracts the key of an element */
+    private ToLongFunction<? super E> key;
+
+    /** Orders elements with equal keys, or null for natural ordering */
+    private Comparator<? super E> tieBreaker;
+
+    /**
+     * Constructs a KeyedComparator that breaks ties with the elements' natural
+     * ordering
+     *
+     * @param key extracts the key of an element
+     */
+    public KeyedComparator(ToLongFunction<? super E> key) {
+        this(key, null);
+    }
+
+    /**
+     * Constructs a KeyedComparator that breaks ties with the given comparator
+     *
+     * @param key        extracts the key of an element
+     * @param tieBreaker orders elements with equal keys, or null for natural
+     *                   ordering
+     */
+    public KeyedComparator(ToLongFunction<? super E> key, Comparator<? super E> tieBreaker) {
+        this.key = key;
+        this.tieBreaker = tieBreaker;
+    }
+
+    /**
+     * Compares the keys of the elements, and then the elements themselves if
+     * the keys are equal
+     *
+     * @param one the first element
+     * @param two the second element
+     * @return less than zero if one should be before two, greater than zero if
+     *         one should be after two, or zero if they are equal
+     * @throws ClassCastException if the keys are equal, no tie-breaking
+     *                            comparator was given, and the elements are not
+     *                            Comparable
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public int compare(E one, E two) {
+        long oneKey = key.applyAsLong(one);
+        long twoKey = key.applyAsLong(two);
+        if (oneKey != twoKey) {
+            return oneKey < twoKey ? -1 : 1;
+        }
+        if (tieBreaker == null) {
+            return ((Comparable<? super E>) one).compareTo(two);
+        }
+        return tieBreaker.compare(one, two);
+    }
+}
@@ -2,12 +2,23 @@ package edu.ncsu.csc316.dsa.sorter;
 
 import java.util.Arrays;
 import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 /**
  * MergeSorter sorts arrays of comparable elements using the merge sort
  * algorithm. This implementation ensures O(nlogn) worst-case runtime to sort an
  * array of n elements that are comparable.
- * 
+ *
+ * The sort is stable. A single scratch buffer the size of the input is
+ * allocated once per sort, and each level of recursion alternates between the
+ * scratch buffer and the input array instead of copying subarrays.
+ *
+ * The client may optionally request a parallel sort. In parallel mode, the
+ * left and right halves of any range larger than the sequential cutoff are
+ * sorted concurrently on the common {@link ForkJoinPool}; ranges at or below
+ * the cutoff are sorted sequentially.
+ *
  * @author Dr. King
  * @author Ethan Treece
  *
@@ -15,57 +26,181 @@ import java.util.Comparator;
  */
 public class MergeSorter<E extends Comparable<E>> extends AbstractComparisonSorter<E> {
 
+    /**
+     * The default number of elements at or below which a parallel sort stops
+     * forking new tasks and sorts the range sequentially
+     */
+    public static final int DEFAULT_SEQUENTIAL_CUTOFF = 8192;
+
+    /** Whether the halves of large ranges should be sorted in parallel */
+    private boolean parallel;
+
+    /** Ranges at or below this size are sorted sequentially in parallel mode */
+    private int sequentialCutoff;
+
     /**
      * Constructs a new MergeSorter with a specified custom Comparator
-     * 
+     *
      * @param comparator a custom Comparator to use when sorting
      */
     public MergeSorter(Comparator<E> comparator) {
         super(comparator);
+        this.parallel = false;
+        this.sequentialCutoff = DEFAULT_SEQUENTIAL_CUTOFF;
     }
 
     /**
      * Constructs a new MergeSorter with comparisons based on the element's natural
      * ordering
-     */ 
+     */
     public MergeSorter() {
         this(null);
     }
 
+    /**
+     * Constructs a new parallel MergeSorter with a specified custom Comparator.
+     * Ranges with at most sequentialCutoff elements are sorted sequentially.
+     *
+     * @param comparator       a custom Comparator to use when sorting
+     * @param sequentialCutoff the largest range size that is sorted without
+     *                         forking new tasks
+     * @throws IllegalArgumentException if sequentialCutoff is less than 2
+     */
+    public MergeSorter(Comparator<E> comparator, int sequentialCutoff) {
+        super(comparator);
+        if (sequentialCutoff < 2) {
+            throw new IllegalArgumentException("Sequential cutoff must be at least 2.");
+        }
+        this.parallel = true;
+        this.sequentialCutoff = sequentialCutoff;
+    }
+
     @Override
     public void sort(E[] e) {
         int n = e.length;
         if (n < 2) {
             return;
         }
-        int mid = n / 2;
-        E[] left = Arrays.copyOfRange(e, 0, mid);
-        E[] right = Arrays.copyOfRange(e, mid, n);
-        
-        sort(left);
-        sort(right);
-        
-        merge(left, right, e);
+        startPhase("copy");
+        try {
+            E[] buffer = Arrays.copyOf(e, n);
+            moved(n);
+            startPhase("merge");
+            if (parallel && n > sequentialCutoff) {
+                ForkJoinPool.commonPool().invoke(new MergeTask(buffer, e, 0, n, 1));
+            } else {
+                mergeSort(buffer, e, 0, n, 1);
+            }
+        } finally {
+            endPhase();
+        }
+    }
+
+    /**
+     * Sorts the elements in the range [low, high) of source into the same range
+     * of target. On entry, both arrays must hold the same elements in that range;
+     * source is used as scratch space and is left in an unspecified order.
+     *
+     * @param source the scratch array holding a copy of the range
+     * @param target the array that receives the sorted range
+     * @param low    the first index of the range (inclusive)
+     * @param high   the last index of the range (exclusive)
+     * @param depth  the level of recursion of this call
+     */
+    private void mergeSort(E[] source, E[] target, int low, int high, int depth) {
+        if (high - low < 2) {
+            return;
+        }
+        reachedDepth(depth);
+        int mid = (low + high) >>> 1;
+        mergeSort(target, source, low, mid, depth + 1);
+        mergeSort(target, source, mid, high, depth + 1);
+        merge(source, target, low, mid, high);
     }
-    
+
     /**
-     * Merges the left and right arrays in sorted order into the e array
-     * @param left left array
-     * @param right right array
-     * @param e e array
+     * Merges the sorted ranges [low, mid) and [mid, high) of source into the range
+     * [low, high) of target. When two elements are equal, the element from the
+     * left range is placed first so that the sort remains stable.
+     *
+     * @param source the array holding the two sorted ranges
+     * @param target the array that receives the merged range
+     * @param low    the first index of the left range (inclusive)
+     * @param mid    the first index of the right range
+     * @param high   the last index of the right range (exclusive)
      */
-    private void merge(E[] left, E[] right, E[] e) {
-        int leftIndex = 0;
-        int rightIndex = 0;
-        while (leftIndex + rightIndex < e.length) {
-            if (rightIndex == right.length || ( leftIndex < left.length && super.compare(left[leftIndex], right[rightIndex]) < 0)) {
-                e[leftIndex + rightIndex] = left[leftIndex];
+    private void merge(E[] source, E[] target, int low, int mid, int high) {
+        int leftIndex = low;
+        int rightIndex = mid;
+        for (int i = low; i < high; i++) {
+            if (rightIndex == high || (leftIndex < mid && super.compare(source[leftIndex], source[rightIndex]) <= 0)) {
+                target[i] = source[leftIndex];
                 leftIndex++;
             } else {
-                e[leftIndex + rightIndex] = right[rightIndex];
+                target[i] = source[rightIndex];
                 rightIndex++;
             }
         }
+        moved(high - low);
+    }
+
+    /**
+     * MergeTask sorts one range of the array as a fork/join task. The halves of
+     * ranges larger than the sequential cutoff are sorted by two child tasks
+     * before being merged.
+     *
+     * @author Ethan Treece
+     *
+     */
+    private class MergeTask extends RecursiveAction {
+
+        /** Serial version UID */
+        private static final long serialVersionUID = 1L;
+
+        /** Scratch array holding a copy of the range */
+        private E[] source;
+
+        /** Array that receives the sorted range */
+        private E[] target;
+
+        /** First index of the range (inclusive) */
+        private int low;
+
+        /** Last index of the range (exclusive) */
+        private int high;
+
+        /** Level of recursion of this task */
+        private int depth;
+
+        /**
+         * Constructs a MergeTask for the range [low, high)
+         *
+         * @param source the scratch array holding a copy of the range
+         * @param target the array that receives the sorted range
+         * @param low    the first index of the range (inclusive)
+         * @param high   the last index of the range (exclusive)
+         * @param depth  the level of recursion of this task
+         */
+        MergeTask(E[] source, E[] target, int low, int high, int depth) {
+            this.source = source;
+            this.target = target;
+            this.low = low;
+            this.high = high;
+            this.depth = depth;
+        }
+
+        @Override
+        protected void compute() {
+            if (high - low <= sequentialCutoff) {
+                mergeSort(source, target, low, high, depth);
+                return;
+            }
+            reachedDepth(depth);
+            int mid = (low + high) >>> 1;
+            invokeAll(new MergeTask(target, source, low, mid, depth + 1),
+                    new MergeTask(target, source, mid, high, depth + 1));
+            merge(source, target, low, mid, high);
+        }
     }
 
 }
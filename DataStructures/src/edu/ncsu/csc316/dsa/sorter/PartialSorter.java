@@ -0,0 +1,421 @@
+package edu.ncsu.csc316.dsa.sorter;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+import edu.ncsu.csc316.dsa.data.Identifiable;
+
+/**
+ * PartialSorter answers selection queries without sorting the whole array.
+ *
+ * {@link #select} finds the k-th smallest element with introselect: quickselect
+ * with median-of-three pivots and three-way partitioning, which switches to
+ * heap sort on the remaining range if the partitions stop shrinking, so the
+ * expected runtime is O(n) and the worst case is O(nlogn).
+ * {@link #partialSort} orders only the first k positions in O(n + klogk)
+ * expected time, and {@link #topK} collects the k smallest elements into a new
+ * array with a bounded heap in O(nlogk) time without modifying the input.
+ *
+ * "Smallest" is defined by the comparator, so with {@link
+ * edu.ncsu.csc316.dsa.data.StudentGPAComparator} the top k are the k highest
+ * GPAs. The static *ById methods provide the same operations for
+ * {@link Identifiable} elements ordered by ascending id.
+ *
+ * Selection is not stable: elements that compare as equal may be returned in
+ * any order. When {@link SortMetrics} are attached, the instance methods
+ * record comparisons and time each call as a phase; element moves are not
+ * counted.
+ *
+ * @author Ethan Treece
+ *
+ * @param <E> the type of elements to select from; elements must be
+ *            {@link Comparable}
+ */
+public class PartialSorter<E extends Comparable<E>> extends AbstractComparisonSorter<E> {
+
+    /** Ranges with fewer elements than this are finished with insertion sort */
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
+    /** Orders elements with this sorter's compare method */
+    private Comparator<E> order;
+
+    /**
+     * Constructs a PartialSorter that uses the natural ordering of elements
+     */
+    public PartialSorter() {
+        this(null);
+    }
+
+    /**
+     * Constructs a PartialSorter that uses the given comparator
+     *
+     * @param comparator a custom comparator, or null for natural ordering
+     */
+    public PartialSorter(Comparator<E> comparator) {
+        super(comparator);
+        order = new Comparator<E>() {
+            @Override
+            public int compare(E one, E two) {
+                return PartialSorter.this.compare(one, two);
+            }
+        };
+    }
+
+    /**
+     * Sorts the whole array
+     *
+     * @param data the array to sort
+     */
+    @Override
+    public void sort(E[] data) {
+        partialSort(data, data.length);
+    }
+
+    /**
+     * Rearranges the array so that the element at index k is the one that would
+     * be there if the array were sorted, every element before it compares less
+     * than or equal to it, and every element after it compares greater than or
+     * equal to it
+     *
+     * @param data the array to select from
+     * @param k    the zero-based rank of the element to find
+     * @return the k-th smallest element
+     * @throws IndexOutOfBoundsException if k is not a valid index
+     */
+    public E select(E[] data, int k) {
+        startPhase("select");
+        try {
+            return select(data, k, order);
+        } finally {
+            endPhase();
+        }
+    }
+
+    /**
+     * Rearranges the array so that its first k positions hold the k smallest
+     * elements in sorted order. The order of the remaining elements is
+     * unspecified.
+     *
+     * @param data the array to partially sort
+     * @param k    the number of leading positions to sort; values larger than
+     *             the array length sort the whole array
+     * @throws IllegalArgumentException if k is negative
+     */
+    public void partialSort(E[] data, int k) {
+        startPhase("partialSort");
+        try {
+            partialSort(data, k, order);
+        } finally {
+            endPhase();
+        }
+    }
+
+    /**
+     * Returns the k smallest elements in sorted order without modifying the
+     * array
+     *
+     * @param data the array to select from
+     * @param k    the number of elements to return; values larger than the
+     *             array length return every element
+     * @return a new array of the k smallest elements, in sorted order
+     * @throws IllegalArgumentException if k is negative
+     */
+    public E[] topK(E[] data, int k) {
+        startPhase("topK");
+        try {
+            return topK(data, k, order);
+        } finally {
+            endPhase();
+        }
+    }
+
+    /**
+     * Rearranges the array so that the element at index k has the k-th smallest
+     * id, as described by {@link #select}
+     *
+     * @param data the array to select from
+     * @param k    the zero-based rank of the element to find
+     * @param <T>  the type of elements
+     * @return the element with the k-th smallest id
+     * @throws IndexOutOfBoundsException if k is not a valid index
+     */
+    public static <T extends Identifiable> T selectById(T[] data, int k) {
+        return select(data, k, new IdOrder<T>());
+    }
+
+    /**
+     * Rearranges the array so that its first k positions hold the elements
+     * with the k smallest ids, in ascending order of id
+     *
+     * @param data the array to partially sort
+     * @param k    the number of leading positions to sort
+     * @param <T>  the type of elements
+     * @throws IllegalArgumentException if k is negative
+     */
+    public static <T extends Identifiable> void partialSortById(T[] data, int k) {
+        partialSort(data, k, new IdOrder<T>());
+    }
+
+    /**
+     * Returns the elements with the k smallest ids in ascending order of id,
+     * without modifying the array
+     *
+     * @param data the array to select from
+     * @param k    the number of elements to return
+     * @param <T>  the type of elements
+     * @return a new array of the elements with the k smallest ids
+     * @throws IllegalArgumentException if k is negative
+     */
+    public static <T extends Identifiable> T[] topKById(T[] data, int k) {
+        return topK(data, k, new IdOrder<T>());
+    }
+
+    /**
+     * Selects the k-th smallest element using the comparator
+     *
+     * @param data the array to select from
+     * @param k    the zero-based rank of the element to find
+     * @param c    the order of the elements
+     * @param <T>  the type of elements
+     * @return the k-th smallest element
+     */
+    private static <T> T select(T[] data, int k, Comparator<? super T> c) {
+        if (k < 0 || k >= data.length) {
+            throw new IndexOutOfBoundsException("Index is invalid: " + k + " (size=" + data.length + ")");
+        }
+        introSelect(data, 0, data.length - 1, k, c);
+        return data[k];
+    }
+
+    /**
+     * Sorts the first k positions using the comparator
+     *
+     * @param data the array to partially sort
+     * @param k    the number of leading positions to sort
+     * @param c    the order of the elements
+     * @param <T>  the type of elements
+     */
+    private static <T> void partialSort(T[] data, int k, Comparator<? super T> c) {
+        checkK(k);
+        int count = Math.min(k, data.length);
+        if (count == 0) {
+            return;
+        }
+        if (count < data.length) {
+            introSelect(data, 0, data.length - 1, count - 1, c);
+        }
+        heapSort(data, 0, count - 1, c);
+    }
+
+    /**
+     * Collects the k smallest elements with a bounded max-heap. The heap holds
+     * the best k elements seen so far with the largest at its root, so each
+     * remaining element needs one comparison unless it belongs in the heap.
+     *
+     * @param data the array to select from
+     * @param k    the number of elements to return
+     * @param c    the order of the elements
+     * @param <T>  the type of elements
+     * @return a new array of the k smallest elements, in sorted order
+     */
+    private static <T> T[] topK(T[] data, int k, Comparator<? super T> c) {
+        checkK(k);
+        int count = Math.min(k, data.length);
+        T[] heap = Arrays.copyOf(data, count);
+        if (count == 0) {
+            return heap;
+        }
+        for (int i = count / 2 - 1; i >= 0; i--) {
+            siftDown(heap, 0, i, count, c);
+        }
+        for (int i = count; i < data.length; i++) {
+            if (c.compare(data[i], heap[0]) < 0) {
+                heap[0] = data[i];
+                siftDown(heap, 0, 0, count, c);
+            }
+        }
+        for (int end = count - 1; end > 0; end--) {
+            swap(heap, 0, end);
+            siftDown(heap, 0, 0, end, c);
+        }
+        return heap;
+    }
+
+    /**
+     * Checks that k is not negative
+     *
+     * @param k the number of elements requested
+     * @throws IllegalArgumentException if k is negative
+     */
+    private static void checkK(int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k must not be negative.");
+        }
+    }
+
+    /**
+     * Narrows [low, high] to the partition holding index k until it is small
+     * enough to insertion sort, switching to heap sort once the partitions
+     * have failed to shrink quickly enough
+     *
+     * @param e    the array to select from
+     * @param low  the first index of the range
+     * @param high the last index of the range
+     * @param k    the index to place
+     * @param c    the order of the elements
+     * @param <T>  the type of elements
+     */
+    private static <T> void introSelect(T[] e, int low, int high, int k, Comparator<? super T> c) {
+        int depthLimit = 2 * (31 - Integer.numberOfLeadingZeros(high - low + 1));
+        while (high - low + 1 >= INSERTION_SORT_THRESHOLD) {
+            if (depthLimit-- == 0) {
+                heapSort(e, low, high, c);
+                return;
+            }
+            medianOfThree(e, low, low + (high - low) / 2, high, c);
+            T pivot = e[low + (high - low) / 2];
+            // Three-way partition: [low, lt) < pivot, [lt, i) == pivot, (gt, high] > pivot
+            int lt = low;
+            int gt = high;
+            int i = low;
+            while (i <= gt) {
+                int comp = c.compare(e[i], pivot);
+                if (comp < 0) {
+                    swap(e, lt++, i++);
+                } else if (comp > 0) {
+                    swap(e, i, gt--);
+                } else {
+                    i++;
+                }
+            }
+            if (k < lt) {
+                high = lt - 1;
+            } else if (k > gt) {
+                low = gt + 1;
+            } else {
+                return;
+            }
+        }
+        insertionSort(e, low, high, c);
+    }
+
+    /**
+     * Orders the elements at indexes a, b, and d so that the median is at b
+     *
+     * @param e    the array
+     * @param a    the first index
+     * @param b    the middle index
+     * @param d    the last index
+     * @param c    the order of the elements
+     * @param <T>  the type of elements
+     */
+    private static <T> void medianOfThree(T[] e, int a, int b, int d, Comparator<? super T> c) {
+        if (c.compare(e[b], e[a]) < 0) {
+            swap(e, a, b);
+        }
+        if (c.compare(e[d], e[b]) < 0) {
+            swap(e, b, d);
+            if (c.compare(e[b], e[a]) < 0) {
+                swap(e, a, b);
+            }
+        }
+    }
+
+    /**
+     * Sorts [low, high] with insertion sort
+     *
+     * @param e    the array
+     * @param low  the first index of the range
+     * @param high the last index of the range
+     * @param c    the order of the elements
+     * @param <T>  the type of elements
+     */
+    private static <T> void insertionSort(T[] e, int low, int high, Comparator<? super T> c) {
+        for (int i = low + 1; i <= high; i++) {
+            T x = e[i];
+            int j = i - 1;
+            while (j >= low && c.compare(e[j], x) > 0) {
+                e[j + 1] = e[j];
+                j--;
+            }
+            e[j + 1] = x;
+        }
+    }
+
+    /**
+     * Sorts [low, high] with heap sort
+     *
+     * @param e    the array
+     * @param low  the first index of the range
+     * @param high the last index of the range
+     * @param c    the order of the elements
+     * @param <T>  the type of elements
+     */
+    private static <T> void heapSort(T[] e, int low, int high, Comparator<? super T> c) {
+        int n = high - low + 1;
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            siftDown(e, low, i, n, c);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            swap(e, low, low + end);
+            siftDown(e, low, 0, end, c);
+        }
+    }
+
+    /**
+     * Moves the element at heap offset i down a max-heap stored at
+     * [low, low + size) until neither child is larger
+     *
+     * @param e    the array holding the heap
+     * @param low  the index of the heap's root
+     * @param i    the heap offset of the element to move
+     * @param size the number of elements in the heap
+     * @param c    the order of the elements
+     * @param <T>  the type of elements
+     */
+    private static <T> void siftDown(T[] e, int low, int i, int size, Comparator<? super T> c) {
+        T x = e[low + i];
+        int child = 2 * i + 1;
+        while (child < size) {
+            if (child + 1 < size && c.compare(e[low + child + 1], e[low + child]) > 0) {
+                child++;
+            }
+            if (c.compare(e[low + child], x) <= 0) {
+                break;
+            }
+            e[low + i] = e[low + child];
+            i = child;
+            child = 2 * i + 1;
+        }
+        e[low + i] = x;
+    }
+
+    /**
+     * Swaps the elements at two indexes
+     *
+     * @param e the array
+     * @param i the first index
+     * @param j the second index
+     * @param <T> the type of elements
+     */
+    private static <T> void swap(T[] e, int i, int j) {
+        T temp = e[i];
+        e[i] = e[j];
+        e[j] = temp;
+    }
+
+    /**
+     * IdOrder orders Identifiable elements by ascending id
+     *
+     * @author Ethan Treece
+     *
+     * @param <T> the type of elements
+     */
+    private static class IdOrder<T extends Identifiable> implements Comparator<T> {
+
+        @Override
+        public int compare(T one, T two) {
+            return Integer.compare(one.getId(), two.getId());
+        }
+    }
+}
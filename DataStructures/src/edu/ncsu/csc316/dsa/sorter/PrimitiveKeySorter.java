@@ -0,0 +1,323 @@
+package edu.ncsu.csc316.dsa.sorter;
+
+import java.util.Arrays;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * PrimitiveKeySorter sorts objects by a primitive key without comparing the
+ * objects themselves. The key of each element is extracted once into a
+ * primitive array, the keys are sorted together with an index permutation
+ * using a stable least-significant-digit radix sort on 8-bit digits, and the
+ * permutation is then applied to the object array in a single pass.
+ *
+ * Elements with equal keys keep their original relative order. Keys are sorted
+ * in ascending order; negate a key to sort in descending order. Double keys
+ * are ordered like {@link Double#compare}, so -0.0 sorts before 0.0 and NaN
+ * sorts last.
+ *
+ * The static sort methods expose the same machinery for callers that already
+ * hold the keys in a primitive array.
+ *
+ * @author Ethan Treece
+ *
+ * @param <E> the generic type of data to sort
+ */
+public class PrimitiveKeySorter<E> implements Sorter<E> {
+
+    /** The number of bits in each digit */
+    private static final int DIGIT_BITS = 8;
+
+    /** The number of distinct digit values */
+    private static final int RADIX = 1 << DIGIT_BITS;
+
+    /** Extracts an int key from each element, or null if keys are long */
+    private ToIntFunction<? super E> intKey;
+
+    /** Extracts a long key from each element, or null if keys are int */
+    private ToLongFunction<? super E> longKey;
+
+    /**
+     * Constructs a PrimitiveKeySorter. Exactly one of the extractors is non-null.
+     *
+     * @param intKey  extracts an int key from each element
+     * @param longKey extracts an order-preserving long key from each element
+     */
+    private PrimitiveKeySorter(ToIntFunction<? super E> intKey, ToLongFunction<? super E> longKey) {
+        this.intKey = intKey;
+        this.longKey = longKey;
+    }
+
+    /**
+     * Returns a sorter that orders elements by an int key, such as a student's id
+     * or credit hours
+     *
+     * @param <E> the generic type of data to sort
+     * @param key extracts the key from an element
+     * @return a sorter that orders elements by the key
+     */
+    public static <E> PrimitiveKeySorter<E> byInt(ToIntFunction<? super E> key) {
+        return new PrimitiveKeySorter<E>(key, null);
+    }
+
+    /**
+     * Returns a sorter that orders elements by a long key
+     *
+     * @param <E> the generic type of data to sort
+     * @param key extracts the key from an element
+     * @return a sorter that orders elements by the key
+     */
+    public static <E> PrimitiveKeySorter<E> byLong(ToLongFunction<? super E> key) {
+        return new PrimitiveKeySorter<E>(null, key);
+    }
+
+    /**
+     * Returns a sorter that orders elements by a double key, such as a student's
+     * GPA
+     *
+     * @param <E> the generic type of data to sort
+     * @param key extracts the key from an element
+     * @return a sorter that orders elements by the key
+     */
+    public static <E> PrimitiveKeySorter<E> byDouble(final ToDoubleFunction<? super E> key) {
+        return new PrimitiveKeySorter<E>(null, new ToLongFunction<E>() {
+            @Override
+            public long applyAsLong(E element) {
+                return encodeDouble(key.applyAsDouble(element));
+            }
+        });
+    }
+
+    @Override
+    public void sort(E[] e) {
+        int n = e.length;
+        if (n < 2) {
+            return;
+        }
+        int[] order;
+        if (intKey != null) {
+            int[] keys = new int[n];
+            for (int i = 0; i < n; i++) {
+                keys[i] = intKey.applyAsInt(e[i]) ^ Integer.MIN_VALUE;
+            }
+            order = radixSort(keys);
+        } else {
+            long[] keys = new long[n];
+            for (int i = 0; i < n; i++) {
+                keys[i] = longKey.applyAsLong(e[i]) ^ Long.MIN_VALUE;
+            }
+            order = radixSort(keys);
+        }
+        applyPermutation(e, order);
+    }
+
+    /**
+     * Sorts the keys in ascending order and returns the permutation that was
+     * applied: the element at index i of the sorted array came from index
+     * order[i] of the original array. The sort is stable.
+     *
+     * @param keys the keys to sort
+     * @return the permutation applied to the keys
+     */
+    public static int[] sort(int[] keys) {
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] ^= Integer.MIN_VALUE;
+        }
+        int[] order = radixSort(keys);
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] ^= Integer.MIN_VALUE;
+        }
+        return order;
+    }
+
+    /**
+     * Sorts the keys in ascending order and returns the permutation that was
+     * applied: the element at index i of the sorted array came from index
+     * order[i] of the original array. The sort is stable.
+     *
+     * @param keys the keys to sort
+     * @return the permutation applied to the keys
+     */
+    public static int[] sort(long[] keys) {
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] ^= Long.MIN_VALUE;
+        }
+        int[] order = radixSort(keys);
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] ^= Long.MIN_VALUE;
+        }
+        return order;
+    }
+
+    /**
+     * Sorts the keys in ascending order and returns the permutation that was
+     * applied: the element at index i of the sorted array came from index
+     * order[i] of the original array. The sort is stable and orders keys like
+     * {@link Double#compare}.
+     *
+     * @param keys the keys to sort
+     * @return the permutation applied to the keys
+     */
+    public static int[] sort(double[] keys) {
+        long[] encoded = new long[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            encoded[i] = encodeDouble(keys[i]) ^ Long.MIN_VALUE;
+        }
+        int[] order = radixSort(encoded);
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = decodeDouble(encoded[i] ^ Long.MIN_VALUE);
+        }
+        return order;
+    }
+
+    /**
+     * Rearranges the data so that the element at index i is the element that was
+     * at index order[i]
+     *
+     * @param <T>   the type of data to rearrange
+     * @param data  the data to rearrange
+     * @param order the permutation to apply
+     */
+    public static <T> void applyPermutation(T[] data, int[] order) {
+        T[] original = Arrays.copyOf(data, data.length);
+        for (int i = 0; i < order.length; i++) {
+            data[i] = original[order[i]];
+        }
+    }
+
+    /**
+     * Converts a double into a long whose signed order matches
+     * {@link Double#compare}
+     *
+     * @param value the double to convert
+     * @return the order-preserving long
+     */
+    private static long encodeDouble(double value) {
+        long bits = Double.doubleToLongBits(value);
+        return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+    }
+
+    /**
+     * Reverses {@link #encodeDouble}
+     *
+     * @param encoded the order-preserving long
+     * @return the original double
+     */
+    private static double decodeDouble(long encoded) {
+        return Double.longBitsToDouble(encoded ^ ((encoded >> 63) & Long.MAX_VALUE));
+    }
+
+    /**
+     * Sorts keys in unsigned order and returns the applied permutation
+     *
+     * @param keys the keys to sort, compared as unsigned integers
+     * @return the permutation applied to the keys
+     */
+    private static int[] radixSort(int[] keys) {
+        int n = keys.length;
+        int[] order = identity(n);
+        int[] keyBuffer = new int[n];
+        int[] orderBuffer = new int[n];
+        int[] count = new int[RADIX + 1];
+        int[] source = keys;
+        int[] sourceOrder = order;
+        for (int shift = 0; shift < Integer.SIZE; shift += DIGIT_BITS) {
+            Arrays.fill(count, 0);
+            for (int i = 0; i < n; i++) {
+                count[((source[i] >>> shift) & (RADIX - 1)) + 1]++;
+            }
+            if (!prefixSum(count, n)) {
+                continue;
+            }
+            for (int i = 0; i < n; i++) {
+                int j = count[(source[i] >>> shift) & (RADIX - 1)]++;
+                keyBuffer[j] = source[i];
+                orderBuffer[j] = sourceOrder[i];
+            }
+            int[] k = source;
+            source = keyBuffer;
+            keyBuffer = k;
+            int[] o = sourceOrder;
+            sourceOrder = orderBuffer;
+            orderBuffer = o;
+        }
+        if (source != keys) {
+            System.arraycopy(source, 0, keys, 0, n);
+        }
+        return sourceOrder;
+    }
+
+    /**
+     * Sorts keys in unsigned order and returns the applied permutation
+     *
+     * @param keys the keys to sort, compared as unsigned integers
+     * @return the permutation applied to the keys
+     */
+    private static int[] radixSort(long[] keys) {
+        int n = keys.length;
+        int[] order = identity(n);
+        long[] keyBuffer = new long[n];
+        int[] orderBuffer = new int[n];
+        int[] count = new int[RADIX + 1];
+        long[] source = keys;
+        int[] sourceOrder = order;
+        for (int shift = 0; shift < Long.SIZE; shift += DIGIT_BITS) {
+            Arrays.fill(count, 0);
+            for (int i = 0; i < n; i++) {
+                count[(int) ((source[i] >>> shift) & (RADIX - 1)) + 1]++;
+            }
+            if (!prefixSum(count, n)) {
+                continue;
+            }
+            for (int i = 0; i < n; i++) {
+                int j = count[(int) ((source[i] >>> shift) & (RADIX - 1))]++;
+                keyBuffer[j] = source[i];
+                orderBuffer[j] = sourceOrder[i];
+            }
+            long[] k = source;
+            source = keyBuffer;
+            keyBuffer = k;
+            int[] o = sourceOrder;
+            sourceOrder = orderBuffer;
+            orderBuffer = o;
+        }
+        if (source != keys) {
+            System.arraycopy(source, 0, keys, 0, n);
+        }
+        return sourceOrder;
+    }
+
+    /**
+     * Converts a histogram shifted by one (count[d + 1] holds the number of keys
+     * with digit d) into the first index for each digit
+     *
+     * @param count the shifted histogram
+     * @param n     the number of keys
+     * @return false if every key has the same digit and the pass can be skipped
+     */
+    private static boolean prefixSum(int[] count, int n) {
+        for (int d = 1; d <= RADIX; d++) {
+            if (count[d] == n) {
+                return false;
+            }
+            count[d] += count[d - 1];
+        }
+        return true;
+    }
+
+    /**
+     * Returns the identity permutation of length n
+     *
+     * @param n the length of the permutation
+     * @return an array holding 0, 1, ..., n - 1
+     */
+    private static int[] identity(int n) {
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        return order;
+    }
+
+}
@@ -1,7 +1,7 @@
 package edu.ncsu.csc316.dsa.sorter;
 
 import java.util.Comparator;
-import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * QuickSorter sorts arrays of comparable elements using the quicksort
@@ -12,6 +12,14 @@ import java.util.Random;
  * 
  * Using the randomized pivot selection strategy ensures O(nlogn)
  * expected/average case runtime when sorting n elements that are comparable
+ *
+ * Alternatively, the client may request the introspective engine. The
+ * introspective engine partitions around two pivots chosen from a sample of
+ * five elements (each the median of three neighbors on large ranges), groups
+ * elements equal to the pivots so that runs of equal keys do not degrade
+ * performance, sorts small ranges with insertion sort, and switches to heap
+ * sort once the recursion depth exceeds 2log(n). The introspective engine
+ * ensures O(nlogn) worst-case runtime.
  * 
  * @author Dr. King
  * @author Ethan Treece
@@ -43,10 +51,25 @@ public class QuickSorter<E extends Comparable<E>> extends AbstractComparisonSort
      * each time a pivot must be selected
      */
     public static final PivotSelector RANDOM_ELEMENT_SELECTOR = new RandomElementSelector();
+
+    /**
+     * Ranges with fewer elements than this are sorted with insertion sort by the
+     * introspective engine
+     */
+    private static final int INSERTION_SORT_THRESHOLD = 27;
+
+    /**
+     * Ranges with more elements than this draw each pivot candidate as the median
+     * of three neighboring elements in the introspective engine
+     */
+    private static final int NINTHER_THRESHOLD = 256;
     
     /** Pivot selector */
     private PivotSelector selector;
 
+    /** Whether to sort with the introspective dual-pivot engine */
+    private boolean introspective;
+
     /**
      * Constructs a new QuickSorter with a provided custom Comparator and a
      * specified PivotSelector strategy
@@ -86,6 +109,19 @@ public class QuickSorter<E extends Comparable<E>> extends AbstractComparisonSort
     public QuickSorter() {
         this(null, null);
     }
+
+    /**
+     * Constructs a new QuickSorter with a provided custom Comparator. If
+     * introspective is true, the sorter uses the introspective dual-pivot engine;
+     * otherwise, the sorter uses the default random pivot selection strategy
+     * 
+     * @param comparator    a custom comparator to use when sorting
+     * @param introspective true to sort with the introspective dual-pivot engine
+     */
+    public QuickSorter(Comparator<E> comparator, boolean introspective) {
+        this(comparator, null);
+        this.introspective = introspective;
+    }
     
     private void setSelector(PivotSelector selector) {
         if (selector == null) {
@@ -97,14 +133,24 @@ public class QuickSorter<E extends Comparable<E>> extends AbstractComparisonSort
 
     @Override
     public void sort(E[] e) {
-        quickSort(e, 0, e.length - 1);
+        startPhase("sort");
+        try {
+            if (introspective) {
+                introSort(e, 0, e.length - 1, 2 * (31 - Integer.numberOfLeadingZeros(Math.max(e.length, 1))), 1);
+            } else {
+                quickSort(e, 0, e.length - 1, 1);
+            }
+        } finally {
+            endPhase();
+        }
     }
     
-    private void quickSort(E[] e, int low, int high) {
+    private void quickSort(E[] e, int low, int high, int depth) {
         if (low < high) {
+            reachedDepth(depth);
             int pivotLocation = partition(e, low, high);
-            quickSort(e, low, pivotLocation - 1);
-            quickSort(e, pivotLocation + 1, high);
+            quickSort(e, low, pivotLocation - 1, depth + 1);
+            quickSort(e, pivotLocation + 1, high, depth + 1);
         }
     }
     
@@ -120,7 +166,7 @@ public class QuickSorter<E extends Comparable<E>> extends AbstractComparisonSort
         E pivot = e[high];
         int index = low; // index of smaller element
         for (int j = low; j < high; j++) {
-            if (super.compare(e[j], pivot) < 0 || super.compare(e[j], pivot) == 0) {
+            if (super.compare(e[j], pivot) <= 0) {
                 swap(e, index, j);
                 index++;
             }
@@ -136,6 +182,222 @@ public class QuickSorter<E extends Comparable<E>> extends AbstractComparisonSort
         E temp = e[a];
         e[a] = e[b];
         e[b] = temp;
+        moved(2);
+    }
+
+    /**
+     * Sorts the range [low, high] with the introspective dual-pivot engine
+     * 
+     * @param e          the array to sort
+     * @param low        the lowest index of the range
+     * @param high       the highest index of the range
+     * @param depthLimit the number of partitioning levels allowed before
+     *                   switching to heap sort
+     * @param depth      the level of recursion of this call
+     */
+    private void introSort(E[] e, int low, int high, int depthLimit, int depth) {
+        while (high - low + 1 >= INSERTION_SORT_THRESHOLD) {
+            if (depthLimit == 0) {
+                heapSort(e, low, high);
+                return;
+            }
+            reachedDepth(depth);
+            depthLimit--;
+            depth++;
+            selectPivots(e, low, high);
+            E pivot1 = e[low];
+            E pivot2 = e[high];
+            if (super.compare(pivot1, pivot2) == 0) {
+                // Both pivots are equal, so partition into <, ==, and >
+                int lt = low;
+                int gt = high;
+                int i = low + 1;
+                while (i <= gt) {
+                    int c = super.compare(e[i], pivot1);
+                    if (c < 0) {
+                        swap(e, lt++, i++);
+                    } else if (c > 0) {
+                        swap(e, i, gt--);
+                    } else {
+                        i++;
+                    }
+                }
+                introSort(e, low, lt - 1, depthLimit, depth);
+                low = gt + 1;
+                continue;
+            }
+            // Partition into < pivot1, between the pivots, and > pivot2
+            int lt = low + 1;
+            int gt = high - 1;
+            int i = lt;
+            while (i <= gt) {
+                if (super.compare(e[i], pivot1) < 0) {
+                    swap(e, i++, lt++);
+                } else if (super.compare(e[i], pivot2) > 0) {
+                    while (i < gt && super.compare(e[gt], pivot2) > 0) {
+                        gt--;
+                    }
+                    swap(e, i, gt--);
+                    if (super.compare(e[i], pivot1) < 0) {
+                        swap(e, i, lt++);
+                    }
+                    i++;
+                } else {
+                    i++;
+                }
+            }
+            lt--;
+            gt++;
+            swap(e, low, lt);
+            swap(e, high, gt);
+            
+            int middleLow = lt + 1;
+            int middleHigh = gt - 1;
+            if (middleHigh - middleLow > (high - low) / 3 * 2) {
+                // The middle range is large, which usually means it has many
+                // elements equal to a pivot; move those out of the way
+                int k = middleLow;
+                while (k <= middleHigh) {
+                    if (super.compare(e[k], pivot1) == 0) {
+                        swap(e, k++, middleLow++);
+                    } else if (super.compare(e[k], pivot2) == 0) {
+                        swap(e, k, middleHigh--);
+                    } else {
+                        k++;
+                    }
+                }
+            }
+            introSort(e, low, lt - 1, depthLimit, depth);
+            introSort(e, middleLow, middleHigh, depthLimit, depth);
+            low = gt + 1;
+        }
+        insertionSort(e, low, high);
+    }
+
+    /**
+     * Selects two pivots for the range [low, high] and moves the smaller pivot to
+     * index low and the larger pivot to index high. The pivots are the second and
+     * fourth smallest of five candidates spread evenly across the range. The
+     * candidates are shifted by a random offset drawn from a thread-local source,
+     * and on large ranges each candidate is the median of three neighbors.
+     * 
+     * @param e    the array being sorted
+     * @param low  the lowest index of the range
+     * @param high the highest index of the range
+     */
+    private void selectPivots(E[] e, int low, int high) {
+        int length = high - low + 1;
+        int seventh = length / 7;
+        int shift = ThreadLocalRandom.current().nextInt(seventh) - seventh / 2;
+        int middle = ((low + high) >>> 1) + shift;
+        int[] candidates = { middle - 2 * seventh, middle - seventh, middle, middle + seventh, middle + 2 * seventh };
+        if (length > NINTHER_THRESHOLD) {
+            int step = seventh / 4;
+            for (int i = 0; i < candidates.length; i++) {
+                int c = candidates[i];
+                candidates[i] = medianOfThree(e, c - step, c, c + step);
+            }
+        }
+        // Insertion sort the five candidates in place
+        for (int i = 1; i < candidates.length; i++) {
+            E x = e[candidates[i]];
+            int j = i - 1;
+            while (j >= 0 && super.compare(e[candidates[j]], x) > 0) {
+                e[candidates[j + 1]] = e[candidates[j]];
+                j--;
+            }
+            e[candidates[j + 1]] = x;
+            moved(i - j);
+        }
+        swap(e, low, candidates[1]);
+        swap(e, high, candidates[3]);
+    }
+
+    /**
+     * Returns the index of the median of the elements at indexes a, b, and c
+     * 
+     * @param e the array being sorted
+     * @param a the first index
+     * @param b the second index
+     * @param c the third index
+     * @return the index of the median element
+     */
+    private int medianOfThree(E[] e, int a, int b, int c) {
+        if (super.compare(e[a], e[b]) < 0) {
+            if (super.compare(e[b], e[c]) < 0) {
+                return b;
+            }
+            return super.compare(e[a], e[c]) < 0 ? c : a;
+        }
+        if (super.compare(e[a], e[c]) < 0) {
+            return a;
+        }
+        return super.compare(e[b], e[c]) < 0 ? c : b;
+    }
+
+    /**
+     * Sorts the range [low, high] using insertion sort
+     * 
+     * @param e    the array being sorted
+     * @param low  the lowest index of the range
+     * @param high the highest index of the range
+     */
+    private void insertionSort(E[] e, int low, int high) {
+        for (int i = low + 1; i <= high; i++) {
+            E x = e[i];
+            int j = i - 1;
+            while (j >= low && super.compare(e[j], x) > 0) {
+                e[j + 1] = e[j];
+                j--;
+            }
+            e[j + 1] = x;
+            moved(i - j);
+        }
+    }
+
+    /**
+     * Sorts the range [low, high] using heap sort
+     * 
+     * @param e    the array being sorted
+     * @param low  the lowest index of the range
+     * @param high the highest index of the range
+     */
+    private void heapSort(E[] e, int low, int high) {
+        int n = high - low + 1;
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            siftDown(e, low, i, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            swap(e, low, low + end);
+            siftDown(e, low, 0, end);
+        }
+    }
+
+    /**
+     * Restores the max-heap ordering property for the heap rooted at offset within
+     * the heap that begins at index low and contains size elements
+     * 
+     * @param e      the array being sorted
+     * @param low    the index of the root of the heap
+     * @param offset the offset (from low) of the element to sift down
+     * @param size   the number of elements in the heap
+     */
+    private void siftDown(E[] e, int low, int offset, int size) {
+        E x = e[low + offset];
+        while (2 * offset + 1 < size) {
+            int child = 2 * offset + 1;
+            if (child + 1 < size && super.compare(e[low + child], e[low + child + 1]) < 0) {
+                child++;
+            }
+            if (super.compare(x, e[low + child]) >= 0) {
+                break;
+            }
+            e[low + offset] = e[low + child];
+            moved(1);
+            offset = child;
+        }
+        e[low + offset] = x;
+        moved(1);
     }
     
     /**
@@ -211,8 +473,7 @@ public class QuickSorter<E extends Comparable<E>> extends AbstractComparisonSort
 
         @Override
         public int selectPivot(int low, int high) {
-            Random random = new Random();
-            return random.nextInt(high - low + 1) + low;
+            return ThreadLocalRandom.current().nextInt(low, high + 1);
         }
     }
     
@@ -1,9 +1,25 @@
 package edu.ncsu.csc316.dsa.sorter;
 
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
 import edu.ncsu.csc316.dsa.data.Identifiable;
 
 /**
- * RadixSorter uses the radix sort algorithm to sort data
+ * RadixSorter uses the least-significant-digit radix sort algorithm to sort
+ * data by id. Each digit is 8 or 11 bits wide and is extracted with shifts and
+ * masks. Each element's id is read once into a primitive array, and a single
+ * scratch buffer is reused by every pass. Passes in which every element has
+ * the same digit are skipped. Negative ids are supported.
+ *
+ * For inputs with at least parallelThreshold elements, the digit histograms
+ * are built and the elements are distributed in parallel, with one chunk of
+ * the input per worker. The sort is stable.
+ *
+ * When {@link SortMetrics} are attached, the time spent reading keys, in the
+ * digit passes, and copying the result back is recorded, along with every
+ * element move.
+ *
  * @author Dr. King
  * @author Ethan Treece
  *
@@ -11,36 +27,393 @@ import edu.ncsu.csc316.dsa.data.Identifiable;
  */
 public class RadixSorter<E extends Identifiable> implements Sorter<E> {
 
+    /** The default number of bits in each digit */
+    public static final int DEFAULT_DIGIT_BITS = 8;
+
+    /**
+     * The default number of elements at or above which the histogram and
+     * distribution phases run in parallel
+     */
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 1 << 17;
+
+    /** The smallest chunk of the input given to a single worker */
+    private static final int MIN_CHUNK_SIZE = 1 << 14;
+
+    /** The number of bits in each digit */
+    private int digitBits;
+
+    /** Inputs with at least this many elements are sorted in parallel */
+    private int parallelThreshold;
+
+    /** Metrics collected while sorting, or null if metrics are disabled */
+    private SortMetrics metrics;
+
+    /**
+     * Constructs a RadixSorter that uses 8-bit digits
+     */
+    public RadixSorter() {
+        this(DEFAULT_DIGIT_BITS);
+    }
+
+    /**
+     * Constructs a RadixSorter that uses digits of the given width
+     *
+     * @param digitBits the number of bits in each digit; must be 8 or 11
+     * @throws IllegalArgumentException if digitBits is not 8 or 11
+     */
+    public RadixSorter(int digitBits) {
+        this(digitBits, DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * Constructs a RadixSorter that uses digits of the given width and sorts
+     * inputs with at least parallelThreshold elements in parallel
+     *
+     * @param digitBits         the number of bits in each digit; must be 8 or 11
+     * @param parallelThreshold the smallest input size to sort in parallel
+     * @throws IllegalArgumentException if digitBits is not 8 or 11
+     */
+    public RadixSorter(int digitBits, int parallelThreshold) {
+        if (digitBits != 8 && digitBits != 11) {
+            throw new IllegalArgumentException("Digit width must be 8 or 11 bits.");
+        }
+        this.digitBits = digitBits;
+        this.parallelThreshold = parallelThreshold;
+    }
+
     @Override
     public void sort(E[] e) {
-        // Find largest value in the input data
-        int k = 0;
-        for (int i = 0; i < e.length; i++) {
-            k = Math.max(k, e[i].getId());
-        }
-        // Determine how many digits are in the largest value
-        double x = Math.ceil( Math.log(k + 1) / Math.log(10));
-        
-        int p = 1;
-        for (int j = 1; j <= x; j++) {
-            int[] b = new int[10];
-            for (int i = 0; i <= e.length - 1; i++) {
-                b[ (e[i].getId() / p) % 10] = b[ (e[i].getId() / p) % 10] + 1;
-            }
-            for (int i = 1; i <= 9; i++) {
-                b[i] = b[i - 1] + b[i];
+        int n = e.length;
+        if (n < 2) {
+            return;
+        }
+        startPhase("keys");
+        // An exception in a phase ends it; phases that finish normally have
+        // already ended, so the final endPhase does nothing for them
+        try {
+            // Flip the sign bit so that negative ids order before positive ids
+            // when the keys are treated as unsigned
+            int[] keys = new int[n];
+            for (int i = 0; i < n; i++) {
+                keys[i] = e[i].getId() ^ Integer.MIN_VALUE;
             }
+            int[] keyBuffer = new int[n];
             @SuppressWarnings("unchecked")
-            E[] f = (E[])(new Identifiable[e.length]);
-            for (int i = e.length - 1; i >= 0; i--) {
-                f[ b[ (e[i].getId() / p) % 10] - 1] = e[i];
-                b[ (e[i].getId() / p) % 10] = b[ (e[i].getId() / p) % 10] - 1;
+            E[] buffer = (E[]) (new Identifiable[n]);
+
+            int chunks = 1;
+            if (n >= parallelThreshold) {
+                chunks = Math.max(1, Math.min(ForkJoinPool.getCommonPoolParallelism(), n / MIN_CHUNK_SIZE));
+            }
+            int radix = 1 << digitBits;
+            int[][] counts = new int[chunks][radix];
+            endPhase(0);
+
+            startPhase("passes");
+            long moves = 0;
+            E[] source = e;
+            E[] target = buffer;
+            for (int shift = 0; shift < Integer.SIZE; shift += digitBits) {
+                if (chunks > 1) {
+                    runChunks(new RecursiveAction[chunks], keys, n, shift, counts, null, null, null);
+                } else {
+                    histogram(keys, 0, n, shift, counts[0]);
+                }
+                if (prefixSum(counts, n)) {
+                    continue;
+                }
+                if (chunks > 1) {
+                    runChunks(new RecursiveAction[chunks], keys, n, shift, counts, source, target, keyBuffer);
+                } else {
+                    scatter(keys, 0, n, shift, counts[0], source, target, keyBuffer);
+                }
+                moves += n;
+                int[] k = keys;
+                keys = keyBuffer;
+                keyBuffer = k;
+                E[] s = source;
+                source = target;
+                target = s;
+            }
+            endPhase(moves);
+            if (source != e) {
+                startPhase("copy");
+                System.arraycopy(source, 0, e, 0, n);
+                endPhase(n);
+            }
+        } finally {
+            endPhase(0);
+        }
+    }
+
+    /**
+     * Attaches metrics that collect what this sorter does during each sort, or
+     * disables metrics if the parameter is null
+     *
+     * @param metrics the metrics to update, or null to disable metrics
+     */
+    public void setMetrics(SortMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Returns the attached metrics, or null if metrics are disabled
+     *
+     * @return the attached metrics
+     */
+    public SortMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Starts timing the named phase if metrics are enabled
+     *
+     * @param name the name of the phase
+     */
+    private void startPhase(String name) {
+        if (metrics != null) {
+            metrics.startPhase(name);
+        }
+    }
+
+    /**
+     * Ends the phase in progress and records element moves if metrics are
+     * enabled
+     *
+     * @param moves the number of elements moved during the phase
+     */
+    private void endPhase(long moves) {
+        if (metrics != null) {
+            metrics.moved(moves);
+            metrics.endPhase();
+        }
+    }
+
+    /**
+     * Counts the number of keys in [from, to) with each value of the digit at the
+     * given shift
+     *
+     * @param keys  the keys being sorted
+     * @param from  the first index of the chunk (inclusive)
+     * @param to    the last index of the chunk (exclusive)
+     * @param shift the position of the lowest bit of the digit
+     * @param count the histogram of the chunk, which must start cleared
+     */
+    private void histogram(int[] keys, int from, int to, int shift, int[] count) {
+        int mask = (1 << digitBits) - 1;
+        for (int i = from; i < to; i++) {
+            count[(keys[i] >>> shift) & mask]++;
+        }
+    }
+
+    /**
+     * Replaces the per-chunk histograms with the index at which each chunk should
+     * place its first element with each digit value. Chunks are laid out in input
+     * order within each digit value, which keeps the sort stable.
+     *
+     * @param counts the per-chunk histograms
+     * @param n      the number of elements being sorted
+     * @return true if every element has the same digit, in which case the pass
+     *         can be skipped and the histograms are cleared
+     */
+    private boolean prefixSum(int[][] counts, int n) {
+        int radix = counts[0].length;
+        int total = 0;
+        for (int d = 0; d < radix; d++) {
+            int digitTotal = 0;
+            for (int c = 0; c < counts.length; c++) {
+                digitTotal += counts[c][d];
             }
-            for (int i = 0; i <= e.length - 1; i++) {
-                e[i] = f[i];
+            if (digitTotal == n) {
+                for (int c = 0; c < counts.length; c++) {
+                    counts[c][d] = 0;
+                }
+                return true;
             }
-            p = p * 10;
+            for (int c = 0; c < counts.length; c++) {
+                int x = counts[c][d];
+                counts[c][d] = total;
+                total += x;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Moves the elements in [from, to) of source (and their keys) into target at
+     * the offsets computed by {@link #prefixSum}. The offsets are consumed, leaving
+     * the histogram cleared for the next pass.
+     *
+     * @param keys      the keys of the source elements
+     * @param from      the first index of the chunk (inclusive)
+     * @param to        the last index of the chunk (exclusive)
+     * @param shift     the position of the lowest bit of the digit
+     * @param offset    the next target index for each digit value in this chunk
+     * @param source    the elements being distributed
+     * @param target    the array that receives the elements
+     * @param keyTarget the array that receives the keys
+     */
+    private void scatter(int[] keys, int from, int to, int shift, int[] offset, E[] source, E[] target,
+            int[] keyTarget) {
+        int mask = (1 << digitBits) - 1;
+        for (int i = from; i < to; i++) {
+            int key = keys[i];
+            int j = offset[(key >>> shift) & mask]++;
+            target[j] = source[i];
+            keyTarget[j] = key;
+        }
+        for (int d = 0; d < offset.length; d++) {
+            offset[d] = 0;
         }
     }
-    
+
+    /**
+     * Runs one task per chunk on the common fork/join pool and waits for all of
+     * them to complete
+     *
+     * @param tasks     the array to fill with one task per chunk
+     * @param keys      the keys being sorted
+     * @param n         the number of elements being sorted
+     * @param shift     the position of the lowest bit of the digit
+     * @param counts    the per-chunk histograms
+     * @param source    the elements being distributed, or null for histograms
+     * @param target    the array that receives the elements, or null
+     * @param keyTarget the array that receives the keys, or null
+     */
+    private void runChunks(RecursiveAction[] tasks, int[] keys, int n, int shift, int[][] counts, E[] source,
+            E[] target, int[] keyTarget) {
+        int chunkSize = (n + tasks.length - 1) / tasks.length;
+        for (int c = 0; c < tasks.length; c++) {
+            int from = Math.min(n, c * chunkSize);
+            int to = Math.min(n, from + chunkSize);
+            if (source == null) {
+                tasks[c] = new HistogramTask(keys, from, to, shift, counts[c]);
+            } else {
+                tasks[c] = new ScatterTask(keys, from, to, shift, counts[c], source, target, keyTarget);
+            }
+        }
+        ForkJoinPool.commonPool().invoke(new RecursiveAction() {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected void compute() {
+                invokeAll(tasks);
+            }
+        });
+    }
+
+    /**
+     * HistogramTask builds the digit histogram for one chunk of the input
+     *
+     * @author Ethan Treece
+     *
+     */
+    private class HistogramTask extends RecursiveAction {
+
+        /** Serial version UID */
+        private static final long serialVersionUID = 1L;
+
+        /** The keys being sorted */
+        private int[] keys;
+
+        /** First index of the chunk (inclusive) */
+        private int from;
+
+        /** Last index of the chunk (exclusive) */
+        private int to;
+
+        /** Position of the lowest bit of the digit */
+        private int shift;
+
+        /** Histogram of the chunk */
+        private int[] count;
+
+        /**
+         * Constructs a HistogramTask for the chunk [from, to)
+         *
+         * @param keys  the keys being sorted
+         * @param from  the first index of the chunk (inclusive)
+         * @param to    the last index of the chunk (exclusive)
+         * @param shift the position of the lowest bit of the digit
+         * @param count the histogram of the chunk
+         */
+        HistogramTask(int[] keys, int from, int to, int shift, int[] count) {
+            this.keys = keys;
+            this.from = from;
+            this.to = to;
+            this.shift = shift;
+            this.count = count;
+        }
+
+        @Override
+        protected void compute() {
+            histogram(keys, from, to, shift, count);
+        }
+    }
+
+    /**
+     * ScatterTask distributes the elements of one chunk of the input
+     *
+     * @author Ethan Treece
+     *
+     */
+    private class ScatterTask extends RecursiveAction {
+
+        /** Serial version UID */
+        private static final long serialVersionUID = 1L;
+
+        /** The keys being sorted */
+        private int[] keys;
+
+        /** First index of the chunk (inclusive) */
+        private int from;
+
+        /** Last index of the chunk (exclusive) */
+        private int to;
+
+        /** Position of the lowest bit of the digit */
+        private int shift;
+
+        /** Next target index for each digit value in the chunk */
+        private int[] offset;
+
+        /** The elements being distributed */
+        private E[] source;
+
+        /** The array that receives the elements */
+        private E[] target;
+
+        /** The array that receives the keys */
+        private int[] keyTarget;
+
+        /**
+         * Constructs a ScatterTask for the chunk [from, to)
+         *
+         * @param keys      the keys of the source elements
+         * @param from      the first index of the chunk (inclusive)
+         * @param to        the last index of the chunk (exclusive)
+         * @param shift     the position of the lowest bit of the digit
+         * @param offset    the next target index for each digit value
+         * @param source    the elements being distributed
+         * @param target    the array that receives the elements
+         * @param keyTarget the array that receives the keys
+         */
+        ScatterTask(int[] keys, int from, int to, int shift, int[] offset, E[] source, E[] target,
+                int[] keyTarget) {
+            this.keys = keys;
+            this.from = from;
+            this.to = to;
+            this.shift = shift;
+            this.offset = offset;
+            this.source = source;
+            this.target = target;
+            this.keyTarget = keyTarget;
+        }
+
+        @Override
+        protected void compute() {
+            scatter(keys, from, to, shift, offset, source, target, keyTarget);
+        }
+    }
+
 }
@@ -28,18 +28,24 @@ public class SelectionSorter<E extends Comparable<E>> extends AbstractComparison
 	
 	@Override
     public void sort(E[] e) {
-        for (int i = 0; i <= e.length - 1; i++) {
-        	int min = i;
-        	for (int j = i + 1; j <= e.length - 1; j++) {
-        		if (super.compare(e[j], e[min]) < 0) {
-        			min = j;
-        		}
-        	}
-        	if (i != min) {
-        		E x = e[i];
-        		e[i] = e[min];
-        		e[min] = x;
-        	}
+        startPhase("sort");
+        try {
+            for (int i = 0; i <= e.length - 1; i++) {
+            	int min = i;
+            	for (int j = i + 1; j <= e.length - 1; j++) {
+            		if (super.compare(e[j], e[min]) < 0) {
+            			min = j;
+            		}
+            	}
+            	if (i != min) {
+            		E x = e[i];
+            		e[i] = e[min];
+            		e[min] = x;
+            		moved(2);
+            	}
+            }
+        } finally {
+            endPhase();
         }
     }
 }
@@ -0,0 +1,336 @@
+package edu.ncsu.csc316.dsa.sorter;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * SortMetrics collects what a sorter does while it sorts: the number of
+ * comparisons, the number of element moves, the deepest level of recursion
+ * (or, for TimSorter, of the pending run stack), and the wall time and bytes
+ * allocated in each named phase of the sort.
+ *
+ * Metrics are opt in. A sorter collects nothing until a SortMetrics is
+ * attached with setMetrics, and when none is attached every hook is a single
+ * check of a null field that is never taken, so an uninstrumented sort does
+ * no extra work. Counts accumulate across sorts until {@link #reset()} is
+ * called, and {@link #snapshot()} returns an immutable copy for reporting.
+ *
+ * A move is one write of an element into the array being sorted or into a
+ * scratch array, so a swap counts as two moves. Comparison and move counts are
+ * safe to update from the worker threads of a parallel sort. Allocation is
+ * read from the per-thread allocation counter of the HotSpot JVM, so it covers
+ * only the thread that called sort and is reported as -1 on other JVMs.
+ *
+ * @author Ethan Treece
+ *
+ */
+public class SortMetrics {
+
+    /** The per-thread allocation counter, or null if it is not supported */
+    private static final com.sun.management.ThreadMXBean ALLOCATION_COUNTER = allocationCounter();
+
+    /** The number of comparisons */
+    private LongAdder comparisons;
+
+    /** The number of element moves */
+    private LongAdder moves;
+
+    /** The deepest level of recursion reached */
+    private AtomicInteger maxDepth;
+
+    /** The names of the phases, in the order they first started */
+    private String[] phaseNames;
+
+    /** The wall time of each phase */
+    private long[] phaseNanos;
+
+    /** The bytes allocated during each phase */
+    private long[] phaseBytes;
+
+    /** The number of phases */
+    private int phaseCount;
+
+    /** The index of the phase in progress, or -1 if none is in progress */
+    private int currentPhase;
+
+    /** The time at which the phase in progress started */
+    private long phaseStart;
+
+    /** The allocation counter when the phase in progress started */
+    private long phaseStartBytes;
+
+    /**
+     * Constructs an empty SortMetrics
+     */
+    public SortMetrics() {
+        comparisons = new LongAdder();
+        moves = new LongAdder();
+        maxDepth = new AtomicInteger();
+        reset();
+    }
+
+    /**
+     * Clears every count and phase
+     */
+    public void reset() {
+        comparisons.reset();
+        moves.reset();
+        maxDepth.set(0);
+        phaseNames = new String[4];
+        phaseNanos = new long[4];
+        phaseBytes = new long[4];
+        phaseCount = 0;
+        currentPhase = -1;
+    }
+
+    /**
+     * Records one comparison
+     */
+    public void compared() {
+        comparisons.increment();
+    }
+
+    /**
+     * Records element moves
+     *
+     * @param count the number of elements moved
+     */
+    public void moved(long count) {
+        moves.add(count);
+    }
+
+    /**
+     * Records that the sort reached the given level of recursion
+     *
+     * @param depth the level of recursion, where the first call is level 1
+     */
+    public void reachedDepth(int depth) {
+        int max = maxDepth.get();
+        while (depth > max && !maxDepth.compareAndSet(max, depth)) {
+            max = maxDepth.get();
+        }
+    }
+
+    /**
+     * Starts timing the named phase, ending the phase in progress if there is
+     * one. Time spent in a phase that runs more than once is added together.
+     *
+     * @param name the name of the phase
+     */
+    public void startPhase(String name) {
+        endPhase();
+        int index = 0;
+        while (index < phaseCount && !phaseNames[index].equals(name)) {
+            index++;
+        }
+        if (index == phaseCount) {
+            if (phaseCount == phaseNames.length) {
+                phaseNames = Arrays.copyOf(phaseNames, phaseCount * 2);
+                phaseNanos = Arrays.copyOf(phaseNanos, phaseCount * 2);
+                phaseBytes = Arrays.copyOf(phaseBytes, phaseCount * 2);
+            }
+            phaseNames[phaseCount++] = name;
+        }
+        currentPhase = index;
+        phaseStartBytes = allocatedBytes();
+        phaseStart = System.nanoTime();
+    }
+
+    /**
+     * Ends the phase in progress, if there is one
+     */
+    public void endPhase() {
+        if (currentPhase < 0) {
+            return;
+        }
+        phaseNanos[currentPhase] += System.nanoTime() - phaseStart;
+        phaseBytes[currentPhase] += allocatedBytes() - phaseStartBytes;
+        currentPhase = -1;
+    }
+
+    /**
+     * Returns an immutable copy of the metrics collected so far. A phase still
+     * in progress is not included until it ends.
+     *
+     * @return a snapshot of the metrics
+     */
+    public Snapshot snapshot() {
+        long bytes = 0;
+        for (int i = 0; i < phaseCount; i++) {
+            bytes += phaseBytes[i];
+        }
+        return new Snapshot(comparisons.sum(), moves.sum(), maxDepth.get(),
+                ALLOCATION_COUNTER == null ? -1 : bytes, Arrays.copyOf(phaseNames, phaseCount),
+                Arrays.copyOf(phaseNanos, phaseCount));
+    }
+
+    /**
+     * Returns the number of bytes allocated so far by the current thread, or
+     * zero if the counter is not supported
+     *
+     * @return the number of bytes allocated by the current thread
+     */
+    private static long allocatedBytes() {
+        if (ALLOCATION_COUNTER == null) {
+            return 0;
+        }
+        return ALLOCATION_COUNTER.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * Returns the per-thread allocation counter, or null if this JVM does not
+     * provide one
+     *
+     * @return the allocation counter
+     */
+    private static com.sun.management.ThreadMXBean allocationCounter() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean
+                && ((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemorySupported()) {
+            com.sun.management.ThreadMXBean counter = (com.sun.management.ThreadMXBean) bean;
+            counter.setThreadAllocatedMemoryEnabled(true);
+            return counter;
+        }
+        return null;
+    }
+
+    /**
+     * Snapshot is an immutable copy of the metrics at one point in time
+     *
+     * @author Ethan Treece
+     *
+     */
+    public static class Snapshot {
+
+        /** The number of comparisons */
+        private long comparisons;
+
+        /** The number of element moves */
+        private long moves;
+
+        /** The deepest level of recursion reached */
+        private int maxDepth;
+
+        /** The bytes allocated by the sorting thread, or -1 if unknown */
+        private long bytesAllocated;
+
+        /** The names of the phases, in the order they first started */
+        private String[] phaseNames;
+
+        /** The wall time of each phase */
+        private long[] phaseNanos;
+
+        /**
+         * Constructs the Snapshot
+         *
+         * @param comparisons    the number of comparisons
+         * @param moves          the number of element moves
+         * @param maxDepth       the deepest level of recursion reached
+         * @param bytesAllocated the bytes allocated, or -1 if unknown
+         * @param phaseNames     the names of the phases
+         * @param phaseNanos     the wall time of each phase
+         */
+        public Snapshot(long comparisons, long moves, int maxDepth, long bytesAllocated, String[] phaseNames,
+                long[] phaseNanos) {
+            this.comparisons = comparisons;
+            this.moves = moves;
+            this.maxDepth = maxDepth;
+            this.bytesAllocated = bytesAllocated;
+            this.phaseNames = Arrays.copyOf(phaseNames, phaseNames.length);
+            this.phaseNanos = Arrays.copyOf(phaseNanos, phaseNanos.length);
+        }
+
+        /**
+         * Returns the number of comparisons
+         *
+         * @return the number of comparisons
+         */
+        public long getComparisons() {
+            return comparisons;
+        }
+
+        /**
+         * Returns the number of element moves
+         *
+         * @return the number of element moves
+         */
+        public long getMoves() {
+            return moves;
+        }
+
+        /**
+         * Returns the deepest level of recursion reached
+         *
+         * @return the deepest level of recursion
+         */
+        public int getMaxDepth() {
+            return maxDepth;
+        }
+
+        /**
+         * Returns the bytes allocated by the sorting thread during the timed
+         * phases, or -1 if the JVM does not report allocation
+         *
+         * @return the bytes allocated
+         */
+        public long getBytesAllocated() {
+            return bytesAllocated;
+        }
+
+        /**
+         * Returns the names of the phases, in the order they first started
+         *
+         * @return the names of the phases
+         */
+        public String[] getPhaseNames() {
+            return Arrays.copyOf(phaseNames, phaseNames.length);
+        }
+
+        /**
+         * Returns the wall time spent in the named phase
+         *
+         * @param name the name of the phase
+         * @return the wall time of the phase in nanoseconds, or 0 if the phase
+         *         never ran
+         */
+        public long getPhaseNanos(String name) {
+            for (int i = 0; i < phaseNames.length; i++) {
+                if (phaseNames[i].equals(name)) {
+                    return phaseNanos[i];
+                }
+            }
+            return 0;
+        }
+
+        /**
+         * Returns the wall time spent in every phase
+         *
+         * @return the total wall time in nanoseconds
+         */
+        public long getTotalNanos() {
+            long total = 0;
+            for (long nanos : phaseNanos) {
+                total += nanos;
+            }
+            return total;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            sb.append("SortMetrics[comparisons=").append(comparisons).append(", moves=").append(moves)
+                    .append(", maxDepth=").append(maxDepth).append(", bytesAllocated=").append(bytesAllocated)
+                    .append(", phases={");
+            for (int i = 0; i < phaseNames.length; i++) {
+                if (i > 0) {
+                    sb.append(", ");
+                }
+                sb.append(phaseNames[i]).append('=').append(phaseNanos[i]).append("ns");
+            }
+            return sb.append("}]").toString();
+        }
+    }
+}
@@ -0,0 +1,734 @@
+package edu.ncsu.csc316.dsa.sorter;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * TimSorter sorts arrays of comparable elements with an adaptive, stable merge
+ * sort in the style of TimSort.
+ *
+ * The array is scanned once for natural runs. Strictly descending runs are
+ * reversed in place, and runs shorter than a minimum run length (between 16
+ * and 32) are extended with binary insertion sort. Runs are kept on a stack
+ * whose lengths are merged as needed to stay balanced, and each merge copies
+ * only the shorter run into a scratch buffer. When one run keeps winning,
+ * the merge switches to galloping: it finds how many elements to copy with an
+ * exponential and then binary search instead of comparing them one at a time.
+ *
+ * Already sorted and reverse sorted arrays are a single run and are sorted
+ * with n - 1 comparisons. Arrays made of a few sorted runs need O(n log r)
+ * comparisons for r runs, and the worst case is O(nlogn).
+ *
+ * The run structure of the most recent sort is reported by
+ * {@link #getLastStatistics()}.
+ *
+ * @author Ethan Treece
+ *
+ * @param <E> the type of elements to sort; elements must be {@link Comparable}
+ */
+public class TimSorter<E extends Comparable<E>> extends AbstractComparisonSorter<E> {
+
+    /**
+     * Arrays shorter than this are sorted with a single binary insertion sort,
+     * and longer arrays use a minimum run length between MIN_MERGE / 2 and
+     * MIN_MERGE
+     */
+    private static final int MIN_MERGE = 32;
+
+    /** The number of consecutive wins by one run before a merge gallops */
+    private static final int MIN_GALLOP = 7;
+
+    /** The initial size of the merge scratch buffer */
+    private static final int INITIAL_BUFFER_SIZE = 256;
+
+    /**
+     * The maximum number of pending runs. The stack invariants make run
+     * lengths grow at least as fast as the Fibonacci numbers, so 49 runs are
+     * enough for any array that fits in memory.
+     */
+    private static final int MAX_PENDING_RUNS = 49;
+
+    /** Statistics describing the most recent sort */
+    private Statistics lastStatistics;
+
+    /**
+     * Constructs a new TimSorter with a specified custom Comparator
+     *
+     * @param comparator a custom Comparator to use when sorting
+     */
+    public TimSorter(Comparator<E> comparator) {
+        super(comparator);
+    }
+
+    /**
+     * Constructs a new TimSorter with comparisons based on the element's natural
+     * ordering
+     */
+    public TimSorter() {
+        this(null);
+    }
+
+    @Override
+    public void sort(E[] e) {
+        int n = e.length;
+        if (n < 2) {
+            lastStatistics = new Statistics(n, n, 0);
+            return;
+        }
+        startPhase("sort");
+        try {
+            if (n < MIN_MERGE) {
+                int runLength = countRunAndMakeAscending(e, 0, n);
+                binaryInsertionSort(e, 0, n, runLength);
+                lastStatistics = new Statistics(n, 1, 0);
+                return;
+            }
+            MergeState state = new MergeState(e);
+            int minRun = minRunLength(n);
+            int low = 0;
+            int remaining = n;
+            int runs = 0;
+            while (remaining > 0) {
+                int runLength = countRunAndMakeAscending(e, low, low + remaining);
+                runs++;
+                if (runLength < minRun) {
+                    int forced = Math.min(remaining, minRun);
+                    binaryInsertionSort(e, low, low + forced, low + runLength);
+                    runLength = forced;
+                }
+                state.pushRun(low, runLength);
+                state.mergeCollapse();
+                low += runLength;
+                remaining -= runLength;
+            }
+            state.mergeForceCollapse();
+            lastStatistics = new Statistics(n, runs, state.merges);
+        } finally {
+            endPhase();
+        }
+    }
+
+    /**
+     * Returns statistics describing the most recent call to sort, or null if
+     * nothing has been sorted yet
+     *
+     * @return statistics describing the most recent sort
+     */
+    public Statistics getLastStatistics() {
+        return lastStatistics;
+    }
+
+    /**
+     * Returns the minimum run length for an array of n elements. The result is
+     * chosen so that n / minRun is equal to, or slightly less than, a power of
+     * two, which keeps the final merges balanced.
+     *
+     * @param n the number of elements, at least MIN_MERGE
+     * @return the minimum run length
+     */
+    private static int minRunLength(int n) {
+        int lowBits = 0;
+        while (n >= MIN_MERGE) {
+            lowBits |= n & 1;
+            n >>= 1;
+        }
+        return n + lowBits;
+    }
+
+    /**
+     * Returns the length of the run that begins at low. A run is either
+     * non-descending or strictly descending; a strictly descending run is
+     * reversed so that it is ascending. Requiring descending runs to be strict
+     * keeps the reversal stable.
+     *
+     * @param e    the array
+     * @param low  the first index of the run
+     * @param high the last index of the range that may hold the run (exclusive)
+     * @return the length of the run
+     */
+    private int countRunAndMakeAscending(E[] e, int low, int high) {
+        int runHigh = low + 1;
+        if (runHigh == high) {
+            return 1;
+        }
+        if (compare(e[runHigh++], e[low]) < 0) {
+            while (runHigh < high && compare(e[runHigh], e[runHigh - 1]) < 0) {
+                runHigh++;
+            }
+            reverse(e, low, runHigh);
+            moved(runHigh - low);
+        } else {
+            while (runHigh < high && compare(e[runHigh], e[runHigh - 1]) >= 0) {
+                runHigh++;
+            }
+        }
+        return runHigh - low;
+    }
+
+    /**
+     * Reverses the range [low, high)
+     *
+     * @param e    the array
+     * @param low  the first index of the range (inclusive)
+     * @param high the last index of the range (exclusive)
+     * @param <T>  the type of elements
+     */
+    private static <T> void reverse(T[] e, int low, int high) {
+        high--;
+        while (low < high) {
+            T temp = e[low];
+            e[low++] = e[high];
+            e[high--] = temp;
+        }
+    }
+
+    /**
+     * Sorts the range [low, high) with binary insertion sort, given that
+     * [low, start) is already sorted. Each element is placed after any equal
+     * elements so that the sort is stable.
+     *
+     * @param e     the array
+     * @param low   the first index of the range (inclusive)
+     * @param high  the last index of the range (exclusive)
+     * @param start the index of the first element that is not yet sorted
+     */
+    private void binaryInsertionSort(E[] e, int low, int high, int start) {
+        for (; start < high; start++) {
+            E pivot = e[start];
+            int left = low;
+            int right = start;
+            while (left < right) {
+                int mid = (left + right) >>> 1;
+                if (compare(pivot, e[mid]) < 0) {
+                    right = mid;
+                } else {
+                    left = mid + 1;
+                }
+            }
+            System.arraycopy(e, left, e, left + 1, start - left);
+            e[left] = pivot;
+            moved(start - left + 1);
+        }
+    }
+
+    /**
+     * Returns the position at which key would be inserted into the sorted
+     * range [base, base + length) before any equal elements. The search starts
+     * at base + hint and gallops outward, so it is fast when the answer is
+     * close to the hint.
+     *
+     * @param key    the element to place
+     * @param e      the array holding the sorted range
+     * @param base   the first index of the range
+     * @param length the length of the range, at least one
+     * @param hint   the offset at which to start searching
+     * @return the number of elements in the range that are less than key
+     */
+    private int gallopLeft(E key, E[] e, int base, int length, int hint) {
+        int lastOffset = 0;
+        int offset = 1;
+        if (compare(key, e[base + hint]) > 0) {
+            // Gallop right until e[base + hint + lastOffset] < key <= e[base + hint + offset]
+            int maxOffset = length - hint;
+            while (offset < maxOffset && compare(key, e[base + hint + offset]) > 0) {
+                lastOffset = offset;
+                offset = (offset << 1) + 1;
+                if (offset <= 0) {
+                    offset = maxOffset;
+                }
+            }
+            offset = Math.min(offset, maxOffset);
+            lastOffset += hint;
+            offset += hint;
+        } else {
+            // Gallop left until e[base + hint - offset] < key <= e[base + hint - lastOffset]
+            int maxOffset = hint + 1;
+            while (offset < maxOffset && compare(key, e[base + hint - offset]) <= 0) {
+                lastOffset = offset;
+                offset = (offset << 1) + 1;
+                if (offset <= 0) {
+                    offset = maxOffset;
+                }
+            }
+            offset = Math.min(offset, maxOffset);
+            int temp = lastOffset;
+            lastOffset = hint - offset;
+            offset = hint - temp;
+        }
+        // Binary search (lastOffset, offset]
+        lastOffset++;
+        while (lastOffset < offset) {
+            int mid = lastOffset + ((offset - lastOffset) >>> 1);
+            if (compare(key, e[base + mid]) > 0) {
+                lastOffset = mid + 1;
+            } else {
+                offset = mid;
+            }
+        }
+        return offset;
+    }
+
+    /**
+     * Returns the position at which key would be inserted into the sorted
+     * range [base, base + length) after any equal elements. Like
+     * {@link #gallopLeft}, the search gallops outward from base + hint.
+     *
+     * @param key    the element to place
+     * @param e      the array holding the sorted range
+     * @param base   the first index of the range
+     * @param length the length of the range, at least one
+     * @param hint   the offset at which to start searching
+     * @return the number of elements in the range that are less than or equal
+     *         to key
+     */
+    private int gallopRight(E key, E[] e, int base, int length, int hint) {
+        int lastOffset = 0;
+        int offset = 1;
+        if (compare(key, e[base + hint]) < 0) {
+            // Gallop left until e[base + hint - offset] <= key < e[base + hint - lastOffset]
+            int maxOffset = hint + 1;
+            while (offset < maxOffset && compare(key, e[base + hint - offset]) < 0) {
+                lastOffset = offset;
+                offset = (offset << 1) + 1;
+                if (offset <= 0) {
+                    offset = maxOffset;
+                }
+            }
+            offset = Math.min(offset, maxOffset);
+            int temp = lastOffset;
+            lastOffset = hint - offset;
+            offset = hint - temp;
+        } else {
+            // Gallop right until e[base + hint + lastOffset] <= key < e[base + hint + offset]
+            int maxOffset = length - hint;
+            while (offset < maxOffset && compare(key, e[base + hint + offset]) >= 0) {
+                lastOffset = offset;
+                offset = (offset << 1) + 1;
+                if (offset <= 0) {
+                    offset = maxOffset;
+                }
+            }
+            offset = Math.min(offset, maxOffset);
+            lastOffset += hint;
+            offset += hint;
+        }
+        // Binary search (lastOffset, offset]
+        lastOffset++;
+        while (lastOffset < offset) {
+            int mid = lastOffset + ((offset - lastOffset) >>> 1);
+            if (compare(key, e[base + mid]) < 0) {
+                offset = mid;
+            } else {
+                lastOffset = mid + 1;
+            }
+        }
+        return offset;
+    }
+
+    /**
+     * MergeState holds the stack of pending runs and the scratch buffer for a
+     * single call to sort, so that one TimSorter can be shared
+     *
+     * @author Ethan Treece
+     *
+     */
+    private class MergeState {
+
+        /** The array being sorted */
+        private E[] e;
+
+        /** Scratch space for the shorter run of a merge */
+        private E[] buffer;
+
+        /** Consecutive wins needed before gallop mode; adapts to the data */
+        private int minGallop;
+
+        /** The first index of each pending run */
+        private int[] runBase;
+
+        /** The length of each pending run */
+        private int[] runLength;
+
+        /** The number of pending runs */
+        private int stackSize;
+
+        /** The number of merges performed */
+        private int merges;
+
+        /**
+         * Constructs the MergeState for sorting the array
+         *
+         * @param e the array being sorted
+         */
+        MergeState(E[] e) {
+            this.e = e;
+            this.buffer = Arrays.copyOf(e, Math.min(e.length >>> 1, INITIAL_BUFFER_SIZE));
+            this.minGallop = MIN_GALLOP;
+            this.runBase = new int[MAX_PENDING_RUNS];
+            this.runLength = new int[MAX_PENDING_RUNS];
+            this.stackSize = 0;
+            this.merges = 0;
+        }
+
+        /**
+         * Pushes a run onto the stack of pending runs
+         *
+         * @param base   the first index of the run
+         * @param length the length of the run
+         */
+        void pushRun(int base, int length) {
+            runBase[stackSize] = base;
+            runLength[stackSize] = length;
+            stackSize++;
+            reachedDepth(stackSize);
+        }
+
+        /**
+         * Merges pending runs until, for the top runs X, Y, Z (Z on top), the
+         * invariants len(X) > len(Y) + len(Z) and len(Y) > len(Z) hold. The
+         * first invariant is also checked one level deeper, since merging can
+         * break it below the top three runs.
+         */
+        void mergeCollapse() {
+            while (stackSize > 1) {
+                int n = stackSize - 2;
+                if (n > 0 && runLength[n - 1] <= runLength[n] + runLength[n + 1]
+                        || n > 1 && runLength[n - 2] <= runLength[n] + runLength[n - 1]) {
+                    if (runLength[n - 1] < runLength[n + 1]) {
+                        n--;
+                    }
+                } else if (runLength[n] > runLength[n + 1]) {
+                    break;
+                }
+                mergeAt(n);
+            }
+        }
+
+        /**
+         * Merges all pending runs into one
+         */
+        void mergeForceCollapse() {
+            while (stackSize > 1) {
+                int n = stackSize - 2;
+                if (n > 0 && runLength[n - 1] < runLength[n + 1]) {
+                    n--;
+                }
+                mergeAt(n);
+            }
+        }
+
+        /**
+         * Merges the pending runs at stack indexes i and i + 1. Elements of the
+         * first run that are already in place, and elements of the second run
+         * that are already in place, are skipped before merging.
+         *
+         * @param i the stack index of the first run
+         */
+        private void mergeAt(int i) {
+            int base1 = runBase[i];
+            int length1 = runLength[i];
+            int base2 = runBase[i + 1];
+            int length2 = runLength[i + 1];
+            runLength[i] = length1 + length2;
+            if (i == stackSize - 3) {
+                runBase[i + 1] = runBase[i + 2];
+                runLength[i + 1] = runLength[i + 2];
+            }
+            stackSize--;
+            merges++;
+
+            int skipped = gallopRight(e[base2], e, base1, length1, 0);
+            base1 += skipped;
+            length1 -= skipped;
+            if (length1 == 0) {
+                return;
+            }
+            length2 = gallopLeft(e[base1 + length1 - 1], e, base2, length2, length2 - 1);
+            if (length2 == 0) {
+                return;
+            }
+            // The shorter run is copied out and both runs are written back
+            moved(length1 + length2 + Math.min(length1, length2));
+            if (length1 <= length2) {
+                mergeLow(base1, length1, base2, length2);
+            } else {
+                mergeHigh(base1, length1, base2, length2);
+            }
+        }
+
+        /**
+         * Merges two adjacent runs front to back, copying the first (shorter)
+         * run into the buffer. The first element of the second run must be
+         * less than the first element of the first run, and the last element
+         * of the first run must be greater than every element of the second.
+         *
+         * @param base1   the first index of the first run
+         * @param length1 the length of the first run
+         * @param base2   the first index of the second run
+         * @param length2 the length of the second run
+         */
+        private void mergeLow(int base1, int length1, int base2, int length2) {
+            E[] temp = ensureBuffer(length1);
+            System.arraycopy(e, base1, temp, 0, length1);
+            int cursor1 = 0;
+            int cursor2 = base2;
+            int dest = base1;
+
+            e[dest++] = e[cursor2++];
+            if (--length2 == 0) {
+                System.arraycopy(temp, cursor1, e, dest, length1);
+                return;
+            }
+            if (length1 == 1) {
+                System.arraycopy(e, cursor2, e, dest, length2);
+                e[dest + length2] = temp[cursor1];
+                return;
+            }
+
+            int gallop = minGallop;
+            outer:
+            while (true) {
+                int count1 = 0;
+                int count2 = 0;
+                // Compare one pair at a time until one run wins gallop times in a row
+                do {
+                    if (compare(e[cursor2], temp[cursor1]) < 0) {
+                        e[dest++] = e[cursor2++];
+                        count2++;
+                        count1 = 0;
+                        if (--length2 == 0) {
+                            break outer;
+                        }
+                    } else {
+                        e[dest++] = temp[cursor1++];
+                        count1++;
+                        count2 = 0;
+                        if (--length1 == 1) {
+                            break outer;
+                        }
+                    }
+                } while ((count1 | count2) < gallop);
+
+                // Gallop until neither run wins MIN_GALLOP elements at once
+                do {
+                    count1 = gallopRight(e[cursor2], temp, cursor1, length1, 0);
+                    if (count1 != 0) {
+                        System.arraycopy(temp, cursor1, e, dest, count1);
+                        dest += count1;
+                        cursor1 += count1;
+                        length1 -= count1;
+                        if (length1 <= 1) {
+                            break outer;
+                        }
+                    }
+                    e[dest++] = e[cursor2++];
+                    if (--length2 == 0) {
+                        break outer;
+                    }
+                    count2 = gallopLeft(temp[cursor1], e, cursor2, length2, 0);
+                    if (count2 != 0) {
+                        System.arraycopy(e, cursor2, e, dest, count2);
+                        dest += count2;
+                        cursor2 += count2;
+                        length2 -= count2;
+                        if (length2 == 0) {
+                            break outer;
+                        }
+                    }
+                    e[dest++] = temp[cursor1++];
+                    if (--length1 == 1) {
+                        break outer;
+                    }
+                    gallop--;
+                } while (count1 >= MIN_GALLOP || count2 >= MIN_GALLOP);
+                // Make it harder to enter gallop mode again after leaving it
+                gallop = Math.max(gallop, 0) + 2;
+            }
+            minGallop = Math.max(gallop, 1);
+
+            if (length1 == 1) {
+                System.arraycopy(e, cursor2, e, dest, length2);
+                e[dest + length2] = temp[cursor1];
+            } else if (length1 == 0) {
+                throw new IllegalArgumentException("Comparator violates its general contract.");
+            } else {
+                System.arraycopy(temp, cursor1, e, dest, length1);
+            }
+        }
+
+        /**
+         * Merges two adjacent runs back to front, copying the second (shorter)
+         * run into the buffer. The same preconditions as
+         * {@link #mergeLow(int, int, int, int)} apply.
+         *
+         * @param base1   the first index of the first run
+         * @param length1 the length of the first run
+         * @param base2   the first index of the second run
+         * @param length2 the length of the second run
+         */
+        private void mergeHigh(int base1, int length1, int base2, int length2) {
+            E[] temp = ensureBuffer(length2);
+            System.arraycopy(e, base2, temp, 0, length2);
+            int cursor1 = base1 + length1 - 1;
+            int cursor2 = length2 - 1;
+            int dest = base2 + length2 - 1;
+
+            e[dest--] = e[cursor1--];
+            if (--length1 == 0) {
+                System.arraycopy(temp, 0, e, dest - (length2 - 1), length2);
+                return;
+            }
+            if (length2 == 1) {
+                dest -= length1;
+                cursor1 -= length1;
+                System.arraycopy(e, cursor1 + 1, e, dest + 1, length1);
+                e[dest] = temp[cursor2];
+                return;
+            }
+
+            int gallop = minGallop;
+            outer:
+            while (true) {
+                int count1 = 0;
+                int count2 = 0;
+                do {
+                    if (compare(temp[cursor2], e[cursor1]) < 0) {
+                        e[dest--] = e[cursor1--];
+                        count1++;
+                        count2 = 0;
+                        if (--length1 == 0) {
+                            break outer;
+                        }
+                    } else {
+                        e[dest--] = temp[cursor2--];
+                        count2++;
+                        count1 = 0;
+                        if (--length2 == 1) {
+                            break outer;
+                        }
+                    }
+                } while ((count1 | count2) < gallop);
+
+                do {
+                    count1 = length1 - gallopRight(temp[cursor2], e, base1, length1, length1 - 1);
+                    if (count1 != 0) {
+                        dest -= count1;
+                        cursor1 -= count1;
+                        length1 -= count1;
+                        System.arraycopy(e, cursor1 + 1, e, dest + 1, count1);
+                        if (length1 == 0) {
+                            break outer;
+                        }
+                    }
+                    e[dest--] = temp[cursor2--];
+                    if (--length2 == 1) {
+                        break outer;
+                    }
+                    count2 = length2 - gallopLeft(e[cursor1], temp, 0, length2, length2 - 1);
+                    if (count2 != 0) {
+                        dest -= count2;
+                        cursor2 -= count2;
+                        length2 -= count2;
+                        System.arraycopy(temp, cursor2 + 1, e, dest + 1, count2);
+                        if (length2 <= 1) {
+                            break outer;
+                        }
+                    }
+                    e[dest--] = e[cursor1--];
+                    if (--length1 == 0) {
+                        break outer;
+                    }
+                    gallop--;
+                } while (count1 >= MIN_GALLOP || count2 >= MIN_GALLOP);
+                gallop = Math.max(gallop, 0) + 2;
+            }
+            minGallop = Math.max(gallop, 1);
+
+            if (length2 == 1) {
+                dest -= length1;
+                cursor1 -= length1;
+                System.arraycopy(e, cursor1 + 1, e, dest + 1, length1);
+                e[dest] = temp[cursor2];
+            } else if (length2 == 0) {
+                throw new IllegalArgumentException("Comparator violates its general contract.");
+            } else {
+                System.arraycopy(temp, 0, e, dest - (length2 - 1), length2);
+            }
+        }
+
+        /**
+         * Returns a scratch buffer that holds at least the given number of
+         * elements, doubling its size when it must grow
+         *
+         * @param capacity the number of elements needed
+         * @return the scratch buffer
+         */
+        private E[] ensureBuffer(int capacity) {
+            if (buffer.length < capacity) {
+                int size = Math.max(capacity, Math.min(buffer.length * 2, e.length >>> 1));
+                buffer = Arrays.copyOf(buffer, size);
+            }
+            return buffer;
+        }
+    }
+
+    /**
+     * Statistics describes the run structure found by a single sort
+     *
+     * @author Ethan Treece
+     *
+     */
+    public static class Statistics {
+
+        /** The number of elements sorted */
+        private int size;
+
+        /** The number of runs found */
+        private int runs;
+
+        /** The number of merges performed */
+        private int merges;
+
+        /**
+         * Constructs the Statistics
+         *
+         * @param size   the number of elements sorted
+         * @param runs   the number of runs found
+         * @param merges the number of merges performed
+         */
+        public Statistics(int size, int runs, int merges) {
+            this.size = size;
+            this.runs = runs;
+            this.merges = merges;
+        }
+
+        /**
+         * Returns the number of elements sorted
+         *
+         * @return the number of elements sorted
+         */
+        public int getSize() {
+            return size;
+        }
+
+        /**
+         * Returns the number of runs found by the scan. Runs shorter than the
+         * minimum run length are extended before the scan continues, so
+         * unordered input reports about one run per minimum run length.
+         *
+         * @return the number of runs
+         */
+        public int getRuns() {
+            return runs;
+        }
+
+        /**
+         * Returns the number of merges performed
+         *
+         * @return the number of merges
+         */
+        public int getMerges() {
+            return merges;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package edu.ncsu.csc316.dsa.data;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Tests the StudentSortKey class
+ * @author Ethan Treece
+ *
+ */
+public class StudentSortKeyTest {
+
+    /**
+     * Tests that keys order names by last name, then first name, then unity id
+     */
+    @Test
+    public void testPack() {
+        assertTrue(StudentSortKey.pack("Ab", "Z", "z") < StudentSortKey.pack("Abc", "A", "a"));
+        assertTrue(StudentSortKey.pack("Ab", "A", "z") < StudentSortKey.pack("Ab", "B", "a"));
+        assertTrue(StudentSortKey.pack("Ab", "A", "a") < StudentSortKey.pack("Ab", "A", "b"));
+        assertTrue(StudentSortKey.pack("", "", "") < StudentSortKey.pack("", "", "a"));
+        assertEquals(StudentSortKey.pack("", "", ""), StudentSortKey.pack(null, null, null));
+        assertTrue(StudentSortKey.pack("", "", "") >= 0);
+        assertTrue(StudentSortKey.pack("\uffff\uffff", "", "") >= 0);
+
+        // Only a prefix is packed, so long names that share it tie
+        assertEquals(StudentSortKey.pack("Abernathy", "Al", "a"), StudentSortKey.pack("Abernathz", "Al", "a"));
+        // Characters too large to pack tie instead of being misordered
+        assertEquals(StudentSortKey.pack("A\u4e2db", "", ""), StudentSortKey.pack("A\u4e2ca", "", ""));
+        assertTrue(StudentSortKey.pack("A\u01fd", "", "") < StudentSortKey.pack("A\u01fe", "", ""));
+        assertTrue(StudentSortKey.pack("A\u00ebz", "", "") < StudentSortKey.pack("A\u4e2d", "", ""));
+
+        Student s = new Student("First", "Last", 1, 1, 1.0, "unity");
+        assertEquals(StudentSortKey.pack("Last", "First", "unity"), StudentSortKey.of(s));
+        assertEquals(s.getSortKey(), StudentSortKey.SORT_KEY.applyAsLong(s));
+    }
+
+    /**
+     * Tests that whenever two keys differ they agree with comparing the
+     * Strings, on random names drawn from a small alphabet that includes
+     * characters too large to pack
+     */
+    @Test
+    public void testConsistentWithCompareTo() {
+        char[] alphabet = { 'a', 'b', 'B', '-', '\u00eb', '\u01fd', '\u01fe', '\u4e2d', '\u4e2e' };
+        Random random = new Random(316);
+        String[][] names = new String[2000][3];
+        for (String[] name : names) {
+            for (int part = 0; part < 3; part++) {
+                char[] chars = new char[random.nextInt(4)];
+                for (int i = 0; i < chars.length; i++) {
+                    chars[i] = alphabet[random.nextInt(alphabet.length)];
+                }
+                name[part] = new String(chars);
+            }
+        }
+        int differing = 0;
+        for (int i = 0; i + 1 < names.length; i++) {
+            String[] one = names[i];
+            String[] two = names[i + 1];
+            long oneKey = StudentSortKey.pack(one[0], one[1], one[2]);
+            long twoKey = StudentSortKey.pack(two[0], two[1], two[2]);
+            int expected = one[0].compareTo(two[0]);
+            if (expected == 0) {
+                expected = one[1].compareTo(two[1]);
+            }
+            if (expected == 0) {
+                expected = one[2].compareTo(two[2]);
+            }
+            if (expected == 0) {
+                assertEquals(oneKey, twoKey);
+            } else if (oneKey != twoKey) {
+                differing++;
+                assertEquals(Integer.signum(expected), Long.signum(oneKey - twoKey));
+            }
+            Student a = new Student(one[1], one[0], 1, 1, 1.0, one[2]);
+            Student b = new Student(two[1], two[0], 2, 1, 1.0, two[2]);
+            assertEquals(Integer.signum(expected), Integer.signum(a.compareTo(b)));
+        }
+        assertTrue(differing > names.length / 2);
+    }
+}
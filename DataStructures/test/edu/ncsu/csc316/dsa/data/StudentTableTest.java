@@ -0,0 +1,229 @@
+package edu.ncsu.csc316.dsa.data;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the StudentTable class
+ * @author Ethan Treece
+ *
+ */
+public class StudentTableTest {
+
+    /** Student one */
+    private Student sOne;
+
+    /** Student two */
+    private Student sTwo;
+
+    /** Student three */
+    private Student sThree;
+
+    /** Student four */
+    private Student sFour;
+
+    /** Student five */
+    private Student sFive;
+
+    /** A table of the five students */
+    private StudentTable table;
+
+    /**
+     * Sets up tests
+     */
+    @Before
+    public void setUp() {
+        sOne = new Student("OneFirst", "OneLast", 1, 15, 3.5, "oneUnityID");
+        sTwo = new Student("TwoFirst", "TwoLast", 2, 12, 2.0, "twoUnityID");
+        sThree = new Student("ThreeFirst", "ThreeLast", 30, 18, 4.0, "threeUnityID");
+        sFour = new Student("FourFirst", "FourLast", 4, 9, 2.0, "fourUnityID");
+        sFive = new Student("FiveFirst", "OneLast", -5, 12, 0.0, "fiveUnityID");
+        table = new StudentTable(new Student[] { sOne, sTwo, sThree, sFour, sFive });
+    }
+
+    /**
+     * Tests adding rows and reading them back as columns, views, and copies
+     */
+    @Test
+    public void testAddAndGet() {
+        StudentTable empty = new StudentTable(0);
+        assertEquals(0, empty.size());
+        for (int i = 0; i < 40; i++) {
+            empty.add(sOne);
+        }
+        assertEquals(40, empty.size());
+        assertSame(empty.getFirst(0), empty.getFirst(39));
+
+        assertEquals(5, table.size());
+        assertEquals(30, table.getId(2));
+        assertEquals(18, table.getCreditHours(2));
+        assertEquals(4.0, table.getGpa(2), 0);
+        assertEquals("ThreeFirst", table.getFirst(2));
+        assertEquals("ThreeLast", table.getLast(2));
+        assertEquals("threeUnityID", table.getUnityID(2));
+        assertSame(table.getLast(0), table.getLast(4));
+
+        Student view = table.get(2);
+        assertEquals(sThree, view);
+        assertEquals(sThree.hashCode(), view.hashCode());
+        assertEquals(sThree.toString(), view.toString());
+        assertEquals(0, view.compareTo(sThree));
+        assertTrue(view.compareTo(sOne) > 0);
+
+        Student[] copies = table.toArray();
+        assertEquals(5, copies.length);
+        assertEquals(sFive, copies[4]);
+        assertSame(Student.class, copies[4].getClass());
+
+        try {
+            table.get(5);
+            fail();
+        } catch (IndexOutOfBoundsException e) {
+            assertEquals("Invalid row: 5", e.getMessage());
+        }
+        try {
+            table.getId(-1);
+            fail();
+        } catch (IndexOutOfBoundsException e) {
+            assertEquals("Invalid row: -1", e.getMessage());
+        }
+    }
+
+    /**
+     * Tests that views read and write the table's columns
+     */
+    @Test
+    public void testViews() {
+        Student view = table.get(1);
+        view.setFirst("NewFirst");
+        view.setLast("OneLast");
+        view.setId(22);
+        view.setCreditHours(3);
+        view.setGpa(3.3);
+        view.setUnityID("newUnityID");
+        assertEquals("NewFirst", table.getFirst(1));
+        assertSame(table.getLast(0), table.getLast(1));
+        assertEquals(22, table.getId(1));
+        assertEquals(3, table.getCreditHours(1));
+        assertEquals(3.3, table.getGpa(1), 0);
+        assertEquals("newUnityID", table.getUnityID(1));
+
+        Student[] views = table.views();
+        assertEquals(5, views.length);
+        assertEquals(22, views[1].getId());
+    }
+
+    /**
+     * Tests sorting by each column and by comparator
+     */
+    @Test
+    public void testSort() {
+        table.sortById();
+        assertEquals(-5, table.getId(0));
+        assertEquals(1, table.getId(1));
+        assertEquals(2, table.getId(2));
+        assertEquals(4, table.getId(3));
+        assertEquals(30, table.getId(4));
+        assertEquals("FourFirst", table.getFirst(3));
+        assertEquals(9, table.getCreditHours(3));
+
+        // Descending, with ties in their current order
+        table.sortByGpa();
+        assertEquals("ThreeFirst", table.getFirst(0));
+        assertEquals("OneFirst", table.getFirst(1));
+        assertEquals("TwoFirst", table.getFirst(2));
+        assertEquals("FourFirst", table.getFirst(3));
+        assertEquals("FiveFirst", table.getFirst(4));
+
+        table.sortByCreditHours();
+        assertEquals("FourFirst", table.getFirst(0));
+        assertEquals("TwoFirst", table.getFirst(1));
+        assertEquals("FiveFirst", table.getFirst(2));
+        assertEquals("OneFirst", table.getFirst(3));
+        assertEquals("ThreeFirst", table.getFirst(4));
+
+        table.sort(null);
+        assertEquals("FourFirst", table.getFirst(0));
+        assertEquals("FiveFirst", table.getFirst(1));
+        assertEquals("OneFirst", table.getFirst(2));
+        assertEquals("ThreeFirst", table.getFirst(3));
+        assertEquals("TwoFirst", table.getFirst(4));
+
+        table.sort(new StudentIDComparator());
+        assertEquals(-5, table.getId(0));
+        assertEquals(30, table.getId(4));
+        assertEquals("threeUnityID", table.getUnityID(4));
+    }
+
+    /**
+     * Tests filters and aggregates
+     */
+    @Test
+    public void testFilterAndAggregate() {
+        StudentTable honors = table.filterByGpa(3.0, 4.0);
+        assertEquals(2, honors.size());
+        assertEquals("OneFirst", honors.getFirst(0));
+        assertEquals("ThreeFirst", honors.getFirst(1));
+
+        StudentTable fullTime = table.filterByCreditHours(12, 100);
+        assertEquals(4, fullTime.size());
+        assertEquals(-5, fullTime.getId(3));
+
+        StudentTable oneLast = table.filter(s -> s.getLast().equals("OneLast"));
+        assertEquals(2, oneLast.size());
+        assertEquals("FiveFirst", oneLast.getFirst(1));
+
+        // Adding to a filtered table does not change the original's dictionary
+        oneLast.add(new Student("Brand", "New", 6, 6, 1.0, "brandnew"));
+        assertEquals("Brand", oneLast.getFirst(2));
+        table.add(new Student("Other", "Name", 7, 7, 1.0, "other"));
+        assertEquals("Other", table.getFirst(5));
+        assertEquals("Brand", oneLast.getFirst(2));
+        assertEquals("FiveFirst", oneLast.getFirst(1));
+
+        assertEquals(0.0, table.minGpa(), 0);
+        assertEquals(4.0, table.maxGpa(), 0);
+        assertEquals(12.5 / 6, table.averageGpa(), 1e-12);
+        int[] histogram = table.creditHourHistogram();
+        assertEquals(19, histogram.length);
+        assertEquals(1, histogram[7]);
+        assertEquals(1, histogram[9]);
+        assertEquals(2, histogram[12]);
+        assertEquals(1, histogram[15]);
+        assertEquals(1, histogram[18]);
+        assertEquals(0, histogram[0]);
+
+        StudentTable empty = new StudentTable();
+        assertTrue(Double.isNaN(empty.minGpa()));
+        assertTrue(Double.isNaN(empty.maxGpa()));
+        assertTrue(Double.isNaN(empty.averageGpa()));
+        assertEquals(0, empty.creditHourHistogram().length);
+    }
+
+    /**
+     * Tests constructing a table from columns
+     */
+    @Test
+    public void testColumns() {
+        String[] dictionary = { "A", "B", "a" };
+        StudentTable columns = new StudentTable(new int[] { 1, 2 }, new int[] { 3, 4 }, new double[] { 1.5, 2.5 },
+                new int[] { 0, 1 }, new int[] { 1, 0 }, new int[] { 2, 2 }, dictionary);
+        assertEquals(2, columns.size());
+        assertEquals("B", columns.getFirst(1));
+        assertEquals("A", columns.getLast(1));
+        columns.add(new Student("C", "A", 5, 6, 3.5, "c"));
+        assertEquals("C", columns.getFirst(2));
+        assertSame(columns.getLast(1), columns.getLast(2));
+        assertEquals("A", dictionary[0]);
+        assertEquals(3, dictionary.length);
+
+        try {
+            new StudentTable(new int[1], new int[2], new double[1], new int[1], new int[1], new int[1], dictionary);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("Columns must have the same length.", e.getMessage());
+        }
+    }
+}
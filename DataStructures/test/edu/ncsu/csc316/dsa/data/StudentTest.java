@@ -108,6 +108,33 @@ public class StudentTest {
 		assertTrue(sTwo.compareTo(sTwo) == 0);
 		assertTrue(sOne.compareTo(sOneDifferentFirst) < 0);
 		assertTrue(sOne.compareTo(sOneDifferentID) < 0);
+		
+		// Names that tie within the packed prefix fall back to the Strings
+		Student a = new Student("Al", "Abernathy", 6, 1, 1.0, "aa1");
+		Student b = new Student("Al", "Abernathz", 7, 1, 1.0, "aa2");
+		assertEquals(a.getSortKey(), b.getSortKey());
+		assertTrue(a.compareTo(b) < 0);
+		assertTrue(b.compareTo(a) > 0);
+	}
+	
+	/**
+	 * Tests Student.getSortKey()
+	 */
+	@Test
+	public void testGetSortKey() {
+		long key = sOne.getSortKey();
+		assertEquals(StudentSortKey.of(sOne), key);
+		assertTrue(key < sTwo.getSortKey());
+		
+		sOne.setLast("ZLast");
+		assertTrue(sOne.getSortKey() > sTwo.getSortKey());
+		assertTrue(sOne.compareTo(sTwo) > 0);
+		sOne.setLast("OneLast");
+		assertEquals(key, sOne.getSortKey());
+		sOne.setFirst("A");
+		assertEquals(StudentSortKey.of(sOne), sOne.getSortKey());
+		sOne.setUnityID("b");
+		assertEquals(StudentSortKey.pack("OneLast", "A", "b"), sOne.getSortKey());
 	}
 	
 	/**
@@ -129,6 +156,18 @@ public class StudentTest {
 		assertFalse(sThree.equals(sFour));
 	}
 	
+	/**
+	 * Tests that Student.hashCode() is consistent with Student.equals()
+	 */
+	@Test
+	public void testHashCode() {
+		assertEquals(sThree.hashCode(), sThreeEquals.hashCode());
+		Student sThreeChanged = new Student("ThreeFirst", "ThreeLast", 3, 12, 3.9, "otherUnityID");
+		assertTrue(sThree.equals(sThreeChanged));
+		assertEquals(sThree.hashCode(), sThreeChanged.hashCode());
+		assertFalse(sOne.hashCode() == sTwo.hashCode());
+	}
+	
 	/**
 	 * Tests Student.toString()
 	 */
@@ -0,0 +1,152 @@
+package edu.ncsu.csc316.dsa.io;
+
+import static org.junit.Assert.*;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.ncsu.csc316.dsa.data.Identifiable;
+import edu.ncsu.csc316.dsa.data.Student;
+import edu.ncsu.csc316.dsa.sorter.RadixSorter;
+
+/**
+ * Tests the BinaryRosterReader class
+ * @author Ethan Treece
+ *
+ */
+public class BinaryRosterReaderTest {
+
+    /** The binary roster file */
+    private File file;
+
+    /**
+     * Sets up tests
+     *
+     * @throws IOException if the binary roster file cannot be created
+     */
+    @Before
+    public void setUp() throws IOException {
+        file = File.createTempFile("roster", ".bin");
+        file.deleteOnExit();
+    }
+
+    /**
+     * Tests that a roster survives a round trip through the binary format
+     */
+    @Test
+    public void testReadRoster() {
+        Student[] expected = StudentReader.readInputAsArray("input/student_randomOrder.csv");
+        BinaryRosterWriter.writeRoster(expected, file.getPath());
+        assertTrue(BinaryRosterReader.isBinaryRoster(file.getPath()));
+        assertFalse(BinaryRosterReader.isBinaryRoster("input/student_randomOrder.csv"));
+
+        Student[] actual = BinaryRosterReader.readRoster(file.getPath());
+        assertEquals(expected.length, actual.length);
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i].getFirst(), actual[i].getFirst());
+            assertEquals(expected[i].getLast(), actual[i].getLast());
+            assertEquals(expected[i].getUnityID(), actual[i].getUnityID());
+            assertEquals(expected[i].getId(), actual[i].getId());
+            assertEquals(expected[i].getGpa(), actual[i].getGpa(), 0);
+            assertEquals(expected[i].getCreditHours(), actual[i].getCreditHours());
+        }
+    }
+
+    /**
+     * Tests that repeated Strings share one instance and non-ASCII names are
+     * preserved
+     */
+    @Test
+    public void testDictionary() {
+        Student[] roster = { new Student("Ren\u00e9e", "Smith", -4, 12, 3.25, "rsmith"),
+            new Student("Smith", "Smith", 9, 0, 4.0, "ssmith"), new Student("Ren\u00e9e", "Jones", 3, 15, 0.5, "") };
+        BinaryRosterWriter.writeRoster(roster, file.getPath());
+        Student[] actual = BinaryRosterReader.readRoster(file.getPath());
+        assertEquals("Ren\u00e9e", actual[0].getFirst());
+        assertSame(actual[0].getFirst(), actual[2].getFirst());
+        assertSame(actual[0].getLast(), actual[1].getFirst());
+        assertSame(actual[0].getLast(), actual[1].getLast());
+        assertEquals("", actual[2].getUnityID());
+        assertEquals(-4, actual[0].getId());
+        assertEquals(0.5, actual[2].getGpa(), 0);
+
+        BinaryRosterWriter.writeRoster(new Student[0], file.getPath());
+        assertEquals(0, BinaryRosterReader.readRoster(file.getPath()).length);
+        assertEquals(0, BinaryRosterReader.readIds(file.getPath()).length);
+    }
+
+    /**
+     * Tests loading only the id column
+     */
+    @Test
+    public void testReadIds() {
+        BinaryRosterWriter.convert("input/student_randomOrder.csv", file.getPath());
+        Student[] roster = StudentReader.readInputAsArray("input/student_randomOrder.csv");
+        int[] ids = BinaryRosterReader.readIds(file.getPath());
+        assertEquals(roster.length, ids.length);
+        for (int i = 0; i < ids.length; i++) {
+            assertEquals(roster[i].getId(), ids[i]);
+        }
+
+        Identifiable[] identifiers = BinaryRosterReader.readIdentifiers(file.getPath());
+        new RadixSorter<Identifiable>().sort(identifiers);
+        Arrays.sort(ids);
+        for (int i = 0; i < identifiers.length; i++) {
+            assertEquals(ids[i], identifiers[i].getId());
+        }
+    }
+
+    /**
+     * Tests missing, foreign, unsupported, and truncated files
+     *
+     * @throws IOException if the test files cannot be written
+     */
+    @Test
+    public void testInvalid() throws IOException {
+        try {
+            BinaryRosterReader.readRoster("input/missing.bin");
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().startsWith("File not found: "));
+        }
+        try {
+            BinaryRosterReader.readIds("input/student_randomOrder.csv");
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("Not a binary roster file: input/student_randomOrder.csv", e.getMessage());
+        }
+
+        try (DataOutputStream out = new DataOutputStream(new FileOutputStream(file))) {
+            out.writeInt(BinaryRosterWriter.MAGIC);
+            out.writeInt(BinaryRosterWriter.VERSION + 1);
+            out.writeInt(0);
+            out.writeInt(0);
+        }
+        try {
+            BinaryRosterReader.readRoster(file.getPath());
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("Unsupported binary roster version: 2", e.getMessage());
+        }
+
+        try (DataOutputStream out = new DataOutputStream(new FileOutputStream(file))) {
+            out.writeInt(BinaryRosterWriter.MAGIC);
+            out.writeInt(BinaryRosterWriter.VERSION);
+            out.writeInt(10);
+            out.writeInt(1);
+            out.writeInt(7);
+        }
+        try {
+            BinaryRosterReader.readRoster(file.getPath());
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("Corrupt binary roster file: " + file.getPath(), e.getMessage());
+        }
+    }
+}
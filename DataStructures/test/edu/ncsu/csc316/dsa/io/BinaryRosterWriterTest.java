@@ -0,0 +1,61 @@
+package edu.ncsu.csc316.dsa.io;
+
+import static org.junit.Assert.*;
+
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+
+import org.junit.Test;
+
+import edu.ncsu.csc316.dsa.data.Student;
+
+/**
+ * Tests the BinaryRosterWriter class
+ * @author Ethan Treece
+ *
+ */
+public class BinaryRosterWriterTest {
+
+    /**
+     * Tests the layout of a written binary roster file
+     *
+     * @throws IOException if the binary roster file cannot be read
+     */
+    @Test
+    public void testWriteRoster() throws IOException {
+        File file = File.createTempFile("roster", ".bin");
+        file.deleteOnExit();
+        Student[] roster = { new Student("Amber", "Michael", 1, 10, 1.1, "michaea"),
+            new Student("Amber", "Mott", 4, 18, 2.94, "mottl") };
+        BinaryRosterWriter.writeRoster(roster, file.getPath());
+
+        try (DataInputStream in = new DataInputStream(new FileInputStream(file))) {
+            assertEquals(BinaryRosterWriter.MAGIC, in.readInt());
+            assertEquals(BinaryRosterWriter.VERSION, in.readInt());
+            assertEquals(2, in.readInt());
+            // Amber, Michael, michaea, Mott, mottl
+            assertEquals(5, in.readInt());
+            assertEquals(1, in.readInt());
+            assertEquals(4, in.readInt());
+            assertEquals(10, in.readInt());
+            assertEquals(18, in.readInt());
+            assertEquals(1.1, in.readDouble(), 0);
+            assertEquals(2.94, in.readDouble(), 0);
+            assertEquals(0, in.readInt());
+            assertEquals(0, in.readInt());
+            assertEquals(1, in.readInt());
+            assertEquals(3, in.readInt());
+            assertEquals(2, in.readInt());
+            assertEquals(4, in.readInt());
+            String[] dictionary = { "Amber", "Michael", "michaea", "Mott", "mottl" };
+            for (String s : dictionary) {
+                byte[] bytes = new byte[in.readInt()];
+                in.readFully(bytes);
+                assertEquals(s, new String(bytes, "UTF-8"));
+            }
+            assertEquals(-1, in.read());
+        }
+    }
+}
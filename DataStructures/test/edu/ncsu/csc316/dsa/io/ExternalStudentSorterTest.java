@@ -0,0 +1,106 @@
+package edu.ncsu.csc316.dsa.io;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.ncsu.csc316.dsa.data.Student;
+import edu.ncsu.csc316.dsa.data.StudentIDComparator;
+import edu.ncsu.csc316.dsa.sorter.MergeSorter;
+
+/**
+ * Tests the ExternalStudentSorter class
+ * @author Ethan Treece
+ *
+ */
+public class ExternalStudentSorterTest {
+
+    /** The output file */
+    private File output;
+
+    /**
+     * Sets up tests
+     *
+     * @throws IOException if the output file cannot be created
+     */
+    @Before
+    public void setUp() throws IOException {
+        output = File.createTempFile("sorted", ".csv");
+        output.deleteOnExit();
+    }
+
+    /**
+     * Tests sorting with a budget small enough to need several runs and merge
+     * passes
+     */
+    @Test
+    public void testSortManyRuns() {
+        StudentIDComparator c = new StudentIDComparator();
+        ExternalStudentSorter sorter = new ExternalStudentSorter(new MergeSorter<Student>(c), c, 1000, 2);
+        sorter.sort("input/student_randomOrder.csv", output.getPath());
+
+        Student[] expected = StudentReader.readInputAsArray("input/student_randomOrder.csv");
+        new MergeSorter<Student>(c).sort(expected);
+        Student[] actual = StudentReader.readInputAsArray(output.getPath());
+        assertEquals(expected.length, actual.length);
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], actual[i]);
+            assertEquals(expected[i].getGpa(), actual[i].getGpa(), 0);
+            assertEquals(expected[i].getCreditHours(), actual[i].getCreditHours());
+            assertEquals(expected[i].getUnityID(), actual[i].getUnityID());
+        }
+
+        ExternalStudentSorter.Statistics stats = sorter.getLastStatistics();
+        assertEquals(16, stats.getRecords());
+        assertTrue(stats.getRuns() > 2);
+        assertTrue(stats.getMergePasses() > 1);
+        assertTrue(stats.getBytesSpilled() > 0);
+        assertTrue(stats.getMergeThroughput() > 0);
+    }
+
+    /**
+     * Tests sorting an input that fits in a single run
+     */
+    @Test
+    public void testSortSingleRun() {
+        ExternalStudentSorter sorter = new ExternalStudentSorter(new MergeSorter<Student>(), null);
+        assertNull(sorter.getLastStatistics());
+        sorter.sort("input/student_ascendingID.csv", output.getPath());
+
+        Student[] actual = StudentReader.readInputAsArray(output.getPath());
+        assertEquals(16, actual.length);
+        assertEquals("Tanner", actual[0].getFirst());
+        assertEquals("Nichole", actual[15].getFirst());
+        assertEquals(1, sorter.getLastStatistics().getRuns());
+        assertEquals(0, sorter.getLastStatistics().getBytesSpilled());
+    }
+
+    /**
+     * Tests invalid configuration and missing input files
+     */
+    @Test
+    public void testInvalid() {
+        try {
+            new ExternalStudentSorter(new MergeSorter<Student>(), null, 0, 2);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("Memory budget must be positive.", e.getMessage());
+        }
+        try {
+            new ExternalStudentSorter(new MergeSorter<Student>(), null, 10, 1);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("Fan-in must be at least 2.", e.getMessage());
+        }
+        try {
+            new ExternalStudentSorter(new MergeSorter<Student>(), null).sort("input/missing.csv", output.getPath());
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().startsWith("File not found: "));
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package edu.ncsu.csc316.dsa.io;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.NoSuchElementException;
+
+import org.junit.Test;
+
+import edu.ncsu.csc316.dsa.data.Student;
+
+/**
+ * Tests the MappedStudentReader class
+ * @author Ethan Treece
+ *
+ */
+public class MappedStudentReaderTest {
+
+    /**
+     * Asserts that every field of the two arrays of Students match
+     *
+     * @param expected the expected Students
+     * @param actual   the actual Students
+     */
+    private static void assertSameStudents(Student[] expected, Student[] actual) {
+        assertEquals(expected.length, actual.length);
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i].getFirst(), actual[i].getFirst());
+            assertEquals(expected[i].getLast(), actual[i].getLast());
+            assertEquals(expected[i].getUnityID(), actual[i].getUnityID());
+            assertEquals(expected[i].getId(), actual[i].getId());
+            assertEquals(expected[i].getGpa(), actual[i].getGpa(), 0);
+            assertEquals(expected[i].getCreditHours(), actual[i].getCreditHours());
+        }
+    }
+
+    /**
+     * Tests that the mapped reader produces the same Students as the Scanner
+     * based reader
+     */
+    @Test
+    public void testReadFile() {
+        String[] files = { "input/student_ascendingID.csv", "input/student_descendingID.csv",
+            "input/student_randomOrder.csv" };
+        for (String file : files) {
+            assertEquals(16, MappedStudentReader.countRecords(file));
+            assertSameStudents(StudentReader.readInputAsArray(file), StudentReader.readInputAsArrayMapped(file));
+        }
+    }
+
+    /**
+     * Tests reading through a window small enough that it must be remapped
+     */
+    @Test
+    public void testSmallWindow() {
+        Student[] expected = StudentReader.readInputAsArray("input/student_randomOrder.csv");
+        Student[] actual = new Student[expected.length];
+        int index = 0;
+        try (MappedStudentReader reader = new MappedStudentReader("input/student_randomOrder.csv", 64)) {
+            while (reader.hasNext()) {
+                actual[index++] = reader.next();
+            }
+            try {
+                reader.next();
+                fail();
+            } catch (NoSuchElementException e) {
+                assertFalse(reader.hasNext());
+            }
+        }
+        assertSameStudents(expected, actual);
+
+        try (MappedStudentReader reader = new MappedStudentReader("input/student_randomOrder.csv", 8)) {
+            reader.hasNext();
+            fail();
+        } catch (IllegalStateException e) {
+            assertTrue(e.getMessage().startsWith("Line is longer than the mapping window"));
+        }
+    }
+
+    /**
+     * Tests blank lines, carriage returns, a missing final newline, and
+     * repeated names
+     *
+     * @throws IOException if the temporary file cannot be written
+     */
+    @Test
+    public void testFormatting() throws IOException {
+        File file = File.createTempFile("students", ".csv");
+        file.deleteOnExit();
+        try (PrintWriter out = new PrintWriter(file, "UTF8")) {
+            out.print("FIRST_NAME,LAST_NAME,UNITY_ID,STUDENT_ID,GPA,CREDIT_HOURS\r\n");
+            out.print("Amber,Michael,michaea,1,1.1,10\r\n");
+            out.print("\r\n");
+            out.print("Amber,Michael,michaea2,-2,3.75,12\n\n");
+            out.print("Zo\u00eb,Michael,michaez,123456789012,4,0");
+        }
+        try {
+            StudentReader.readInputAsArrayMapped(file.getPath());
+            fail();
+        } catch (NumberFormatException e) {
+            assertNotNull(e.getMessage());
+        }
+
+        try (PrintWriter out = new PrintWriter(file, "UTF8")) {
+            out.print("FIRST_NAME,LAST_NAME,UNITY_ID,STUDENT_ID,GPA,CREDIT_HOURS\r\n");
+            out.print("Amber,Michael,michaea,1,1.1,10\r\n");
+            out.print("\r\n");
+            out.print("Amber,Michael,michaea2,-2,3.75,12\n\n");
+            out.print("Zo\u00eb,Michael,michaez,1234567890,1e0,0");
+        }
+        Student[] contents = StudentReader.readInputAsArrayMapped(file.getPath());
+        assertEquals(3, contents.length);
+        assertEquals("michaea", contents[0].getUnityID());
+        assertEquals(10, contents[0].getCreditHours());
+        assertEquals(1.1, contents[0].getGpa(), 0);
+        assertEquals(-2, contents[1].getId());
+        assertEquals(3.75, contents[1].getGpa(), 0);
+        assertEquals("Zo\u00eb", contents[2].getFirst());
+        assertEquals(1234567890, contents[2].getId());
+        assertEquals(1.0, contents[2].getGpa(), 0);
+        assertEquals(0, contents[2].getCreditHours());
+        assertSame(contents[0].getFirst(), contents[1].getFirst());
+        assertSame(contents[0].getLast(), contents[2].getLast());
+    }
+
+    /**
+     * Tests reading an empty file and a missing file
+     *
+     * @throws IOException if the temporary file cannot be created
+     */
+    @Test
+    public void testInvalid() throws IOException {
+        File file = File.createTempFile("empty", ".csv");
+        file.deleteOnExit();
+        assertEquals(0, MappedStudentReader.countRecords(file.getPath()));
+        assertEquals(0, StudentReader.readInputAsArrayMapped(file.getPath()).length);
+
+        try {
+            StudentReader.streamInput("input/missing.csv");
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().startsWith("File not found: "));
+        }
+        try {
+            MappedStudentReader.countRecords("input/missing.csv");
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().startsWith("File not found: "));
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package edu.ncsu.csc316.dsa.io;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+
+import org.junit.Test;
+
+import edu.ncsu.csc316.dsa.data.Student;
+
+/**
+ * Tests the ParallelStudentReader class
+ * @author Ethan Treece
+ *
+ */
+public class ParallelStudentReaderTest {
+
+    /**
+     * Asserts that every field of the two arrays of Students match
+     *
+     * @param expected the expected Students
+     * @param actual   the actual Students
+     */
+    private static void assertSameStudents(Student[] expected, Student[] actual) {
+        assertEquals(expected.length, actual.length);
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i].getFirst(), actual[i].getFirst());
+            assertEquals(expected[i].getLast(), actual[i].getLast());
+            assertEquals(expected[i].getUnityID(), actual[i].getUnityID());
+            assertEquals(expected[i].getId(), actual[i].getId());
+            assertEquals(expected[i].getGpa(), actual[i].getGpa(), 0);
+            assertEquals(expected[i].getCreditHours(), actual[i].getCreditHours());
+        }
+    }
+
+    /**
+     * Tests that chunked reads match the sequential reader for a range of chunk
+     * sizes and worker counts
+     */
+    @Test
+    public void testReadFile() {
+        Student[] expected = StudentReader.readInputAsArray("input/student_randomOrder.csv");
+        int[] chunkSizes = { 1, 17, 64, 100, ParallelStudentReader.DEFAULT_CHUNK_SIZE };
+        for (int chunkSize : chunkSizes) {
+            for (int workers = 1; workers <= 4; workers++) {
+                ParallelStudentReader reader = new ParallelStudentReader(workers, chunkSize);
+                assertSameStudents(expected, reader.readInputAsArray("input/student_randomOrder.csv"));
+            }
+        }
+
+        ParallelStudentReader reader = new ParallelStudentReader(3, 64);
+        assertNull(reader.getLastStatistics());
+        reader.readInputAsArray("input/student_ascendingID.csv");
+        ParallelStudentReader.Statistics stats = reader.getLastStatistics();
+        assertEquals(16, stats.getRecords());
+        assertEquals(3, stats.getWorkers());
+        assertTrue(stats.getChunks() > 4);
+        assertTrue(stats.getSplitNanos() >= 0);
+        assertTrue(stats.getParseNanos() > 0);
+        assertTrue(stats.getConcatNanos() >= 0);
+    }
+
+    /**
+     * Tests a larger file with blank lines and no final newline
+     *
+     * @throws IOException if the temporary file cannot be written
+     */
+    @Test
+    public void testLargeFile() throws IOException {
+        File file = File.createTempFile("students", ".csv");
+        file.deleteOnExit();
+        try (PrintWriter out = new PrintWriter(file, "UTF8")) {
+            out.print("FIRST_NAME,LAST_NAME,UNITY_ID,STUDENT_ID,GPA,CREDIT_HOURS\n");
+            for (int i = 0; i < 5000; i++) {
+                out.print("First" + i % 37 + ",Last" + i % 101 + ",unity" + i + "," + i + "," + (i % 400) / 100.0
+                        + "," + i % 19);
+                out.print(i % 250 == 0 ? "\r\n\n" : i == 4999 ? "" : "\n");
+            }
+        }
+        Student[] expected = StudentReader.readInputAsArrayMapped(file.getPath());
+        Student[] actual = new ParallelStudentReader(4, 4096).readInputAsArray(file.getPath());
+        assertSameStudents(expected, actual);
+        assertEquals(5000, actual.length);
+        assertSameStudents(expected, StudentReader.readInputAsArrayParallel(file.getPath(), 2, 1 << 16));
+    }
+
+    /**
+     * Tests invalid configuration, an empty file, and a missing file
+     *
+     * @throws IOException if the temporary file cannot be created
+     */
+    @Test
+    public void testInvalid() throws IOException {
+        try {
+            new ParallelStudentReader(0, 10);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("Worker count must be positive.", e.getMessage());
+        }
+        try {
+            new ParallelStudentReader(2, 0);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("Chunk size must be positive.", e.getMessage());
+        }
+
+        File file = File.createTempFile("empty", ".csv");
+        file.deleteOnExit();
+        assertEquals(0, new ParallelStudentReader().readInputAsArray(file.getPath()).length);
+
+        try {
+            new ParallelStudentReader().readInputAsArray("input/missing.csv");
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().startsWith("File not found: "));
+        }
+    }
+}
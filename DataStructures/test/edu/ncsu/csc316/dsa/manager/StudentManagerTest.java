@@ -2,13 +2,22 @@ package edu.ncsu.csc316.dsa.manager;
 
 import static org.junit.Assert.*;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.Comparator;
+import java.util.Random;
+
 import org.junit.Before;
 import org.junit.Test;
 
 import edu.ncsu.csc316.dsa.data.Student;
 import edu.ncsu.csc316.dsa.data.StudentGPAComparator;
 import edu.ncsu.csc316.dsa.data.StudentIDComparator;
+import edu.ncsu.csc316.dsa.data.StudentTable;
+import edu.ncsu.csc316.dsa.io.BinaryRosterReader;
+import edu.ncsu.csc316.dsa.io.BinaryRosterWriter;
 import edu.ncsu.csc316.dsa.sorter.InsertionSorter;
+import edu.ncsu.csc316.dsa.sorter.MergeSorter;
 
 /**
  * Tests the StudentManager class
@@ -116,4 +125,270 @@ public class StudentManagerTest {
         assertEquals("Dante", sorted[15].getFirst());
     }
 
+    /**
+     * Tests loading the Student Manager from a binary roster file
+     *
+     * @throws IOException if the binary roster file cannot be created
+     */
+    @Test
+    public void testBinaryRoster() throws IOException {
+        File file = File.createTempFile("roster", ".bin");
+        file.deleteOnExit();
+        BinaryRosterWriter.convert("input/student_ascendingID.csv", file.getPath());
+        Student[] sorted = new StudentManager(file.getPath(), sortGPA).sort();
+        assertEquals(16, sorted.length);
+        assertEquals("Nichole", sorted[0].getFirst());
+        assertEquals("Lewis", sorted[15].getFirst());
+    }
+
+    /**
+     * Tests the Student Manager backed by a StudentTable
+     *
+     * @throws IOException if the binary roster file cannot be created
+     */
+    @Test
+    public void testStudentTable() throws IOException {
+        File file = File.createTempFile("roster", ".bin");
+        file.deleteOnExit();
+        BinaryRosterWriter.convert("input/student_ascendingID.csv", file.getPath());
+        StudentTable table = BinaryRosterReader.readTable(file.getPath());
+        Student[] sorted = new StudentManager(table, sortID).sort();
+        assertEquals(16, sorted.length);
+        assertEquals("Amber", sorted[0].getFirst());
+        assertEquals("Dante", sorted[15].getFirst());
+
+        sorted = new StudentManager(table, sortGPA).sort();
+        assertEquals("Nichole", sorted[0].getFirst());
+        assertEquals("Lewis", sorted[15].getFirst());
+    }
+
+    /**
+     * Tests point, range, and top-k queries with and without indexes
+     */
+    @Test
+    public void testQueries() {
+        for (int pass = 0; pass < 2; pass++) {
+            if (pass == 1) {
+                for (StudentManager.Index index : StudentManager.Index.values()) {
+                    assertFalse(sm.hasIndex(index));
+                    sm.createIndex(index);
+                    assertTrue(sm.hasIndex(index));
+                }
+            }
+            Student[] found = sm.findByUnityID("michaea");
+            assertEquals(1, found.length);
+            assertEquals("Amber", found[0].getFirst());
+            assertEquals(0, sm.findByUnityID("nobody").length);
+
+            found = sm.findById(1);
+            assertEquals(1, found.length);
+            assertEquals("Amber", found[0].getFirst());
+            assertEquals(0, sm.findById(100).length);
+
+            found = sm.findByIdRange(3, 9);
+            assertEquals(5, found.length);
+            assertEquals("Ara", found[0].getFirst());
+            assertEquals("Lacie", found[1].getFirst());
+            assertEquals("Idalia", found[2].getFirst());
+            assertEquals("Evelin", found[3].getFirst());
+            assertEquals("Lewis", found[4].getFirst());
+            assertEquals(0, sm.findByIdRange(9, 3).length);
+            assertEquals(0, sm.findByIdRange(6, 7).length);
+
+            found = sm.findByGpaRange(0.0, 4.0);
+            assertEquals(16, found.length);
+            Student[] byGpa = smGPA.sort();
+            for (int i = 0; i < found.length; i++) {
+                assertEquals(byGpa[i], found[i]);
+            }
+            found = sm.findByGpaRange(byGpa[3].getGpa(), byGpa[1].getGpa());
+            assertEquals(3, found.length);
+            assertEquals(byGpa[1], found[0]);
+            assertEquals(byGpa[3], found[2]);
+
+            found = sm.topByGpa(3);
+            assertEquals(3, found.length);
+            assertEquals("Nichole", found[0].getFirst());
+            assertEquals("Alicia", found[1].getFirst());
+            assertEquals("Charlene", found[2].getFirst());
+            assertEquals(16, sm.topByGpa(100).length);
+            assertEquals(0, sm.topByGpa(0).length);
+        }
+    }
+
+    /**
+     * Tests that Students with equal keys come back in the same roster order
+     * from indexed and unindexed queries after the roster is sorted
+     */
+    @Test
+    public void testIndexOrderAfterSort() {
+        StudentManager indexed = new StudentManager("input/student_ascendingID.csv");
+        StudentManager unindexed = new StudentManager("input/student_ascendingID.csv");
+        for (StudentManager.Index index : StudentManager.Index.values()) {
+            indexed.createIndex(index);
+        }
+        for (StudentManager manager : new StudentManager[] { indexed, unindexed }) {
+            // Sorting by name moves Zed Aaron ahead of Amy Baker
+            manager.add(new Student("Amy", "Baker", 50, 15, 3.5, "twin"));
+            manager.add(new Student("Zed", "Aaron", 50, 12, 3.5, "twin"));
+            manager.sort();
+        }
+        Student[] expected = unindexed.findById(50);
+        assertEquals(2, expected.length);
+        assertEquals("Zed", expected[0].getFirst());
+        assertArrayEquals(expected, indexed.findById(50));
+        assertArrayEquals(unindexed.findByIdRange(0, 100), indexed.findByIdRange(0, 100));
+        assertArrayEquals(unindexed.findByGpaRange(3.5, 3.5), indexed.findByGpaRange(3.5, 3.5));
+        assertArrayEquals(unindexed.findByUnityID("twin"), indexed.findByUnityID("twin"));
+        assertArrayEquals(unindexed.topByGpa(100), indexed.topByGpa(100));
+    }
+
+    /**
+     * Tests that an incremental sort keeps index ties in roster order by
+     * reordering only the keys of the merged Students, leaving the rest of
+     * each index as it was
+     */
+    @Test
+    public void testIncrementalIndexOrder() {
+        StudentManager indexed = new StudentManager("input/student_ascendingID.csv");
+        StudentManager unindexed = new StudentManager("input/student_ascendingID.csv");
+        indexed.setIncremental(true);
+        unindexed.setIncremental(true);
+        for (StudentManager.Index index : StudentManager.Index.values()) {
+            indexed.createIndex(index);
+        }
+        indexed.sort();
+        unindexed.sort();
+        StudentManager.IndexStatistics stats = indexed.getIndexStatistics(StudentManager.Index.GPA);
+
+        // Indexes hold the GPA a Student had when indexed, so a Student
+        // changed directly stays under its old key unless the key is rebuilt
+        Student amber = indexed.findById(1)[0];
+        amber.setGpa(0.5);
+        for (StudentManager manager : new StudentManager[] { indexed, unindexed }) {
+            manager.add(new Student("Amy", "Baker", 50, 15, 3.5, "twin"));
+            manager.add(new Student("Zed", "Aaron", 50, 12, 3.5, "twin"));
+            manager.sort();
+        }
+        assertArrayEquals(new Student[] { amber }, indexed.findByGpaRange(1.1, 1.1));
+        assertEquals(0, indexed.findByGpaRange(0.5, 0.5).length);
+        assertSame(stats, indexed.getIndexStatistics(StudentManager.Index.GPA));
+
+        Student[] expected = unindexed.findById(50);
+        assertEquals("Zed", expected[0].getFirst());
+        assertArrayEquals(expected, indexed.findById(50));
+        assertArrayEquals(unindexed.findByUnityID("twin"), indexed.findByUnityID("twin"));
+        assertArrayEquals(unindexed.findByGpaRange(3.5, 3.5), indexed.findByGpaRange(3.5, 3.5));
+    }
+
+    /**
+     * Tests index statistics and dropping indexes
+     */
+    @Test
+    public void testIndexStatistics() {
+        assertNull(sm.getIndexStatistics(StudentManager.Index.ID));
+        sm.createIndex(StudentManager.Index.ID);
+        StudentManager.IndexStatistics stats = sm.getIndexStatistics(StudentManager.Index.ID);
+        assertEquals(StudentManager.Index.ID, stats.getIndex());
+        assertEquals(16, stats.getKeys());
+        assertEquals(16, stats.getStudents());
+        assertTrue(stats.getEstimatedBytes() > 0);
+        assertTrue(stats.getBuildNanos() > 0);
+
+        sm.createIndex(StudentManager.Index.UNITY_ID);
+        assertTrue(sm.getIndexStatistics(StudentManager.Index.UNITY_ID).getEstimatedBytes() > 0);
+
+        sm.dropIndex(StudentManager.Index.ID);
+        assertFalse(sm.hasIndex(StudentManager.Index.ID));
+        assertNull(sm.getIndexStatistics(StudentManager.Index.ID));
+        assertEquals(1, sm.findById(1).length);
+    }
+
+    /**
+     * Tests adding, removing, and updating Students, with and without
+     * incremental sorting
+     */
+    @Test
+    public void testAddRemoveUpdate() {
+        Student extra = new Student("Zed", "Aaron", 40, 12, 3.9, "aaronz");
+        for (int pass = 0; pass < 2; pass++) {
+            StudentManager manager = new StudentManager("input/student_randomOrder.csv", sortID);
+            manager.setIncremental(pass == 1);
+            assertEquals(pass == 1, manager.isIncremental());
+            manager.createIndex(StudentManager.Index.ID);
+            manager.createIndex(StudentManager.Index.UNITY_ID);
+            assertEquals(16, manager.sort().length);
+
+            manager.add(extra);
+            manager.add(new Student("Amy", "Baker", 2, 15, 2.0, "bakera"));
+            assertEquals(18, manager.size());
+            Student[] sorted = manager.sort();
+            assertEquals(18, sorted.length);
+            assertEquals("Amber", sorted[0].getFirst());
+            assertEquals("Amy", sorted[1].getFirst());
+            assertEquals("Ara", sorted[2].getFirst());
+            assertEquals(extra, sorted[17]);
+            assertEquals(1, manager.findById(40).length);
+            assertEquals(1, manager.findByUnityID("bakera").length);
+
+            assertTrue(manager.remove(new Student("Amber", "Michael", 1, 0, 0, "")));
+            assertFalse(manager.remove(new Student("Amber", "Michael", 1, 0, 0, "")));
+            assertEquals(0, manager.findById(1).length);
+            assertEquals(0, manager.findByUnityID("michaea").length);
+
+            assertTrue(manager.update(extra, new Student("Zed", "Aaron", 0, 12, 3.9, "aaronz")));
+            assertFalse(manager.update(extra, extra));
+            assertEquals(0, manager.findById(40).length);
+            sorted = manager.sort();
+            assertEquals(17, sorted.length);
+            assertEquals(0, sorted[0].getId());
+            assertEquals("Amy", sorted[1].getFirst());
+            assertEquals("Ara", sorted[2].getFirst());
+            assertEquals("Dante", sorted[16].getFirst());
+            for (int i = 1; i < sorted.length; i++) {
+                assertTrue(sorted[i - 1].getId() <= sorted[i].getId());
+            }
+        }
+    }
+
+    /**
+     * Tests that an incremental sort after a few additions compares far fewer
+     * Students than a full sort, and produces the same order
+     */
+    @Test
+    public void testIncrementalSortCost() {
+        final int[] comparisons = new int[1];
+        Comparator<Student> counting = (one, two) -> {
+            comparisons[0]++;
+            return Integer.compare(one.getId(), two.getId());
+        };
+        Random random = new Random(316);
+        StudentTable table = new StudentTable();
+        for (int i = 0; i < 5000; i++) {
+            table.add(new Student("F" + i, "L" + i, random.nextInt(100000), 12, 3.0, "u" + i));
+        }
+        StudentManager full = new StudentManager(table, new MergeSorter<Student>(counting));
+        StudentManager incremental = new StudentManager(table, new MergeSorter<Student>(counting));
+        incremental.setIncremental(true);
+        full.sort();
+        incremental.sort();
+        for (int i = 0; i < 10; i++) {
+            Student s = new Student("N" + i, "N" + i, random.nextInt(100000), 12, 3.0, "n" + i);
+            full.add(s);
+            incremental.add(s);
+        }
+        comparisons[0] = 0;
+        Student[] expected = full.sort();
+        int fullComparisons = comparisons[0];
+        comparisons[0] = 0;
+        Student[] actual = incremental.sort();
+        assertTrue(comparisons[0] * 20 < fullComparisons);
+        assertEquals(expected.length, actual.length);
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i].getId(), actual[i].getId());
+        }
+        comparisons[0] = 0;
+        assertSame(actual, incremental.sort());
+        assertEquals(0, comparisons[0]);
+    }
 }
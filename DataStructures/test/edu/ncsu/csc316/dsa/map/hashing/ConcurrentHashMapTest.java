@@ -0,0 +1,303 @@
+package edu.ncsu.csc316.dsa.map.hashing;
+
+import static org.junit.Assert.*;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.ncsu.csc316.dsa.map.Map.Entry;
+
+/**
+ * Test class for ConcurrentHashMap
+ * Checks the Map behaviors from a single thread, then stresses the map from
+ * many threads at once while it resizes
+ *
+ * @author Ethan Treece
+ *
+ */
+public class ConcurrentHashMapTest {
+
+    /** The number of threads in the stress tests */
+    private static final int THREADS = 8;
+
+    /** Map under test */
+    private ConcurrentHashMap<Integer, String> map;
+
+    /**
+     * Create a new instance of a concurrent hash map before each test case executes
+     */
+    @Before
+    public void setUp() {
+        // The smallest table, so that the stress tests resize many times
+        map = new ConcurrentHashMap<Integer, String>(0, 4);
+    }
+
+    /**
+     * Test the output of the put(k,v) and get(k) behaviors
+     */
+    @Test
+    public void testPut() {
+        assertTrue(map.isEmpty());
+        assertEquals(4, map.capacity());
+        assertEquals(4, map.stripes());
+        assertNull(map.put(1, "string1"));
+        assertNull(map.put(2, "string2"));
+        assertNull(map.put(3, "string3"));
+        assertEquals(3, map.size());
+        assertEquals(4, map.capacity());
+        assertEquals("string2", map.put(2, "string2NEW"));
+        assertEquals(3, map.size());
+        // The fourth entry passes 0.75 of the capacity
+        assertNull(map.put(-4, "string-4"));
+        assertEquals(8, map.capacity());
+        assertEquals("string1", map.get(1));
+        assertEquals("string2NEW", map.get(2));
+        assertEquals("string3", map.get(3));
+        assertEquals("string-4", map.get(-4));
+        assertNull(map.get(5));
+
+        assertEquals(64, new ConcurrentHashMap<Integer, String>().capacity());
+        assertEquals(32, new ConcurrentHashMap<Integer, String>().stripes());
+        assertEquals(128, new ConcurrentHashMap<Integer, String>(100).capacity());
+        try {
+            new ConcurrentHashMap<Integer, String>(-1);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("Capacity must not be negative.", e.getMessage());
+        }
+        try {
+            new ConcurrentHashMap<Integer, String>(16, 0);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("Concurrency level must be positive.", e.getMessage());
+        }
+    }
+
+    /**
+     * Test the output of the remove(k) behavior
+     */
+    @Test
+    public void testRemove() {
+        assertNull(map.remove(1));
+        for (int i = 0; i < 20; i++) {
+            map.put(i, "string" + i);
+        }
+        assertEquals("string4", map.remove(4));
+        assertNull(map.remove(4));
+        assertNull(map.get(4));
+        assertEquals(19, map.size());
+        for (int i = 0; i < 20; i++) {
+            map.remove(i);
+        }
+        assertTrue(map.isEmpty());
+    }
+
+    /**
+     * Test the output of the entrySet(), iterator(), and values() behaviors
+     */
+    @Test
+    public void testIteration() {
+        assertFalse(map.entrySet().iterator().hasNext());
+        for (int i = 0; i < 100; i++) {
+            map.put(i, "string" + i);
+        }
+        HashSet<Integer> keys = new HashSet<Integer>();
+        for (Entry<Integer, String> entry : map.entrySet()) {
+            assertEquals("string" + entry.getKey(), entry.getValue());
+            assertTrue(keys.add(entry.getKey()));
+        }
+        assertEquals(100, keys.size());
+        int count = 0;
+        for (Integer key : map) {
+            assertTrue(keys.contains(key));
+            count++;
+        }
+        assertEquals(100, count);
+        count = 0;
+        for (String value : map.values()) {
+            assertTrue(value.startsWith("string"));
+            count++;
+        }
+        assertEquals(100, count);
+
+        Iterator<Entry<Integer, String>> it = map.entrySet().iterator();
+        it.next();
+        try {
+            it.remove();
+            fail();
+        } catch (UnsupportedOperationException e) {
+            assertEquals(100, map.size());
+        }
+    }
+
+    /**
+     * Tests threads putting disjoint keys at once, which forces many shared
+     * resizes
+     */
+    @Test
+    public void testConcurrentPut() throws InterruptedException {
+        final int perThread = 20000;
+        run(new Task() {
+            @Override
+            public void run(int thread) {
+                for (int i = 0; i < perThread; i++) {
+                    int key = i * THREADS + thread;
+                    map.put(key, "v" + key);
+                }
+            }
+        });
+        assertEquals(THREADS * perThread, map.size());
+        for (int key = 0; key < THREADS * perThread; key++) {
+            assertEquals("v" + key, map.get(key));
+        }
+        int count = 0;
+        for (Entry<Integer, String> entry : map.entrySet()) {
+            assertEquals("v" + entry.getKey(), entry.getValue());
+            count++;
+        }
+        assertEquals(THREADS * perThread, count);
+    }
+
+    /**
+     * Tests that lock-free readers always see keys that were present before
+     * they started, while writers churn other keys and resize the table
+     */
+    @Test
+    public void testReadsDuringWrites() throws InterruptedException {
+        final int stable = 1000;
+        for (int key = 0; key < stable; key++) {
+            map.put(key, "v" + key);
+        }
+        final AtomicInteger errors = new AtomicInteger();
+        final AtomicBoolean done = new AtomicBoolean();
+        final CountDownLatch writers = new CountDownLatch(THREADS / 2);
+        run(new Task() {
+            @Override
+            public void run(int thread) {
+                if (thread % 2 == 0) {
+                    for (int i = 0; i < 30000; i++) {
+                        int key = stable + i * THREADS + thread;
+                        map.put(key, "v" + key);
+                        if (i % 3 == 0) {
+                            map.remove(key);
+                        }
+                    }
+                    writers.countDown();
+                    if (writers.getCount() == 0) {
+                        done.set(true);
+                    }
+                } else {
+                    while (!done.get()) {
+                        for (int key = 0; key < stable; key += 7) {
+                            if (!("v" + key).equals(map.get(key))) {
+                                errors.incrementAndGet();
+                            }
+                        }
+                        // Iteration is weakly consistent but sees every stable key
+                        HashSet<Integer> seen = new HashSet<Integer>();
+                        for (Entry<Integer, String> entry : map.entrySet()) {
+                            if (!seen.add(entry.getKey()) || !("v" + entry.getKey()).equals(entry.getValue())) {
+                                errors.incrementAndGet();
+                            }
+                        }
+                        for (int key = 0; key < stable; key++) {
+                            if (!seen.contains(key)) {
+                                errors.incrementAndGet();
+                            }
+                        }
+                    }
+                }
+            }
+        });
+        assertEquals(0, errors.get());
+        assertEquals(stable + (THREADS / 2) * 20000, map.size());
+    }
+
+    /**
+     * Tests threads updating and removing the same keys at once
+     */
+    @Test
+    public void testContendedUpdates() throws InterruptedException {
+        final int keys = 64;
+        run(new Task() {
+            @Override
+            public void run(int thread) {
+                for (int i = 0; i < 20000; i++) {
+                    int key = (i * 31 + thread) % keys;
+                    if (i % 4 == 0) {
+                        map.remove(key);
+                    } else {
+                        map.put(key, "v" + key);
+                    }
+                }
+            }
+        });
+        int count = 0;
+        for (int key = 0; key < keys; key++) {
+            String value = map.get(key);
+            if (value != null) {
+                assertEquals("v" + key, value);
+                count++;
+            }
+        }
+        assertEquals(count, map.size());
+    }
+
+    /**
+     * The work of one thread in a stress test
+     */
+    private interface Task {
+
+        /**
+         * Runs the work of one thread
+         *
+         * @param thread the index of the thread
+         */
+        void run(int thread);
+    }
+
+    /**
+     * Runs the task on THREADS threads started together, and rethrows the
+     * first failure of any of them
+     *
+     * @param task the task
+     * @throws InterruptedException if interrupted while waiting for the threads
+     */
+    private void run(final Task task) throws InterruptedException {
+        final CountDownLatch start = new CountDownLatch(1);
+        final Throwable[] failure = new Throwable[1];
+        Thread[] threads = new Thread[THREADS];
+        for (int t = 0; t < THREADS; t++) {
+            final int thread = t;
+            threads[t] = new Thread() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                        task.run(thread);
+                    } catch (Throwable e) {
+                        synchronized (failure) {
+                            if (failure[0] == null) {
+                                failure[0] = e;
+                            }
+                        }
+                    }
+                }
+            };
+            threads[t].start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        if (failure[0] != null) {
+            throw new AssertionError(failure[0]);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package edu.ncsu.csc316.dsa.map.hashing;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+/**
+ * Test class for HashDiagnostics
+ *
+ * @author Ethan Treece
+ *
+ */
+public class HashDiagnosticsTest {
+
+    /**
+     * Tests the diagnostics of a linear probing hash map drawn by hand
+     */
+    @Test
+    public void testLinearProbing() {
+        // When testing, h(k) = ((k + 1) % 7) % capacity
+        LinearProbingHashMap<Integer, String> map = new LinearProbingHashMap<Integer, String>(7, true);
+        HashDiagnostics empty = map.diagnostics();
+        assertEquals(7, empty.getCapacity());
+        assertEquals(0, empty.getSize());
+        assertEquals(0, empty.getMaxProbeLength());
+        assertEquals(0, empty.getAverageProbeLength(), 0);
+        assertEquals(0, empty.getMaxClusterLength());
+        assertArrayEquals(new int[] { 7 }, empty.getBucketSizeHistogram());
+
+        map.put(0, "string0");
+        map.put(1, "string1");
+        map.put(2, "string2");
+        map.put(6, "string6");
+        // Resized to 15; 7 shares home bucket 1 with 0 and probes to bucket 4
+        map.put(7, "string7");
+        // Buckets 0-4 hold 6, 0, 1, 2, 7
+        HashDiagnostics diagnostics = map.diagnostics();
+        assertEquals(15, diagnostics.getCapacity());
+        assertEquals(5, diagnostics.getSize());
+        assertEquals(1.0 / 3, diagnostics.getLoadFactor(), 1e-9);
+        assertArrayEquals(new int[] { 0, 4, 0, 0, 1 }, diagnostics.getProbeHistogram());
+        assertEquals(4, diagnostics.getMaxProbeLength());
+        assertEquals(8.0 / 5, diagnostics.getAverageProbeLength(), 1e-9);
+        assertEquals(5, diagnostics.getMaxClusterLength());
+        assertArrayEquals(new int[] { 11, 3, 1 }, diagnostics.getBucketSizeHistogram());
+        assertTrue(diagnostics.toString().startsWith("HashDiagnostics[capacity=15, size=5, loadFactor=0.333"));
+
+        // A cluster at the end of the table wraps around into the start
+        LinearProbingHashMap<Integer, String> wrapped = new LinearProbingHashMap<Integer, String>(16,
+                new IdentityStrategy());
+        wrapped.put(15, "string15");
+        wrapped.put(31, "string31");
+        wrapped.put(1, "string1");
+        wrapped.put(8, "string8");
+        // Buckets 15, 0, 1 hold 15, 31, 1 and bucket 8 holds 8
+        diagnostics = wrapped.diagnostics();
+        assertEquals(3, diagnostics.getMaxClusterLength());
+        assertArrayEquals(new int[] { 0, 3, 1 }, diagnostics.getProbeHistogram());
+
+        // The deleted entry in bucket 0 still joins the cluster, since 1 is
+        // found by probing past it
+        assertEquals("string31", wrapped.remove(31));
+        diagnostics = wrapped.diagnostics();
+        assertEquals(3, diagnostics.getSize());
+        assertEquals(3, diagnostics.getMaxClusterLength());
+        assertArrayEquals(new int[] { 0, 3 }, diagnostics.getProbeHistogram());
+    }
+
+    /**
+     * Tests the diagnostics of a separate chaining hash map
+     */
+    @Test
+    public void testSeparateChaining() {
+        SeparateChainingHashMap<Integer, String> map = new SeparateChainingHashMap<Integer, String>(7, true);
+        map.put(0, "string0");
+        map.put(7, "string7");
+        map.put(14, "string14");
+        map.put(2, "string2");
+        // Bucket 1 holds 0, 7, 14 and bucket 3 holds 2
+        HashDiagnostics diagnostics = map.diagnostics();
+        assertEquals(15, diagnostics.getCapacity());
+        assertArrayEquals(new int[] { 0, 2, 1, 1 }, diagnostics.getProbeHistogram());
+        assertEquals(1, diagnostics.getMaxClusterLength());
+        assertArrayEquals(new int[] { 13, 1, 0, 1 }, diagnostics.getBucketSizeHistogram());
+    }
+
+    /**
+     * Tests that a strategy that spreads keys well gives shorter probes than
+     * one that does not, on keys that are all multiples of the capacity
+     */
+    @Test
+    public void testCompareStrategies() {
+        LinearProbingHashMap<Integer, Integer> fibonacci = new LinearProbingHashMap<Integer, Integer>(1024,
+                new FibonacciHashStrategy());
+        LinearProbingHashMap<Integer, Integer> identity = new LinearProbingHashMap<Integer, Integer>(1024,
+                new IdentityStrategy());
+        for (int i = 0; i < 256; i++) {
+            fibonacci.put(i * 1024, i);
+            identity.put(i * 1024, i);
+        }
+        HashDiagnostics good = fibonacci.diagnostics();
+        HashDiagnostics bad = identity.diagnostics();
+        assertEquals(256, bad.getMaxProbeLength());
+        assertArrayEquals(new int[] { 1023, 0 }, Arrays.copyOf(bad.getBucketSizeHistogram(), 2));
+        assertTrue(good.getMaxProbeLength() < 10);
+        assertTrue(good.getAverageProbeLength() < bad.getAverageProbeLength());
+    }
+
+    /**
+     * A strategy that uses the low bits of the hash code as the index, which
+     * puts keys that are multiples of the capacity all in bucket 0
+     */
+    private static class IdentityStrategy implements HashStrategy {
+
+        @Override
+        public int capacity(int requested) {
+            return Integer.highestOneBit(Math.max(2, requested - 1)) * 2;
+        }
+
+        @Override
+        public int grow(int capacity) {
+            return capacity * 2;
+        }
+
+        @Override
+        public int index(int hashCode, int capacity) {
+            return hashCode & (capacity - 1);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package edu.ncsu.csc316.dsa.map.hashing;
+
+import static org.junit.Assert.*;
+
+import java.util.HashMap;
+import java.util.Random;
+
+import org.junit.Test;
+
+import edu.ncsu.csc316.dsa.map.Map;
+
+/**
+ * Test class for the HashStrategy implementations
+ *
+ * @author Ethan Treece
+ *
+ */
+public class HashStrategyTest {
+
+    /**
+     * Tests the MAD strategy
+     */
+    @Test
+    public void testMAD() {
+        MADHashStrategy mad = new MADHashStrategy(true);
+        assertEquals(17, mad.capacity(17));
+        assertEquals(1, mad.capacity(0));
+        assertEquals(35, mad.grow(17));
+        // h(k) = ((k + 1) % 7) % capacity
+        assertEquals(1, mad.index(0, 17));
+        assertEquals(0, mad.index(6, 17));
+        assertEquals(1, mad.index(7, 3));
+
+        MADHashStrategy random = new MADHashStrategy();
+        for (int i = -1000; i < 1000; i++) {
+            int index = random.index(i * 7919, 17);
+            assertTrue(index >= 0 && index < 17);
+        }
+    }
+
+    /**
+     * Tests the Fibonacci strategy
+     */
+    @Test
+    public void testFibonacci() {
+        FibonacciHashStrategy fibonacci = new FibonacciHashStrategy();
+        assertEquals(2, fibonacci.capacity(0));
+        assertEquals(32, fibonacci.capacity(17));
+        assertEquals(32, fibonacci.capacity(32));
+        assertEquals(64, fibonacci.grow(32));
+        assertEquals(0, fibonacci.index(0, 16));
+        // 0x9E3779B9 has top four bits 1001
+        assertEquals(9, fibonacci.index(1, 16));
+        assertEquals(1, fibonacci.index(1, 2));
+        // Consecutive keys land in distinct buckets
+        boolean[] used = new boolean[16];
+        for (int i = 0; i < 8; i++) {
+            int index = fibonacci.index(i, 16);
+            assertFalse(used[index]);
+            used[index] = true;
+        }
+        try {
+            fibonacci.grow(1 << 30);
+            fail();
+        } catch (IllegalStateException e) {
+            assertEquals("Hash table is at its maximum capacity.", e.getMessage());
+        }
+    }
+
+    /**
+     * Tests the Murmur strategy
+     */
+    @Test
+    public void testMurmur() {
+        MurmurHashStrategy murmur = new MurmurHashStrategy(316);
+        assertEquals(1, murmur.capacity(0));
+        assertEquals(32, murmur.capacity(17));
+        assertEquals(64, murmur.grow(32));
+        assertEquals(murmur.index(12345, 1024), new MurmurHashStrategy(316).index(12345, 1024));
+        int differ = 0;
+        for (int i = 0; i < 100; i++) {
+            int index = murmur.index(i << 20, 64);
+            assertTrue(index >= 0 && index < 64);
+            if (index != new MurmurHashStrategy(317).index(i << 20, 64)) {
+                differ++;
+            }
+        }
+        // The seed changes the layout
+        assertTrue(differ > 50);
+    }
+
+    /**
+     * Tests both hash maps with every strategy against a java.util.HashMap
+     */
+    @Test
+    public void testMaps() {
+        HashStrategy[] strategies = { new MADHashStrategy(), new FibonacciHashStrategy(),
+            new MurmurHashStrategy(316) };
+        for (HashStrategy strategy : strategies) {
+            check(new LinearProbingHashMap<Integer, String>(10, strategy));
+            check(new SeparateChainingHashMap<Integer, String>(10, strategy));
+        }
+        LinearProbingHashMap<Integer, String> map = new LinearProbingHashMap<Integer, String>(10,
+                new FibonacciHashStrategy());
+        assertTrue(map.getHashStrategy() instanceof FibonacciHashStrategy);
+        assertEquals(16, map.capacity());
+        try {
+            new LinearProbingHashMap<Integer, String>(10, null);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("Hash strategy must not be null.", e.getMessage());
+        }
+    }
+
+    /**
+     * Runs random puts and removes on the map and checks it against a
+     * java.util.HashMap
+     *
+     * @param map the map to check
+     */
+    private void check(Map<Integer, String> map) {
+        HashMap<Integer, String> expected = new HashMap<Integer, String>();
+        Random random = new Random(316);
+        for (int i = 0; i < 5000; i++) {
+            int key = (random.nextInt(1000) - 500) * 64;
+            if (random.nextInt(3) > 0) {
+                assertEquals(expected.put(key, "v" + i), map.put(key, "v" + i));
+            } else {
+                assertEquals(expected.remove(key), map.remove(key));
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        for (int key : expected.keySet()) {
+            assertEquals(expected.get(key), map.get(key));
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package edu.ncsu.csc316.dsa.map.hashing;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class for IntIntMap
+ *
+ * @author Ethan Treece
+ *
+ */
+public class IntIntMapTest {
+
+    /** Map under test */
+    private IntIntMap map;
+
+    /**
+     * Create a new instance of an int map before each test case executes
+     */
+    @Before
+    public void setUp() {
+        map = new IntIntMap();
+    }
+
+    /**
+     * Test the output of the put(k,v) and get(k) behaviors
+     */
+    @Test
+    public void testPut() {
+        assertTrue(map.isEmpty());
+        assertEquals(16, map.capacity());
+        assertEquals(0, map.getNoEntryValue());
+
+        for (int i = 0; i < 12; i++) {
+            assertEquals(0, map.put(i * 7, i + 100));
+            assertEquals(i + 1, map.size());
+        }
+        assertEquals(16, map.capacity());
+        assertEquals(100, map.get(0));
+        assertEquals(111, map.get(77));
+        assertEquals(0, map.get(5));
+        assertEquals(-1, map.getOrDefault(5, -1));
+        assertTrue(map.containsKey(0));
+        assertFalse(map.containsKey(5));
+
+        assertEquals(101, map.put(7, 200));
+        assertEquals(12, map.size());
+        assertEquals(200, map.get(7));
+
+        // The 13th entry doubles the table
+        assertEquals(0, map.put(Integer.MIN_VALUE, 5));
+        assertEquals(32, map.capacity());
+        assertEquals(5, map.get(Integer.MIN_VALUE));
+        assertEquals(100, map.get(0));
+        assertEquals(200, map.get(7));
+
+        IntIntMap weights = new IntIntMap(100, Integer.MAX_VALUE);
+        assertEquals(256, weights.capacity());
+        assertEquals(Integer.MAX_VALUE, weights.get(3));
+        assertEquals(Integer.MAX_VALUE, weights.put(3, 4));
+        assertEquals(4, weights.get(3));
+
+        try {
+            new IntIntMap(-1);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("Expected size must not be negative.", e.getMessage());
+        }
+    }
+
+    /**
+     * Test the output of the addTo(k,v) behavior
+     */
+    @Test
+    public void testAddTo() {
+        assertEquals(3, map.addTo(9, 3));
+        assertEquals(7, map.addTo(9, 4));
+        assertEquals(-2, map.addTo(0, -2));
+        assertEquals(2, map.size());
+        assertEquals(7, map.get(9));
+    }
+
+    /**
+     * Test the output of the remove(k) behavior
+     */
+    @Test
+    public void testRemove() {
+        assertEquals(0, map.remove(4));
+        map.put(0, 10);
+        map.put(4, 14);
+        map.put(-4, 6);
+        assertEquals(10, map.remove(0));
+        assertFalse(map.containsKey(0));
+        assertEquals(0, map.remove(0));
+        assertEquals(14, map.remove(4));
+        assertEquals(1, map.size());
+        assertEquals(6, map.get(-4));
+        assertEquals(6, map.remove(-4));
+        assertTrue(map.isEmpty());
+    }
+
+    /**
+     * Test the output of the keys() and values() behaviors
+     */
+    @Test
+    public void testKeysAndValues() {
+        assertEquals(0, map.keys().length);
+        for (int i = -3; i <= 3; i++) {
+            map.put(i, i * 10);
+        }
+        int[] keys = map.keys();
+        int[] values = map.values();
+        assertEquals(7, keys.length);
+        for (int i = 0; i < keys.length; i++) {
+            assertEquals(keys[i] * 10, values[i]);
+        }
+        Arrays.sort(keys);
+        assertArrayEquals(new int[] { -3, -2, -1, 0, 1, 2, 3 }, keys);
+    }
+
+    /**
+     * Tests that many insertions and removals keep the map consistent with a
+     * java.util.HashMap
+     */
+    @Test
+    public void testChurn() {
+        HashMap<Integer, Integer> expected = new HashMap<Integer, Integer>();
+        Random random = new Random(316);
+        for (int i = 0; i < 100000; i++) {
+            // Multiples of a large power of two collide in the low bits
+            int key = (random.nextInt(300) - 150) << 20;
+            if (random.nextBoolean()) {
+                Integer old = expected.put(key, i);
+                assertEquals(old == null ? 0 : old, map.put(key, i));
+            } else {
+                Integer old = expected.remove(key);
+                assertEquals(old == null ? 0 : old, map.remove(key));
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        for (int key = -150; key < 150; key++) {
+            assertEquals(expected.containsKey(key << 20), map.containsKey(key << 20));
+            if (expected.containsKey(key << 20)) {
+                assertEquals((int) expected.get(key << 20), map.get(key << 20));
+            }
+        }
+        // Removals leave no markers, so the table only grows with the live entries
+        assertTrue(map.capacity() <= 512);
+    }
+}
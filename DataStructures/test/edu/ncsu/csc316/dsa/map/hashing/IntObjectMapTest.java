@@ -0,0 +1,113 @@
+package edu.ncsu.csc316.dsa.map.hashing;
+
+import static org.junit.Assert.*;
+
+import java.util.HashMap;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.ncsu.csc316.dsa.list.List;
+
+/**
+ * Test class for IntObjectMap
+ *
+ * @author Ethan Treece
+ *
+ */
+public class IntObjectMapTest {
+
+    /** Map under test */
+    private IntObjectMap<String> map;
+
+    /**
+     * Create a new instance of an int map before each test case executes
+     */
+    @Before
+    public void setUp() {
+        map = new IntObjectMap<String>();
+    }
+
+    /**
+     * Test the output of the put(k,v) and get(k) behaviors
+     */
+    @Test
+    public void testPut() {
+        assertTrue(map.isEmpty());
+        assertNull(map.put(1, "one"));
+        assertNull(map.put(0, "zero"));
+        assertNull(map.put(-1, null));
+        assertEquals(3, map.size());
+        assertEquals("one", map.get(1));
+        assertEquals("zero", map.get(0));
+        assertNull(map.get(-1));
+        assertTrue(map.containsKey(-1));
+        assertFalse(map.containsKey(2));
+        assertEquals("one", map.put(1, "ONE"));
+        assertEquals("ONE", map.get(1));
+        assertEquals(3, map.size());
+
+        for (int i = 2; i < 1000; i++) {
+            assertNull(map.put(i, "s" + i));
+        }
+        assertEquals(1001, map.size());
+        assertEquals(2048, map.capacity());
+        assertEquals("zero", map.get(0));
+        assertEquals("s999", map.get(999));
+    }
+
+    /**
+     * Test the output of the remove(k) behavior
+     */
+    @Test
+    public void testRemove() {
+        assertNull(map.remove(3));
+        map.put(3, "three");
+        map.put(0, "zero");
+        assertEquals("three", map.remove(3));
+        assertNull(map.get(3));
+        assertEquals("zero", map.remove(0));
+        assertTrue(map.isEmpty());
+    }
+
+    /**
+     * Test the output of the keys() and values() behaviors
+     */
+    @Test
+    public void testKeysAndValues() {
+        for (int i = 0; i < 5; i++) {
+            map.put(i, "s" + i);
+        }
+        int[] keys = map.keys();
+        List<String> values = map.values();
+        assertEquals(5, keys.length);
+        assertEquals(5, values.size());
+        for (int i = 0; i < keys.length; i++) {
+            assertEquals("s" + keys[i], values.get(i));
+        }
+        assertEquals(0, new IntObjectMap<String>().values().size());
+    }
+
+    /**
+     * Tests that many insertions and removals keep the map consistent with a
+     * java.util.HashMap
+     */
+    @Test
+    public void testChurn() {
+        HashMap<Integer, String> expected = new HashMap<Integer, String>();
+        Random random = new Random(316);
+        for (int i = 0; i < 50000; i++) {
+            int key = random.nextInt(100) * 1024;
+            if (random.nextInt(3) > 0) {
+                assertEquals(expected.put(key, "v" + i), map.put(key, "v" + i));
+            } else {
+                assertEquals(expected.remove(key), map.remove(key));
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        for (int key = 0; key < 100 * 1024; key += 1024) {
+            assertEquals(expected.get(key), map.get(key));
+        }
+    }
+}
@@ -1,9 +1,14 @@
 package edu.ncsu.csc316.dsa.map.hashing;
 
 import static org.junit.Assert.*;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.Random;
+import java.util.function.BiConsumer;
 import org.junit.Before;
 import org.junit.Test;
+import edu.ncsu.csc316.dsa.map.EntryCursor;
 import edu.ncsu.csc316.dsa.map.Map;
 
 /**
@@ -212,4 +217,212 @@ public class LinearProbingHashMapTest {
         assertEquals("string14", (String) it.next());
         assertFalse(it.hasNext());
     }
-}
\ No newline at end of file
+    
+    /**
+     * Test the put(k,v), get(k), and remove(k) behaviors while the hash table
+     * is resized incrementally
+     */
+    @Test
+    public void testIncrementalResize() {
+        LinearProbingHashMap<Integer, String> incremental = new LinearProbingHashMap<Integer, String>(7, true);
+        assertFalse(incremental.isIncrementalResize());
+        incremental.setIncrementalResize(true);
+        assertTrue(incremental.isIncrementalResize());
+
+        assertNull(incremental.put(1, "string1"));
+        assertNull(incremental.put(2, "string2"));
+        assertNull(incremental.put(3, "string3"));
+        assertFalse(incremental.isResizing());
+        // The fourth entry starts a resize, but moves no entries yet
+        assertNull(incremental.put(4, "string4"));
+        assertTrue(incremental.isResizing());
+        assertEquals(4, incremental.size());
+        assertEquals("string1", incremental.get(1));
+        assertEquals("string4", incremental.get(4));
+
+        // Keys still in the old table are updated and removed correctly
+        assertEquals("string2", incremental.put(2, "string2NEW"));
+        assertEquals(4, incremental.size());
+        assertEquals("string2NEW", incremental.get(2));
+        assertEquals("string3", incremental.remove(3));
+        assertNull(incremental.remove(3));
+        assertNull(incremental.get(3));
+        assertEquals(3, incremental.size());
+        // Four buckets migrate per put or remove, so the 7 old buckets are drained
+        assertFalse(incremental.isResizing());
+
+        HashMap<Integer, String> expected = new HashMap<Integer, String>();
+        for (Map.Entry<Integer, String> entry : incremental.entrySet()) {
+            expected.put(entry.getKey(), entry.getValue());
+        }
+        Random random = new Random(316);
+        for (int i = 0; i < 5000; i++) {
+            int key = random.nextInt(2000);
+            if (random.nextInt(4) > 0) {
+                assertEquals(expected.put(key, "v" + i), incremental.put(key, "v" + i));
+            } else {
+                assertEquals(expected.remove(key), incremental.remove(key));
+            }
+            assertEquals(expected.size(), incremental.size());
+            assertEquals(expected.get(key), incremental.get(key));
+        }
+        int count = 0;
+        for (Map.Entry<Integer, String> entry : incremental.entrySet()) {
+            assertEquals(expected.get(entry.getKey()), entry.getValue());
+            count++;
+        }
+        assertEquals(expected.size(), count);
+        assertFalse(incremental.isResizing());
+
+        incremental.put(-1, "string-1");
+        incremental.setIncrementalResize(false);
+        assertFalse(incremental.isResizing());
+        assertEquals("string-1", incremental.get(-1));
+    }
+
+    /**
+     * Test the output of the ensureCapacity and putAll behaviors
+     */
+    @Test
+    public void testBulkLoad() {
+        LinearProbingHashMap<Integer, String> bulk = new LinearProbingHashMap<Integer, String>(7, true);
+        assertEquals(7, bulk.capacity());
+        // 20 entries need at least 40 buckets, and 7 grows to 15, 31, then 63
+        bulk.ensureCapacity(20);
+        assertEquals(63, bulk.capacity());
+        bulk.ensureCapacity(10);
+        assertEquals(63, bulk.capacity());
+        try {
+            bulk.ensureCapacity(-1);
+            fail();
+        } catch (Exception e) {
+            assertTrue(e instanceof IllegalArgumentException);
+        }
+
+        for (int i = 0; i < 20; i++) {
+            bulk.put(i, "string" + i);
+        }
+        assertEquals(63, bulk.capacity());
+
+        // putAll sizes the table once for the new entries and updates existing keys
+        LinearProbingHashMap<Integer, String> other = new LinearProbingHashMap<Integer, String>(true);
+        for (int i = 10; i < 40; i++) {
+            other.put(i, "other" + i);
+        }
+        bulk.putAll(other);
+        assertEquals(40, bulk.size());
+        assertEquals(127, bulk.capacity());
+        assertEquals("string9", bulk.get(9));
+        assertEquals("other10", bulk.get(10));
+        assertEquals("other39", bulk.get(39));
+        assertEquals(30, other.size());
+
+        LinearProbingHashMap<Integer, String> fromEntries = new LinearProbingHashMap<Integer, String>(7, true);
+        fromEntries.putAll(bulk.entrySet());
+        assertEquals(40, fromEntries.size());
+        assertEquals(127, fromEntries.capacity());
+        for (Map.Entry<Integer, String> entry : bulk.entrySet()) {
+            assertEquals(entry.getValue(), fromEntries.get(entry.getKey()));
+        }
+
+        // A presized map starts at the capacity the default map grows to
+        assertEquals(17, LinearProbingHashMap.withExpectedSize(0).capacity());
+        assertEquals(17, LinearProbingHashMap.withExpectedSize(8).capacity());
+        // 20 entries need at least 40 buckets, and 17 grows to 35, then 71
+        LinearProbingHashMap<Integer, String> presized = LinearProbingHashMap.withExpectedSize(20);
+        assertEquals(71, presized.capacity());
+        for (int i = 0; i < 20; i++) {
+            presized.put(i, "string" + i);
+        }
+        assertEquals(71, presized.capacity());
+        for (int expectedSize : new int[] { -1, Integer.MAX_VALUE }) {
+            try {
+                LinearProbingHashMap.withExpectedSize(expectedSize);
+                fail();
+            } catch (Exception e) {
+                assertTrue(e instanceof IllegalArgumentException);
+            }
+        }
+    }
+
+    /**
+     * Test the output of the cursor and forEach behaviors
+     */
+    @Test
+    public void testCursor() {
+        LinearProbingHashMap<Integer, String> walk = new LinearProbingHashMap<Integer, String>(7, true);
+        walk.put(3, "string3");
+        walk.put(1, "string1");
+        walk.put(2, "string2");
+
+        EntryCursor<Integer, String> cursor = walk.cursor();
+        try {
+            cursor.key();
+            fail();
+        } catch (Exception e) {
+            assertTrue(e instanceof IllegalStateException);
+        }
+        // Keys 1, 2, 3 are in buckets 2, 3, 4
+        for (int i = 1; i <= 3; i++) {
+            assertTrue(cursor.advance());
+            assertEquals(i, (int) cursor.key());
+            assertEquals("string" + i, cursor.value());
+        }
+        assertFalse(cursor.advance());
+        try {
+            cursor.value();
+            fail();
+        } catch (Exception e) {
+            assertTrue(e instanceof IllegalStateException);
+        }
+
+        // Updating a value is not a structural change, and is seen in place
+        cursor.reset();
+        assertTrue(cursor.advance());
+        assertEquals("string1", walk.put(1, "string1NEW"));
+        assertEquals("string1NEW", cursor.value());
+        assertTrue(cursor.advance());
+
+        // Adding or removing an entry during a walk is detected
+        walk.put(4, "string4");
+        try {
+            cursor.advance();
+            fail();
+        } catch (Exception e) {
+            assertTrue(e instanceof ConcurrentModificationException);
+        }
+        Iterator<Integer> keys = walk.iterator();
+        assertEquals(1, (int) keys.next());
+        walk.remove(4);
+        try {
+            keys.hasNext();
+            fail();
+        } catch (Exception e) {
+            assertTrue(e instanceof ConcurrentModificationException);
+        }
+        // Removing a missing key changes nothing
+        keys = walk.iterator();
+        walk.remove(4);
+        assertTrue(keys.hasNext());
+
+        final StringBuilder visited = new StringBuilder();
+        walk.forEach(new BiConsumer<Integer, String>() {
+            @Override
+            public void accept(Integer key, String value) {
+                visited.append(key).append('=').append(value).append(' ');
+            }
+        });
+        assertEquals("1=string1NEW 2=string2 3=string3 ", visited.toString());
+
+        // Resizing incrementally is completed before a walk starts
+        walk.setIncrementalResize(true);
+        for (int i = 4; i <= 20; i++) {
+            walk.put(i, "string" + i);
+        }
+        int count = 0;
+        for (Iterator<String> it = walk.values().iterator(); it.hasNext(); count++) {
+            assertNotNull(it.next());
+        }
+        assertEquals(20, count);
+    }
+}
@@ -0,0 +1,247 @@
+package edu.ncsu.csc316.dsa.map.hashing;
+
+import static org.junit.Assert.*;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.ncsu.csc316.dsa.map.Map;
+import edu.ncsu.csc316.dsa.map.Map.Entry;
+
+/**
+ * Test class for RobinHoodHashMap
+ * Checks the expected outputs of the Map abstract data type behaviors when using
+ * a Robin Hood hash map data structure
+ *
+ * @author Ethan Treece
+ *
+ */
+public class RobinHoodHashMapTest {
+
+    /** Map under test */
+    private RobinHoodHashMap<Integer, String> map;
+
+    /**
+     * Create a new instance of a Robin Hood hash map before each test case executes
+     */
+    @Before
+    public void setUp() {
+        map = new RobinHoodHashMap<Integer, String>();
+    }
+
+    /**
+     * Test the output of the put(k,v) behavior
+     */
+    @Test
+    public void testPut() {
+        assertEquals(0, map.size());
+        assertTrue(map.isEmpty());
+        assertEquals(16, map.capacity());
+
+        for (int i = 0; i < 12; i++) {
+            assertNull(map.put(i, "string" + i));
+            assertEquals(i + 1, map.size());
+        }
+        assertFalse(map.isEmpty());
+        // 12 entries fit under the 0.8 load factor of 16 buckets
+        assertEquals(16, map.capacity());
+
+        assertEquals("string1", map.put(1, "string1NEW"));
+        assertEquals(12, map.size());
+        assertEquals("string1NEW", map.get(1));
+
+        // The 13th entry doubles the table
+        assertNull(map.put(12, "string12"));
+        assertEquals(32, map.capacity());
+        for (int i = 0; i <= 12; i++) {
+            assertEquals(i == 1 ? "string1NEW" : "string" + i, map.get(i));
+        }
+
+        try {
+            new RobinHoodHashMap<Integer, String>(-1);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("Expected size must not be negative.", e.getMessage());
+        }
+        assertEquals(128, new RobinHoodHashMap<Integer, String>(100).capacity());
+    }
+
+    /**
+     * Test the output of the get(k) behavior
+     */
+    @Test
+    public void testGet() {
+        assertNull(map.get(0));
+        assertNull(map.put(3, "string3"));
+        assertNull(map.put(5, "string5"));
+        assertNull(map.put(-7, "string-7"));
+        assertEquals("string3", map.get(3));
+        assertEquals("string5", map.get(5));
+        assertEquals("string-7", map.get(-7));
+        assertNull(map.get(4));
+        assertNull(map.get(7));
+    }
+
+    /**
+     * Test the output of the remove(k) behavior
+     */
+    @Test
+    public void testRemove() {
+        assertNull(map.remove(1));
+        for (int i = 0; i < 10; i++) {
+            map.put(i, "string" + i);
+        }
+        assertEquals("string4", map.remove(4));
+        assertEquals(9, map.size());
+        assertNull(map.remove(4));
+        assertNull(map.get(4));
+        for (int i = 0; i < 10; i++) {
+            if (i != 4) {
+                assertEquals("string" + i, map.get(i));
+            }
+        }
+        for (int i = 0; i < 10; i++) {
+            map.remove(i);
+        }
+        assertTrue(map.isEmpty());
+        assertNull(map.get(0));
+    }
+
+    /**
+     * Tests keys whose hash codes all collide, so every entry shares one
+     * cluster and removals must shift the cluster back
+     */
+    @Test
+    public void testCollisions() {
+        RobinHoodHashMap<Collider, Integer> colliding = new RobinHoodHashMap<Collider, Integer>();
+        for (int i = 0; i < 10; i++) {
+            assertNull(colliding.put(new Collider(i), i));
+        }
+        assertEquals(9, colliding.maxProbeDistance());
+        assertEquals(Integer.valueOf(0), colliding.remove(new Collider(0)));
+        assertEquals(Integer.valueOf(5), colliding.remove(new Collider(5)));
+        // Backward shifting leaves no gaps in the cluster
+        assertEquals(7, colliding.maxProbeDistance());
+        for (int i = 0; i < 10; i++) {
+            assertEquals(i == 0 || i == 5 ? null : Integer.valueOf(i), colliding.get(new Collider(i)));
+        }
+        assertEquals(Integer.valueOf(9), colliding.put(new Collider(9), 90));
+        assertEquals(Integer.valueOf(90), colliding.get(new Collider(9)));
+        assertEquals(8, colliding.size());
+    }
+
+    /**
+     * Tests that many insertions and removals keep the map consistent and do
+     * not grow the table when the number of entries stays bounded
+     */
+    @Test
+    public void testChurn() {
+        HashMap<Integer, String> expected = new HashMap<Integer, String>();
+        Random random = new Random(316);
+        for (int i = 0; i < 100000; i++) {
+            int key = random.nextInt(200);
+            if (random.nextBoolean()) {
+                assertEquals(expected.put(key, "v" + i), map.put(key, "v" + i));
+            } else {
+                assertEquals(expected.remove(key), map.remove(key));
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        for (int key = 0; key < 200; key++) {
+            assertEquals(expected.get(key), map.get(key));
+        }
+        assertEquals(256, map.capacity());
+    }
+
+    /**
+     * Test the output of the iterator() behavior, including the remove()
+     * behavior
+     */
+    @Test
+    public void testIterator() {
+        for (int i = 0; i < 5; i++) {
+            map.put(i, "string" + i);
+        }
+        boolean[] seen = new boolean[5];
+        Iterator<Integer> it = map.iterator();
+        for (int i = 0; i < 5; i++) {
+            assertTrue(it.hasNext());
+            seen[it.next()] = true;
+        }
+        assertFalse(it.hasNext());
+        for (boolean b : seen) {
+            assertTrue(b);
+        }
+        try {
+            it.remove();
+            fail();
+        } catch (UnsupportedOperationException e) {
+            assertEquals(5, map.size());
+        }
+    }
+
+    /**
+     * Test the output of the entrySet() behavior
+     */
+    @Test
+    public void testEntrySet() {
+        Map<Integer, String> m = map;
+        for (int i = 0; i < 5; i++) {
+            m.put(i, "string" + i);
+        }
+        int count = 0;
+        for (Entry<Integer, String> entry : m.entrySet()) {
+            assertEquals("string" + entry.getKey(), entry.getValue());
+            count++;
+        }
+        assertEquals(5, count);
+    }
+
+    /**
+     * Test the output of the values() behavior
+     */
+    @Test
+    public void testValues() {
+        for (int i = 0; i < 5; i++) {
+            map.put(i, "string" + i);
+        }
+        int count = 0;
+        for (String value : map.values()) {
+            assertTrue(value.startsWith("string"));
+            count++;
+        }
+        assertEquals(5, count);
+    }
+
+    /**
+     * A key whose hash code is the same for every instance
+     */
+    private static class Collider {
+
+        /** The id that distinguishes keys */
+        private int id;
+
+        /**
+         * Constructs a Collider
+         *
+         * @param id the id of the key
+         */
+        Collider(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public int hashCode() {
+            return 42;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Collider && ((Collider) o).id == id;
+        }
+    }
+}
@@ -1,9 +1,14 @@
 package edu.ncsu.csc316.dsa.map.hashing;
 
 import static org.junit.Assert.*;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.Random;
+import java.util.function.BiConsumer;
 import org.junit.Before;
 import org.junit.Test;
+import edu.ncsu.csc316.dsa.map.EntryCursor;
 import edu.ncsu.csc316.dsa.map.Map;
 
 /**
@@ -225,4 +230,194 @@ public class SeparateChainingHashMapTest {
         assertEquals("string2", (String) it.next());
         assertFalse(it.hasNext());
     }
-}
\ No newline at end of file
+    
+    /**
+     * Test the put(k,v), get(k), and remove(k) behaviors while the hash table
+     * is resized incrementally
+     */
+    @Test
+    public void testIncrementalResize() {
+        SeparateChainingHashMap<Integer, String> incremental = new SeparateChainingHashMap<Integer, String>(7, true);
+        assertFalse(incremental.isIncrementalResize());
+        incremental.setIncrementalResize(true);
+        assertTrue(incremental.isIncrementalResize());
+
+        assertNull(incremental.put(1, "string1"));
+        assertNull(incremental.put(2, "string2"));
+        assertNull(incremental.put(3, "string3"));
+        assertFalse(incremental.isResizing());
+        // The fourth entry starts a resize, but moves no entries yet
+        assertNull(incremental.put(4, "string4"));
+        assertTrue(incremental.isResizing());
+        assertEquals(4, incremental.size());
+        assertEquals("string1", incremental.get(1));
+        assertEquals("string4", incremental.get(4));
+
+        // Keys still in the old table are updated and removed correctly
+        assertEquals("string2", incremental.put(2, "string2NEW"));
+        assertEquals(4, incremental.size());
+        assertEquals("string2NEW", incremental.get(2));
+        assertEquals("string3", incremental.remove(3));
+        assertNull(incremental.remove(3));
+        assertNull(incremental.get(3));
+        assertEquals(3, incremental.size());
+        // Four buckets migrate per put or remove, so the 7 old buckets are drained
+        assertFalse(incremental.isResizing());
+
+        HashMap<Integer, String> expected = new HashMap<Integer, String>();
+        for (Map.Entry<Integer, String> entry : incremental.entrySet()) {
+            expected.put(entry.getKey(), entry.getValue());
+        }
+        Random random = new Random(316);
+        for (int i = 0; i < 5000; i++) {
+            int key = random.nextInt(2000);
+            if (random.nextInt(4) > 0) {
+                assertEquals(expected.put(key, "v" + i), incremental.put(key, "v" + i));
+            } else {
+                assertEquals(expected.remove(key), incremental.remove(key));
+            }
+            assertEquals(expected.size(), incremental.size());
+            assertEquals(expected.get(key), incremental.get(key));
+        }
+        int count = 0;
+        for (Map.Entry<Integer, String> entry : incremental.entrySet()) {
+            assertEquals(expected.get(entry.getKey()), entry.getValue());
+            count++;
+        }
+        assertEquals(expected.size(), count);
+        assertFalse(incremental.isResizing());
+
+        incremental.put(-1, "string-1");
+        incremental.setIncrementalResize(false);
+        assertFalse(incremental.isResizing());
+        assertEquals("string-1", incremental.get(-1));
+    }
+    
+    /**
+     * Test that a bucket is upgraded to a tree once it collects more than 8
+     * entries and goes back to an array when it shrinks to 6
+     */
+    @Test
+    public void testTreeBuckets() {
+        // With prime = 7, keys that differ by a multiple of 7 share a bucket at
+        // every capacity: h(k) = ((k + 1) % 7) % capacity
+        SeparateChainingHashMap<Integer, String> buckets = new SeparateChainingHashMap<Integer, String>(7, true);
+        for (int i = 8; i >= 1; i--) {
+            assertNull(buckets.put(i * 7, "string" + i * 7));
+        }
+        assertFalse(buckets.isTreeBucket(1));
+        assertNull(buckets.put(0, "string0"));
+        assertTrue(buckets.isTreeBucket(1));
+        assertEquals(9, buckets.size());
+        for (int i = 0; i <= 8; i++) {
+            assertEquals("string" + i * 7, buckets.get(i * 7));
+        }
+        assertEquals("string0", buckets.put(0, "string0NEW"));
+        assertEquals(9, buckets.size());
+
+        assertEquals("string56", buckets.remove(56));
+        assertTrue(buckets.isTreeBucket(1));
+        assertEquals("string49", buckets.remove(49));
+        assertTrue(buckets.isTreeBucket(1));
+        assertEquals("string42", buckets.remove(42));
+        assertFalse(buckets.isTreeBucket(1));
+        assertEquals(6, buckets.size());
+        assertEquals("string0NEW", buckets.get(0));
+        assertNull(buckets.get(42));
+
+        // Entries of a small bucket come out in key order, as from the tree
+        Iterator<Map.Entry<Integer, String>> it = buckets.entrySet().iterator();
+        for (int i = 0; i <= 5; i++) {
+            Map.Entry<Integer, String> entry = it.next();
+            assertEquals(i * 7, (int) entry.getKey());
+        }
+        assertFalse(it.hasNext());
+
+        for (int i = 0; i <= 5; i++) {
+            assertNotNull(buckets.remove(i * 7));
+        }
+        assertTrue(buckets.isEmpty());
+        assertNull(buckets.get(0));
+    }
+
+    /**
+     * Test the output of the cursor behavior over small and tree buckets
+     */
+    @Test
+    public void testCursor() {
+        SeparateChainingHashMap<Integer, String> walk = new SeparateChainingHashMap<Integer, String>(7, true);
+        // Keys that differ by a multiple of 7 share one bucket, which becomes a tree
+        for (int i = 0; i <= 10; i++) {
+            walk.put(i * 7, "string" + i * 7);
+        }
+        for (int i = 1; i <= 3; i++) {
+            walk.put(i, "string" + i);
+        }
+        assertEquals(14, walk.size());
+
+        // The cursor visits the entries in the same order as the entry set
+        EntryCursor<Integer, String> cursor = walk.cursor();
+        for (int pass = 0; pass < 2; pass++) {
+            for (Map.Entry<Integer, String> entry : walk.entrySet()) {
+                assertTrue(cursor.advance());
+                assertEquals(entry.getKey(), cursor.key());
+                assertEquals(entry.getValue(), cursor.value());
+            }
+            assertFalse(cursor.advance());
+            cursor.reset();
+        }
+
+        // A tree that shrinks to nothing leaves an empty bucket to skip
+        for (int i = 0; i <= 10; i++) {
+            walk.remove(i * 7);
+        }
+        final HashMap<Integer, String> visited = new HashMap<Integer, String>();
+        walk.forEach(new BiConsumer<Integer, String>() {
+            @Override
+            public void accept(Integer key, String value) {
+                visited.put(key, value);
+            }
+        });
+        assertEquals(3, visited.size());
+        for (int i = 1; i <= 3; i++) {
+            assertEquals("string" + i, visited.get(i));
+        }
+
+        cursor.reset();
+        assertTrue(cursor.advance());
+        walk.remove(cursor.key());
+        try {
+            cursor.advance();
+            fail();
+        } catch (Exception e) {
+            assertTrue(e instanceof ConcurrentModificationException);
+        }
+    }
+
+    /**
+     * Test that the entries of the entry set are copies for both small and
+     * tree buckets
+     */
+    @Test
+    public void testEntrySnapshot() {
+        SeparateChainingHashMap<Integer, String> snapshot = new SeparateChainingHashMap<Integer, String>(7, true);
+        // Keys that differ by a multiple of 7 share one bucket, which becomes a tree
+        for (int i = 0; i <= 10; i++) {
+            snapshot.put(i * 7, "string" + i * 7);
+        }
+        snapshot.put(1, "string1");
+        assertTrue(snapshot.isTreeBucket(1));
+        Iterable<Map.Entry<Integer, String>> entries = snapshot.entrySet();
+        for (Map.Entry<Integer, String> entry : entries) {
+            snapshot.put(entry.getKey(), "changed");
+        }
+        snapshot.put(2, "string2");
+        int count = 0;
+        for (Map.Entry<Integer, String> entry : entries) {
+            assertEquals("string" + entry.getKey(), entry.getValue());
+            assertEquals("changed", snapshot.get(entry.getKey()));
+            count++;
+        }
+        assertEquals(12, count);
+    }
+}
@@ -166,4 +166,48 @@ public class BinarySearchTreeMapTest {
         assertFalse(i.hasNext());
         
     }
-}
\ No newline at end of file
+    
+    /**
+     * Test the output of the entryRange(low, high) and firstEntries(count)
+     * behaviors
+     */
+    @Test
+    public void testEntryRange() {
+        int[] keys = { 50, 20, 80, 10, 30, 70, 90, 60 };
+        for (int key : keys) {
+            tree.put(key, "v" + key);
+        }
+        Iterator<Entry<Integer, String>> it = tree.entryRange(25, 70).iterator();
+        assertEquals(30, (int) it.next().getKey());
+        assertEquals(50, (int) it.next().getKey());
+        assertEquals(60, (int) it.next().getKey());
+        assertEquals("v70", it.next().getValue());
+        assertFalse(it.hasNext());
+
+        it = tree.entryRange(null, 20).iterator();
+        assertEquals(10, (int) it.next().getKey());
+        assertEquals(20, (int) it.next().getKey());
+        assertFalse(it.hasNext());
+
+        it = tree.entryRange(85, null).iterator();
+        assertEquals(90, (int) it.next().getKey());
+        assertFalse(it.hasNext());
+
+        assertFalse(tree.entryRange(31, 49).iterator().hasNext());
+        assertFalse(tree.entryRange(70, 60).iterator().hasNext());
+
+        it = tree.firstEntries(3).iterator();
+        assertEquals(10, (int) it.next().getKey());
+        assertEquals(20, (int) it.next().getKey());
+        assertEquals(30, (int) it.next().getKey());
+        assertFalse(it.hasNext());
+        assertFalse(tree.firstEntries(0).iterator().hasNext());
+
+        int count = 0;
+        for (Entry<Integer, String> e : tree.firstEntries(100)) {
+            assertNotNull(e.getKey());
+            count++;
+        }
+        assertEquals(8, count);
+    }
+}
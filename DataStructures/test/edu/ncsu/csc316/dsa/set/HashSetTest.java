@@ -153,6 +153,11 @@ public class HashSetTest {
         assertTrue(set.contains(1));
         assertTrue(set.contains(3));
         assertTrue(set.contains(5));
+
+        // Removing a set from itself empties it
+        set.removeAll(set);
+        assertTrue(set.isEmpty());
+        assertFalse(set.contains(1));
     }
 
     /**
@@ -228,4 +233,80 @@ public class HashSetTest {
         assertFalse(it.hasNext());
         
     }
-}
\ No newline at end of file
+
+    /**
+     * Test the output of the presized constructor and the array addAll behavior
+     */
+    @Test
+    public void testBulkAdd() {
+        try {
+            new HashSet<Integer>(-1);
+            fail();
+        } catch (Exception e) {
+            assertTrue(e instanceof IllegalArgumentException);
+        }
+        HashSet<Integer> presized = new HashSet<Integer>(1000);
+        assertTrue(presized.isEmpty());
+        presized.addAll(new Integer[] { 3, 1, 3, 2, 1 }, false);
+        assertEquals(3, presized.size());
+        assertTrue(presized.contains(1));
+        assertTrue(presized.contains(2));
+        assertTrue(presized.contains(3));
+        assertFalse(presized.contains(4));
+
+        // Large arrays are split into shards and deduplicated in parallel
+        Integer[] elements = new Integer[50000];
+        for (int i = 0; i < elements.length; i++) {
+            elements[i] = (i * 7919) % 12345;
+        }
+        HashSet<Integer> parallel = new HashSet<Integer>();
+        parallel.add(-1);
+        parallel.add(5);
+        parallel.addAll(elements, true);
+        assertEquals(12346, parallel.size());
+        java.util.Set<Integer> expected = new java.util.HashSet<Integer>();
+        expected.add(-1);
+        for (int i = 0; i < 12345; i++) {
+            expected.add(i);
+        }
+        assertEquals(expected, contents(parallel));
+
+        HashSet<Integer> sequential = new HashSet<Integer>();
+        sequential.addAll(elements, false);
+        assertEquals(12345, sequential.size());
+        expected.remove(-1);
+        assertEquals(expected, contents(sequential));
+    }
+
+    /**
+     * Returns the elements of the set, collected by iterating over it
+     *
+     * @param source the set to collect
+     * @return the elements of the set
+     */
+    private static java.util.Set<Integer> contents(Set<Integer> source) {
+        java.util.Set<Integer> elements = new java.util.HashSet<Integer>();
+        for (Integer element : source) {
+            assertTrue(elements.add(element));
+        }
+        return elements;
+    }
+
+    /**
+     * Test that contains and remove find elements by equals rather than by
+     * identity
+     */
+    @Test
+    public void testEquality() {
+        HashSet<String> words = new HashSet<String>();
+        String stored = new String("apple");
+        String equal = new String("apple");
+        assertFalse(stored == equal);
+        words.add(stored);
+        assertTrue(words.contains(equal));
+        assertFalse(words.contains("pear"));
+        assertSame(stored, words.remove(equal));
+        assertTrue(words.isEmpty());
+        assertNull(words.remove(equal));
+    }
+}
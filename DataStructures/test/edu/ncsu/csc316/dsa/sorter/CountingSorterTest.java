@@ -1,6 +1,12 @@
 package edu.ncsu.csc316.dsa.sorter;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -88,4 +94,79 @@ public class CountingSorterTest {
         assertEquals(sFive, original[4]);
 	}
 
+	/**
+	 * Tests that a single outlier id does not force a dense count array, and that
+	 * each strategy is chosen and sorts correctly
+	 */
+	@Test
+	public void testStrategies() {
+	    assertNull(sorter.getLastStatistics());
+	    
+	    Student[] empty = {};
+	    sorter.sort(empty);
+	    assertEquals(CountingSorter.Strategy.DENSE, sorter.getLastStatistics().getStrategy());
+	    assertEquals(0, sorter.getLastStatistics().getKeyRange());
+	    
+	    Student outlier = new Student("OutFirst", "OutLast", 2000000000, 0, 0.0, "outUnityID");
+	    Student negative = new Student("NegFirst", "NegLast", -2000000000, 1, 0.0, "negUnityID");
+	    Student[] original = new Student[22];
+	    original[0] = outlier;
+	    original[1] = negative;
+	    for (int i = 2; i < original.length; i++) {
+	        original[i] = new Student("F", "L", 5 - i % 5, i, 0.0, "u");
+	    }
+	    sorter.sort(original);
+	    CountingSorter.Statistics stats = sorter.getLastStatistics();
+	    assertEquals(CountingSorter.Strategy.SPARSE, stats.getStrategy());
+	    assertEquals(22, stats.getSize());
+	    assertEquals(-2000000000, stats.getMinKey());
+	    assertEquals(2000000000, stats.getMaxKey());
+	    assertEquals(4000000001L, stats.getKeyRange());
+	    assertFalse(stats.isParallel());
+	    assertEquals(negative, original[0]);
+	    assertEquals(outlier, original[21]);
+	    assertSorted(original);
+	    
+	    Random random = new Random(316);
+	    Student[] distinct = new Student[5000];
+	    for (int i = 0; i < distinct.length; i++) {
+	        distinct[i] = new Student("F", "L", random.nextInt(), i, 0.0, "u");
+	    }
+	    sorter.sort(distinct);
+	    assertEquals(CountingSorter.Strategy.RADIX, sorter.getLastStatistics().getStrategy());
+	    assertSorted(distinct);
+	}
+	
+	/**
+	 * Tests the parallel counting phase on a dense input
+	 */
+	@Test
+	public void testSortParallel() {
+	    Random random = new Random(316);
+	    Student[] students = new Student[200000];
+	    for (int i = 0; i < students.length; i++) {
+	        students[i] = new Student("F", "L", random.nextInt(1000), i, 0.0, "u");
+	    }
+	    CountingSorter<Student> parallelSorter = new CountingSorter<Student>(1);
+	    parallelSorter.sort(students);
+	    assertEquals(CountingSorter.Strategy.DENSE, parallelSorter.getLastStatistics().getStrategy());
+	    assertEquals(ForkJoinPool.getCommonPoolParallelism() > 1, parallelSorter.getLastStatistics().isParallel());
+	    assertSorted(students);
+	}
+	
+	/**
+	 * Checks that the students are in ascending id order, and that students with
+	 * equal ids remain in their original order (stored as the credit hours)
+	 * 
+	 * @param students the sorted students
+	 */
+	private void assertSorted(Student[] students) {
+	    for (int i = 1; i < students.length; i++) {
+	        assertTrue(students[i - 1].getId() <= students[i].getId());
+	        if (students[i - 1].getId() == students[i].getId()) {
+	            assertTrue(students[i - 1].getCreditHours() < students[i].getCreditHours());
+	        }
+	    }
+	}
+
 }
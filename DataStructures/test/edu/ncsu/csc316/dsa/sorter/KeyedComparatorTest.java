@@ -0,0 +1,76 @@
+package edu.ncsu.csc316.dsa.sorter;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+
+import org.junit.Test;
+
+import edu.ncsu.csc316.dsa.data.Student;
+import edu.ncsu.csc316.dsa.data.StudentIDComparator;
+import edu.ncsu.csc316.dsa.data.StudentSortKey;
+
+/**
+ * Tests the KeyedComparator class
+ * @author Ethan Treece
+ *
+ */
+public class KeyedComparatorTest {
+
+    /**
+     * Tests comparing by key with natural and custom tie-breaking
+     */
+    @Test
+    public void testCompare() {
+        Student a = new Student("Al", "Abernathy", 2, 1, 1.0, "aa1");
+        Student b = new Student("Al", "Abernathz", 1, 1, 1.0, "aa2");
+        Student c = new Student("Bo", "Baker", 3, 1, 1.0, "bb1");
+
+        KeyedComparator<Student> natural = new KeyedComparator<Student>(StudentSortKey.SORT_KEY);
+        assertTrue(natural.compare(a, c) < 0);
+        assertTrue(natural.compare(c, b) > 0);
+        assertTrue(natural.compare(a, b) < 0);
+        assertEquals(0, natural.compare(a, a));
+
+        KeyedComparator<Student> byId = new KeyedComparator<Student>(StudentSortKey.SORT_KEY,
+                new StudentIDComparator());
+        assertTrue(byId.compare(a, b) > 0);
+        assertTrue(byId.compare(a, c) < 0);
+    }
+
+    /**
+     * Tests that sorting with a KeyedComparator matches sorting by natural
+     * ordering
+     */
+    @Test
+    public void testSort() {
+        Random random = new Random(316);
+        String[] names = { "Smith", "Smithson", "Smyth", "Lee", "Leeward", "Abernathy", "Abernathz", "O'Neil" };
+        Student[] students = new Student[3000];
+        for (int i = 0; i < students.length; i++) {
+            students[i] = new Student(names[random.nextInt(names.length)], names[random.nextInt(names.length)], i,
+                    1, 1.0, "u" + random.nextInt(50));
+        }
+        Student[] expected = Arrays.copyOf(students, students.length);
+        Arrays.sort(expected, new Comparator<Student>() {
+            @Override
+            public int compare(Student one, Student two) {
+                int c = one.getLast().compareTo(two.getLast());
+                if (c == 0) {
+                    c = one.getFirst().compareTo(two.getFirst());
+                }
+                return c == 0 ? one.getUnityID().compareTo(two.getUnityID()) : c;
+            }
+        });
+
+        Student[] keyed = Arrays.copyOf(students, students.length);
+        new MergeSorter<Student>(new KeyedComparator<Student>(StudentSortKey.SORT_KEY)).sort(keyed);
+        assertArrayEquals(expected, keyed);
+
+        Student[] natural = Arrays.copyOf(students, students.length);
+        new TimSorter<Student>().sort(natural);
+        assertArrayEquals(expected, natural);
+    }
+}
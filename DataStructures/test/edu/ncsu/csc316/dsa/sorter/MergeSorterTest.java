@@ -2,10 +2,13 @@ package edu.ncsu.csc316.dsa.sorter;
 
 import static org.junit.Assert.*;
 
+import java.util.Random;
+
 import org.junit.Before;
 import org.junit.Test;
 
 import edu.ncsu.csc316.dsa.data.Student;
+import edu.ncsu.csc316.dsa.data.StudentGPAComparator;
 
 /**
  * Tests the MergeSorter class
@@ -125,4 +128,54 @@ public class MergeSorterTest {
         
     }
 
+    /**
+     * Tests that the sort keeps equal elements in their original order
+     */
+    @Test
+    public void testSortStable() {
+        Student[] students = new Student[100];
+        for (int i = 0; i < students.length; i++) {
+            students[i] = new Student("F" + i, "L" + i, i, i, (i * 7) % 4, "u" + i);
+        }
+        MergeSorter<Student> gpaSorter = new MergeSorter<Student>(new StudentGPAComparator());
+        gpaSorter.sort(students);
+        for (int i = 1; i < students.length; i++) {
+            assertTrue(students[i - 1].getGpa() >= students[i].getGpa());
+            if (students[i - 1].getGpa() == students[i].getGpa()) {
+                assertTrue(students[i - 1].getId() < students[i].getId());
+            }
+        }
+    }
+
+    /**
+     * Tests the parallel sort on an input large enough to fork several tasks
+     */
+    @Test
+    public void testSortParallel() {
+        Random random = new Random(316);
+        Student[] students = new Student[5000];
+        for (int i = 0; i < students.length; i++) {
+            students[i] = new Student("F" + i, "L" + i, i, i, random.nextInt(5), "u" + i);
+        }
+        MergeSorter<Student> parallelSorter = new MergeSorter<Student>(new StudentGPAComparator(), 16);
+        parallelSorter.sort(students);
+        for (int i = 1; i < students.length; i++) {
+            assertTrue(students[i - 1].getGpa() >= students[i].getGpa());
+            if (students[i - 1].getGpa() == students[i].getGpa()) {
+                assertTrue(students[i - 1].getId() < students[i].getId());
+            }
+        }
+
+        Integer[] empty = {};
+        new MergeSorter<Integer>(null, 2).sort(empty);
+        assertEquals(0, empty.length);
+
+        try {
+            new MergeSorter<Integer>(null, 1);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("Sequential cutoff must be at least 2.", e.getMessage());
+        }
+    }
+
 }
@@ -0,0 +1,203 @@
+package edu.ncsu.csc316.dsa.sorter;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.ncsu.csc316.dsa.data.Student;
+import edu.ncsu.csc316.dsa.data.StudentGPAComparator;
+
+/**
+ * Tests the PartialSorter class
+ * @author Ethan Treece
+ *
+ */
+public class PartialSorterTest {
+
+    /** Student one */
+    private Student sOne = new Student("A", "A", 1, 1, 1.0, "A");
+
+    /** Student two */
+    private Student sTwo = new Student("B", "B", 2, 2, 2.0, "B");
+
+    /** Student three */
+    private Student sThree = new Student("C", "C", 3, 3, 3.0, "C");
+
+    /** Student four */
+    private Student sFour = new Student("D", "D", 4, 4, 4.0, "D");
+
+    /** Student five */
+    private Student sFive = new Student("E", "E", 5, 5, 5.0, "E");
+
+    /** integer sorter */
+    private PartialSorter<Integer> integerSorter;
+
+    /** student sorter by GPA */
+    private PartialSorter<Student> gpaSorter;
+
+    /** random data with many duplicates */
+    private Integer[] data;
+
+    /** the same data in sorted order */
+    private Integer[] sorted;
+
+    /**
+     * Sets up tests
+     */
+    @Before
+    public void setUp() {
+        integerSorter = new PartialSorter<Integer>();
+        gpaSorter = new PartialSorter<Student>(new StudentGPAComparator());
+        Random random = new Random(316);
+        data = new Integer[5000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = random.nextInt(200);
+        }
+        sorted = Arrays.copyOf(data, data.length);
+        Arrays.sort(sorted);
+    }
+
+    /**
+     * Tests selecting the k-th smallest element
+     */
+    @Test
+    public void testSelect() {
+        int[] ranks = { 0, 1, 15, 16, 2499, 4998, 4999 };
+        for (int k : ranks) {
+            Integer[] copy = Arrays.copyOf(data, data.length);
+            assertEquals(sorted[k], integerSorter.select(copy, k));
+            for (int i = 0; i < k; i++) {
+                assertTrue(copy[i] <= copy[k]);
+            }
+            for (int i = k + 1; i < copy.length; i++) {
+                assertTrue(copy[i] >= copy[k]);
+            }
+        }
+
+        Integer[] ascending = new Integer[1000];
+        Integer[] descending = new Integer[1000];
+        for (int i = 0; i < 1000; i++) {
+            ascending[i] = i;
+            descending[i] = 1000 - i;
+        }
+        assertEquals(Integer.valueOf(500), integerSorter.select(ascending, 500));
+        assertEquals(Integer.valueOf(501), integerSorter.select(descending, 500));
+
+        Integer[] single = { 7 };
+        assertEquals(Integer.valueOf(7), integerSorter.select(single, 0));
+
+        try {
+            integerSorter.select(data, data.length);
+            fail();
+        } catch (IndexOutOfBoundsException e) {
+            assertEquals("Index is invalid: 5000 (size=5000)", e.getMessage());
+        }
+        try {
+            integerSorter.select(data, -1);
+            fail();
+        } catch (IndexOutOfBoundsException e) {
+            assertEquals("Index is invalid: -1 (size=5000)", e.getMessage());
+        }
+    }
+
+    /**
+     * Tests sorting only the first k positions
+     */
+    @Test
+    public void testPartialSort() {
+        integerSorter.partialSort(data, 100);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(sorted[i], data[i]);
+        }
+        for (int i = 100; i < data.length; i++) {
+            assertTrue(data[i] >= data[99]);
+        }
+
+        Integer[] copy = Arrays.copyOf(sorted, sorted.length);
+        integerSorter.partialSort(data, 0);
+        integerSorter.partialSort(data, data.length + 10);
+        assertArrayEquals(copy, data);
+
+        try {
+            integerSorter.partialSort(data, -1);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("k must not be negative.", e.getMessage());
+        }
+    }
+
+    /**
+     * Tests collecting the k smallest elements without modifying the input
+     */
+    @Test
+    public void testTopK() {
+        Integer[] copy = Arrays.copyOf(data, data.length);
+        Integer[] top = integerSorter.topK(data, 50);
+        assertEquals(50, top.length);
+        for (int i = 0; i < 50; i++) {
+            assertEquals(sorted[i], top[i]);
+        }
+        assertArrayEquals(copy, data);
+
+        assertEquals(0, integerSorter.topK(data, 0).length);
+        assertArrayEquals(sorted, integerSorter.topK(data, data.length + 1));
+
+        Student[] students = { sThree, sOne, sFive, sTwo, sFour };
+        Student[] best = gpaSorter.topK(students, 2);
+        assertEquals(2, best.length);
+        assertEquals(sFive, best[0]);
+        assertEquals(sFour, best[1]);
+        assertEquals(sThree, students[0]);
+
+        try {
+            integerSorter.topK(data, -3);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("k must not be negative.", e.getMessage());
+        }
+    }
+
+    /**
+     * Tests the id-based operations
+     */
+    @Test
+    public void testById() {
+        Student[] students = { sFour, sOne, sFive, sThree, sTwo };
+        Student[] lowest = PartialSorter.topKById(students, 3);
+        assertEquals(sOne, lowest[0]);
+        assertEquals(sTwo, lowest[1]);
+        assertEquals(sThree, lowest[2]);
+        assertEquals(sFour, students[0]);
+
+        assertEquals(sThree, PartialSorter.selectById(students, 2));
+
+        PartialSorter.partialSortById(students, 2);
+        assertEquals(sOne, students[0]);
+        assertEquals(sTwo, students[1]);
+    }
+
+    /**
+     * Tests sorting the whole array
+     */
+    @Test
+    public void testSort() {
+        integerSorter.sort(data);
+        assertArrayEquals(sorted, data);
+
+        Student[] students = { sFour, sOne, sFive, sThree, sTwo };
+        gpaSorter.sort(students);
+        assertEquals(sFive, students[0]);
+        assertEquals(sFour, students[1]);
+        assertEquals(sThree, students[2]);
+        assertEquals(sTwo, students[3]);
+        assertEquals(sOne, students[4]);
+
+        Integer[] empty = {};
+        integerSorter.sort(empty);
+        assertEquals(0, empty.length);
+    }
+}
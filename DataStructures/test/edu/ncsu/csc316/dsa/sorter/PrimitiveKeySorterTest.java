@@ -0,0 +1,132 @@
+package edu.ncsu.csc316.dsa.sorter;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.ncsu.csc316.dsa.data.Student;
+
+/**
+ * Tests the PrimitiveKeySorter class
+ * @author Ethan Treece
+ *
+ */
+public class PrimitiveKeySorterTest {
+
+    /** Student one */
+    private Student sOne;
+
+    /** Student two */
+    private Student sTwo;
+
+    /** Student three */
+    private Student sThree;
+
+    /** Student four */
+    private Student sFour;
+
+    /** Student five */
+    private Student sFive;
+
+    /**
+     * Sets up tests
+     */
+    @Before
+    public void setUp() {
+        sOne = new Student("OneFirst", "OneLast", 1, 15, 3.5, "oneUnityID");
+        sTwo = new Student("TwoFirst", "TwoLast", 2, 12, 2.0, "twoUnityID");
+        sThree = new Student("ThreeFirst", "ThreeLast", -3, 18, 4.0, "threeUnityID");
+        sFour = new Student("FourFirst", "FourLast", 40000, 9, 2.0, "fourUnityID");
+        sFive = new Student("FiveFirst", "FiveLast", 5, 12, 0.0, "fiveUnityID");
+    }
+
+    /**
+     * Tests sorting students by id, credit hours, and GPA
+     */
+    @Test
+    public void testSortStudents() {
+        Student[] students = { sOne, sTwo, sThree, sFour, sFive };
+        PrimitiveKeySorter.byInt(Student::getId).sort(students);
+        assertEquals(sThree, students[0]);
+        assertEquals(sOne, students[1]);
+        assertEquals(sTwo, students[2]);
+        assertEquals(sFive, students[3]);
+        assertEquals(sFour, students[4]);
+
+        // Ties keep their current order
+        PrimitiveKeySorter.byInt(Student::getCreditHours).sort(students);
+        assertEquals(sFour, students[0]);
+        assertEquals(sTwo, students[1]);
+        assertEquals(sFive, students[2]);
+        assertEquals(sOne, students[3]);
+        assertEquals(sThree, students[4]);
+
+        // Descending GPA, like StudentGPAComparator
+        PrimitiveKeySorter.<Student>byDouble(s -> -s.getGpa()).sort(students);
+        assertEquals(sThree, students[0]);
+        assertEquals(sOne, students[1]);
+        assertEquals(sFour, students[2]);
+        assertEquals(sTwo, students[3]);
+        assertEquals(sFive, students[4]);
+
+        PrimitiveKeySorter.<Student>byLong(s -> (long) s.getId() * s.getCreditHours()).sort(students);
+        assertEquals(sThree, students[0]);
+        assertEquals(sOne, students[1]);
+        assertEquals(sTwo, students[2]);
+        assertEquals(sFive, students[3]);
+        assertEquals(sFour, students[4]);
+
+        Student[] empty = {};
+        PrimitiveKeySorter.byInt(Student::getId).sort(empty);
+        assertEquals(0, empty.length);
+    }
+
+    /**
+     * Tests sorting primitive keys and the returned permutation
+     */
+    @Test
+    public void testSortPrimitiveKeys() {
+        int[] ints = { 5, -1, Integer.MIN_VALUE, 5, Integer.MAX_VALUE, 0 };
+        int[] order = PrimitiveKeySorter.sort(ints);
+        assertArrayEquals(new int[] { Integer.MIN_VALUE, -1, 0, 5, 5, Integer.MAX_VALUE }, ints);
+        assertArrayEquals(new int[] { 2, 1, 5, 0, 3, 4 }, order);
+
+        long[] longs = { 1L << 40, -(1L << 40), 7, Long.MIN_VALUE };
+        order = PrimitiveKeySorter.sort(longs);
+        assertEquals(Long.MIN_VALUE, longs[0]);
+        assertEquals(-(1L << 40), longs[1]);
+        assertEquals(7, longs[2]);
+        assertEquals(1L << 40, longs[3]);
+        assertArrayEquals(new int[] { 3, 1, 2, 0 }, order);
+
+        double[] doubles = { 2.5, Double.NaN, -0.0, 0.0, Double.NEGATIVE_INFINITY, -2.5, 1e-300 };
+        order = PrimitiveKeySorter.sort(doubles);
+        assertEquals(Double.NEGATIVE_INFINITY, doubles[0], 0);
+        assertEquals(-2.5, doubles[1], 0);
+        assertEquals(Double.doubleToLongBits(-0.0), Double.doubleToLongBits(doubles[2]));
+        assertEquals(Double.doubleToLongBits(0.0), Double.doubleToLongBits(doubles[3]));
+        assertEquals(1e-300, doubles[4], 0);
+        assertEquals(2.5, doubles[5], 0);
+        assertTrue(Double.isNaN(doubles[6]));
+        assertArrayEquals(new int[] { 4, 5, 2, 3, 6, 0, 1 }, order);
+
+        Random random = new Random(316);
+        Integer[] boxed = new Integer[10000];
+        int[] keys = new int[boxed.length];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = random.nextInt();
+            boxed[i] = keys[i];
+        }
+        order = PrimitiveKeySorter.sort(keys);
+        PrimitiveKeySorter.applyPermutation(boxed, order);
+        for (int i = 0; i < keys.length; i++) {
+            assertEquals(keys[i], (int) boxed[i]);
+            if (i > 0) {
+                assertTrue(keys[i - 1] <= keys[i]);
+            }
+        }
+    }
+}
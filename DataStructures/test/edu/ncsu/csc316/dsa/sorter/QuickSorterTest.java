@@ -2,12 +2,15 @@ package edu.ncsu.csc316.dsa.sorter;
 
 import static org.junit.Assert.*;
 
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.Random;
 
 import org.junit.Before;
 import org.junit.Test;
 
 import edu.ncsu.csc316.dsa.data.Student;
+import edu.ncsu.csc316.dsa.data.StudentIDComparator;
 
 /**
  * Tests the MergeSorter class
@@ -161,4 +164,46 @@ public class QuickSorterTest {
         
     }
 
+    /**
+     * Tests the introspective engine with random, sorted, reverse sorted, and
+     * duplicate-heavy inputs
+     */
+    @Test
+    public void testSortIntrospective() {
+        QuickSorter<Integer> sorter = new QuickSorter<Integer>(null, true);
+        Random random = new Random(316);
+        int[] sizes = { 0, 1, 2, 26, 27, 100, 1000, 20000 };
+        for (int n : sizes) {
+            Integer[] randomData = new Integer[n];
+            Integer[] ascending = new Integer[n];
+            Integer[] descending = new Integer[n];
+            Integer[] duplicates = new Integer[n];
+            Integer[] sawtooth = new Integer[n];
+            for (int i = 0; i < n; i++) {
+                randomData[i] = random.nextInt();
+                ascending[i] = i;
+                descending[i] = n - i;
+                duplicates[i] = random.nextInt(3);
+                sawtooth[i] = i % 50;
+            }
+            Integer[][] inputs = { randomData, ascending, descending, duplicates, sawtooth };
+            for (Integer[] input : inputs) {
+                Integer[] expected = Arrays.copyOf(input, n);
+                Arrays.sort(expected);
+                sorter.sort(input);
+                for (int i = 0; i < n; i++) {
+                    assertEquals(expected[i], input[i]);
+                }
+            }
+        }
+        
+        Student[] students = { sFour, sOne, sFive, sThree, sTwo };
+        new QuickSorter<Student>(new StudentIDComparator(), true).sort(students);
+        assertEquals(sOne, students[0]);
+        assertEquals(sTwo, students[1]);
+        assertEquals(sThree, students[2]);
+        assertEquals(sFour, students[3]);
+        assertEquals(sFive, students[4]);
+    }
+
 }
@@ -2,6 +2,8 @@ package edu.ncsu.csc316.dsa.sorter;
 
 import static org.junit.Assert.*;
 
+import java.util.Random;
+
 import org.junit.Before;
 import org.junit.Test;
 
@@ -88,4 +90,59 @@ public class RadixSorterTest {
         assertEquals(sFive, original[4]);
     }
 
+    /**
+     * Tests sorting students with negative ids
+     */
+    @Test
+    public void testSortNegativeIds() {
+        Student negative = new Student("NegFirst", "NegLast", -5, 1, 1.0, "negUnityID");
+        Student minimum = new Student("MinFirst", "MinLast", Integer.MIN_VALUE, 1, 1.0, "minUnityID");
+        Student maximum = new Student("MaxFirst", "MaxLast", Integer.MAX_VALUE, 1, 1.0, "maxUnityID");
+        Student[] original = { sThree, maximum, negative, sOne, minimum };
+        sorter.sort(original);
+        assertEquals(minimum, original[0]);
+        assertEquals(negative, original[1]);
+        assertEquals(sOne, original[2]);
+        assertEquals(sThree, original[3]);
+        assertEquals(maximum, original[4]);
+    }
+
+    /**
+     * Tests sorting a large input with 8-bit and 11-bit digits, both
+     * sequentially and in parallel
+     */
+    @Test
+    public void testSortLarge() {
+        Random random = new Random(316);
+        Student[] students = new Student[100000];
+        for (int i = 0; i < students.length; i++) {
+            students[i] = new Student("F", "L", random.nextInt(20000) - 10000, i, 1.0, "u");
+        }
+        int[][] configurations = { { 8, Integer.MAX_VALUE }, { 11, Integer.MAX_VALUE }, { 8, 1 }, { 11, 1 } };
+        for (int[] configuration : configurations) {
+            Student[] copy = students.clone();
+            new RadixSorter<Student>(configuration[0], configuration[1]).sort(copy);
+            for (int i = 1; i < copy.length; i++) {
+                assertTrue(copy[i - 1].getId() <= copy[i].getId());
+                if (copy[i - 1].getId() == copy[i].getId()) {
+                    // Stable: credit hours hold the original position
+                    assertTrue(copy[i - 1].getCreditHours() < copy[i].getCreditHours());
+                }
+            }
+        }
+    }
+
+    /**
+     * Tests that only 8-bit and 11-bit digits are allowed
+     */
+    @Test
+    public void testInvalidDigitBits() {
+        try {
+            new RadixSorter<Student>(10);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("Digit width must be 8 or 11 bits.", e.getMessage());
+        }
+    }
+
 }
@@ -0,0 +1,287 @@
+package edu.ncsu.csc316.dsa.sorter;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.ncsu.csc316.dsa.data.Student;
+
+/**
+ * Tests the SortMetrics class and the metrics hooks in the sorters
+ * @author Ethan Treece
+ *
+ */
+public class SortMetricsTest {
+
+    /** Student one */
+    private Student sOne = new Student("A", "A", 1, 1, 1.0, "A");
+
+    /** Student two */
+    private Student sTwo = new Student("B", "B", 2, 2, 2.0, "B");
+
+    /** Student three */
+    private Student sThree = new Student("C", "C", 3, 3, 3.0, "C");
+
+    /** Student four */
+    private Student sFour = new Student("D", "D", 4, 4, 4.0, "D");
+
+    /** Student five */
+    private Student sFive = new Student("E", "E", 5, 5, 5.0, "E");
+
+    /** Metrics under test */
+    private SortMetrics metrics;
+
+    /**
+     * Sets up tests
+     */
+    @Before
+    public void setUp() {
+        metrics = new SortMetrics();
+    }
+
+    /**
+     * Tests the counts and phases recorded directly
+     */
+    @Test
+    public void testRecord() {
+        SortMetrics.Snapshot empty = metrics.snapshot();
+        assertEquals(0, empty.getComparisons());
+        assertEquals(0, empty.getMoves());
+        assertEquals(0, empty.getMaxDepth());
+        assertEquals(0, empty.getPhaseNames().length);
+        assertEquals(0, empty.getTotalNanos());
+
+        metrics.compared();
+        metrics.compared();
+        metrics.moved(5);
+        metrics.reachedDepth(3);
+        metrics.reachedDepth(2);
+        metrics.startPhase("one");
+        metrics.startPhase("two");
+        metrics.startPhase("one");
+        metrics.endPhase();
+        metrics.endPhase();
+        metrics.startPhase("three");
+
+        SortMetrics.Snapshot snapshot = metrics.snapshot();
+        assertEquals(2, snapshot.getComparisons());
+        assertEquals(5, snapshot.getMoves());
+        assertEquals(3, snapshot.getMaxDepth());
+        assertArrayEquals(new String[] { "one", "two", "three" }, snapshot.getPhaseNames());
+        assertEquals(0, snapshot.getPhaseNanos("three"));
+        assertEquals(0, snapshot.getPhaseNanos("four"));
+        assertEquals(snapshot.getPhaseNanos("one") + snapshot.getPhaseNanos("two"), snapshot.getTotalNanos());
+        assertTrue(snapshot.toString().startsWith("SortMetrics[comparisons=2, moves=5, maxDepth=3"));
+
+        // Snapshots do not change as the metrics do
+        metrics.compared();
+        assertEquals(2, snapshot.getComparisons());
+        assertEquals(3, metrics.snapshot().getComparisons());
+
+        metrics.reset();
+        assertEquals(0, metrics.snapshot().getComparisons());
+        assertEquals(0, metrics.snapshot().getPhaseNames().length);
+    }
+
+    /**
+     * Tests that a sorter without metrics collects nothing
+     */
+    @Test
+    public void testDisabled() {
+        InsertionSorter<Student> sorter = new InsertionSorter<Student>();
+        assertNull(sorter.getMetrics());
+        Student[] students = { sFive, sFour, sThree, sTwo, sOne };
+        sorter.sort(students);
+        assertEquals(sOne, students[0]);
+
+        sorter.setMetrics(metrics);
+        assertSame(metrics, sorter.getMetrics());
+        sorter.setMetrics(null);
+        sorter.sort(new Student[] { sTwo, sOne });
+        assertEquals(0, metrics.snapshot().getComparisons());
+    }
+
+    /**
+     * Tests the metrics of the quadratic sorters on reversed input
+     */
+    @Test
+    public void testQuadraticSorters() {
+        InsertionSorter<Student> insertion = new InsertionSorter<Student>();
+        insertion.setMetrics(metrics);
+        insertion.sort(new Student[] { sFive, sFour, sThree, sTwo, sOne });
+        SortMetrics.Snapshot snapshot = metrics.snapshot();
+        assertEquals(10, snapshot.getComparisons());
+        assertEquals(14, snapshot.getMoves());
+        assertArrayEquals(new String[] { "sort" }, snapshot.getPhaseNames());
+
+        metrics.reset();
+        BubbleSorter<Student> bubble = new BubbleSorter<Student>();
+        bubble.setMetrics(metrics);
+        bubble.sort(new Student[] { sFive, sFour, sThree, sTwo, sOne });
+        assertEquals(20, metrics.snapshot().getComparisons());
+        assertEquals(20, metrics.snapshot().getMoves());
+
+        metrics.reset();
+        SelectionSorter<Student> selection = new SelectionSorter<Student>();
+        selection.setMetrics(metrics);
+        selection.sort(new Student[] { sFive, sFour, sThree, sTwo, sOne });
+        assertEquals(10, metrics.snapshot().getComparisons());
+        assertEquals(4, metrics.snapshot().getMoves());
+    }
+
+    /**
+     * Tests the metrics of the divide and conquer sorters
+     */
+    @Test
+    public void testRecursiveSorters() {
+        Integer[] data = { 8, 7, 6, 5, 4, 3, 2, 1 };
+        MergeSorter<Integer> merge = new MergeSorter<Integer>();
+        merge.setMetrics(metrics);
+        merge.sort(data);
+        SortMetrics.Snapshot snapshot = metrics.snapshot();
+        assertEquals(3, snapshot.getMaxDepth());
+        assertEquals(32, snapshot.getMoves());
+        assertArrayEquals(new String[] { "copy", "merge" }, snapshot.getPhaseNames());
+        assertTrue(snapshot.getComparisons() > 0);
+
+        Random random = new Random(316);
+        Integer[] large = new Integer[20000];
+        for (int i = 0; i < large.length; i++) {
+            large[i] = random.nextInt();
+        }
+        Integer[] expected = Arrays.copyOf(large, large.length);
+        Arrays.sort(expected);
+
+        metrics.reset();
+        QuickSorter<Integer> quick = new QuickSorter<Integer>(null, true);
+        quick.setMetrics(metrics);
+        Integer[] copy = Arrays.copyOf(large, large.length);
+        quick.sort(copy);
+        assertArrayEquals(expected, copy);
+        snapshot = metrics.snapshot();
+        assertTrue(snapshot.getMaxDepth() > 1);
+        assertTrue(snapshot.getMaxDepth() <= 2 * 15);
+        assertTrue(snapshot.getMoves() > 0);
+
+        metrics.reset();
+        MergeSorter<Integer> parallel = new MergeSorter<Integer>(null, 1024);
+        parallel.setMetrics(metrics);
+        copy = Arrays.copyOf(large, large.length);
+        parallel.sort(copy);
+        assertArrayEquals(expected, copy);
+        assertEquals(15, metrics.snapshot().getMaxDepth());
+
+        metrics.reset();
+        TimSorter<Integer> tim = new TimSorter<Integer>();
+        tim.setMetrics(metrics);
+        Integer[] ascending = new Integer[1000];
+        for (int i = 0; i < ascending.length; i++) {
+            ascending[i] = i;
+        }
+        tim.sort(ascending);
+        assertEquals(999, metrics.snapshot().getComparisons());
+        assertEquals(0, metrics.snapshot().getMoves());
+        assertEquals(1, metrics.snapshot().getMaxDepth());
+    }
+
+    /**
+     * Tests that a sort that throws ends its phase, so the time until the
+     * next sort is not added to the phase
+     */
+    @Test
+    public void testPhaseEndsOnException() {
+        Comparator<Integer> throwing = new Comparator<Integer>() {
+            @Override
+            public int compare(Integer one, Integer two) {
+                throw new ClassCastException("Cannot compare.");
+            }
+        };
+        List<AbstractComparisonSorter<Integer>> sorters = new ArrayList<AbstractComparisonSorter<Integer>>();
+        sorters.add(new BubbleSorter<Integer>(throwing));
+        sorters.add(new InsertionSorter<Integer>(throwing));
+        sorters.add(new SelectionSorter<Integer>(throwing));
+        sorters.add(new QuickSorter<Integer>(throwing));
+        sorters.add(new MergeSorter<Integer>(throwing));
+        sorters.add(new TimSorter<Integer>(throwing));
+        for (AbstractComparisonSorter<Integer> sorter : sorters) {
+            metrics.reset();
+            sorter.setMetrics(metrics);
+            try {
+                sorter.sort(new Integer[] { 3, 1, 2 });
+                fail();
+            } catch (Exception e) {
+                assertTrue(e instanceof ClassCastException);
+            }
+            // Ending a phase that is still open would add the time since the
+            // sort began
+            long total = metrics.snapshot().getTotalNanos();
+            metrics.endPhase();
+            assertEquals(total, metrics.snapshot().getTotalNanos());
+        }
+
+        RadixSorter<Student> radix = new RadixSorter<Student>();
+        radix.setMetrics(metrics);
+        CountingSorter<Student> counting = new CountingSorter<Student>();
+        counting.setMetrics(metrics);
+        List<Sorter<Student>> linear = new ArrayList<Sorter<Student>>();
+        linear.add(radix);
+        linear.add(counting);
+        for (Sorter<Student> sorter : linear) {
+            metrics.reset();
+            try {
+                sorter.sort(new Student[] { sOne, null });
+                fail();
+            } catch (Exception e) {
+                assertTrue(e instanceof NullPointerException);
+            }
+            long total = metrics.snapshot().getTotalNanos();
+            metrics.endPhase();
+            assertEquals(total, metrics.snapshot().getTotalNanos());
+        }
+    }
+
+    /**
+     * Tests the metrics of the linear sorters
+     */
+    @Test
+    public void testLinearSorters() {
+        RadixSorter<Student> radix = new RadixSorter<Student>();
+        radix.setMetrics(metrics);
+        assertSame(metrics, radix.getMetrics());
+        Student[] students = { sFour, sOne, sFive, sThree, sTwo };
+        radix.sort(students);
+        assertEquals(sOne, students[0]);
+        SortMetrics.Snapshot snapshot = metrics.snapshot();
+        assertEquals(0, snapshot.getComparisons());
+        // One pass over the low digit, then a copy back
+        assertEquals(10, snapshot.getMoves());
+        assertArrayEquals(new String[] { "keys", "passes", "copy" }, snapshot.getPhaseNames());
+
+        metrics.reset();
+        CountingSorter<Student> counting = new CountingSorter<Student>();
+        counting.setMetrics(metrics);
+        assertSame(metrics, counting.getMetrics());
+        students = new Student[] { sFour, sOne, sFive, sThree, sTwo };
+        counting.sort(students);
+        assertEquals(sFive, students[4]);
+        snapshot = metrics.snapshot();
+        assertEquals(10, snapshot.getMoves());
+        assertArrayEquals(new String[] { "keys", "count", "place" }, snapshot.getPhaseNames());
+
+        // A partial sort counts comparisons and times each call
+        metrics.reset();
+        PartialSorter<Student> partial = new PartialSorter<Student>();
+        partial.setMetrics(metrics);
+        students = new Student[] { sFour, sOne, sFive, sThree, sTwo };
+        assertEquals(sThree, partial.select(students, 2));
+        assertTrue(metrics.snapshot().getComparisons() > 0);
+        assertArrayEquals(new String[] { "select" }, metrics.snapshot().getPhaseNames());
+    }
+}
@@ -0,0 +1,197 @@
+package edu.ncsu.csc316.dsa.sorter;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.ncsu.csc316.dsa.data.Student;
+import edu.ncsu.csc316.dsa.data.StudentGPAComparator;
+
+/**
+ * Tests the TimSorter class
+ * @author Ethan Treece
+ *
+ */
+public class TimSorterTest {
+
+    /** Data in ascending order */
+    private Integer[] dataAscending = { 1, 2, 3, 4, 5 };
+
+    /** Data in descending order */
+    private Integer[] dataDescending = { 5, 4, 3, 2, 1 };
+
+    /** Data in random order */
+    private Integer[] dataRandom = { 4, 1, 5, 3, 2 };
+
+    /** integer sorter */
+    private TimSorter<Integer> integerSorter;
+
+    /** number of comparisons made by the counting sorter */
+    private int comparisons;
+
+    /** integer sorter that counts its comparisons */
+    private TimSorter<Integer> countingSorter;
+
+    /**
+     * Sets up tests
+     */
+    @Before
+    public void setUp() {
+        integerSorter = new TimSorter<Integer>();
+        comparisons = 0;
+        countingSorter = new TimSorter<Integer>(new Comparator<Integer>() {
+            @Override
+            public int compare(Integer one, Integer two) {
+                comparisons++;
+                return one.compareTo(two);
+            }
+        });
+    }
+
+    /**
+     * Tests sorting small arrays of integers
+     */
+    @Test
+    public void testSortIntegers() {
+        Integer[] copy = Arrays.copyOf(dataAscending, 5);
+        integerSorter.sort(copy);
+        assertArrayEquals(dataAscending, copy);
+
+        integerSorter.sort(dataDescending);
+        assertArrayEquals(dataAscending, dataDescending);
+
+        integerSorter.sort(dataRandom);
+        assertArrayEquals(dataAscending, dataRandom);
+        assertEquals(1, integerSorter.getLastStatistics().getRuns());
+
+        Integer[] empty = {};
+        integerSorter.sort(empty);
+        assertEquals(0, empty.length);
+        assertEquals(0, integerSorter.getLastStatistics().getSize());
+    }
+
+    /**
+     * Tests sorting large random, sorted, reverse sorted, duplicate-heavy, and
+     * run-structured inputs against Arrays.sort
+     */
+    @Test
+    public void testSortLarge() {
+        Random random = new Random(316);
+        int[] sizes = { 31, 32, 33, 64, 1000, 20000, 100003 };
+        for (int n : sizes) {
+            Integer[] randomData = new Integer[n];
+            Integer[] ascending = new Integer[n];
+            Integer[] descending = new Integer[n];
+            Integer[] duplicates = new Integer[n];
+            Integer[] sawtooth = new Integer[n];
+            Integer[] nearlySorted = new Integer[n];
+            for (int i = 0; i < n; i++) {
+                randomData[i] = random.nextInt();
+                ascending[i] = i;
+                descending[i] = n - i;
+                duplicates[i] = random.nextInt(3);
+                sawtooth[i] = i % 1000;
+                nearlySorted[i] = i;
+            }
+            for (int i = 0; i < n / 100; i++) {
+                int j = random.nextInt(n);
+                int k = random.nextInt(n);
+                Integer temp = nearlySorted[j];
+                nearlySorted[j] = nearlySorted[k];
+                nearlySorted[k] = temp;
+            }
+            Integer[][] inputs = { randomData, ascending, descending, duplicates, sawtooth, nearlySorted };
+            for (Integer[] input : inputs) {
+                Integer[] expected = Arrays.copyOf(input, n);
+                Arrays.sort(expected);
+                integerSorter.sort(input);
+                assertArrayEquals(expected, input);
+            }
+        }
+    }
+
+    /**
+     * Tests that presorted inputs are sorted with a single pass
+     */
+    @Test
+    public void testPresorted() {
+        int n = 50000;
+        Integer[] ascending = new Integer[n];
+        Integer[] descending = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            ascending[i] = i;
+            descending[i] = n - i;
+        }
+        countingSorter.sort(ascending);
+        assertEquals(n - 1, comparisons);
+        assertEquals(1, countingSorter.getLastStatistics().getRuns());
+        assertEquals(0, countingSorter.getLastStatistics().getMerges());
+
+        comparisons = 0;
+        countingSorter.sort(descending);
+        assertEquals(n - 1, comparisons);
+        for (int i = 0; i < n; i++) {
+            assertEquals(Integer.valueOf(i + 1), descending[i]);
+        }
+
+        // Two interleaved sorted halves merge with galloping in far fewer
+        // than n log n comparisons
+        Integer[] halves = new Integer[n];
+        for (int i = 0; i < n / 2; i++) {
+            halves[i] = n / 2 + i;
+            halves[n / 2 + i] = i;
+        }
+        comparisons = 0;
+        countingSorter.sort(halves);
+        assertArrayEquals(ascending, halves);
+        assertEquals(2, countingSorter.getLastStatistics().getRuns());
+        assertEquals(1, countingSorter.getLastStatistics().getMerges());
+        assertTrue(comparisons < 2 * n);
+    }
+
+    /**
+     * Tests that Students with equal keys keep their original order
+     */
+    @Test
+    public void testStable() {
+        Random random = new Random(316);
+        int n = 5000;
+        Student[] students = new Student[n];
+        for (int i = 0; i < n; i++) {
+            students[i] = new Student("F" + i, "L" + i, i, 1, random.nextInt(5), "u" + i);
+        }
+        TimSorter<Student> sorter = new TimSorter<Student>(new StudentGPAComparator());
+        sorter.sort(students);
+        for (int i = 1; i < n; i++) {
+            assertTrue(students[i - 1].getGpa() >= students[i].getGpa());
+            if (students[i - 1].getGpa() == students[i].getGpa()) {
+                assertTrue(students[i - 1].getId() < students[i].getId());
+            }
+        }
+
+        // Equal elements in a descending input must not be reversed
+        Student[] descending = new Student[n];
+        for (int i = 0; i < n; i++) {
+            descending[i] = new Student("F", "L", i, 1, 4 - i / 1000, "u");
+        }
+        Student[] reversed = Arrays.copyOf(descending, n);
+        Arrays.sort(reversed, new Comparator<Student>() {
+            @Override
+            public int compare(Student one, Student two) {
+                return Double.compare(one.getGpa(), two.getGpa());
+            }
+        });
+        new TimSorter<Student>(new Comparator<Student>() {
+            @Override
+            public int compare(Student one, Student two) {
+                return Double.compare(one.getGpa(), two.getGpa());
+            }
+        }).sort(descending);
+        assertArrayEquals(reversed, descending);
+    }
+}